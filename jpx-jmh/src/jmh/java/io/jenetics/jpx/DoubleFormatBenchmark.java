@@ -0,0 +1,90 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link DoubleFormat} with {@link Double#toString(double)} and
+ * {@link Double#parseDouble(String)}.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DoubleFormatBenchmark {
+
+	@Param({"48.2081743", "123.4", "16.372081234567891"})
+	public String text;
+
+	private final char[] _buffer = new char[DoubleFormat.MAX_LENGTH];
+	private final StringBuilder _chars = new StringBuilder();
+	private double _value;
+
+	@Setup
+	public void setup() {
+		_value = Double.parseDouble(text);
+		_chars.append(text);
+	}
+
+	@Benchmark
+	public int format() {
+		return DoubleFormat.format(_value, -1, _buffer);
+	}
+
+	@Benchmark
+	public int formatRounded() {
+		return DoubleFormat.format(_value, 7, _buffer);
+	}
+
+	@Benchmark
+	public String toStringDouble() {
+		return Double.toString(_value);
+	}
+
+	@Benchmark
+	public double parse() {
+		return DoubleFormat.parse(_chars);
+	}
+
+	@Benchmark
+	public double parseDouble() {
+		return Double.parseDouble(text);
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Measures the reading and writing of synthetic GPX documents, created by the
+ * {@link GPXData} generator, in the XML and in the {@link GPX.Binary} format.
+ *
+ * <pre>{@code
+ * ./gradlew jpx-jmh:jmh -Pbenchmark=GPXBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GPXBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	public int points;
+
+	@Param({"V10", "V11"})
+	public Version version;
+
+	@Param({"false", "true"})
+	public boolean indent;
+
+	private GPX _gpx;
+	private GPX.Writer _writer;
+	private byte[] _data;
+	private byte[] _binary;
+	private ByteArrayOutputStream _out;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		_gpx = GPXData.next(version, points);
+		_writer = indent ? GPX.writer("    ") : GPX.writer();
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		_writer.write(_gpx, out);
+		_data = out.toByteArray();
+		_out = new ByteArrayOutputStream(_data.length);
+
+		final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		GPX.Binary.write(_gpx, binary);
+		_binary = binary.toByteArray();
+	}
+
+	@Benchmark
+	public GPX read() throws IOException {
+		return GPX.reader(version).read(new ByteArrayInputStream(_data));
+	}
+
+	@Benchmark
+	public int write() throws IOException {
+		_out.reset();
+		_writer.write(_gpx, _out);
+		return _out.size();
+	}
+
+	@Benchmark
+	public GPX readBinary() throws IOException {
+		return GPX.Binary.read(new ByteArrayInputStream(_binary));
+	}
+
+	@Benchmark
+	public int writeBinary() throws IOException {
+		_out.reset();
+		GPX.Binary.write(_gpx, _out);
+		return _out.size();
+	}
+
+}
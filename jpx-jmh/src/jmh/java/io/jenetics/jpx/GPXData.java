@@ -0,0 +1,134 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static io.jenetics.jpx.Randoms.nextDouble;
+import static io.jenetics.jpx.Randoms.nextInt;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Reproducible generator of the synthetic GPX data used by the benchmarks.
+ * The generated track points resemble a recorded track: the coordinates
+ * follow a random walk and are rounded to seven fraction digits, the
+ * elevation is rounded to decimeters and the time advances in steps of
+ * one second. The same {@code seed} always creates the same data.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class GPXData {
+
+	/**
+	 * The default seed of the generated data.
+	 */
+	static final long SEED = 1234567890L;
+
+	/**
+	 * The maximal number of points of a generated track segment.
+	 */
+	static final int SEGMENT_SIZE = 10_000;
+
+	private static final ZonedDateTime START =
+		ZonedDateTime.of(2018, 6, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+	private GPXData() {
+	}
+
+	/**
+	 * Create a new GPX object with one track, which contains the given
+	 * number of track points.
+	 *
+	 * @param version the GPX version
+	 * @param points the number of track points
+	 * @param seed the random seed
+	 * @return a new GPX object with the given number of track points
+	 */
+	static GPX next(final Version version, final int points, final long seed) {
+		final Random random = new Random(seed);
+		final List<WayPoint> trackPoints = nextTrackPoints(points, random);
+
+		final Track.Builder track = Track.builder().name("Track");
+		for (int i = 0; i < trackPoints.size(); i += SEGMENT_SIZE) {
+			track.addSegment(TrackSegment.of(trackPoints.subList(
+				i, Math.min(i + SEGMENT_SIZE, trackPoints.size())
+			)));
+		}
+
+		return GPX.builder(version, "JPX benchmark")
+			.addTrack(track.build())
+			.build();
+	}
+
+	/**
+	 * Create a new GPX object with one track, which contains the given
+	 * number of track points, using the default {@link #SEED}.
+	 *
+	 * @param version the GPX version
+	 * @param points the number of track points
+	 * @return a new GPX object with the given number of track points
+	 */
+	static GPX next(final Version version, final int points) {
+		return next(version, points, SEED);
+	}
+
+	/**
+	 * Create the given number of consecutive track points.
+	 *
+	 * @param points the number of track points
+	 * @param random the random engine
+	 * @return the created track points
+	 */
+	static List<WayPoint> nextTrackPoints(final int points, final Random random) {
+		final List<WayPoint> result = new ArrayList<>(points);
+
+		double lat = nextDouble(46.5, 48.5, random);
+		double lon = nextDouble(9.5, 17.0, random);
+		double ele = nextInt(200, 2000, random);
+		for (int i = 0; i < points; ++i) {
+			lat = clamp(lat + nextDouble(-0.0001, 0.0001, random), -90, 90);
+			lon = clamp(lon + nextDouble(-0.0001, 0.0001, random), -180, 180);
+			ele = Math.max(ele + nextDouble(-1, 1, random), 0);
+
+			result.add(WayPoint.builder()
+				.ele(round(ele, 1e1))
+				.time(START.plusSeconds(i))
+				.build(round(lat, 1e7), round(lon, 1e7)));
+		}
+
+		return result;
+	}
+
+	private static double clamp(final double value, final double min, final double max) {
+		return Math.max(Math.min(value, max), min);
+	}
+
+	private static double round(final double value, final double scale) {
+		return Math.round(value*scale)/scale;
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.geom.Geoid;
+
+/**
+ * Measures the distance calculations of the {@link Geoid} class. The
+ * {@code parallelPathLength} benchmark shows the scaling of the path length
+ * calculation with the number of available cores.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeoidBenchmark {
+
+	@Param({"1000", "100000", "2000000"})
+	public int points;
+
+	private List<WayPoint> _points;
+	private WayPoint _start;
+	private WayPoint _end;
+	private double[] _lat;
+	private double[] _lon;
+	private double[] _distances;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		_points = GPXData.nextTrackPoints(points, new Random(GPXData.SEED));
+		_start = _points.get(0);
+		_end = _points.get(_points.size() - 1);
+
+		_lat = _points.stream()
+			.mapToDouble(p -> p.getLatitude().doubleValue())
+			.toArray();
+		_lon = _points.stream()
+			.mapToDouble(p -> p.getLongitude().doubleValue())
+			.toArray();
+		_distances = new double[points - 1];
+	}
+
+	@Benchmark
+	public Length distance() {
+		return Geoid.WGS84.distance(_start, _end);
+	}
+
+	@Benchmark
+	public Length pathLength() {
+		return _points.stream().collect(Geoid.WGS84.toPathLength());
+	}
+
+	@Benchmark
+	public Length parallelPathLength() {
+		return _points.parallelStream().collect(Geoid.WGS84.toPathLength());
+	}
+
+	@Benchmark
+	public Length arrayPathLength() {
+		return Geoid.WGS84.pathLength(_lat, _lon);
+	}
+
+	@Benchmark
+	public double[] distances() {
+		Geoid.WGS84.distances(_lat, _lon, _distances);
+		return _distances;
+	}
+
+}
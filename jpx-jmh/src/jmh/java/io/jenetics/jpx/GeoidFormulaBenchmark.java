@@ -0,0 +1,212 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.geom.Geoid;
+import io.jenetics.jpx.geom.Geoid.Formula;
+
+/**
+ * Compares the throughput of the {@link Geoid.Formula distance formulas}
+ * with the default Vincenty formula. The {@code ADAPTIVE} parameter uses the
+ * equirectangular approximation for points closer than one kilometer. The
+ * accuracy of the formulas, relative to Karney's formula, is printed by the
+ * {@link #main(String[])} method.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeoidFormulaBenchmark {
+
+	private static final int POINTS = 100_000;
+
+	// The most accurate formula, used as reference for the accuracy.
+	private static final Geoid REFERENCE = Geoid.WGS84.with(Formula.KARNEY);
+
+	@Param({
+		"VINCENTY",
+		"KARNEY",
+		"ANDOYER_LAMBERT",
+		"HAVERSINE",
+		"EQUIRECTANGULAR",
+		"ADAPTIVE"
+	})
+	public String formula;
+
+	private Geoid _geoid;
+	private WayPoint _start;
+	private WayPoint _next;
+	private WayPoint _end;
+	private WayPoint _antipode;
+	private double[] _lat;
+	private double[] _lon;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		_geoid = geoid(formula);
+
+		final List<WayPoint> points =
+			GPXData.nextTrackPoints(POINTS, new Random(GPXData.SEED));
+		_start = points.get(0);
+		_next = points.get(1);
+		_end = WayPoint.of(-33.8688197, 151.2092955);
+		_antipode = WayPoint.of(
+			-_start.getLatitude().doubleValue() + 0.1,
+			_start.getLongitude().doubleValue() - 179.8
+		);
+		_lat = latitudes(points);
+		_lon = longitudes(points);
+	}
+
+	private static Geoid geoid(final String formula) {
+		return "ADAPTIVE".equals(formula)
+			? Geoid.WGS84.adaptive(
+				Length.of(1, Length.Unit.KILOMETER),
+				Formula.EQUIRECTANGULAR)
+			: Geoid.WGS84.with(Formula.valueOf(formula));
+	}
+
+	private static double[] latitudes(final List<WayPoint> points) {
+		return points.stream()
+			.mapToDouble(p -> p.getLatitude().doubleValue())
+			.toArray();
+	}
+
+	private static double[] longitudes(final List<WayPoint> points) {
+		return points.stream()
+			.mapToDouble(p -> p.getLongitude().doubleValue())
+			.toArray();
+	}
+
+	@Benchmark
+	public Length shortDistance() {
+		return _geoid.distance(_start, _next);
+	}
+
+	@Benchmark
+	public Length longDistance() {
+		return _geoid.distance(_start, _end);
+	}
+
+	@Benchmark
+	public Length antipodalDistance() {
+		return _geoid.distance(_start, _antipode);
+	}
+
+	@Benchmark
+	public Length pathLength() {
+		return _geoid.pathLength(_lat, _lon);
+	}
+
+	/**
+	 * Prints the maximal absolute and relative distance error of every
+	 * formula, compared to Karney's formula, for consecutive track points
+	 * and for random point pairs all over the world.
+	 *
+	 * @param args not used
+	 */
+	public static void main(final String[] args) {
+		final Random random = new Random(GPXData.SEED);
+		final List<WayPoint> track = GPXData.nextTrackPoints(POINTS, random);
+		final double[] lat = latitudes(track);
+		final double[] lon = longitudes(track);
+
+		final double[] expected = new double[POINTS - 1];
+		REFERENCE.distances(lat, lon, expected);
+
+		final double[] lat1 = new double[POINTS];
+		final double[] lon1 = new double[POINTS];
+		final double[] lat2 = new double[POINTS];
+		final double[] lon2 = new double[POINTS];
+		for (int i = 0; i < POINTS; ++i) {
+			lat1[i] = random.nextDouble()*160 - 80;
+			lon1[i] = random.nextDouble()*360 - 180;
+			lat2[i] = random.nextDouble()*160 - 80;
+			lon2[i] = random.nextDouble()*360 - 180;
+		}
+
+		System.out.println(
+			"Formula          track: abs [m]  rel     world: abs [m]  rel"
+		);
+		for (String formula : new String[] {
+			"VINCENTY", "ANDOYER_LAMBERT", "HAVERSINE", "EQUIRECTANGULAR", "ADAPTIVE"})
+		{
+			final Geoid geoid = geoid(formula);
+
+			final double[] actual = new double[POINTS - 1];
+			geoid.distances(lat, lon, actual);
+			final double[] trackError = error(expected, actual);
+
+			double worldAbs = 0;
+			double worldRel = 0;
+			for (int i = 0; i < POINTS; ++i) {
+				final WayPoint start = WayPoint.of(lat1[i], lon1[i]);
+				final WayPoint end = WayPoint.of(lat2[i], lon2[i]);
+				final double v = REFERENCE.distance(start, end).doubleValue();
+				final double d = geoid.distance(start, end).doubleValue();
+				worldAbs = Math.max(worldAbs, Math.abs(d - v));
+				worldRel = Math.max(worldRel, Math.abs(d - v)/v);
+			}
+
+			System.out.println(String.format(
+				"%-16s %14.3g %8.2g %14.3g %8.2g",
+				formula, trackError[0], trackError[1], worldAbs, worldRel
+			));
+		}
+	}
+
+	// Return the maximal absolute and relative error.
+	private static double[] error(final double[] expected, final double[] actual) {
+		double abs = 0;
+		double rel = 0;
+		for (int i = 0; i < expected.length; ++i) {
+			final double error = Math.abs(actual[i] - expected[i]);
+			abs = Math.max(abs, error);
+			if (expected[i] > 0) {
+				rel = Math.max(rel, error/expected[i]);
+			}
+		}
+		return new double[]{abs, rel};
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Compares the sequential reading of a big GPX file with the parallel reading
+ * for a different number of threads. The speedup is bounded by the number of
+ * available cores and by the sequential scan of the element boundaries.
+ *
+ * <pre>{@code
+ * ./gradlew jpx-jmh:jmh -Pbenchmark=ParallelReadBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ParallelReadBenchmark {
+
+	@Param({"1000000"})
+	public int points;
+
+	@Param({"1", "2", "4", "8", "16", "32"})
+	public int threads;
+
+	private Path _file;
+	private ForkJoinPool _pool;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		_file = Files.createTempFile("ParallelReadBenchmark", ".gpx");
+		GPX.write(GPXData.next(Version.V11, points), _file);
+		_pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		_pool.shutdown();
+		Files.deleteIfExists(_file);
+	}
+
+	@Benchmark
+	public GPX read() throws IOException {
+		return GPX.read(_file);
+	}
+
+	@Benchmark
+	public GPX readParallel() throws IOException {
+		return GPX.reader().readParallel(_file, _pool);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Compares the opening of a {@link PointStore} file with the parsing of the
+ * same data from a GPX file.
+ *
+ * <pre>{@code
+ * ./gradlew jpx-jmh:jmh -Pbenchmark=PointStoreBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointStoreBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	public int points;
+
+	private Path _gpxFile;
+	private Path _storeFile;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		final GPX gpx = GPXData.next(Version.V11, points);
+
+		_gpxFile = Files.createTempFile("PointStoreBenchmark", ".gpx");
+		_storeFile = Files.createTempFile("PointStoreBenchmark", ".jpxs");
+		GPX.write(gpx, _gpxFile);
+		PointStore.write(gpx, _storeFile);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(_gpxFile);
+		Files.deleteIfExists(_storeFile);
+	}
+
+	@Benchmark
+	public GPX readGPX() throws IOException {
+		return GPX.read(_gpxFile);
+	}
+
+	@Benchmark
+	public GPX openStore() throws IOException {
+		return PointStore.read(_storeFile);
+	}
+
+	@Benchmark
+	public double scanStore() throws IOException {
+		double sum = 0;
+		for (Track track : PointStore.read(_storeFile).getTracks()) {
+			for (TrackSegment segment : track.getSegments()) {
+				for (int i = 0, n = segment.size(); i < n; ++i) {
+					sum += segment.latitude(i) + segment.longitude(i);
+				}
+			}
+		}
+
+		return sum;
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Measures the Java serialization of GPX objects, which is implemented by the
+ * {@link Serial} proxy.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerialBenchmark {
+
+	@Param({"1000", "100000"})
+	public int points;
+
+	private GPX _gpx;
+	private byte[] _data;
+	private ByteArrayOutputStream _out;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		_gpx = GPXData.next(Version.V11, points);
+		_out = new ByteArrayOutputStream();
+		_data = serialize();
+	}
+
+	@Benchmark
+	public byte[] write() throws IOException {
+		return serialize();
+	}
+
+	@Benchmark
+	public Object read() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in =
+				new ObjectInputStream(new ByteArrayInputStream(_data)))
+		{
+			return in.readObject();
+		}
+	}
+
+	private byte[] serialize() throws IOException {
+		_out.reset();
+		try (ObjectOutputStream out = new ObjectOutputStream(_out)) {
+			out.writeObject(_gpx);
+		}
+		return _out.toByteArray();
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.Length.Unit;
+
+/**
+ * Measures the Douglas-Peucker and Visvalingam-Whyatt track simplification.
+ *
+ * <pre>{@code
+ * ./gradlew jpx-jmh:jmh -Pbenchmark=SimplificationBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SimplificationBenchmark {
+
+	@Param({"10000", "1000000"})
+	public int points;
+
+	private List<WayPoint> _points;
+	private final Length _tolerance = Length.of(5, Unit.METER);
+
+	@Setup(Level.Trial)
+	public void setup() {
+		_points = GPXData.nextTrackPoints(points, new Random(GPXData.SEED));
+	}
+
+	@Benchmark
+	public List<WayPoint> douglasPeucker() {
+		return Filters.douglasPeucker(_points, _tolerance);
+	}
+
+	@Benchmark
+	public List<WayPoint> visvalingamWhyatt() {
+		return Filters.visvalingamWhyatt(_points, points/100);
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Version;
+import io.jenetics.jpx.geom.Geoid;
+import io.jenetics.jpx.index.SpatialIndex;
+
+/**
+ * Measures the creation and the queries of the {@link SpatialIndex},
+ * compared with a linear scan over all points.
+ *
+ * <pre>{@code
+ * ./gradlew jpx-jmh:jmh -Pbenchmark=SpatialIndexBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpatialIndexBenchmark {
+
+	@Param({"10000", "1000000"})
+	public int points;
+
+	private final Random _random = new Random(GPXData.SEED);
+
+	private GPX _gpx;
+	private List<WayPoint> _points;
+	private SpatialIndex<WayPoint> _index;
+	private Bounds _bounds;
+	private final Length _radius = Length.of(200, Length.Unit.METER);
+
+	@Setup(Level.Trial)
+	public void setup() {
+		_gpx = GPXData.next(Version.V11, points);
+		_points = _gpx.tracks()
+			.flatMap(Track::segments)
+			.flatMap(TrackSegment::points)
+			.collect(Collectors.toList());
+		_index = SpatialIndex.of(_gpx);
+
+		final WayPoint center = _points.get(_points.size()/2);
+		final double lat = center.getLatitude().doubleValue();
+		final double lon = center.getLongitude().doubleValue();
+		_bounds = Bounds.of(lat - 0.01, lon - 0.01, lat + 0.01, lon + 0.01);
+	}
+
+	private WayPoint center() {
+		return _points.get(_random.nextInt(_points.size()));
+	}
+
+	@Benchmark
+	public SpatialIndex<WayPoint> build() {
+		return SpatialIndex.of(_gpx);
+	}
+
+	@Benchmark
+	public long withinBounds() {
+		return _index.within(_bounds).count();
+	}
+
+	@Benchmark
+	public long withinBoundsScan() {
+		final double minLat = _bounds.getMinLatitude().doubleValue();
+		final double maxLat = _bounds.getMaxLatitude().doubleValue();
+		final double minLon = _bounds.getMinLongitude().doubleValue();
+		final double maxLon = _bounds.getMaxLongitude().doubleValue();
+
+		return _points.stream()
+			.filter(p ->
+				p.getLatitude().doubleValue() >= minLat &&
+				p.getLatitude().doubleValue() <= maxLat &&
+				p.getLongitude().doubleValue() >= minLon &&
+				p.getLongitude().doubleValue() <= maxLon)
+			.count();
+	}
+
+	@Benchmark
+	public long withinRadius() {
+		return _index.within(center(), _radius).count();
+	}
+
+	@Benchmark
+	public long withinRadiusScan() {
+		final WayPoint center = center();
+		return _points.stream()
+			.filter(p -> Geoid.DEFAULT.distance(p, center).compareTo(_radius) <= 0)
+			.count();
+	}
+
+	@Benchmark
+	public List<WayPoint> nearest() {
+		return _index.nearest(center(), 10);
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-call overhead of reading and writing small GPX documents,
+ * with a newly created XML factory per call (the behavior before the
+ * factories were cached) and with the shared default factories.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XMLFactoryBenchmark {
+
+	private GPX _gpx;
+	private byte[] _bytes;
+
+	@Setup
+	public void setup() throws IOException {
+		_gpx = GPX.builder()
+			.addTrack(track -> track
+				.addSegment(segment -> {
+					for (int i = 0; i < 10; ++i) {
+						segment.addPoint(p -> p.lat(48.2).lon(16.3).ele(160));
+					}
+				}))
+			.build();
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GPX.write(_gpx, out);
+		_bytes = out.toByteArray();
+	}
+
+	@Benchmark
+	public GPX readNewFactory() throws IOException {
+		return GPX.Reader.builder()
+			.factory(XMLInputFactory.newInstance())
+			.build()
+			.read(new ByteArrayInputStream(_bytes));
+	}
+
+	@Benchmark
+	public GPX readSharedFactory() throws IOException {
+		return GPX.reader().read(new ByteArrayInputStream(_bytes));
+	}
+
+	@Benchmark
+	public byte[] writeNewFactory() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+		GPX.Writer.builder()
+			.factory(XMLOutputFactory.newInstance())
+			.build()
+			.write(_gpx, out);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] writeSharedFactory() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+		GPX.writer().write(_gpx, out);
+		return out.toByteArray();
+	}
+
+}
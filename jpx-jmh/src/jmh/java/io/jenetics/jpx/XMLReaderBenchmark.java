@@ -0,0 +1,88 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link XMLReader} engine for reading GPX files of the size of
+ * the {@code Austria.gpx} test file. Running the benchmark with the GC
+ * profiler ({@code -prof gc}) shows the allocation rate per read GPX file.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XMLReaderBenchmark {
+
+	@Param({"Austria.gpx", "Gpx-full-sample.gpx"})
+	public String file;
+
+	private byte[] _bytes;
+
+	@Setup
+	public void setup() throws IOException {
+		final String resource = "/io/jenetics/jpx/" + file;
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int length;
+			while ((length = in.read(buffer)) != -1) {
+				out.write(buffer, 0, length);
+			}
+			_bytes = out.toByteArray();
+		}
+	}
+
+	@Benchmark
+	public GPX readStrict() throws IOException {
+		return GPX.reader(GPX.Reader.Mode.STRICT)
+			.read(new ByteArrayInputStream(_bytes));
+	}
+
+	@Benchmark
+	public GPX readLenient() throws IOException {
+		return GPX.reader(GPX.Reader.Mode.LENIENT)
+			.read(new ByteArrayInputStream(_bytes));
+	}
+
+}
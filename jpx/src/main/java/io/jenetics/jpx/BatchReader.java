@@ -0,0 +1,280 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads a batch of GPX files with a bounded number of concurrent workers.
+ * Every worker reads the files into its own, reused, byte buffer and parses
+ * them with the shared GPX reader. The read GPX objects are handed over to
+ * the calling thread via a bounded queue. If the consumer is slower than the
+ * workers, the workers are blocked, which limits the number of GPX objects
+ * kept in memory to twice the number of workers. A worker which is run by
+ * the calling thread itself, e.g. by a direct executor or an executor with
+ * a caller-runs policy, hands its results to the consumer directly.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class BatchReader {
+
+	/**
+	 * The initial size of the read buffer of a worker.
+	 */
+	private static final int BUFFER_SIZE = 64*1024;
+
+	/**
+	 * Read buffers, which grew above this size, are not kept by the workers.
+	 */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 16*1024*1024;
+
+	/**
+	 * The time a worker waits for free queue space, and the calling thread
+	 * waits for the next result, before they check the batch state.
+	 */
+	private static final long TIMEOUT_MILLIS = 10;
+
+	/**
+	 * The read result of one file.
+	 */
+	private static final class Result {
+		final Path path;
+		final GPX gpx;
+		final IOException error;
+
+		Result(final Path path, final GPX gpx, final IOException error) {
+			this.path = path;
+			this.gpx = gpx;
+			this.error = error;
+		}
+	}
+
+	private final GPX.Reader _reader;
+	private final int _parallelism;
+
+	private final BlockingQueue<Result> _results;
+	private final AtomicInteger _running = new AtomicInteger();
+	private Iterator<? extends Path> _paths;
+	private Thread _caller;
+	private BiConsumer<? super Path, ? super GPX> _consumer;
+	private Map<Path, IOException> _errors;
+	private RuntimeException _failure;
+	private volatile boolean _cancelled = false;
+
+	/**
+	 * Create a new batch reader.
+	 *
+	 * @param reader the GPX reader used for reading the single files
+	 * @param parallelism the number of concurrent workers
+	 * @throws IllegalArgumentException if the {@code parallelism} is smaller
+	 *         than one
+	 * @throws NullPointerException if the given {@code reader} is
+	 *         {@code null}
+	 */
+	BatchReader(final GPX.Reader reader, final int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException(format(
+				"Parallelism must be greater than zero: %d", parallelism
+			));
+		}
+
+		_reader = requireNonNull(reader);
+		_parallelism = parallelism;
+		_results = new ArrayBlockingQueue<>(parallelism);
+	}
+
+	/**
+	 * Reads the given GPX files, using the given {@code executor}. The
+	 * {@code consumer} is called by the calling thread, in the order the
+	 * files have been read. The batch reader can only be used once.
+	 *
+	 * @param paths the GPX files to read
+	 * @param executor the executor which runs the workers
+	 * @param consumer the consumer of the read GPX objects
+	 * @return the files which couldn't be read, with the corresponding error,
+	 *         in the order the errors occurred
+	 * @throws InterruptedException if the calling thread has been
+	 *         interrupted while waiting for the next read file
+	 */
+	Map<Path, IOException> read(
+		final Iterator<? extends Path> paths,
+		final Executor executor,
+		final BiConsumer<? super Path, ? super GPX> consumer
+	)
+		throws InterruptedException
+	{
+		_consumer = requireNonNull(consumer);
+		_paths = requireNonNull(paths);
+		_caller = Thread.currentThread();
+		_errors = new LinkedHashMap<>();
+
+		try {
+			for (int i = 0; i < _parallelism; ++i) {
+				_running.incrementAndGet();
+				try {
+					executor.execute(this::work);
+				} catch (RuntimeException e) {
+					_running.decrementAndGet();
+					throw e;
+				}
+			}
+
+			while (_running.get() > 0 || !_results.isEmpty()) {
+				final Result result = _results
+					.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+				if (result != null) {
+					accept(result);
+				}
+			}
+		} finally {
+			_cancelled = true;
+		}
+
+		synchronized (this) {
+			if (_failure != null) {
+				throw _failure;
+			}
+		}
+
+		return _errors;
+	}
+
+	// Must only be called by the calling thread.
+	private void accept(final Result result) {
+		if (result.error != null) {
+			_errors.put(result.path, result.error);
+		} else {
+			_consumer.accept(result.path, result.gpx);
+		}
+	}
+
+	private synchronized void fail(final RuntimeException failure) {
+		if (_failure == null) {
+			_failure = failure;
+		}
+		_cancelled = true;
+	}
+
+	private synchronized Path next() {
+		if (_failure != null) {
+			return null;
+		}
+
+		try {
+			return _paths.hasNext() ? requireNonNull(_paths.next()) : null;
+		} catch (RuntimeException e) {
+			fail(e);
+			return null;
+		}
+	}
+
+	private void work() {
+		final Worker worker = new Worker();
+		try {
+			Path path;
+			while (!_cancelled && (path = next()) != null) {
+				Result result;
+				try {
+					result = new Result(path, worker.read(path), null);
+				} catch (IOException e) {
+					result = new Result(path, null, e);
+				} catch (RuntimeException e) {
+					result = new Result(path, null, new IOException(e));
+				}
+
+				if (Thread.currentThread() == _caller) {
+					// Nobody else would drain the result queue.
+					Result queued;
+					while ((queued = _results.poll()) != null) {
+						accept(queued);
+					}
+					accept(result);
+				} else {
+					while (!_results.offer(result, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+						if (_cancelled) {
+							return;
+						}
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			// Only the consumer, called by the calling thread, can fail here.
+			fail(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			_running.decrementAndGet();
+		}
+	}
+
+	/**
+	 * The state of one worker.
+	 */
+	private final class Worker {
+		private byte[] _buffer = new byte[BUFFER_SIZE];
+
+		GPX read(final Path path) throws IOException {
+			int length = 0;
+			try (InputStream in = Files.newInputStream(path)) {
+				int n;
+				while ((n = in.read(_buffer, length, _buffer.length - length)) >= 0) {
+					length += n;
+					if (length == _buffer.length) {
+						if (length > Integer.MAX_VALUE/2) {
+							throw new IOException(format(
+								"File '%s' is too big.", path
+							));
+						}
+						_buffer = Arrays.copyOf(_buffer, 2*_buffer.length);
+					}
+				}
+			}
+
+			try {
+				return _reader.read(new ByteArrayInputStream(_buffer, 0, length));
+			} finally {
+				if (_buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+					_buffer = new byte[BUFFER_SIZE];
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,643 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Compact binary codec for {@link GPX} objects, used by {@link GPX.Binary}.
+ * <p>
+ * The coordinates of the way-points are quantized to 1e-7 degrees, the
+ * elevation to millimeters and the time to milliseconds. These values are
+ * written as zig-zag encoded variable-length deltas to the previous point.
+ * Values which can't be quantized without loss are written unchanged. All
+ * strings are written only once and referenced by their index afterwards.
+ * The track segments are decoded into compact, column based segments.
+ *
+ * <pre>
+ * file     = magic version gpx
+ * magic    = 'J' 'P' 'X' 'B'
+ * version  = varint
+ * gpx      = string(version) string(creator) metadata wpt* rte* trk*
+ * </pre>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class BinaryCodec {
+
+	// The bytes 'JPXB'.
+	static final int MAGIC = 0x4A505842;
+	static final int FORMAT_VERSION = 1;
+
+	private static final double COORDINATE_SCALE = 1e7;
+	private static final double LENGTH_SCALE = 1e3;
+
+	// Way-point bits, which are not part of the serialized way-point format.
+	private static final int LAT_RAW = 1 << 20;
+	private static final int LON_RAW = 1 << 21;
+	private static final int ELE_RAW = 1 << 22;
+	private static final int SPEED_RAW = 1 << 23;
+	private static final int ZONE = 1 << 24;
+	private static final int NANOS = 1 << 25;
+
+	// The way-point values, which are not stored in the compact columns.
+	private static final int OTHERS = ((1 << 20) - 1) & ~0b111;
+
+	private BinaryCodec() {
+	}
+
+	/**
+	 * Return the quantized value of the given {@code value}, or
+	 * {@link Long#MIN_VALUE} if the value can't be quantized without loss.
+	 */
+	private static long quantize(final double value, final double scale) {
+		final double scaled = value*scale;
+		if (Math.abs(scaled) < 1e15) {
+			final long quantized = Math.round(scaled);
+			if (Double.doubleToLongBits(quantized/scale) ==
+				Double.doubleToLongBits(value))
+			{
+				return quantized;
+			}
+		}
+
+		return Long.MIN_VALUE;
+	}
+
+	/* *************************************************************************
+	 *  Encoder
+	 * ************************************************************************/
+
+	/**
+	 * Writes GPX objects in the binary format.
+	 */
+	static final class Encoder {
+		private final DataOutput _out;
+		private final Map<String, Integer> _strings = new HashMap<>();
+
+		private long _lat = 0;
+		private long _lon = 0;
+		private long _ele = 0;
+		private long _time = 0;
+		private ZoneId _zone = null;
+
+		Encoder(final DataOutput out) {
+			_out = requireNonNull(out);
+		}
+
+		void write(final GPX gpx) throws IOException {
+			_out.writeInt(MAGIC);
+			IO.writeInt(FORMAT_VERSION, _out);
+
+			string(gpx.getVersion());
+			string(gpx.getCreator());
+			IO.writeNullable(gpx.getMetadata().orElse(null), Metadata::write, _out);
+
+			points(gpx.getWayPoints());
+
+			IO.writeInt(gpx.getRoutes().size(), _out);
+			for (Route route : gpx.getRoutes()) {
+				string(route.getName().orElse(null));
+				string(route.getComment().orElse(null));
+				string(route.getDescription().orElse(null));
+				string(route.getSource().orElse(null));
+				IO.writes(route.getLinks(), Link::write, _out);
+				IO.writeNullable(route.getNumber().orElse(null), UInt::write, _out);
+				string(route.getType().orElse(null));
+				points(route.getPoints());
+			}
+
+			IO.writeInt(gpx.getTracks().size(), _out);
+			for (Track track : gpx.getTracks()) {
+				string(track.getName().orElse(null));
+				string(track.getComment().orElse(null));
+				string(track.getDescription().orElse(null));
+				string(track.getSource().orElse(null));
+				IO.writes(track.getLinks(), Link::write, _out);
+				IO.writeNullable(track.getNumber().orElse(null), UInt::write, _out);
+				string(track.getType().orElse(null));
+
+				IO.writeInt(track.getSegments().size(), _out);
+				for (TrackSegment segment : track.getSegments()) {
+					points(segment.getPoints());
+				}
+			}
+		}
+
+		/**
+		 * Writes a, possibly {@code null}, string. A new string is written as
+		 * {@code 0} followed by its value, a known string as its index plus
+		 * one and {@code null} as {@code -1}.
+		 */
+		private void string(final String value) throws IOException {
+			if (value == null) {
+				IO.writeInt(-1, _out);
+			} else {
+				final Integer index = _strings.get(value);
+				if (index != null) {
+					IO.writeInt(index + 1, _out);
+				} else {
+					_strings.put(value, _strings.size());
+					IO.writeInt(0, _out);
+					IO.writeString(value, _out);
+				}
+			}
+		}
+
+		private void points(final List<WayPoint> points) throws IOException {
+			IO.writeInt(points.size(), _out);
+			for (WayPoint point : points) {
+				point(point);
+			}
+		}
+
+		private void point(final WayPoint point) throws IOException {
+			final Length elevation = point.getElevation().orElse(null);
+			final Speed speed = point.getSpeed().orElse(null);
+			final ZonedDateTime time = point.getTime().orElse(null);
+			final Degrees magvar = point.getMagneticVariation().orElse(null);
+			final Length geoidHeight = point.getGeoidHeight().orElse(null);
+			final String name = point.getName().orElse(null);
+			final String comment = point.getComment().orElse(null);
+			final String description = point.getDescription().orElse(null);
+			final String source = point.getSource().orElse(null);
+			final List<Link> links = point.getLinks();
+			final String symbol = point.getSymbol().orElse(null);
+			final String type = point.getType().orElse(null);
+			final Fix fix = point.getFix().orElse(null);
+			final UInt sat = point.getSat().orElse(null);
+			final Double hdop = point.getHdop().orElse(null);
+			final Double vdop = point.getVdop().orElse(null);
+			final Double pdop = point.getPdop().orElse(null);
+			final Duration ageOfGPSData = point.getAgeOfGPSData().orElse(null);
+			final DGPSStation dgpsID = point.getDGPSID().orElse(null);
+			final Degrees course = point.getCourse().orElse(null);
+
+			final long lat = quantize(point.getLatitude().doubleValue(), COORDINATE_SCALE);
+			final long lon = quantize(point.getLongitude().doubleValue(), COORDINATE_SCALE);
+			final long ele = elevation != null
+				? quantize(elevation.doubleValue(), LENGTH_SCALE)
+				: 0;
+			final long velocity = speed != null
+				? quantize(speed.doubleValue(), LENGTH_SCALE)
+				: 0;
+
+			int existing = 0;
+			if (elevation != null) existing |= 1 << 0;
+			if (speed != null) existing |= 1 << 1;
+			if (time != null) existing |= 1 << 2;
+			if (magvar != null) existing |= 1 << 3;
+			if (geoidHeight != null) existing |= 1 << 4;
+			if (name != null) existing |= 1 << 5;
+			if (comment != null) existing |= 1 << 6;
+			if (description != null) existing |= 1 << 7;
+			if (source != null) existing |= 1 << 8;
+			if (!links.isEmpty()) existing |= 1 << 9;
+			if (symbol != null) existing |= 1 << 10;
+			if (type != null) existing |= 1 << 11;
+			if (fix != null) existing |= 1 << 12;
+			if (sat != null) existing |= 1 << 13;
+			if (hdop != null) existing |= 1 << 14;
+			if (vdop != null) existing |= 1 << 15;
+			if (pdop != null) existing |= 1 << 16;
+			if (ageOfGPSData != null) existing |= 1 << 17;
+			if (dgpsID != null) existing |= 1 << 18;
+			if (course != null) existing |= 1 << 19;
+			if (lat == Long.MIN_VALUE) existing |= LAT_RAW;
+			if (lon == Long.MIN_VALUE) existing |= LON_RAW;
+			if (ele == Long.MIN_VALUE) existing |= ELE_RAW;
+			if (velocity == Long.MIN_VALUE) existing |= SPEED_RAW;
+			if (time != null && !time.getZone().equals(_zone)) existing |= ZONE;
+			if (time != null && time.getNano()%1_000_000 != 0) existing |= NANOS;
+
+			IO.writeInt(existing, _out);
+
+			if ((existing & LAT_RAW) != 0) {
+				_out.writeDouble(point.getLatitude().doubleValue());
+			} else {
+				IO.writeLong(lat - _lat, _out);
+				_lat = lat;
+			}
+			if ((existing & LON_RAW) != 0) {
+				_out.writeDouble(point.getLongitude().doubleValue());
+			} else {
+				IO.writeLong(lon - _lon, _out);
+				_lon = lon;
+			}
+			if (elevation != null) {
+				if ((existing & ELE_RAW) != 0) {
+					_out.writeDouble(elevation.doubleValue());
+				} else {
+					IO.writeLong(ele - _ele, _out);
+					_ele = ele;
+				}
+			}
+			if (speed != null) {
+				if ((existing & SPEED_RAW) != 0) {
+					_out.writeDouble(speed.doubleValue());
+				} else {
+					IO.writeLong(velocity, _out);
+				}
+			}
+			if (time != null) {
+				final long millis = time.toInstant().toEpochMilli();
+				IO.writeLong(millis - _time, _out);
+				_time = millis;
+
+				if ((existing & NANOS) != 0) {
+					IO.writeInt(time.getNano()%1_000_000, _out);
+				}
+				if ((existing & ZONE) != 0) {
+					_zone = time.getZone();
+					string(_zone.getId());
+				}
+			}
+			if (magvar != null) magvar.write(_out);
+			if (geoidHeight != null) geoidHeight.write(_out);
+			if (name != null) string(name);
+			if (comment != null) string(comment);
+			if (description != null) string(description);
+			if (source != null) string(source);
+			if (!links.isEmpty()) IO.writes(links, Link::write, _out);
+			if (symbol != null) string(symbol);
+			if (type != null) string(type);
+			if (fix != null) IO.writeInt(fix.ordinal(), _out);
+			if (sat != null) sat.write(_out);
+			if (hdop != null) _out.writeDouble(hdop);
+			if (vdop != null) _out.writeDouble(vdop);
+			if (pdop != null) _out.writeDouble(pdop);
+			if (ageOfGPSData != null) IO.writeLong(ageOfGPSData.toMillis(), _out);
+			if (dgpsID != null) dgpsID.write(_out);
+			if (course != null) course.write(_out);
+		}
+
+	}
+
+	/* *************************************************************************
+	 *  Decoder
+	 * ************************************************************************/
+
+	/**
+	 * Reads GPX objects from the binary format.
+	 */
+	static final class Decoder {
+		private final DataInput _in;
+		private final List<String> _strings = new ArrayList<>();
+
+		private long _lat = 0;
+		private long _lon = 0;
+		private long _ele = 0;
+		private long _time = 0;
+		private ZoneId _zone = null;
+
+		// The values of the last read point.
+		private int _pointExisting;
+		private double _pointLat;
+		private double _pointLon;
+		private double _pointEle;
+		private double _pointSpeed;
+
+		Decoder(final DataInput in) {
+			_in = requireNonNull(in);
+		}
+
+		GPX read() throws IOException {
+			final int magic = _in.readInt();
+			if (magic != MAGIC) {
+				throw new IOException(format(
+					"Invalid binary GPX header: %08X.", magic
+				));
+			}
+			final int version = IO.readInt(_in);
+			if (version != FORMAT_VERSION) {
+				throw new IOException(format(
+					"Unsupported binary GPX version %d.", version
+				));
+			}
+
+			try {
+				return gpx();
+			} catch (IllegalArgumentException | DateTimeException e) {
+				throw new IOException("Invalid binary GPX data.", e);
+			}
+		}
+
+		private GPX gpx() throws IOException {
+			final Version version = Version.of(nonNullString());
+			final String creator = string();
+			final Metadata metadata = IO.readNullable(Metadata::read, _in);
+			final List<WayPoint> wayPoints = points();
+
+			final int routeCount = IO.readLength(_in);
+			final List<Route> routes = new ArrayList<>(
+				min(routeCount, IO.MAX_PREALLOCATION));
+			for (int i = 0; i < routeCount; ++i) {
+				routes.add(Route.of(
+					string(),
+					string(),
+					string(),
+					string(),
+					IO.reads(Link::read, _in),
+					IO.readNullable(UInt::read, _in),
+					string(),
+					points()
+				));
+			}
+
+			final int trackCount = IO.readLength(_in);
+			final List<Track> tracks = new ArrayList<>(
+				min(trackCount, IO.MAX_PREALLOCATION));
+			for (int i = 0; i < trackCount; ++i) {
+				final String name = string();
+				final String comment = string();
+				final String description = string();
+				final String source = string();
+				final List<Link> links = IO.reads(Link::read, _in);
+				final UInt number = IO.readNullable(UInt::read, _in);
+				final String type = string();
+
+				final int segmentCount = IO.readLength(_in);
+				final List<TrackSegment> segments = new ArrayList<>(
+					min(segmentCount, IO.MAX_PREALLOCATION));
+				for (int j = 0; j < segmentCount; ++j) {
+					segments.add(segment());
+				}
+
+				tracks.add(Track.of(
+					name,
+					comment,
+					description,
+					source,
+					links,
+					number,
+					type,
+					segments
+				));
+			}
+
+			return GPX.of(version, creator, metadata, wayPoints, routes, tracks);
+		}
+
+		private String string() throws IOException {
+			final int index = IO.readInt(_in);
+			if (index == -1) {
+				return null;
+			} else if (index == 0) {
+				final String value = IO.readString(_in);
+				_strings.add(value);
+				return value;
+			} else if (index > 0 && index <= _strings.size()) {
+				return _strings.get(index - 1);
+			} else {
+				throw new StreamCorruptedException(format(
+					"Invalid string index %d.", index
+				));
+			}
+		}
+
+		private String nonNullString() throws IOException {
+			final String value = string();
+			if (value == null) {
+				throw new StreamCorruptedException("Missing required string.");
+			}
+			return value;
+		}
+
+		private List<WayPoint> points() throws IOException {
+			final int size = IO.readLength(_in);
+			final List<WayPoint> points = new ArrayList<>(
+				min(size, IO.MAX_PREALLOCATION));
+			for (int i = 0; i < size; ++i) {
+				final WayPoint point = point();
+				points.add(point != null ? point : simplePoint());
+			}
+
+			return points;
+		}
+
+		/**
+		 * Reads the points of a track segment directly into the columns of
+		 * a compact segment, without creating {@link WayPoint} objects for
+		 * the simple points. The columns grow while the points are read, so
+		 * a corrupt point count fails with an {@code EOFException} instead
+		 * of allocating the columns in advance.
+		 */
+		private TrackSegment segment() throws IOException {
+			final int size = IO.readLength(_in);
+			int capacity = min(size, IO.MAX_PREALLOCATION);
+			double[] lat = new double[capacity];
+			double[] lon = new double[capacity];
+			double[] ele = new double[capacity];
+			double[] speed = new double[capacity];
+			long[] time = new long[capacity];
+			final BitSet hasEle = new BitSet(capacity);
+			final BitSet hasSpeed = new BitSet(capacity);
+			final BitSet hasTime = new BitSet(capacity);
+
+			ZoneId zone = null;
+			WayPoint[] others = null;
+			for (int i = 0; i < size; ++i) {
+				if (i == capacity) {
+					capacity = IO.grow(capacity, size);
+					lat = Arrays.copyOf(lat, capacity);
+					lon = Arrays.copyOf(lon, capacity);
+					ele = Arrays.copyOf(ele, capacity);
+					speed = Arrays.copyOf(speed, capacity);
+					time = Arrays.copyOf(time, capacity);
+					if (others != null) {
+						others = Arrays.copyOf(others, capacity);
+					}
+				}
+
+				WayPoint point = point();
+
+				lat[i] = _pointLat;
+				lon[i] = _pointLon;
+				if ((_pointExisting & (1 << 0)) != 0) {
+					ele[i] = _pointEle;
+					hasEle.set(i);
+				}
+				if ((_pointExisting & (1 << 1)) != 0) {
+					speed[i] = _pointSpeed;
+					hasSpeed.set(i);
+				}
+				if ((_pointExisting & (1 << 2)) != 0) {
+					time[i] = _time;
+					hasTime.set(i);
+					if (zone == null) {
+						zone = _zone;
+					} else if (point == null && !zone.equals(_zone)) {
+						point = simplePoint();
+					}
+				}
+
+				if (point != null) {
+					if (others == null) {
+						others = new WayPoint[capacity];
+					}
+					others[i] = point;
+				}
+			}
+
+			return TrackSegment.of(WayPointColumns.of(
+				lat, lon, ele, speed, time,
+				hasEle, hasSpeed, hasTime,
+				zone, others
+			));
+		}
+
+		/**
+		 * Reads the next way-point. The latitude, longitude, elevation, speed
+		 * and time of the point are stored in the decoder state. If the point
+		 * contains no other values, {@code null} is returned.
+		 */
+		private WayPoint point() throws IOException {
+			final int existing = IO.readInt(_in);
+			_pointExisting = existing;
+
+			if ((existing & LAT_RAW) != 0) {
+				_pointLat = _in.readDouble();
+			} else {
+				_lat += IO.readLong(_in);
+				_pointLat = _lat/COORDINATE_SCALE;
+			}
+			if ((existing & LON_RAW) != 0) {
+				_pointLon = _in.readDouble();
+			} else {
+				_lon += IO.readLong(_in);
+				_pointLon = _lon/COORDINATE_SCALE;
+			}
+			if ((existing & (1 << 0)) != 0) {
+				if ((existing & ELE_RAW) != 0) {
+					_pointEle = _in.readDouble();
+				} else {
+					_ele += IO.readLong(_in);
+					_pointEle = _ele/LENGTH_SCALE;
+				}
+			}
+			if ((existing & (1 << 1)) != 0) {
+				_pointSpeed = (existing & SPEED_RAW) != 0
+					? _in.readDouble()
+					: IO.readLong(_in)/LENGTH_SCALE;
+			}
+
+			int nanos = 0;
+			if ((existing & (1 << 2)) != 0) {
+				_time += IO.readLong(_in);
+				nanos = (existing & NANOS) != 0 ? IO.readInt(_in) : 0;
+				if ((existing & ZONE) != 0) {
+					_zone = ZoneId.of(nonNullString());
+				}
+				if (_zone == null) {
+					throw new IOException("Missing time zone.");
+				}
+			}
+
+			if ((existing & OTHERS) == 0 && nanos == 0) {
+				return null;
+			}
+
+			return WayPoint.of(
+				Latitude.ofDegrees(_pointLat),
+				Longitude.ofDegrees(_pointLon),
+				((existing & (1 <<  0)) != 0)
+					? Length.of(_pointEle, Length.Unit.METER)
+					: null,
+				((existing & (1 <<  1)) != 0)
+					? Speed.of(_pointSpeed, Speed.Unit.METERS_PER_SECOND)
+					: null,
+				((existing & (1 <<  2)) != 0)
+					? ZonedDateTime.ofInstant(
+						Instant.ofEpochMilli(_time).plusNanos(nanos),
+						_zone)
+					: null,
+				((existing & (1 <<  3)) != 0) ? Degrees.read(_in) : null,
+				((existing & (1 <<  4)) != 0) ? Length.read(_in) : null,
+				((existing & (1 <<  5)) != 0) ? string() : null,
+				((existing & (1 <<  6)) != 0) ? string() : null,
+				((existing & (1 <<  7)) != 0) ? string() : null,
+				((existing & (1 <<  8)) != 0) ? string() : null,
+				((existing & (1 <<  9)) != 0) ? IO.reads(Link::read, _in) : null,
+				((existing & (1 << 10)) != 0) ? string() : null,
+				((existing & (1 << 11)) != 0) ? string() : null,
+				((existing & (1 << 12)) != 0) ? fix(IO.readInt(_in)) : null,
+				((existing & (1 << 13)) != 0) ? UInt.read(_in) : null,
+				((existing & (1 << 14)) != 0) ? _in.readDouble() : null,
+				((existing & (1 << 15)) != 0) ? _in.readDouble() : null,
+				((existing & (1 << 16)) != 0) ? _in.readDouble() : null,
+				((existing & (1 << 17)) != 0) ? Duration.ofMillis(IO.readLong(_in)) : null,
+				((existing & (1 << 18)) != 0) ? DGPSStation.read(_in) : null,
+				((existing & (1 << 19)) != 0) ? Degrees.read(_in) : null
+			);
+		}
+
+		/**
+		 * Create the way-point from the decoder state of the last simple
+		 * point.
+		 */
+		private WayPoint simplePoint() {
+			return WayPoint.of(
+				Latitude.ofDegrees(_pointLat),
+				Longitude.ofDegrees(_pointLon),
+				((_pointExisting & (1 << 0)) != 0)
+					? Length.of(_pointEle, Length.Unit.METER)
+					: null,
+				((_pointExisting & (1 << 1)) != 0)
+					? Speed.of(_pointSpeed, Speed.Unit.METERS_PER_SECOND)
+					: null,
+				((_pointExisting & (1 << 2)) != 0)
+					? ZonedDateTime.ofInstant(Instant.ofEpochMilli(_time), _zone)
+					: null
+			);
+		}
+
+		private static Fix fix(final int ordinal) throws IOException {
+			final Fix[] values = Fix.values();
+			if (ordinal < 0 || ordinal >= values.length) {
+				throw new IOException(format("Invalid fix value %d.", ordinal));
+			}
+			return values[ordinal];
+		}
+
+	}
+
+}
@@ -19,6 +19,8 @@
  */
 package io.jenetics.jpx;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
@@ -28,13 +30,19 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Two lat/lon pairs defining the extent of an element.
+ * <p>
+ * {@code Bounds} objects are immutable. This allows the {@code getBounds()}
+ * methods of {@link TrackSegment}, {@link Track}, {@link Route} and
+ * {@link GPX} to calculate their bounds lazily and to cache them without
+ * further synchronization.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.0
  */
 public final class Bounds implements Serializable {
@@ -185,6 +193,73 @@ public final class Bounds implements Serializable {
 		);
 	}
 
+	/**
+	 * Return the bounds of the given points, or {@code null} if the point
+	 * list is empty. For compact point lists, no {@link WayPoint} objects are
+	 * created.
+	 *
+	 * @param points the points
+	 * @return the bounds of the given points, or {@code null}
+	 */
+	static Bounds of(final List<? extends Point> points) {
+		final int size = points.size();
+		if (size == 0) {
+			return null;
+		}
+
+		double minLat = Double.POSITIVE_INFINITY;
+		double minLon = Double.POSITIVE_INFINITY;
+		double maxLat = Double.NEGATIVE_INFINITY;
+		double maxLon = Double.NEGATIVE_INFINITY;
+
+		if (points instanceof WayPointColumns) {
+			final WayPointColumns columns = (WayPointColumns)points;
+			for (int i = 0; i < size; ++i) {
+				final double lat = columns.latitude(i);
+				final double lon = columns.longitude(i);
+				minLat = min(minLat, lat);
+				minLon = min(minLon, lon);
+				maxLat = max(maxLat, lat);
+				maxLon = max(maxLon, lon);
+			}
+		} else {
+			for (Point point : points) {
+				final double lat = point.getLatitude().doubleValue();
+				final double lon = point.getLongitude().doubleValue();
+				minLat = min(minLat, lat);
+				minLon = min(minLon, lon);
+				maxLat = max(maxLat, lat);
+				maxLon = max(maxLon, lon);
+			}
+		}
+
+		return of(minLat, minLon, maxLat, maxLon);
+	}
+
+	/**
+	 * Return the bounds which contain both of the given bounds.
+	 *
+	 * @param a the first bounds, may be {@code null}
+	 * @param b the second bounds, may be {@code null}
+	 * @return the merged bounds, or {@code null} if both bounds are
+	 *         {@code null}
+	 */
+	static Bounds merge(final Bounds a, final Bounds b) {
+		if (a == null || a.equals(b)) {
+			return b;
+		}
+		if (b == null) {
+			return a;
+		}
+
+		return of(
+			min(a._minLatitude.doubleValue(), b._minLatitude.doubleValue()),
+			min(a._minLongitude.doubleValue(), b._minLongitude.doubleValue()),
+			max(a._maxLatitude.doubleValue(), b._maxLatitude.doubleValue()),
+			max(a._maxLongitude.doubleValue(), b._maxLongitude.doubleValue())
+		);
+	}
+
 	/* *************************************************************************
 	 *  Java object serialization
 	 * ************************************************************************/
@@ -218,10 +293,10 @@ public final class Bounds implements Serializable {
 	 * ************************************************************************/
 
 	static final XMLWriter<Bounds> WRITER = XMLWriter.elem("bounds",
-		XMLWriter.attr("minlat").map(Bounds::getMinLatitude),
-		XMLWriter.attr("minlon").map(Bounds::getMinLongitude),
-		XMLWriter.attr("maxlat").map(Bounds::getMaxLatitude),
-		XMLWriter.attr("maxlon").map(Bounds::getMaxLongitude)
+		XMLWriter.numberAttr("minlat").map(Bounds::getMinLatitude),
+		XMLWriter.numberAttr("minlon").map(Bounds::getMinLongitude),
+		XMLWriter.numberAttr("maxlat").map(Bounds::getMaxLatitude),
+		XMLWriter.numberAttr("maxlon").map(Bounds::getMaxLongitude)
 	);
 
 	static final XMLReader<Bounds> READER = XMLReader.elem(
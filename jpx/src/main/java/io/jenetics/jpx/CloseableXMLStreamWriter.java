@@ -27,14 +27,63 @@ import javax.xml.stream.XMLStreamWriter;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.0
+ * @version 1.5
  * @since 1.0
  */
 class CloseableXMLStreamWriter implements XMLStreamWriter, AutoCloseable {
 	private final XMLStreamWriter _adoptee;
+	private final int _fractionDigits;
+	private final char[] _number = new char[DoubleFormat.MAX_LENGTH];
+
+	/**
+	 * Create a new closeable XML stream writer.
+	 *
+	 * @param writer the underlying XML stream writer
+	 * @param fractionDigits the maximal number of fraction digits of the
+	 *        written numbers, or a negative value for writing the shortest,
+	 *        exact representation
+	 */
+	CloseableXMLStreamWriter(
+		final XMLStreamWriter writer,
+		final int fractionDigits
+	) {
+		_adoptee = requireNonNull(writer);
+		_fractionDigits = fractionDigits;
+	}
 
 	CloseableXMLStreamWriter(final XMLStreamWriter writer) {
-		_adoptee = requireNonNull(writer);
+		this(writer, -1);
+	}
+
+	/**
+	 * Writes the given number value as element text.
+	 *
+	 * @since 1.5
+	 *
+	 * @param value the number value to write
+	 * @throws XMLStreamException if the value can't be written
+	 */
+	void writeNumber(final double value) throws XMLStreamException {
+		writeCharacters(
+			_number, 0,
+			DoubleFormat.format(value, _fractionDigits, _number)
+		);
+	}
+
+	/**
+	 * Return the formatted string of the given number value, as it is written
+	 * by this writer.
+	 *
+	 * @since 1.5
+	 *
+	 * @param value the number value to format
+	 * @return the formatted number
+	 */
+	String numberString(final double value) {
+		return new String(
+			_number, 0,
+			DoubleFormat.format(value, _fractionDigits, _number)
+		);
 	}
 
 	@Override
@@ -0,0 +1,277 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+/**
+ * Fast formatting and parsing of the {@code double} values written to and
+ * read from GPX files. Values with a short decimal representation, which is
+ * the common case for coordinates and elevations, are formatted and parsed
+ * without creating intermediate objects. All other values are handled by
+ * {@link Double#toString(double)} and {@link Double#parseDouble(String)}.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class DoubleFormat {
+
+	/**
+	 * The maximal number of characters of a formatted {@code double} value.
+	 */
+	static final int MAX_LENGTH = 32;
+
+	/**
+	 * The maximal number of fraction digits which can be used for formatting
+	 * {@code double} values.
+	 */
+	static final int MAX_FRACTION_DIGITS = 17;
+
+	// Doubles with a greater (integral) value may not be exactly representable.
+	private static final double MAX_EXACT = 1L << 53;
+
+	// All powers of ten, which are exactly representable as double.
+	private static final double[] POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private DoubleFormat() {
+	}
+
+	/**
+	 * Formats the given {@code value} into the given character
+	 * {@code buffer}. If the {@code fractionDigits} is negative, the shortest
+	 * decimal string, which uniquely distinguishes the value from its adjacent
+	 * {@code double} values, is written, which is the same representation as
+	 * created by {@link Double#toString(double)}. Otherwise, the value is
+	 * rounded to the given number of fraction digits, trailing zeros are
+	 * removed and at least one fraction digit is kept.
+	 *
+	 * @param value the value to format
+	 * @param fractionDigits the maximal number of fraction digits, or a
+	 *        negative value for the shortest, exact representation
+	 * @param buffer the output buffer, with a length of at least
+	 *        {@link #MAX_LENGTH}
+	 * @return the number of written characters
+	 * @throws IllegalArgumentException if the {@code fractionDigits} is greater
+	 *         than {@link #MAX_FRACTION_DIGITS}
+	 */
+	static int format(
+		final double value,
+		final int fractionDigits,
+		final char[] buffer
+	) {
+		if (fractionDigits > MAX_FRACTION_DIGITS) {
+			throw new IllegalArgumentException(String.format(
+				"Fraction digits must be in the range [0, %d]: %d",
+				MAX_FRACTION_DIGITS, fractionDigits
+			));
+		}
+
+		final double abs = Math.abs(value);
+		final int length = fractionDigits < 0
+			? shortest(value, abs, buffer)
+			: rounded(value, abs, fractionDigits, buffer);
+
+		return length != -1 ? length : fallback(value, buffer);
+	}
+
+	/**
+	 * Formats the given {@code value}.
+	 *
+	 * @see #format(double, int, char[])
+	 *
+	 * @param value the value to format
+	 * @param fractionDigits the maximal number of fraction digits, or a
+	 *        negative value for the shortest, exact representation
+	 * @return the formatted value
+	 */
+	static String format(final double value, final int fractionDigits) {
+		final char[] buffer = new char[MAX_LENGTH];
+		return new String(buffer, 0, format(value, fractionDigits, buffer));
+	}
+
+	private static int shortest(
+		final double value,
+		final double abs,
+		final char[] buffer
+	) {
+		// Double.toString uses the scientific notation outside this range.
+		if (abs >= 1e-3 && abs < 1e7) {
+			for (int digits = 1; digits < POW10.length; ++digits) {
+				final double scaled = abs*POW10[digits];
+				if (scaled >= MAX_EXACT) {
+					break;
+				}
+
+				// Both, the mantissa and the power of ten, are exact. The
+				// division is therefore rounded the same way as the parsing
+				// of the formatted decimal string.
+				final long mantissa = Math.round(scaled);
+				if (mantissa/POW10[digits] == abs) {
+					return write(value < 0, mantissa, digits, buffer);
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	private static int rounded(
+		final double value,
+		final double abs,
+		final int digits,
+		final char[] buffer
+	) {
+		final double scaled = abs*POW10[digits];
+		if (scaled < MAX_EXACT) {
+			final long mantissa = Math.round(scaled);
+			return write(value < 0 && mantissa != 0, mantissa, digits, buffer);
+		}
+
+		return -1;
+	}
+
+	private static int fallback(final double value, final char[] buffer) {
+		final String string = Double.toString(value);
+		string.getChars(0, string.length(), buffer, 0);
+		return string.length();
+	}
+
+	/*
+	 * Writes the decimal value 'mantissa*10^-digits' and removes the trailing
+	 * zeros of the fraction part. At least one fraction digit is written.
+	 */
+	private static int write(
+		final boolean negative,
+		final long mantissa,
+		final int digits,
+		final char[] buffer
+	) {
+		long value = mantissa;
+		int fraction = digits;
+		while (fraction > 1 && value%10 == 0) {
+			value /= 10;
+			--fraction;
+		}
+
+		long integer = value;
+		for (int i = 0; i < fraction; ++i) {
+			integer /= 10;
+		}
+		int length = negative ? 3 : 2;
+		length += Math.max(fraction, 1);
+		for (; integer >= 10; integer /= 10) {
+			++length;
+		}
+
+		// The digits are written from right to left.
+		int index = length;
+		if (fraction == 0) {
+			buffer[--index] = '0';
+		}
+		for (int i = 0; i < fraction; ++i) {
+			buffer[--index] = (char)('0' + value%10);
+			value /= 10;
+		}
+		buffer[--index] = '.';
+		do {
+			buffer[--index] = (char)('0' + value%10);
+			value /= 10;
+		} while (value != 0);
+		if (negative) {
+			buffer[--index] = '-';
+		}
+
+		return length;
+	}
+
+	/**
+	 * Parses the given {@code text} with the same semantics as
+	 * {@link Double#parseDouble(String)}. Plain decimal numbers with up to
+	 * 15 significant digits are parsed directly, without creating a
+	 * {@code String} object.
+	 *
+	 * @param text the text to parse
+	 * @return the parsed value
+	 * @throws NumberFormatException if the given {@code text} is not a valid
+	 *         {@code double} value
+	 * @throws NullPointerException if the given {@code text} is {@code null}
+	 */
+	static double parse(final CharSequence text) {
+		int start = 0;
+		int end = text.length();
+		while (start < end && text.charAt(start) <= ' ') {
+			++start;
+		}
+		while (end > start && text.charAt(end - 1) <= ' ') {
+			--end;
+		}
+
+		int index = start;
+		boolean negative = false;
+		if (index < end) {
+			final char c = text.charAt(index);
+			if (c == '-' || c == '+') {
+				negative = c == '-';
+				++index;
+			}
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean point = false;
+		boolean valid = false;
+		for (; index < end; ++index) {
+			final char c = text.charAt(index);
+			if (c >= '0' && c <= '9') {
+				if (mantissa != 0 || c != '0') {
+					// More digits would exceed the exact double range.
+					if (++digits > 15) {
+						return fallback(text);
+					}
+					mantissa = mantissa*10 + (c - '0');
+				}
+				if (point) {
+					++scale;
+				}
+				valid = true;
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				return fallback(text);
+			}
+		}
+
+		if (!valid || scale >= POW10.length) {
+			return fallback(text);
+		}
+
+		// Both operands are exact, which makes the result correctly rounded.
+		final double value = mantissa/POW10[scale];
+		return negative ? -value : value;
+	}
+
+	private static double fallback(final CharSequence text) {
+		return Double.parseDouble(text.toString());
+	}
+
+}
@@ -0,0 +1,657 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Index of the byte ranges of the top-level elements of a GPX document. The
+ * index is created by a fast byte scan, which only recognizes tags, comments,
+ * processing instructions and {@code CDATA} sections. No XML parser is
+ * involved. The indexed elements can then be parsed independently of each
+ * other, with the usual element readers.
+ * <p>
+ * Only documents with an ASCII compatible encoding ({@code UTF-8},
+ * {@code US-ASCII}, {@code ISO-8859-x} and {@code windows-125x}) and without
+ * {@code DOCTYPE} declaration can be indexed.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class ElementIndex {
+
+	/**
+	 * A top-level element of the indexed GPX document. For {@code trk}
+	 * elements, the {@code trkseg} child elements are indexed as well.
+	 */
+	static final class Element {
+		final String name;
+		final int start;
+		final int end;
+		final List<Element> children;
+
+		private Element(
+			final String name,
+			final int start,
+			final int end,
+			final List<Element> children
+		) {
+			this.name = name;
+			this.start = start;
+			this.end = end;
+			this.children = children;
+		}
+
+		private Element(final String name, final int start, final int end) {
+			this(name, start, end, Collections.emptyList());
+		}
+
+		/**
+		 * Return the length of the element in bytes.
+		 *
+		 * @return the length of the element in bytes
+		 */
+		int length() {
+			return end - start;
+		}
+
+		@Override
+		public String toString() {
+			return format("<%s>[%d, %d)", name, start, end);
+		}
+	}
+
+	private static final Pattern ENCODING = Pattern
+		.compile("encoding\\s*=\\s*[\"']([A-Za-z0-9._\\-]+)[\"']");
+
+	private final ByteBuffer _buffer;
+	private final String _encoding;
+	private final int _rootStart;
+	private final int _rootEnd;
+	private final byte[] _rootEndTag;
+	private final List<Element> _elements;
+
+	private ElementIndex(
+		final ByteBuffer buffer,
+		final String encoding,
+		final int rootStart,
+		final int rootEnd,
+		final byte[] rootEndTag,
+		final List<Element> elements
+	) {
+		_buffer = buffer;
+		_encoding = encoding;
+		_rootStart = rootStart;
+		_rootEnd = rootEnd;
+		_rootEndTag = rootEndTag;
+		_elements = elements;
+	}
+
+	/**
+	 * Return the indexed top-level elements, in document order.
+	 *
+	 * @return the indexed top-level elements
+	 */
+	List<Element> elements() {
+		return _elements;
+	}
+
+	/**
+	 * Return the indexed top-level elements with the given {@code name}.
+	 *
+	 * @param name the local element name
+	 * @return the top-level elements with the given {@code name}
+	 */
+	List<Element> elements(final String name) {
+		final List<Element> elements = new ArrayList<>();
+		for (Element element : _elements) {
+			if (element.name.equals(name)) {
+				elements.add(element);
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 * Open a new GPX document, which consists of the original {@code gpx}
+	 * root element and the given top-level {@code elements}. The root element
+	 * carries all namespace declarations of the original document.
+	 *
+	 * @param elements the top-level elements of the created document
+	 * @return the input stream of the new GPX document
+	 */
+	InputStream open(final List<Element> elements) {
+		return open(elements, false);
+	}
+
+	/**
+	 * Open a new GPX document, which consists of the original {@code gpx}
+	 * root element and the given {@code elements}. If {@code shell} is
+	 * {@code true}, the indexed child elements are left out, e.g. the
+	 * {@code trk} elements are opened without their {@code trkseg} elements.
+	 *
+	 * @param elements the elements of the created document
+	 * @param shell if {@code true}, the indexed child elements are left out
+	 * @return the input stream of the new GPX document
+	 */
+	InputStream open(final List<Element> elements, final boolean shell) {
+		final List<InputStream> streams = new ArrayList<>(elements.size() + 2);
+		streams.add(new BufferInputStream(_buffer, _rootStart, _rootEnd));
+		for (Element element : elements) {
+			int pos = element.start;
+			if (shell) {
+				for (Element child : element.children) {
+					streams.add(new BufferInputStream(_buffer, pos, child.start));
+					pos = child.end;
+				}
+			}
+			streams.add(new BufferInputStream(_buffer, pos, element.end));
+		}
+		streams.add(new ByteArrayInputStream(_rootEndTag));
+
+		return new SequenceInputStream(Collections.enumeration(streams));
+	}
+
+	/**
+	 * Reads the given top-level {@code element} with the given element
+	 * {@code reader}.
+	 *
+	 * @param element the element to read
+	 * @param reader the element reader
+	 * @param factory the XML input factory used for parsing the element
+	 * @param lenient lenient read mode
+	 * @param <T> the element type
+	 * @return the read element, maybe {@code null} in lenient mode
+	 * @throws IOException if the element can't be read
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T read(
+		final Element element,
+		final XMLReader<? extends T> reader,
+		final XMLInputFactory factory,
+		final boolean lenient
+	)
+		throws IOException
+	{
+		return (T)read(
+			Collections.singletonList(element),
+			false,
+			name -> reader,
+			factory,
+			lenient
+		).get(0);
+	}
+
+	/**
+	 * Reads the given consecutive {@code elements} with one XML stream
+	 * reader. The reader of an element is determined by its name.
+	 *
+	 * @param elements the elements to read, in document order
+	 * @param shell if {@code true}, the indexed child elements are left out
+	 * @param readers the element readers, by element name
+	 * @param factory the XML input factory used for parsing the elements
+	 * @param lenient lenient read mode
+	 * @return the read elements, which may contain {@code null} values in
+	 *         lenient mode
+	 * @throws IOException if one of the elements can't be read
+	 */
+	List<Object> read(
+		final List<Element> elements,
+		final boolean shell,
+		final Function<? super String, ? extends XMLReader<?>> readers,
+		final XMLInputFactory factory,
+		final boolean lenient
+	)
+		throws IOException
+	{
+		final List<Object> result = new ArrayList<>(elements.size());
+		final InputStream in = open(elements, shell);
+		try (CloseableXMLStreamReader xml = new CloseableXMLStreamReader(
+				factory.createXMLStreamReader(in, _encoding)))
+		{
+			xml.nextTag();
+			for (Element element : elements) {
+				xml.nextTag();
+				result.add(readers.apply(element.name).read(xml, lenient));
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Reads the GPX document, without the {@code wpt}, {@code rte} and
+	 * {@code trk} elements. The returned GPX object contains the version, the
+	 * creator and the metadata of the indexed document.
+	 *
+	 * @param reader the GPX reader
+	 * @param factory the XML input factory used for parsing the header
+	 * @param lenient lenient read mode
+	 * @return the read GPX header, maybe {@code null} in lenient mode
+	 * @throws IOException if the header can't be read
+	 */
+	GPX header(
+		final XMLReader<GPX> reader,
+		final XMLInputFactory factory,
+		final boolean lenient
+	)
+		throws IOException
+	{
+		final List<Element> elements = new ArrayList<>();
+		for (Element element : _elements) {
+			if (!isData(element.name)) {
+				elements.add(element);
+			}
+		}
+
+		try (CloseableXMLStreamReader xml = new CloseableXMLStreamReader(
+				factory.createXMLStreamReader(open(elements), _encoding)))
+		{
+			xml.nextTag();
+			return reader.read(xml, lenient);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Return a list, which reads the top-level elements with the given
+	 * {@code name} when it is accessed the first time. Errors, which occur
+	 * while reading the elements, are thrown as {@link UncheckedIOException}.
+	 *
+	 * @param name the name of the list elements
+	 * @param reader the element reader
+	 * @param factory the XML input factory used for parsing the elements
+	 * @param lenient lenient read mode
+	 * @param <T> the element type
+	 * @return the lazily read list of elements
+	 */
+	<T> List<T> lazy(
+		final String name,
+		final XMLReader<? extends T> reader,
+		final XMLInputFactory factory,
+		final boolean lenient
+	) {
+		final List<Element> elements = elements(name);
+		if (elements.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		return new LazyList<>(() -> {
+			final List<T> result = new ArrayList<>(elements.size());
+			for (Element element : elements) {
+				try {
+					final T value = read(element, reader, factory, lenient);
+					if (value != null) {
+						result.add(value);
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			return Collections.unmodifiableList(result);
+		});
+	}
+
+	private static boolean isData(final String name) {
+		return "wpt".equals(name) || "rte".equals(name) || "trk".equals(name);
+	}
+
+
+	/* *************************************************************************
+	 *  Scanning the GPX document
+	 * ************************************************************************/
+
+	/**
+	 * Create a new element index for the GPX document, contained in the given
+	 * {@code buffer}. The {@code buffer} is not copied and must not be changed
+	 * after the index has been created.
+	 *
+	 * @param buffer the GPX document
+	 * @return a new element index
+	 * @throws IOException if the document is not well-formed or if it can't be
+	 *         indexed, because of its encoding or a {@code DOCTYPE}
+	 *         declaration
+	 * @throws NullPointerException if the given {@code buffer} is {@code null}
+	 */
+	static ElementIndex of(final ByteBuffer buffer) throws IOException {
+		requireNonNull(buffer);
+
+		int pos = buffer.position();
+		if (startsWith(buffer, pos, 0xEF, 0xBB, 0xBF)) {
+			pos += 3;
+		}
+		if (startsWith(buffer, pos, 0xFE, 0xFF) ||
+			startsWith(buffer, pos, 0xFF, 0xFE) ||
+			startsWith(buffer, pos, 0x00, '<') ||
+			startsWith(buffer, pos, '<', 0x00))
+		{
+			throw new IOException("Only ASCII compatible encodings are supported.");
+		}
+
+		String encoding = "UTF-8";
+		if (startsWith(buffer, pos, "<?xml")) {
+			final int end = after(buffer, pos, "?>");
+			final Matcher matcher = ENCODING.matcher(string(buffer, pos, end));
+			if (matcher.find()) {
+				encoding = matcher.group(1);
+				if (!isASCIICompatible(encoding)) {
+					throw new IOException(format(
+						"Unsupported encoding '%s'.", encoding
+					));
+				}
+			}
+			pos = end;
+		}
+
+		final List<Element> elements = new ArrayList<>();
+		int rootStart = -1;
+		int rootEnd = -1;
+		byte[] rootEndTag = null;
+		int depth = 0;
+		int start = -1;
+		String name = null;
+
+		List<Element> children = new ArrayList<>();
+		int childStart = -1;
+
+		while (depth >= 0 && (pos = indexOf(buffer, pos, '<')) >= 0) {
+			final byte next = pos + 1 < buffer.limit() ? buffer.get(pos + 1) : 0;
+			if (next == '!') {
+				if (startsWith(buffer, pos, "<!--")) {
+					pos = after(buffer, pos + 4, "-->");
+				} else if (startsWith(buffer, pos, "<![CDATA[")) {
+					pos = after(buffer, pos + 9, "]]>");
+				} else {
+					throw new IOException("DOCTYPE declarations are not supported.");
+				}
+			} else if (next == '?') {
+				pos = after(buffer, pos + 2, "?>");
+			} else if (next == '/') {
+				final int end = after(buffer, pos + 2, ">");
+				if (--depth == 2 && childStart >= 0) {
+					children.add(new Element("trkseg", childStart, end));
+					childStart = -1;
+				} else if (depth == 1) {
+					elements.add(element(name, start, end, children));
+					if (!children.isEmpty()) {
+						children = new ArrayList<>();
+					}
+				} else if (depth == 0) {
+					depth = -1;
+				}
+				pos = end;
+			} else {
+				final int end = tagEnd(buffer, pos + 1);
+				final boolean empty = buffer.get(end - 2) == '/';
+
+				if (depth == 0) {
+					final String qname = qname(buffer, pos + 1);
+					if (!"gpx".equals(localName(qname)) || empty) {
+						throw new IOException(format(
+							"Expected <gpx> root element, but got <%s>.", qname
+						));
+					}
+					rootStart = pos;
+					rootEnd = end;
+					rootEndTag = ("</" + qname + ">").getBytes(US_ASCII);
+				} else if (depth == 1) {
+					start = pos;
+					name = localName(qname(buffer, pos + 1));
+					if (empty) {
+						elements.add(new Element(name, start, end));
+					}
+				} else if (depth == 2 && "trk".equals(name)) {
+					if ("trkseg".equals(localName(qname(buffer, pos + 1)))) {
+						if (empty) {
+							children.add(new Element("trkseg", pos, end));
+						} else {
+							childStart = pos;
+						}
+					}
+				}
+
+				if (!empty) {
+					++depth;
+				}
+				pos = end;
+			}
+		}
+
+		if (rootStart < 0 || depth >= 0) {
+			throw new IOException("Unexpected end of document.");
+		}
+
+		return new ElementIndex(
+			buffer,
+			encoding,
+			rootStart,
+			rootEnd,
+			rootEndTag,
+			Collections.unmodifiableList(elements)
+		);
+	}
+
+	private static Element element(
+		final String name,
+		final int start,
+		final int end,
+		final List<Element> children
+	) {
+		return children.isEmpty()
+			? new Element(name, start, end)
+			: new Element(name, start, end, Collections.unmodifiableList(children));
+	}
+
+	private static boolean isASCIICompatible(final String encoding) {
+		final String enc = encoding.toUpperCase(Locale.ENGLISH);
+		return enc.equals("UTF-8") ||
+			enc.equals("UTF8") ||
+			enc.equals("US-ASCII") ||
+			enc.equals("ASCII") ||
+			enc.startsWith("ISO-8859-") ||
+			enc.startsWith("WINDOWS-125");
+	}
+
+	private static boolean startsWith(
+		final ByteBuffer buffer,
+		final int pos,
+		final int... bytes
+	) {
+		if (pos + bytes.length > buffer.limit()) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; ++i) {
+			if ((buffer.get(pos + i) & 0xFF) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean startsWith(
+		final ByteBuffer buffer,
+		final int pos,
+		final String prefix
+	) {
+		if (pos + prefix.length() > buffer.limit()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); ++i) {
+			if (buffer.get(pos + i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int indexOf(
+		final ByteBuffer buffer,
+		final int pos,
+		final char c
+	) {
+		final int limit = buffer.limit();
+		for (int i = pos; i < limit; ++i) {
+			if (buffer.get(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the position after the next occurrence of the given
+	 * {@code token}.
+	 */
+	private static int after(
+		final ByteBuffer buffer,
+		final int pos,
+		final String token
+	)
+		throws IOException
+	{
+		int i = pos;
+		while ((i = indexOf(buffer, i, token.charAt(0))) >= 0) {
+			if (startsWith(buffer, i, token)) {
+				return i + token.length();
+			}
+			++i;
+		}
+		throw new IOException(format("Missing '%s'.", token));
+	}
+
+	/**
+	 * Return the position after the closing {@code >} of the start tag,
+	 * ignoring {@code >} characters within attribute values.
+	 */
+	private static int tagEnd(final ByteBuffer buffer, final int pos)
+		throws IOException
+	{
+		final int limit = buffer.limit();
+		byte quote = 0;
+		for (int i = pos; i < limit; ++i) {
+			final byte b = buffer.get(i);
+			if (quote != 0) {
+				if (b == quote) {
+					quote = 0;
+				}
+			} else if (b == '"' || b == '\'') {
+				quote = b;
+			} else if (b == '>') {
+				return i + 1;
+			}
+		}
+		throw new IOException("Unterminated start tag.");
+	}
+
+	private static String qname(final ByteBuffer buffer, final int pos) {
+		final int limit = buffer.limit();
+		final StringBuilder name = new StringBuilder();
+		for (int i = pos; i < limit; ++i) {
+			final char c = (char)(buffer.get(i) & 0xFF);
+			if (Character.isWhitespace(c) || c == '/' || c == '>') {
+				break;
+			}
+			name.append(c);
+		}
+		return name.toString();
+	}
+
+	private static String localName(final String qname) {
+		return qname.substring(qname.indexOf(':') + 1);
+	}
+
+	private static String string(
+		final ByteBuffer buffer,
+		final int start,
+		final int end
+	) {
+		final byte[] bytes = new byte[end - start];
+		for (int i = start; i < end; ++i) {
+			bytes[i - start] = buffer.get(i);
+		}
+		return new String(bytes, US_ASCII);
+	}
+
+
+	/**
+	 * Input stream view of a range of a byte buffer.
+	 */
+	private static final class BufferInputStream extends InputStream {
+		private final ByteBuffer _buffer;
+
+		BufferInputStream(
+			final ByteBuffer buffer,
+			final int start,
+			final int end
+		) {
+			_buffer = buffer.duplicate();
+			_buffer.limit(end);
+			_buffer.position(start);
+		}
+
+		@Override
+		public int read() {
+			return _buffer.hasRemaining() ? _buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!_buffer.hasRemaining()) {
+				return -1;
+			}
+
+			final int n = Math.min(len, _buffer.remaining());
+			_buffer.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return _buffer.remaining();
+		}
+	}
+
+}
@@ -19,13 +19,16 @@
  */
 package io.jenetics.jpx;
 
+import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -34,11 +37,13 @@ import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.jenetics.jpx.geom.Geoid;
+
 /**
  * Some commonly usable way-point filter methods.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.1
+ * @version 1.5
  * @since 1.1
  */
 public final class Filters {
@@ -209,6 +214,295 @@ public final class Filters {
 			.collect(toList());
 	}
 
+	/**
+	 * Simplifies the given way-point list with the
+	 * <a href="https://en.wikipedia.org/wiki/Ramer%E2%80%93Douglas%E2%80%93Peucker_algorithm">
+	 * Douglas-Peucker</a> algorithm, using the {@link Geoid#DEFAULT} geoid.
+	 *
+	 * @see #douglasPeucker(List, Length, Geoid)
+	 *
+	 * @since 1.5
+	 *
+	 * @param points the way-points to simplify
+	 * @param tolerance the maximal distance of a removed way-point from the
+	 *        simplified line
+	 * @return the simplified way-point list
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code tolerance} is negative
+	 */
+	public static List<WayPoint> douglasPeucker(
+		final List<WayPoint> points,
+		final Length tolerance
+	) {
+		return douglasPeucker(points, tolerance, Geoid.DEFAULT);
+	}
+
+	/**
+	 * Simplifies the given way-point list with the
+	 * <a href="https://en.wikipedia.org/wiki/Ramer%E2%80%93Douglas%E2%80%93Peucker_algorithm">
+	 * Douglas-Peucker</a> algorithm. All removed way-points are within the
+	 * given {@code tolerance} of the simplified line. The first and the last
+	 * way-point are always kept and the order of the way-points is preserved.
+	 * <pre>{@code
+	 * final Length tolerance = Length.of(5, Unit.METER);
+	 * final Track simplified = track.toBuilder()
+	 *     .map(segment -> segment.toBuilder()
+	 *         .listMap(points -> Filters.douglasPeucker(points, tolerance))
+	 *         .build())
+	 *     .build();
+	 * }</pre>
+	 *
+	 * The distances are calculated in the local tangent plane, using the
+	 * radii of curvature of the ellipsoid of the given {@code geoid}. The
+	 * algorithm works on primitive coordinate arrays and is implemented
+	 * iteratively, which allows to simplify segments with millions of
+	 * way-points.
+	 *
+	 * @since 1.5
+	 *
+	 * @param points the way-points to simplify
+	 * @param tolerance the maximal distance of a removed way-point from the
+	 *        simplified line
+	 * @param geoid the geoid used for the distance calculation
+	 * @return the simplified way-point list
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code tolerance} is negative
+	 */
+	public static List<WayPoint> douglasPeucker(
+		final List<WayPoint> points,
+		final Length tolerance,
+		final Geoid geoid
+	) {
+		final double meters = tolerance.doubleValue();
+		if (!(meters >= 0)) {
+			throw new IllegalArgumentException(format(
+				"Tolerance must not be negative: %s", tolerance
+			));
+		}
+
+		final double[][] coordinates = coordinates(points);
+		return select(points, new Simplifier(geoid)
+			.douglasPeucker(coordinates[0], coordinates[1], meters));
+	}
+
+	/**
+	 * Simplifies the given way-point list with the
+	 * <a href="https://en.wikipedia.org/wiki/Visvalingam%E2%80%93Whyatt_algorithm">
+	 * Visvalingam-Whyatt</a> algorithm, until only the given number of
+	 * way-points is left. The algorithm repeatedly removes the way-point with
+	 * the smallest <em>effective area</em>, which is the area of the triangle
+	 * formed with its two neighbours. The first and the last way-point are
+	 * always kept and the order of the way-points is preserved.
+	 * <pre>{@code
+	 * final TrackSegment simplified = segment.toBuilder()
+	 *     .listMap(points -> Filters.visvalingamWhyatt(points, 500))
+	 *     .build();
+	 * }</pre>
+	 *
+	 * The areas are calculated in the local tangent plane, using the radii
+	 * of curvature of the {@link Geoid#DEFAULT} ellipsoid.
+	 *
+	 * @since 1.5
+	 *
+	 * @param points the way-points to simplify
+	 * @param count the number of way-points to keep
+	 * @return the simplified way-point list, which contains
+	 *         {@code min(count, points.size())} way-points
+	 * @throws NullPointerException if the given way-point list is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the {@code count} is smaller than
+	 *         two
+	 */
+	public static List<WayPoint> visvalingamWhyatt(
+		final List<WayPoint> points,
+		final int count
+	) {
+		if (count < 2) {
+			throw new IllegalArgumentException(format(
+				"Count must be at least two: %d", count
+			));
+		}
+
+		final double[][] coordinates = coordinates(points);
+		return select(points, new Simplifier(Geoid.DEFAULT)
+			.visvalingamWhyatt(coordinates[0], coordinates[1], count));
+	}
+
+	/**
+	 * Return a new <em>dead-band</em> filter, which only emits a way-point if
+	 * it differs enough from the last emitted way-point. A way-point is
+	 * emitted, if its distance to the last emitted way-point is at least
+	 * {@code distance}, if at least {@code time} has elapsed since the last
+	 * emitted way-point, or if the heading has changed by at least
+	 * {@code heading}. The first and the last way-point are always emitted.
+	 * A criterion is disabled by passing {@code null}.
+	 * <pre>{@code
+	 * final IncrementalFilter filter = Filters.deadBand(
+	 *     Length.of(25, Unit.METER),
+	 *     Duration.ofMinutes(1),
+	 *     Degrees.ofDegrees(30)
+	 * );
+	 * }</pre>
+	 *
+	 * The filter only keeps a constant number of way-points in memory. The
+	 * distances are calculated with the {@link Geoid#DEFAULT} geoid.
+	 *
+	 * @since 1.5
+	 *
+	 * @param distance the minimal distance to the last emitted way-point,
+	 *        may be {@code null}
+	 * @param time the minimal time since the last emitted way-point, may be
+	 *        {@code null}
+	 * @param heading the minimal heading change, may be {@code null}
+	 * @return a new dead-band filter
+	 * @throws IllegalArgumentException if the {@code distance} or the
+	 *         {@code time} is negative
+	 */
+	public static IncrementalFilter deadBand(
+		final Length distance,
+		final Duration time,
+		final Degrees heading
+	) {
+		if (distance != null && !(distance.doubleValue() >= 0)) {
+			throw new IllegalArgumentException(format(
+				"Distance must not be negative: %s", distance
+			));
+		}
+		if (time != null && time.isNegative()) {
+			throw new IllegalArgumentException(format(
+				"Time must not be negative: %s", time
+			));
+		}
+
+		return new IncrementalFilters.DeadBand(
+			Geoid.DEFAULT,
+			distance != null ? distance.doubleValue() : -1,
+			time != null ? time.toMillis() : -1,
+			heading != null ? heading.doubleValue() : -1
+		);
+	}
+
+	/**
+	 * Return a new filter, which simplifies the way-points with the
+	 * Douglas-Peucker algorithm on a sliding window of {@code window}
+	 * way-points. The window is simplified as soon as it is full and the
+	 * last way-point of the window becomes the first way-point of the next
+	 * one. All removed way-points are within the given {@code tolerance} of
+	 * the simplified line of their window. The first and the last way-point
+	 * are always emitted.
+	 * <pre>{@code
+	 * final IncrementalFilter filter = Filters
+	 *     .slidingDouglasPeucker(Length.of(5, Unit.METER), 1000);
+	 * }</pre>
+	 *
+	 * The filter keeps at most {@code window} way-points in memory. The
+	 * distances are calculated with the {@link Geoid#DEFAULT} geoid.
+	 *
+	 * @see #douglasPeucker(List, Length)
+	 *
+	 * @since 1.5
+	 *
+	 * @param tolerance the maximal distance of a removed way-point from the
+	 *        simplified line
+	 * @param window the number of way-points of the sliding window
+	 * @return a new sliding Douglas-Peucker filter
+	 * @throws NullPointerException if the given {@code tolerance} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the {@code tolerance} is negative
+	 *         or the {@code window} is smaller than three
+	 */
+	public static IncrementalFilter slidingDouglasPeucker(
+		final Length tolerance,
+		final int window
+	) {
+		final double meters = tolerance.doubleValue();
+		if (!(meters >= 0)) {
+			throw new IllegalArgumentException(format(
+				"Tolerance must not be negative: %s", tolerance
+			));
+		}
+		if (window < 3) {
+			throw new IllegalArgumentException(format(
+				"Window must be at least three: %d", window
+			));
+		}
+
+		return new IncrementalFilters
+			.SlidingDouglasPeucker(Geoid.DEFAULT, meters, window);
+	}
+
+	/**
+	 * Return a new filter, which resamples the way-points to the given time
+	 * {@code interval}. The first emitted way-point has the time of the
+	 * first input way-point. The position and elevation of the emitted
+	 * way-points are linearly interpolated between the two enclosing input
+	 * way-points; all other way-point properties are dropped. Way-points
+	 * without time, or with a time not after the time of the previous
+	 * way-point, are ignored.
+	 * <pre>{@code
+	 * final IncrementalFilter filter = Filters.resample(Duration.ofSeconds(5));
+	 * }</pre>
+	 *
+	 * The filter only keeps a constant number of way-points in memory.
+	 *
+	 * @since 1.5
+	 *
+	 * @param interval the time interval of the emitted way-points
+	 * @return a new resampling filter
+	 * @throws NullPointerException if the given {@code interval} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the {@code interval} is shorter
+	 *         than one millisecond
+	 */
+	public static IncrementalFilter resample(final Duration interval) {
+		final long millis = interval.toMillis();
+		if (millis < 1) {
+			throw new IllegalArgumentException(format(
+				"Interval must be at least one millisecond: %s", interval
+			));
+		}
+
+		return new IncrementalFilters.Resampler(millis);
+	}
+
+	private static double[][] coordinates(final List<WayPoint> points) {
+		final int size = points.size();
+		final double[] lat = new double[size];
+		final double[] lon = new double[size];
+
+		if (points instanceof WayPointColumns) {
+			final WayPointColumns columns = (WayPointColumns)points;
+			for (int i = 0; i < size; ++i) {
+				lat[i] = columns.latitude(i);
+				lon[i] = columns.longitude(i);
+			}
+		} else {
+			int i = 0;
+			for (WayPoint point : points) {
+				lat[i] = point.getLatitude().doubleValue();
+				lon[i] = point.getLongitude().doubleValue();
+				++i;
+			}
+		}
+
+		return new double[][]{lat, lon};
+	}
+
+	private static List<WayPoint> select(
+		final List<WayPoint> points,
+		final int[] indexes
+	) {
+		if (indexes.length == points.size()) {
+			return points;
+		}
+
+		final List<WayPoint> result = new ArrayList<>(indexes.length);
+		for (int index : indexes) {
+			result.add(points.get(index));
+		}
+		return result;
+	}
+
 	static List<Track> splitByDay(final Track track) {
 		return splitWayPointsByDay(
 			track.segments()
@@ -30,7 +30,7 @@ import java.time.Year;
  * Some helper methods for parsing GPS values.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.0
  */
 final class Format {
@@ -93,10 +93,6 @@ final class Format {
 		return uri != null ? uri.toString() : null;
 	}
 
-	static String doubleString(final Number number) {
-		return number != null ? Double.toString(number.doubleValue()) : null;
-	}
-
 	static String intString(final Number number) {
 		return number != null ? Integer.toString(number.intValue()) : null;
 	}
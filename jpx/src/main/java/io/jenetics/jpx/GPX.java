@@ -20,6 +20,7 @@
 package io.jenetics.jpx;
 
 import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.util.Objects.requireNonNull;
 import static io.jenetics.jpx.Lists.copy;
 import static io.jenetics.jpx.Lists.immutable;
@@ -29,7 +30,9 @@ import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -39,19 +42,34 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
@@ -152,7 +170,7 @@ import io.jenetics.jpx.GPX.Reader.Mode;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.3
+ * @version 1.5
  * @since 1.0
  */
 public final class GPX implements Serializable {
@@ -244,6 +262,10 @@ public final class GPX implements Serializable {
 	private final List<Route> _routes;
 	private final List<Track> _tracks;
 
+	private transient Optional<Bounds> _bounds;
+	private transient int _hash;
+	private transient volatile byte[] _digest;
+
 	/**
 	 * Create a new {@code GPX} object with the given data.
 	 *
@@ -269,9 +291,14 @@ public final class GPX implements Serializable {
 		_version = requireNonNull(version);
 		_creator = requireNonNull(creator);
 		_metadata = metadata;
-		_wayPoints = immutable(wayPoints);
-		_routes = immutable(routes);
-		_tracks = immutable(tracks);
+		_wayPoints = lazyOrImmutable(wayPoints);
+		_routes = lazyOrImmutable(routes);
+		_tracks = lazyOrImmutable(tracks);
+	}
+
+	// Lazily read lists must not be copied, which would read them eagerly.
+	private static <T> List<T> lazyOrImmutable(final List<T> list) {
+		return list instanceof LazyList ? list : immutable(list);
 	}
 
 	/**
@@ -357,6 +384,129 @@ public final class GPX implements Serializable {
 		return _tracks.stream();
 	}
 
+	/**
+	 * Return the bounds of the way-points, routes and tracks of this GPX
+	 * object. The bounds are merged from the cached bounds of the routes and
+	 * tracks on the first call and cached afterwards. The bounds of the
+	 * metadata are not taken into account.
+	 * <pre>{@code
+	 * final boolean visible = gpx.getBounds()
+	 *     .map(bounds -> viewport.intersects(bounds))
+	 *     .orElse(false);
+	 * }</pre>
+	 *
+	 * @see Metadata#getBounds()
+	 *
+	 * @since 1.5
+	 *
+	 * @return the bounds of this GPX object, or {@code Optional.empty()} if
+	 *         it contains no points
+	 */
+	public Optional<Bounds> getBounds() {
+		Optional<Bounds> bounds = _bounds;
+		if (bounds == null) {
+			bounds = Optional.ofNullable(bounds());
+			_bounds = bounds;
+		}
+		return bounds;
+	}
+
+	private Bounds bounds() {
+		Bounds bounds = Bounds.of(_wayPoints);
+		for (Route route : _routes) {
+			bounds = Bounds.merge(bounds, route.getBounds().orElse(null));
+		}
+		for (Track track : _tracks) {
+			bounds = Bounds.merge(bounds, track.getBounds().orElse(null));
+		}
+		return bounds;
+	}
+
+	/**
+	 * Return a GPX object with the bounds of the way-points, routes and
+	 * tracks as metadata bounds. If the metadata already contains bounds or
+	 * there are no points, {@code this} object is returned.
+	 *
+	 * @return a GPX object with metadata bounds
+	 */
+	GPX withMetadataBounds() {
+		if (_metadata != null && _metadata.getBounds().isPresent()) {
+			return this;
+		}
+
+		return getBounds()
+			.map(bounds -> new GPX(
+				_version,
+				_creator,
+				(_metadata != null ? _metadata.toBuilder() : Metadata.builder())
+					.bounds(bounds)
+					.build(),
+				_wayPoints,
+				_routes,
+				_tracks))
+			.orElse(this);
+	}
+
+	/**
+	 * Return the SHA-256 digest of the content of this GPX object, which can
+	 * be used as a fingerprint for deduplicating GPX documents. The digest
+	 * is calculated from the Java serialization form of the GPX object,
+	 * without creating the serialized bytes, on the first call and cached
+	 * afterwards.
+	 * <pre>{@code
+	 * final Map<String, GPX> unique = new HashMap<>();
+	 * for (GPX gpx : uploads) {
+	 *     unique.putIfAbsent(Base64.getEncoder().encodeToString(gpx.digest()), gpx);
+	 * }
+	 * }</pre>
+	 *
+	 * GPX objects with the same digest are equal. Equal GPX objects, whose
+	 * times only differ in the zone offset, may have different digests.
+	 *
+	 * @since 1.5
+	 *
+	 * @return the 32 bytes of the SHA-256 digest of this GPX object
+	 */
+	public byte[] digest() {
+		byte[] digest = _digest;
+		if (digest == null) {
+			digest = calculateDigest();
+			_digest = digest;
+		}
+		return digest.clone();
+	}
+
+	private byte[] calculateDigest() {
+		final MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform must support SHA-256.
+			throw new AssertionError(e);
+		}
+
+		final OutputStream digester = new OutputStream() {
+			@Override
+			public void write(final int b) {
+				md.update((byte)b);
+			}
+			@Override
+			public void write(final byte[] b, final int off, final int len) {
+				md.update(b, off, len);
+			}
+		};
+
+		try (DataOutputStream out =
+				new DataOutputStream(new BufferedOutputStream(digester)))
+		{
+			write(out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return md.digest();
+	}
+
 	/**
 	 * Convert the <em>immutable</em> GPX object into a <em>mutable</em>
 	 * builder initialized with the current GPX values.
@@ -384,6 +534,15 @@ public final class GPX implements Serializable {
 
 	@Override
 	public int hashCode() {
+		int hash = _hash;
+		if (hash == 0) {
+			hash = hash();
+			_hash = hash;
+		}
+		return hash;
+	}
+
+	private int hash() {
 		int hash = 37;
 		hash += 17*Objects.hashCode(_creator) + 31;
 		hash += 17*Objects.hashCode(_version) + 31;
@@ -401,9 +560,9 @@ public final class GPX implements Serializable {
 			Objects.equals(((GPX)obj)._creator, _creator) &&
 			Objects.equals(((GPX)obj)._version, _version) &&
 			Objects.equals(((GPX)obj)._metadata, _metadata) &&
-			Objects.equals(((GPX)obj)._wayPoints, _wayPoints) &&
-			Objects.equals(((GPX)obj)._routes, _routes) &&
-			Objects.equals(((GPX)obj)._tracks, _tracks);
+			Lists.equals(((GPX)obj)._wayPoints, _wayPoints) &&
+			Lists.equals(((GPX)obj)._routes, _routes) &&
+			Lists.equals(((GPX)obj)._tracks, _tracks);
 	}
 
 
@@ -1003,8 +1162,9 @@ public final class GPX implements Serializable {
 	 *
 	 * @see GPX#reader()
 	 * @see GPX#reader(Version, Reader.Mode)
+	 * @see Reader#builder()
 	 *
-	 * @version 1.3
+	 * @version 1.5
 	 * @since 1.3
 	 */
 	public static final class Reader {
@@ -1029,12 +1189,196 @@ public final class GPX implements Serializable {
 			STRICT
 		}
 
+		/**
+		 * Builder for GPX readers. Beside the GPX version and the reading
+		 * mode, it allows to configure the {@link XMLInputFactory} used for
+		 * reading the GPX files.
+		 * <pre>{@code
+		 * final GPX.Reader reader = GPX.Reader.builder()
+		 *     .mode(Mode.LENIENT)
+		 *     .factory(new WstxInputFactory())
+		 *     .coalescing(true)
+		 *     .supportDTD(false)
+		 *     .build();
+		 * }</pre>
+		 *
+		 * If neither a factory nor a factory property is given, the created
+		 * readers share one default {@code XMLInputFactory} instance.
+		 *
+		 * @version 1.5
+		 * @since 1.5
+		 */
+		public static final class Builder {
+			private Version _version = Version.V11;
+			private Mode _mode = Mode.STRICT;
+			private XMLInputFactory _factory;
+			private final Map<String, Object> _properties = new LinkedHashMap<>();
+
+			private Builder() {
+			}
+
+			/**
+			 * Set the GPX version to read. The default value is
+			 * {@link Version#V11}.
+			 *
+			 * @param version the GPX version to read
+			 * @return {@code this} {@code Builder} for method chaining
+			 * @throws NullPointerException if the given {@code version} is
+			 *         {@code null}
+			 */
+			public Builder version(final Version version) {
+				_version = requireNonNull(version);
+				return this;
+			}
+
+			/**
+			 * Set the reading mode. The default value is
+			 * {@link Mode#STRICT}.
+			 *
+			 * @param mode the reading mode
+			 * @return {@code this} {@code Builder} for method chaining
+			 * @throws NullPointerException if the given {@code mode} is
+			 *         {@code null}
+			 */
+			public Builder mode(final Mode mode) {
+				_mode = requireNonNull(mode);
+				return this;
+			}
+
+			/**
+			 * Set the XML input factory, used for creating the XML stream
+			 * readers, e.g. a Woodstox or Aalto factory. The configured
+			 * factory properties are set on the given factory, when the
+			 * reader is built.
+			 *
+			 * @param factory the XML input factory
+			 * @return {@code this} {@code Builder} for method chaining
+			 * @throws NullPointerException if the given {@code factory} is
+			 *         {@code null}
+			 */
+			public Builder factory(final XMLInputFactory factory) {
+				_factory = requireNonNull(factory);
+				return this;
+			}
+
+			/**
+			 * Set a property of the XML input factory.
+			 *
+			 * @see XMLInputFactory#setProperty(String, Object)
+			 *
+			 * @param name the name of the property
+			 * @param value the value of the property
+			 * @return {@code this} {@code Builder} for method chaining
+			 * @throws NullPointerException if the given property {@code name}
+			 *         is {@code null}
+			 */
+			public Builder property(final String name, final Object value) {
+				_properties.put(requireNonNull(name), value);
+				return this;
+			}
+
+			/**
+			 * Set the {@link XMLInputFactory#IS_COALESCING} property of the
+			 * XML input factory.
+			 *
+			 * @param coalescing {@code true} if adjacent character data
+			 *        should be coalesced
+			 * @return {@code this} {@code Builder} for method chaining
+			 */
+			public Builder coalescing(final boolean coalescing) {
+				return property(XMLInputFactory.IS_COALESCING, coalescing);
+			}
+
+			/**
+			 * Set the {@link XMLInputFactory#SUPPORT_DTD} property of the
+			 * XML input factory.
+			 *
+			 * @param supportDTD {@code true} if DTDs should be supported
+			 * @return {@code this} {@code Builder} for method chaining
+			 */
+			public Builder supportDTD(final boolean supportDTD) {
+				return property(XMLInputFactory.SUPPORT_DTD, supportDTD);
+			}
+
+			/**
+			 * Create a new GPX reader from the current builder state.
+			 *
+			 * @return a new GPX reader
+			 * @throws IllegalArgumentException if one of the factory
+			 *         properties is not supported by the XML input factory
+			 */
+			public Reader build() {
+				final XMLInputFactory factory;
+				if (_factory == null && _properties.isEmpty()) {
+					factory = DEFAULT_FACTORY;
+				} else {
+					factory = _factory != null
+						? _factory
+						: XMLInputFactory.newInstance();
+					_properties.forEach(factory::setProperty);
+				}
+
+				return new Reader(_version, _mode, factory);
+			}
+		}
+
+		// Creating the XML input factory and the GPX readers is expensive.
+		private static final XMLInputFactory DEFAULT_FACTORY =
+			XMLInputFactory.newInstance();
+		private static final XMLReader<GPX> V10_READER =
+			GPX.xmlReader(Version.V10);
+		private static final XMLReader<GPX> V11_READER =
+			GPX.xmlReader(Version.V11);
+
+		private final Version _version;
 		private final XMLReader<GPX> _reader;
 		private final Mode _mode;
+		private final XMLInputFactory _factory;
 
-		private Reader(final XMLReader<GPX> reader, final Mode mode) {
-			_reader = requireNonNull(reader);
+		private Reader(
+			final Version version,
+			final Mode mode,
+			final XMLInputFactory factory
+		) {
+			_version = requireNonNull(version);
+			_reader = version == Version.V10 ? V10_READER : V11_READER;
 			_mode = requireNonNull(mode);
+			_factory = requireNonNull(factory);
+		}
+
+		private Reader(final Version version, final Mode mode) {
+			this(version, mode, DEFAULT_FACTORY);
+		}
+
+		/**
+		 * Return a new GPX reader builder.
+		 *
+		 * @since 1.5
+		 *
+		 * @return a new GPX reader builder
+		 */
+		public static Builder builder() {
+			return new Builder();
+		}
+
+		/**
+		 * Return the XML input factory used by this reader.
+		 *
+		 * @return the XML input factory used by this reader
+		 */
+		XMLInputFactory factory() {
+			return _factory;
+		}
+
+		/**
+		 * Return the GPX version this reader is able to read.
+		 *
+		 * @since 1.5
+		 *
+		 * @return the GPX version of this reader
+		 */
+		public Version getVersion() {
+			return _version;
 		}
 
 		/**
@@ -1046,6 +1390,96 @@ public final class GPX implements Serializable {
 			return _mode;
 		}
 
+		/**
+		 * Return a stream of all way-points ({@code wpt}, {@code rtept} and
+		 * {@code trkpt}) of the GPX document, in document order. In contrast
+		 * to the {@link #read(InputStream)} method, the GPX document is read
+		 * lazily, while the returned stream is consumed. Only the currently
+		 * read way-point is kept in memory, which allows to process GPX files
+		 * of arbitrary size. The metadata and the route and track attributes
+		 * are not returned. In {@link Mode#STRICT} mode, they are nevertheless
+		 * validated and unknown elements are rejected, like it is done by the
+		 * {@link #read(InputStream)} method.
+		 * <pre>{@code
+		 * try (Stream<WayPoint> points = GPX.reader().stream(in)) {
+		 *     final Length length = points.collect(Geoid.WGS84.toPathLength());
+		 * }
+		 * }</pre>
+		 *
+		 * The returned stream must be closed after usage, which doesn't close
+		 * the given {@code input} stream. Errors, which occur while reading the
+		 * way-points, are thrown as {@link java.io.UncheckedIOException}.
+		 *
+		 * @since 1.5
+		 *
+		 * @param input the input stream from where the way-points are read
+		 * @return a stream of the way-points of the GPX document
+		 * @throws IOException if the GPX stream can't be created
+		 * @throws NullPointerException if the given {@code input} stream is
+		 *         {@code null}
+		 */
+		public Stream<WayPoint> stream(final InputStream input)
+			throws IOException
+		{
+			try {
+				final CloseableXMLStreamReader reader =
+					new CloseableXMLStreamReader(
+						_factory.createXMLStreamReader(input));
+
+				final WayPointIterator points = new WayPointIterator(
+					reader, _version, _mode == Mode.LENIENT);
+
+				return StreamSupport
+					.stream(
+						Spliterators.spliteratorUnknownSize(
+							points,
+							Spliterator.ORDERED | Spliterator.NONNULL),
+						false)
+					.onClose(() -> {
+						try {
+							reader.close();
+						} catch (XMLStreamException e) {
+							throw new UncheckedIOException(new IOException(e));
+						}
+					});
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		/**
+		 * Return a stream of all way-points ({@code wpt}, {@code rtept} and
+		 * {@code trkpt}) of the GPX file with the given {@code path}. Closing
+		 * the returned stream also closes the underlying file.
+		 *
+		 * @see #stream(InputStream)
+		 *
+		 * @since 1.5
+		 *
+		 * @param path the input path from where the way-points are read
+		 * @return a stream of the way-points of the GPX file
+		 * @throws IOException if the GPX file can't be opened
+		 * @throws NullPointerException if the given {@code path} is
+		 *         {@code null}
+		 */
+		public Stream<WayPoint> stream(final Path path) throws IOException {
+			final InputStream in = new BufferedInputStream(
+				new FileInputStream(path.toFile()));
+
+			try {
+				return stream(in).onClose(() -> {
+					try {
+						in.close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (IOException|RuntimeException e) {
+				in.close();
+				throw e;
+			}
+		}
+
 		/**
 		 * Read a GPX object from the given {@code input} stream.
 		 *
@@ -1058,9 +1492,8 @@ public final class GPX implements Serializable {
 		public GPX read(final InputStream input)
 			throws IOException
 		{
-			final XMLInputFactory factory = XMLInputFactory.newInstance();
 			try  (CloseableXMLStreamReader reader = new CloseableXMLStreamReader(
-						factory.createXMLStreamReader(input)))
+						_factory.createXMLStreamReader(input)))
 			{
 				if (reader.hasNext()) {
 					reader.next();
@@ -1073,6 +1506,98 @@ public final class GPX implements Serializable {
 			}
 		}
 
+		/**
+		 * Reads the GPX document from the given {@code input} stream and
+		 * reports its elements, in document order, to the given
+		 * {@code visitor}. In contrast to the {@link #read(InputStream)}
+		 * method, no {@code GPX} object is created, which allows to process
+		 * GPX files of arbitrary size in a single pass.
+		 * <pre>{@code
+		 * final List<WayPoint> points = new ArrayList<>();
+		 * GPX.reader().read(in, new GPXVisitor() {
+		 *     public void onTrackPoint(final WayPoint point) {
+		 *         if (point.getElevation().isPresent()) points.add(point);
+		 *     }
+		 * });
+		 * }</pre>
+		 *
+		 * The elements are read with the same element readers, and with the
+		 * same lenient/strict semantics, as the {@link #read(InputStream)}
+		 * method.
+		 *
+		 * @since 1.5
+		 *
+		 * @param input the input stream from where the GPX data is read
+		 * @param visitor the visitor which receives the read GPX elements
+		 * @throws IOException if the GPX document can't be read
+		 * @throws NullPointerException if one of the given arguments is
+		 *         {@code null}
+		 */
+		public void read(final InputStream input, final GPXVisitor visitor)
+			throws IOException
+		{
+			requireNonNull(visitor);
+
+			final XMLReader<GPX> reader = visitorReader(_version, visitor);
+			try  (CloseableXMLStreamReader xml = new CloseableXMLStreamReader(
+						_factory.createXMLStreamReader(input)))
+			{
+				if (xml.hasNext()) {
+					xml.next();
+					final GPX gpx = reader.read(xml, _mode == Mode.LENIENT);
+					if (gpx != null && _version == Version.V10) {
+						gpx.getMetadata().ifPresent(visitor::onMetadata);
+					}
+				} else {
+					throw new IOException("No 'gpx' element found.");
+				}
+			} catch (ForwardReader.ForwardException e) {
+				throw e.getCause();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		/**
+		 * Create a GPX reader, which forwards the read elements to the given
+		 * {@code visitor}, instead of collecting them.
+		 */
+		private static XMLReader<GPX> visitorReader(
+			final Version version,
+			final GPXVisitor visitor
+		) {
+			final XMLReader<List<WayPoint>> wpt = XMLReader.elems(
+				WayPoint.xmlReader(version, "wpt")
+					.forward(visitor::onWayPoint)
+			);
+
+			final XMLReader<List<Route>> rte = XMLReader.elems(
+				Route.xmlReader(version, XMLReader.elems(
+					WayPoint.xmlReader(version, "rtept")
+						.forward(visitor::onRoutePoint)
+				))
+				.forward(visitor::onRouteStart, visitor::onRouteEnd)
+			);
+
+			final XMLReader<List<Track>> trk = XMLReader.elems(
+				Track.xmlReader(version, XMLReader.elems(
+					TrackSegment.xmlReader(version, XMLReader.elems(
+						WayPoint.xmlReader(version, "trkpt")
+							.forward(visitor::onTrackPoint)
+					))
+					.forward(visitor::onSegmentStart, s -> visitor.onSegmentEnd())
+				))
+				.forward(visitor::onTrackStart, visitor::onTrackEnd)
+			);
+
+			return version == Version.V11
+				? GPX.xmlReader(
+					version,
+					Metadata.READER.forward(visitor::onMetadata),
+					wpt, rte, trk)
+				: GPX.xmlReader(version, wpt, rte, trk);
+		}
+
 		/**
 		 * Read a GPX object from the given {@code input} stream.
 		 *
@@ -1116,6 +1641,244 @@ public final class GPX implements Serializable {
 			return read(Paths.get(path));
 		}
 
+		/**
+		 * Read a GPX object lazily from the file with the given {@code path}.
+		 * The file is memory mapped and scanned for the byte ranges of its
+		 * top-level {@code wpt}, {@code rte} and {@code trk} elements. Only
+		 * the version, the creator and the metadata are read immediately.
+		 * The way-point, route and track lists of the returned GPX object
+		 * are parsed when they are accessed the first time. This makes the
+		 * metadata of big GPX files available without reading all of their
+		 * way-points.
+		 * <pre>{@code
+		 * final GPX gpx = GPX.reader().readLazily(Paths.get("big.gpx"));
+		 * final Optional<Metadata> metadata = gpx.getMetadata();
+		 * }</pre>
+		 *
+		 * The returned GPX object is equal to the object returned by the
+		 * {@link #read(Path)} method. Since the elements are read later,
+		 * invalid elements are not detected by this method. Errors, which
+		 * occur while reading the lists, are thrown as
+		 * {@link java.io.UncheckedIOException}, when the lists are accessed.
+		 * The file must not be changed as long as the returned GPX object is
+		 * in use.
+		 * <p>
+		 * Files which can't be scanned, because they are bigger than 2 GB,
+		 * declare a {@code DOCTYPE} or use an encoding which isn't ASCII
+		 * compatible, e.g. {@code UTF-16}, are read eagerly.
+		 *
+		 * @since 1.5
+		 *
+		 * @param path the input path from where the GPX data is read
+		 * @return the lazily read GPX object
+		 * @throws IOException if the file can't be opened or if the GPX
+		 *         metadata can't be read
+		 * @throws NullPointerException if the given {@code path} is
+		 *         {@code null}
+		 */
+		public GPX readLazily(final Path path) throws IOException {
+			final ElementIndex index = index(path);
+			if (index == null) {
+				return read(path);
+			}
+
+			final boolean lenient = _mode == Mode.LENIENT;
+			final GPX header = index.header(_reader, _factory, lenient);
+			return header != null
+				? new GPX(
+					header._version,
+					header._creator,
+					header._metadata,
+					index.lazy(
+						"wpt", WayPoint.xmlReader(_version, "wpt"),
+						_factory, lenient),
+					index.lazy(
+						"rte", Route.xmlReader(_version),
+						_factory, lenient),
+					index.lazy(
+						"trk", Track.xmlReader(_version),
+						_factory, lenient))
+				: null;
+		}
+
+		/**
+		 * Read a GPX object from the file with the given {@code path}, using
+		 * all processors of the {@link ForkJoinPool#commonPool()}.
+		 *
+		 * @see #readParallel(Path, ForkJoinPool)
+		 *
+		 * @since 1.5
+		 *
+		 * @param path the input path from where the GPX data is read
+		 * @return the GPX object read from the file
+		 * @throws IOException if the GPX object can't be read
+		 * @throws NullPointerException if the given {@code path} is
+		 *         {@code null}
+		 */
+		public GPX readParallel(final Path path) throws IOException {
+			return readParallel(path, ForkJoinPool.commonPool());
+		}
+
+		/**
+		 * Read a GPX object from the file with the given {@code path}, using
+		 * the threads of the given fork-join {@code pool}. The file is memory
+		 * mapped and scanned for the byte ranges of its top-level
+		 * {@code wpt}, {@code rte} and {@code trk} elements, and of the
+		 * {@code trkseg} elements of the tracks. Batches of these elements
+		 * are then parsed concurrently and reassembled in document order.
+		 * The returned GPX object is equal to the object returned by the
+		 * {@link #read(Path)} method.
+		 * <pre>{@code
+		 * final ForkJoinPool pool = new ForkJoinPool(8);
+		 * final GPX gpx = GPX.reader().readParallel(Paths.get("big.gpx"), pool);
+		 * }</pre>
+		 *
+		 * The track segments are the smallest unit of work, which means that
+		 * a file with only one big track segment is effectively read by one
+		 * thread. Files which can't be scanned, because they are bigger than
+		 * 2 GB, declare a {@code DOCTYPE} or use an encoding which isn't ASCII
+		 * compatible, are read sequentially.
+		 *
+		 * @since 1.5
+		 *
+		 * @param path the input path from where the GPX data is read
+		 * @param pool the fork-join pool used for parsing the elements
+		 * @return the GPX object read from the file
+		 * @throws IOException if the GPX object can't be read
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 */
+		public GPX readParallel(final Path path, final ForkJoinPool pool)
+			throws IOException
+		{
+			requireNonNull(pool);
+
+			final ElementIndex index = index(path);
+			return index != null
+				? new ParallelReader(index, _version, _factory, _mode == Mode.LENIENT)
+					.read(_reader, pool)
+				: read(path);
+		}
+
+		/**
+		 * Reads all given GPX files concurrently, using as many workers as
+		 * processors are available.
+		 *
+		 * @see #readAll(Stream, Executor, int, BiConsumer)
+		 *
+		 * @since 1.5
+		 *
+		 * @param paths the GPX files to read
+		 * @param executor the executor which runs the read workers
+		 * @param consumer the consumer of the read GPX objects, which is
+		 *        called by the calling thread
+		 * @return the files which couldn't be read, with the corresponding
+		 *         error, in the order the errors occurred
+		 * @throws InterruptedException if the calling thread has been
+		 *         interrupted while waiting for the read files
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 */
+		public Map<Path, IOException> readAll(
+			final Stream<? extends Path> paths,
+			final Executor executor,
+			final BiConsumer<? super Path, ? super GPX> consumer
+		)
+			throws InterruptedException
+		{
+			return readAll(
+				paths,
+				executor,
+				Runtime.getRuntime().availableProcessors(),
+				consumer
+			);
+		}
+
+		/**
+		 * Reads all given GPX files concurrently, with at most
+		 * {@code parallelism} files read at the same time. The read GPX
+		 * objects are passed to the given {@code consumer}, in the order the
+		 * files have been read. The consumer is called by the calling thread
+		 * and needn't be thread-safe. If the consumer is slower than the
+		 * readers, the readers are blocked, which keeps the number of GPX
+		 * objects in memory bounded. Files which can't be read don't abort the
+		 * batch. They are returned, together with the corresponding error.
+		 * <pre>{@code
+		 * final ExecutorService executor = Executors.newFixedThreadPool(8);
+		 * try (Stream<Path> paths = Files.list(Paths.get("tracks"))) {
+		 *     final Map<Path, IOException> errors = GPX.reader()
+		 *         .readAll(paths, executor, 8, (path, gpx) -> store(gpx));
+		 *     errors.forEach((path, error) -> log(path, error));
+		 * } finally {
+		 *     executor.shutdown();
+		 * }
+		 * }</pre>
+		 *
+		 * Every worker reuses its own read buffer and all workers share the
+		 * XML input factory of this reader. The {@code executor} is not
+		 * shut down and the {@code paths} stream is not closed by this
+		 * method. Since the number of concurrently read files is limited by
+		 * the {@code parallelism}, the files can also be read by an executor
+		 * which creates a new thread for every task, e.g. a virtual thread per
+		 * task executor. Executors which run the workers on the calling
+		 * thread, like {@code Runnable::run} or a thread pool with a
+		 * caller-runs policy, are supported as well. If the consumer throws
+		 * an exception, the remaining files are not read and the exception
+		 * is re-thrown.
+		 *
+		 * @since 1.5
+		 *
+		 * @param paths the GPX files to read
+		 * @param executor the executor which runs the read workers
+		 * @param parallelism the maximal number of concurrently read files
+		 * @param consumer the consumer of the read GPX objects, which is
+		 *        called by the calling thread
+		 * @return the files which couldn't be read, with the corresponding
+		 *         error, in the order the errors occurred
+		 * @throws InterruptedException if the calling thread has been
+		 *         interrupted while waiting for the read files
+		 * @throws IllegalArgumentException if the {@code parallelism} is
+		 *         smaller than one
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 */
+		public Map<Path, IOException> readAll(
+			final Stream<? extends Path> paths,
+			final Executor executor,
+			final int parallelism,
+			final BiConsumer<? super Path, ? super GPX> consumer
+		)
+			throws InterruptedException
+		{
+			requireNonNull(executor);
+			return new BatchReader(this, parallelism)
+				.read(paths.iterator(), executor, consumer);
+		}
+
+		/**
+		 * Memory maps the given file and creates the index of its top-level
+		 * elements.
+		 *
+		 * @param path the GPX file
+		 * @return the element index of the file, or {@code null} if the file
+		 *         can't be indexed
+		 * @throws IOException if the file can't be mapped
+		 */
+		private static ElementIndex index(final Path path) throws IOException {
+			final ByteBuffer buffer;
+			try (FileChannel channel = FileChannel.open(path, READ)) {
+				final long size = channel.size();
+				if (size > Integer.MAX_VALUE) {
+					return null;
+				}
+				buffer = channel.map(MapMode.READ_ONLY, 0, size);
+			}
+
+			try {
+				return ElementIndex.of(buffer);
+			} catch (IOException e) {
+				// Not indexable documents are read, and validated, eagerly.
+				return null;
+			}
+		}
+
 		/**
 		 * Create a GPX object from the given GPX-XML string.
 		 *
@@ -1144,16 +1907,196 @@ public final class GPX implements Serializable {
 	 *
 	 * @see GPX#writer()
 	 * @see GPX#writer(String)
+	 * @see Writer#builder()
 	 *
-	 * @version 1.3
+	 * @version 1.5
 	 * @since 1.3
 	 */
 	public static final class Writer {
 
+		/**
+		 * Builder for GPX writers. Beside the indentation, it allows to
+		 * configure the precision of the written numbers and the
+		 * {@link XMLOutputFactory} used for writing the GPX files.
+		 * <pre>{@code
+		 * final GPX.Writer writer = GPX.Writer.builder()
+		 *     .indent("    ")
+		 *     .maximumFractionDigits(7)
+		 *     .factory(new WstxOutputFactory())
+		 *     .build();
+		 * }</pre>
+		 *
+		 * If neither a factory nor a factory property is given, the created
+		 * writers share one default {@code XMLOutputFactory} instance.
+		 *
+		 * @version 1.5
+		 * @since 1.5
+		 */
+		public static final class Builder {
+			private String _indent;
+			private int _fractionDigits = -1;
+			private boolean _fillBounds = false;
+			private XMLOutputFactory _factory;
+			private final Map<String, Object> _properties = new LinkedHashMap<>();
+
+			private Builder() {
+			}
+
+			/**
+			 * Set the element indentation. If no indentation is given, the
+			 * GPX file consists of one line.
+			 *
+			 * @param indent the element indentation, may be {@code null}
+			 * @return {@code this} {@code Builder} for method chaining
+			 */
+			public Builder indent(final String indent) {
+				_indent = indent;
+				return this;
+			}
+
+			/**
+			 * Set the maximal number of fraction digits of the written
+			 * numbers, like coordinates, elevations or speeds. The numbers
+			 * are rounded and trailing zeros are removed. Seven fraction
+			 * digits are enough for a coordinate precision of about one
+			 * centimeter and considerably shrinks the written GPX files. If
+			 * not set, the numbers are written with their shortest, exact
+			 * representation, like {@link Double#toString(double)} does.
+			 *
+			 * @param digits the maximal number of fraction digits
+			 * @return {@code this} {@code Builder} for method chaining
+			 * @throws IllegalArgumentException if the given {@code digits}
+			 *         are not within the range {@code [0, 17]}
+			 */
+			public Builder maximumFractionDigits(final int digits) {
+				if (digits < 0 || digits > DoubleFormat.MAX_FRACTION_DIGITS) {
+					throw new IllegalArgumentException(format(
+						"Fraction digits not in range [0, %d]: %d.",
+						DoubleFormat.MAX_FRACTION_DIGITS, digits
+					));
+				}
+
+				_fractionDigits = digits;
+				return this;
+			}
+
+			/**
+			 * Set whether the metadata bounds are filled in automatically.
+			 * If set, the bounds of the way-points, routes and tracks are
+			 * written as {@code metadata/bounds} element, unless the
+			 * metadata of the written GPX object already contains bounds.
+			 * This allows consumers of the written files to cull them
+			 * without reading the points. The bounds are only filled in
+			 * by the {@code write} methods, not by the stream writer
+			 * returned by the {@code open} methods, which writes the
+			 * metadata before the points are known.
+			 *
+			 * @see GPX#getBounds()
+			 *
+			 * @param fill {@code true} if the metadata bounds are filled in
+			 * @return {@code this} {@code Builder} for method chaining
+			 */
+			public Builder fillBounds(final boolean fill) {
+				_fillBounds = fill;
+				return this;
+			}
+
+			/**
+			 * Set the XML output factory, used for creating the XML stream
+			 * writers. The configured factory properties are set on the
+			 * given factory, when the writer is built.
+			 *
+			 * @param factory the XML output factory
+			 * @return {@code this} {@code Builder} for method chaining
+			 * @throws NullPointerException if the given {@code factory} is
+			 *         {@code null}
+			 */
+			public Builder factory(final XMLOutputFactory factory) {
+				_factory = requireNonNull(factory);
+				return this;
+			}
+
+			/**
+			 * Set a property of the XML output factory.
+			 *
+			 * @see XMLOutputFactory#setProperty(String, Object)
+			 *
+			 * @param name the name of the property
+			 * @param value the value of the property
+			 * @return {@code this} {@code Builder} for method chaining
+			 * @throws NullPointerException if the given property {@code name}
+			 *         is {@code null}
+			 */
+			public Builder property(final String name, final Object value) {
+				_properties.put(requireNonNull(name), value);
+				return this;
+			}
+
+			/**
+			 * Create a new GPX writer from the current builder state.
+			 *
+			 * @return a new GPX writer
+			 * @throws IllegalArgumentException if one of the factory
+			 *         properties is not supported by the XML output factory
+			 */
+			public Writer build() {
+				final XMLOutputFactory factory;
+				if (_factory == null && _properties.isEmpty()) {
+					factory = DEFAULT_FACTORY;
+				} else {
+					factory = _factory != null
+						? _factory
+						: XMLOutputFactory.newInstance();
+					_properties.forEach(factory::setProperty);
+				}
+
+				return new Writer(_indent, _fractionDigits, _fillBounds, factory);
+			}
+		}
+
+		// Creating the XML output factory is expensive.
+		private static final XMLOutputFactory DEFAULT_FACTORY =
+			XMLOutputFactory.newInstance();
+
 		private final String _indent;
+		private final int _fractionDigits;
+		private final boolean _fillBounds;
+		private final XMLOutputFactory _factory;
+
+		private Writer(
+			final String indent,
+			final int fractionDigits,
+			final boolean fillBounds,
+			final XMLOutputFactory factory
+		) {
+			_indent = indent;
+			_fractionDigits = fractionDigits;
+			_fillBounds = fillBounds;
+			_factory = requireNonNull(factory);
+		}
 
 		private Writer(final String indent) {
-			_indent = indent;
+			this(indent, -1, false, DEFAULT_FACTORY);
+		}
+
+		/**
+		 * Return a new GPX writer builder.
+		 *
+		 * @since 1.5
+		 *
+		 * @return a new GPX writer builder
+		 */
+		public static Builder builder() {
+			return new Builder();
+		}
+
+		/**
+		 * Return the XML output factory used by this writer.
+		 *
+		 * @return the XML output factory used by this writer
+		 */
+		XMLOutputFactory factory() {
+			return _factory;
 		}
 
 		/**
@@ -1167,6 +2110,35 @@ public final class GPX implements Serializable {
 			return Optional.ofNullable(_indent);
 		}
 
+		/**
+		 * Return the maximal number of fraction digits of the written numbers.
+		 * If the value is {@link OptionalInt#empty()}, the numbers are written
+		 * with their shortest, exact representation.
+		 *
+		 * @since 1.5
+		 *
+		 * @return the maximal number of fraction digits
+		 */
+		public OptionalInt getMaximumFractionDigits() {
+			return _fractionDigits >= 0
+				? OptionalInt.of(_fractionDigits)
+				: OptionalInt.empty();
+		}
+
+		/**
+		 * Return {@code true} if this writer fills in the metadata bounds of
+		 * the written GPX objects.
+		 *
+		 * @see Builder#fillBounds(boolean)
+		 *
+		 * @since 1.5
+		 *
+		 * @return {@code true} if the metadata bounds are filled in
+		 */
+		public boolean isFillBounds() {
+			return _fillBounds;
+		}
+
 		/**
 		 * Writes the given {@code gpx} object (in GPX XML format) to the given
 		 * {@code output} stream.
@@ -1180,30 +2152,27 @@ public final class GPX implements Serializable {
 		public void write(final GPX gpx, final OutputStream output)
 			throws IOException
 		{
-			final XMLOutputFactory factory = XMLOutputFactory.newInstance();
-			try (CloseableXMLStreamWriter xml = writer(factory, output)) {
+			try (CloseableXMLStreamWriter xml = writer(output)) {
 				xml.writeStartDocument("UTF-8", "1.0");
-				GPX.xmlWriter(gpx._version).write(xml, gpx);
+				GPX.xmlWriter(gpx._version)
+					.write(xml, _fillBounds ? gpx.withMetadataBounds() : gpx);
 				xml.writeEndDocument();
 			} catch (XMLStreamException e) {
 				throw new IOException(e);
 			}
 		}
 
-		private CloseableXMLStreamWriter writer(
-			final XMLOutputFactory factory,
-			final OutputStream output
-		)
+		private CloseableXMLStreamWriter writer(final OutputStream output)
 			throws XMLStreamException
 		{
 			final NonCloseableOutputStream out =
 				new NonCloseableOutputStream(output);
 
 			return _indent == null
-				? new CloseableXMLStreamWriter(factory
-					.createXMLStreamWriter(out, "UTF-8"))
-				: new IndentingXMLStreamWriter(factory
-					.createXMLStreamWriter(out, "UTF-8"), _indent);
+				? new CloseableXMLStreamWriter(_factory
+					.createXMLStreamWriter(out, "UTF-8"), _fractionDigits)
+				: new IndentingXMLStreamWriter(_factory
+					.createXMLStreamWriter(out, "UTF-8"), _indent, _fractionDigits);
 		}
 
 		/**
@@ -1252,6 +2221,75 @@ public final class GPX implements Serializable {
 			write(gpx, Paths.get(path));
 		}
 
+		/**
+		 * Open a new GPX stream writer, which allows to write the GPX content
+		 * incrementally, without creating the whole {@code GPX} object
+		 * first. The written GPX document is the same as written by the
+		 * {@link #write(GPX, OutputStream)} method for the same content.
+		 * <pre>{@code
+		 * try (GPXStreamWriter writer = GPX.writer("    ").open(out)) {
+		 *     writer.startTrack();
+		 *     writer.startSegment();
+		 *     while (tracking) {
+		 *         writer.trackPoint(nextPoint());
+		 *     }
+		 * }
+		 * }</pre>
+		 *
+		 * Closing the returned writer doesn't close the given {@code output}
+		 * stream.
+		 *
+		 * @since 1.5
+		 *
+		 * @param output the output stream where the GPX content is written to
+		 * @param version the GPX version of the written document
+		 * @param creator the GPX creator
+		 * @return a new GPX stream writer
+		 * @throws IOException if the writer can't be created
+		 * @throws NullPointerException if one of the given arguments is
+		 *         {@code null}
+		 */
+		public GPXStreamWriter open(
+			final OutputStream output,
+			final Version version,
+			final String creator
+		)
+			throws IOException
+		{
+			requireNonNull(version);
+			requireNonNull(creator);
+
+			try {
+				return new GPXStreamWriter(
+					writer(output),
+					version,
+					creator
+				);
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		/**
+		 * Open a new GPX stream writer for {@link Version#V11} documents and
+		 * the default {@link GPX#CREATOR} string.
+		 *
+		 * @see #open(OutputStream, Version, String)
+		 *
+		 * @since 1.5
+		 *
+		 * @param output the output stream where the GPX content is written to
+		 * @return a new GPX stream writer
+		 * @throws IOException if the writer can't be created
+		 * @throws NullPointerException if the given {@code output} stream is
+		 *         {@code null}
+		 */
+		public GPXStreamWriter open(final OutputStream output)
+			throws IOException
+		{
+			return open(output, Version.V11, _CREATOR);
+		}
+
 		/**
 		 * Create a XML string representation of the given {@code gpx} object.
 		 *
@@ -1272,6 +2310,114 @@ public final class GPX implements Serializable {
 
 	}
 
+	/**
+	 * Reads and writes GPX objects in a compact binary format. The binary
+	 * representation is considerably smaller than the XML document and can
+	 * be read much faster.
+	 * <pre>{@code
+	 * final GPX gpx = GPX.read("track.gpx");
+	 * GPX.Binary.write(gpx, Paths.get("track.jpxb"));
+	 * final GPX read = GPX.Binary.read(Paths.get("track.jpxb"));
+	 * assert read.equals(gpx);
+	 * }</pre>
+	 *
+	 * The way-point coordinates are quantized to 1e-7 degrees (about 1 cm),
+	 * the elevations to millimeters and the times to milliseconds, and are
+	 * written as variable-length deltas to the previous point. Values which
+	 * can't be quantized without loss are written unchanged. Every string,
+	 * like the {@code sym}, {@code type} or {@code src} of a way-point, is
+	 * written only once and referenced afterwards. The format starts with a
+	 * versioned header.
+	 *
+	 * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+	 * @version 1.5
+	 * @since 1.5
+	 */
+	public static final class Binary {
+
+		private Binary() {
+		}
+
+		/**
+		 * Writes the given {@code gpx} object, in the binary format, to the
+		 * given {@code output} stream. The output stream is not closed.
+		 *
+		 * @param gpx the GPX object to write to the output
+		 * @param output the output stream where the GPX object is written to
+		 * @throws IOException if the writing of the GPX object fails
+		 * @throws NullPointerException if one of the given arguments is
+		 *         {@code null}
+		 */
+		public static void write(final GPX gpx, final OutputStream output)
+			throws IOException
+		{
+			requireNonNull(gpx);
+			final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new NonCloseableOutputStream(output))
+			);
+			new BinaryCodec.Encoder(out).write(gpx);
+			out.flush();
+		}
+
+		/**
+		 * Writes the given {@code gpx} object, in the binary format, to the
+		 * given file.
+		 *
+		 * @param gpx the GPX object to write to the output
+		 * @param path the output path where the GPX object is written to
+		 * @throws IOException if the writing of the GPX object fails
+		 * @throws NullPointerException if one of the given arguments is
+		 *         {@code null}
+		 */
+		public static void write(final GPX gpx, final Path path)
+			throws IOException
+		{
+			try (FileOutputStream out = new FileOutputStream(path.toFile())) {
+				write(gpx, out);
+			}
+		}
+
+		/**
+		 * Read a GPX object, in the binary format, from the given
+		 * {@code input} stream. The input stream is not closed.
+		 * <p>
+		 * The input stream is read through an internal buffer, which means
+		 * that up to 8 KB past the end of the binary GPX object may be
+		 * consumed from the given stream. The given stream should therefore
+		 * not be read any further after calling this method.
+		 *
+		 * @param input the input stream from where the GPX object is read
+		 * @return the GPX object read from the input stream
+		 * @throws IOException if the GPX object can't be read, or the input
+		 *         is not a valid binary GPX object
+		 * @throws NullPointerException if the given {@code input} stream is
+		 *         {@code null}
+		 */
+		public static GPX read(final InputStream input) throws IOException {
+			final DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new NonCloseableInputStream(input))
+			);
+			return new BinaryCodec.Decoder(in).read();
+		}
+
+		/**
+		 * Read a GPX object, in the binary format, from the given file.
+		 *
+		 * @param path the input path from where the GPX object is read
+		 * @return the GPX object read from the file
+		 * @throws IOException if the GPX object can't be read, or the file
+		 *         is not a valid binary GPX file
+		 * @throws NullPointerException if the given {@code path} is
+		 *         {@code null}
+		 */
+		public static GPX read(final Path path) throws IOException {
+			try (FileInputStream in = new FileInputStream(path.toFile())) {
+				return read(in);
+			}
+		}
+
+	}
+
 	/* *************************************************************************
 	 *  Static object creation methods
 	 * ************************************************************************/
@@ -1526,12 +2672,30 @@ public final class GPX implements Serializable {
 		return XMLWriter.elem("gpx", WRITERS.writers(version));
 	}
 
-	@SuppressWarnings("unchecked")
+	static XMLWriter<GPX> xmlContentWriter(final Version version) {
+		return XMLWriter.children(WRITERS.writers(version));
+	}
+
 	static XMLReader<GPX> xmlReader(final Version version) {
+		return xmlReader(version, new XMLReader<?>[0]);
+	}
+
+	/**
+	 * Return the GPX reader, where the child readers with the same name as
+	 * one of the given {@code replacements} are replaced.
+	 *
+	 * @param version the GPX version
+	 * @param replacements the replacement child readers
+	 * @return the GPX reader
+	 */
+	static XMLReader<GPX> xmlReader(
+		final Version version,
+		final XMLReader<?>... replacements
+	) {
 		return XMLReader.elem(
 			version == Version.V10 ? GPX::toGPXv10 : GPX::toGPXv11,
 			"gpx",
-			READERS.readers(version)
+			READERS.readers(version, replacements)
 		);
 	}
 
@@ -1729,7 +2893,7 @@ public final class GPX implements Serializable {
 	 * @throws NullPointerException if one of the arguments is {@code null}
 	 */
 	public static Reader reader(final Version version, final Mode mode) {
-		return new Reader(GPX.xmlReader(version), mode);
+		return new Reader(version, mode);
 	}
 
 	/**
@@ -1745,7 +2909,7 @@ public final class GPX implements Serializable {
 	 * @throws NullPointerException if one of the arguments is {@code null}
 	 */
 	public static Reader reader(final Version version) {
-		return new Reader(GPX.xmlReader(version), Mode.STRICT);
+		return new Reader(version, Mode.STRICT);
 	}
 
 	/**
@@ -1761,7 +2925,7 @@ public final class GPX implements Serializable {
 	 * @throws NullPointerException if one of the arguments is {@code null}
 	 */
 	public static Reader reader(final Mode mode) {
-		return new Reader(GPX.xmlReader(Version.V11), mode);
+		return new Reader(Version.V11, mode);
 	}
 
 	/**
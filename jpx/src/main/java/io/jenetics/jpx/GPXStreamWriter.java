@@ -0,0 +1,450 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Writes GPX documents incrementally. In contrast to the
+ * {@link GPX.Writer#write(GPX, java.io.OutputStream)} method, the GPX content
+ * doesn't have to be available as {@link GPX} object. Way-points, routes,
+ * tracks, track segments and single track points are written as they arrive.
+ * A stream writer is created with the {@link GPX.Writer#open(java.io.OutputStream)}
+ * methods.
+ *
+ * <pre>{@code
+ * try (GPXStreamWriter writer = GPX.writer("    ").open(out)) {
+ *     writer.metadata(metadata);
+ *     writer.wayPoint(home);
+ *     writer.startTrack(Track.builder().name("Morning run").build());
+ *     writer.startSegment();
+ *     for (WayPoint point : points) {
+ *         writer.trackPoint(point);
+ *     }
+ * }
+ * }</pre>
+ *
+ * The GPX elements must be written in the order defined by the GPX schema:
+ * metadata, way-points, routes and tracks. Calling the writer methods in a
+ * different order will throw an {@link IllegalStateException}. The written
+ * document is byte-identical to the document written by
+ * {@link GPX.Writer#write(GPX, java.io.OutputStream)}, for the same GPX
+ * content.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+public final class GPXStreamWriter implements Closeable {
+
+	/**
+	 * The writer states, in the order they are allowed to occur.
+	 */
+	private enum State {
+		HEAD,
+		WAY_POINTS,
+		ROUTES,
+		TRACKS,
+		TRACK,
+		SEGMENT,
+		CLOSED
+	}
+
+	private final CloseableXMLStreamWriter _xml;
+	private final Version _version;
+	private final String _creator;
+
+	private final XMLWriter<WayPoint> _wayPointWriter;
+	private final XMLWriter<WayPoint> _trackPointWriter;
+	private final XMLWriter<Route> _routeWriter;
+	private final XMLWriter<Track> _trackWriter;
+	private final XMLWriter<TrackSegment> _segmentWriter;
+
+	private Metadata _metadata;
+	private State _state = State.HEAD;
+
+	/**
+	 * Create a new GPX stream writer and writes the start of the XML document.
+	 *
+	 * @param xml the underlying XML stream writer
+	 * @param version the GPX version of the written document
+	 * @param creator the GPX creator
+	 * @throws XMLStreamException if the start of the document can't be written
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	GPXStreamWriter(
+		final CloseableXMLStreamWriter xml,
+		final Version version,
+		final String creator
+	)
+		throws XMLStreamException
+	{
+		_xml = requireNonNull(xml);
+		_version = requireNonNull(version);
+		_creator = requireNonNull(creator);
+
+		_wayPointWriter = WayPoint.xmlWriter(version, "wpt");
+		_trackPointWriter = WayPoint.xmlWriter(version, "trkpt");
+		_routeWriter = Route.xmlWriter(version);
+		_trackWriter = Track.xmlWriter(version);
+		_segmentWriter = TrackSegment.xmlWriter(version);
+
+		_xml.writeStartDocument("UTF-8", "1.0");
+	}
+
+	/**
+	 * Return the GPX version of the written document.
+	 *
+	 * @return the GPX version of the written document
+	 */
+	public Version getVersion() {
+		return _version;
+	}
+
+	/**
+	 * Set the metadata of the written GPX document. The metadata must be set
+	 * before any other element is written.
+	 *
+	 * @param metadata the GPX metadata
+	 * @return {@code this} writer, for command chaining
+	 * @throws NullPointerException if the given {@code metadata} is
+	 *         {@code null}
+	 * @throws IllegalStateException if the metadata has already been set or
+	 *         other elements have already been written
+	 */
+	public GPXStreamWriter metadata(final Metadata metadata) {
+		requireNonNull(metadata);
+		if (_state != State.HEAD || _metadata != null) {
+			throw new IllegalStateException(format(
+				"Metadata can't be written in state %s.", _state
+			));
+		}
+
+		_metadata = metadata;
+		return this;
+	}
+
+	/**
+	 * Writes the given way-point ({@code wpt}).
+	 *
+	 * @param point the way-point to write
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the way-point fails
+	 * @throws NullPointerException if the given {@code point} is {@code null}
+	 * @throws IllegalStateException if routes or tracks have already been
+	 *         written or the writer has been closed
+	 */
+	public GPXStreamWriter wayPoint(final WayPoint point) throws IOException {
+		requireNonNull(point);
+		moveTo(State.WAY_POINTS);
+
+		try {
+			_wayPointWriter.write(_xml, point);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the given route ({@code rte}).
+	 *
+	 * @param route the route to write
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the route fails
+	 * @throws NullPointerException if the given {@code route} is {@code null}
+	 * @throws IllegalStateException if tracks have already been written or
+	 *         the writer has been closed
+	 */
+	public GPXStreamWriter route(final Route route) throws IOException {
+		requireNonNull(route);
+		moveTo(State.ROUTES);
+
+		try {
+			_routeWriter.write(_xml, route);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the given, complete track ({@code trk}).
+	 *
+	 * @param track the track to write
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the track fails
+	 * @throws NullPointerException if the given {@code track} is {@code null}
+	 * @throws IllegalStateException if a track is currently open or the writer
+	 *         has been closed
+	 */
+	public GPXStreamWriter track(final Track track) throws IOException {
+		requireNonNull(track);
+		moveTo(State.TRACKS);
+
+		try {
+			_trackWriter.write(_xml, track);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Starts a new track ({@code trk}), with the attributes of the given
+	 * track {@code header}. The segments of the given {@code header} track
+	 * are written immediately. Additional segments can be written with the
+	 * {@link #startSegment()} and {@link #segment(TrackSegment)} methods.
+	 *
+	 * @param header the track attributes
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the track fails
+	 * @throws NullPointerException if the given {@code header} is {@code null}
+	 * @throws IllegalStateException if a track is currently open or the writer
+	 *         has been closed
+	 */
+	public GPXStreamWriter startTrack(final Track header) throws IOException {
+		requireNonNull(header);
+		moveTo(State.TRACK);
+
+		try {
+			_xml.writeStartElement("trk");
+			Track.xmlContentWriter(_version).write(_xml, header);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Starts a new track ({@code trk}), without track attributes.
+	 *
+	 * @see #startTrack(Track)
+	 *
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the track fails
+	 * @throws IllegalStateException if a track is currently open or the writer
+	 *         has been closed
+	 */
+	public GPXStreamWriter startTrack() throws IOException {
+		moveTo(State.TRACK);
+
+		try {
+			_xml.writeStartElement("trk");
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the given, complete track segment ({@code trkseg}) to the
+	 * currently open track.
+	 *
+	 * @param segment the track segment to write
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the segment fails
+	 * @throws NullPointerException if the given {@code segment} is
+	 *         {@code null}
+	 * @throws IllegalStateException if no track or another segment is
+	 *         currently open
+	 */
+	public GPXStreamWriter segment(final TrackSegment segment)
+		throws IOException
+	{
+		requireNonNull(segment);
+		require(State.TRACK);
+
+		try {
+			_segmentWriter.write(_xml, segment);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Starts a new track segment ({@code trkseg}) in the currently open
+	 * track.
+	 *
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the segment fails
+	 * @throws IllegalStateException if no track or another segment is
+	 *         currently open
+	 */
+	public GPXStreamWriter startSegment() throws IOException {
+		require(State.TRACK);
+
+		try {
+			_xml.writeStartElement("trkseg");
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		_state = State.SEGMENT;
+		return this;
+	}
+
+	/**
+	 * Writes the given track point ({@code trkpt}) to the currently open
+	 * track segment.
+	 *
+	 * @param point the track point to write
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the track point fails
+	 * @throws NullPointerException if the given {@code point} is {@code null}
+	 * @throws IllegalStateException if no track segment is currently open
+	 */
+	public GPXStreamWriter trackPoint(final WayPoint point) throws IOException {
+		requireNonNull(point);
+		require(State.SEGMENT);
+
+		try {
+			_trackPointWriter.write(_xml, point);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Ends the currently open track segment.
+	 *
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the segment end fails
+	 * @throws IllegalStateException if no track segment is currently open
+	 */
+	public GPXStreamWriter endSegment() throws IOException {
+		require(State.SEGMENT);
+
+		try {
+			_xml.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		_state = State.TRACK;
+		return this;
+	}
+
+	/**
+	 * Ends the currently open track. A currently open track segment is
+	 * ended first.
+	 *
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the track end fails
+	 * @throws IllegalStateException if no track is currently open
+	 */
+	public GPXStreamWriter endTrack() throws IOException {
+		if (_state == State.SEGMENT) {
+			endSegment();
+		}
+		require(State.TRACK);
+
+		try {
+			_xml.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		_state = State.TRACKS;
+		return this;
+	}
+
+	/**
+	 * Ends all open elements and the GPX document. The underlying output
+	 * stream is flushed, but not closed. Calling this method on an already
+	 * closed writer has no effect.
+	 *
+	 * @throws IOException if writing the document end fails
+	 */
+	@Override
+	public void close() throws IOException {
+		if (_state != State.CLOSED) {
+			if (_state.compareTo(State.TRACK) >= 0) {
+				endTrack();
+			}
+			moveTo(State.CLOSED);
+
+			try {
+				_xml.writeEndDocument();
+				_xml.close();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Moves the writer to the given {@code state}. If the GPX head has not
+	 * been written yet, it is written first.
+	 */
+	private void moveTo(final State state) throws IOException {
+		if (state.compareTo(_state) < 0 ||
+			_state == State.TRACK ||
+			_state == State.SEGMENT)
+		{
+			throw new IllegalStateException(format(
+				"Can't write %s in state %s.", state, _state
+			));
+		}
+
+		try {
+			if (_state == State.HEAD) {
+				_xml.writeStartElement("gpx");
+				GPX.xmlContentWriter(_version).write(
+					_xml,
+					GPX.of(
+						_version,
+						_creator,
+						_metadata,
+						emptyList(),
+						emptyList(),
+						emptyList()
+					)
+				);
+			}
+			if (state == State.CLOSED) {
+				_xml.writeEndElement();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+
+		_state = state;
+	}
+
+	private void require(final State state) {
+		if (_state != state) {
+			throw new IllegalStateException(format(
+				"Expected state %s, but was %s.", state, _state
+			));
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+/**
+ * Callback interface for processing a GPX document in a single pass, without
+ * building the complete {@link GPX} object. The methods of the visitor are
+ * called in document order, while the GPX file is read via
+ * {@link GPX.Reader#read(java.io.InputStream, GPXVisitor)}. All methods have
+ * an empty default implementation, which allows to override only the events
+ * of interest.
+ *
+ * <pre>{@code
+ * final DoubleAdder elevation = new DoubleAdder();
+ * GPX.reader().read(in, new GPXVisitor() {
+ *     public void onTrackPoint(final WayPoint point) {
+ *         point.getElevation().ifPresent(e -> elevation.add(e.doubleValue()));
+ *     }
+ * });
+ * }</pre>
+ *
+ * The elements are read with the same element readers as used by
+ * {@link GPX.Reader#read(java.io.InputStream)}. In {@link GPX.Reader.Mode#LENIENT}
+ * mode, invalid elements are skipped and not reported to the visitor. The
+ * start and end callbacks of the route, track and segment elements are
+ * always called in pairs. If such an element is invalid and skipped in
+ * lenient mode, its end callback is called with a {@code null} argument. A
+ * {@code RuntimeException} thrown by one of the callback methods stops the
+ * reading process and is re-thrown by the {@code read} method.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+public interface GPXVisitor {
+
+	/**
+	 * Called when the metadata of the GPX document has been read. For
+	 * {@link GPX.Version#V11} files, the metadata are reported as soon as the
+	 * {@code metadata} element has been read. Since the metadata of
+	 * {@link GPX.Version#V10} files are assembled from different elements,
+	 * they are reported after the {@code gpx} element has been read.
+	 *
+	 * @param metadata the metadata of the GPX document
+	 */
+	public default void onMetadata(final Metadata metadata) {
+	}
+
+	/**
+	 * Called for every way-point ({@code wpt}) of the GPX document.
+	 *
+	 * @param point the read way-point
+	 */
+	public default void onWayPoint(final WayPoint point) {
+	}
+
+	/**
+	 * Called when a new route ({@code rte}) element starts.
+	 */
+	public default void onRouteStart() {
+	}
+
+	/**
+	 * Called for every route point ({@code rtept}) of the current route.
+	 *
+	 * @param point the read route point
+	 */
+	public default void onRoutePoint(final WayPoint point) {
+	}
+
+	/**
+	 * Called when the current route ({@code rte}) element ends.
+	 *
+	 * @param route the attributes of the read route, without its route
+	 *        points, which have already been reported via
+	 *        {@link #onRoutePoint(WayPoint)}, or {@code null} if the route
+	 *        is invalid and has been skipped in lenient mode
+	 */
+	public default void onRouteEnd(final Route route) {
+	}
+
+	/**
+	 * Called when a new track ({@code trk}) element starts.
+	 */
+	public default void onTrackStart() {
+	}
+
+	/**
+	 * Called when a new track segment ({@code trkseg}) of the current track
+	 * starts.
+	 */
+	public default void onSegmentStart() {
+	}
+
+	/**
+	 * Called for every track point ({@code trkpt}) of the current track
+	 * segment.
+	 *
+	 * @param point the read track point
+	 */
+	public default void onTrackPoint(final WayPoint point) {
+	}
+
+	/**
+	 * Called when the current track segment ({@code trkseg}) ends.
+	 */
+	public default void onSegmentEnd() {
+	}
+
+	/**
+	 * Called when the current track ({@code trk}) element ends.
+	 *
+	 * @param track the attributes of the read track, without its segments,
+	 *        which have already been reported via the segment and track point
+	 *        callbacks, or {@code null} if the track is invalid and has been
+	 *        skipped in lenient mode
+	 */
+	public default void onTrackEnd(final Track track) {
+	}
+
+}
@@ -19,10 +19,15 @@
  */
 package io.jenetics.jpx;
 
+import static java.lang.Math.min;
+import static java.lang.String.format;
+
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.io.StreamCorruptedException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -30,11 +35,19 @@ import java.util.List;
  * Helper methods needed for implementing the Java serializations.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.2
  */
 final class IO {
 
+	/**
+	 * The maximal number of elements which are allocated in advance, for a
+	 * length read from the input. Longer arrays and lists grow while they
+	 * are read, which limits the memory allocated for corrupt lengths to
+	 * the size of the actual input.
+	 */
+	static final int MAX_PREALLOCATION = 1 << 16;
+
 	/**
 	 * Object writer interface.
 	 *
@@ -127,8 +140,18 @@ final class IO {
 	 * @throws IOException if an I/O error occurs
 	 */
 	static String readString(final DataInput in) throws IOException {
-		final byte[] bytes = new byte[readInt(in)];
-		in.readFully(bytes);
+		final int length = readLength(in);
+
+		byte[] bytes = new byte[min(length, MAX_PREALLOCATION)];
+		int read = 0;
+		while (read < length) {
+			if (read == bytes.length) {
+				bytes = Arrays.copyOf(bytes, grow(bytes.length, length));
+			}
+			in.readFully(bytes, read, bytes.length - read);
+			read = bytes.length;
+		}
+
 		return new String(bytes, "UTF-8");
 	}
 
@@ -198,14 +221,45 @@ final class IO {
 	)
 		throws IOException
 	{
-		final int length = readInt(in);
-		final List<T> elements = new ArrayList<>(length);
+		final int length = readLength(in);
+		final List<T> elements = new ArrayList<>(min(length, MAX_PREALLOCATION));
 		for (int i = 0; i < length; ++i) {
 			elements.add(reader.read(in));
 		}
 		return elements;
 	}
 
+	/**
+	 * Reads a length or element count from the given data input.
+	 *
+	 * @param in the data input
+	 * @return the read length
+	 * @throws NullPointerException if the given data input is {@code null}
+	 * @throws StreamCorruptedException if the read length is negative
+	 * @throws IOException if an I/O error occurs
+	 */
+	static int readLength(final DataInput in) throws IOException {
+		final int length = readInt(in);
+		if (length < 0) {
+			throw new StreamCorruptedException(format(
+				"Invalid length: %d.", length
+			));
+		}
+		return length;
+	}
+
+	/**
+	 * Return the new capacity of an array, which is filled while reading
+	 * {@code length} elements.
+	 *
+	 * @param capacity the current capacity
+	 * @param length the number of elements to read
+	 * @return the new capacity
+	 */
+	static int grow(final int capacity, final int length) {
+		return (int)min(2L*capacity, length);
+	}
+
 	/**
 	 * Writes an int value to a series of bytes. The values are written using
 	 * <a href="http://lucene.apache.org/core/3_5_0/fileformats.html#VInt">variable-length</a>
@@ -0,0 +1,150 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stateful filter, which processes way-points one at a time and emits a
+ * reduced sequence of way-points. Incremental filters only keep a bounded
+ * number of way-points in memory and are suited for processing live tracking
+ * feeds or GPX files of arbitrary size. Instances are created by the
+ * {@link Filters} factory methods.
+ * <pre>{@code
+ * // Push style, e.g. for live feeds.
+ * final IncrementalFilter filter = Filters.resample(Duration.ofSeconds(5));
+ * device.onPoint(point -> filter.accept(point, store::add));
+ *
+ * // As stream operator.
+ * try (Stream<WayPoint> points = GPX.reader().stream(path)) {
+ *     final List<WayPoint> reduced = Filters
+ *         .deadBand(Length.of(10, Unit.METER), Duration.ofMinutes(1), null)
+ *         .filter(points)
+ *         .collect(Collectors.toList());
+ * }
+ * }</pre>
+ *
+ * Incremental filters are stateful and not thread-safe. A filter instance
+ * must only be used for processing one sequence of way-points.
+ *
+ * @see Filters#deadBand(Length, java.time.Duration, Degrees)
+ * @see Filters#slidingDouglasPeucker(Length, int)
+ * @see Filters#resample(java.time.Duration)
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+public interface IncrementalFilter {
+
+	/**
+	 * Process the next way-point of the sequence.
+	 *
+	 * @param point the next way-point
+	 * @param downstream the consumer of the emitted way-points
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public void accept(
+		final WayPoint point,
+		final Consumer<? super WayPoint> downstream
+	);
+
+	/**
+	 * Signals the end of the way-point sequence. The way-points, still
+	 * buffered by the filter, are emitted.
+	 *
+	 * @param downstream the consumer of the emitted way-points
+	 * @throws NullPointerException if the given {@code downstream} consumer
+	 *         is {@code null}
+	 */
+	public void finish(final Consumer<? super WayPoint> downstream);
+
+	/**
+	 * Return a stream of the way-points emitted by this filter, for the given
+	 * {@code points}. The returned stream is lazy and pulls the way-points
+	 * from the given stream, while it is consumed. Closing the returned
+	 * stream closes the given stream.
+	 *
+	 * @param points the way-points to filter
+	 * @return the stream of the emitted way-points
+	 * @throws NullPointerException if the given {@code points} stream is
+	 *         {@code null}
+	 */
+	public default Stream<WayPoint> filter(final Stream<? extends WayPoint> points) {
+		final Spliterator<? extends WayPoint> source = points.spliterator();
+
+		final Spliterator<WayPoint> result = new Spliterators
+			.AbstractSpliterator<WayPoint>(
+				Long.MAX_VALUE,
+				Spliterator.ORDERED | Spliterator.NONNULL)
+		{
+			private final Deque<WayPoint> _buffer = new ArrayDeque<>();
+			private boolean _finished = false;
+
+			@Override
+			public boolean tryAdvance(final Consumer<? super WayPoint> action) {
+				while (_buffer.isEmpty() && !_finished) {
+					if (!source.tryAdvance(p -> accept(p, _buffer::add))) {
+						finish(_buffer::add);
+						_finished = true;
+					}
+				}
+
+				final WayPoint point = _buffer.poll();
+				if (point != null) {
+					action.accept(point);
+					return true;
+				}
+				return false;
+			}
+		};
+
+		return StreamSupport.stream(result, false).onClose(points::close);
+	}
+
+	/**
+	 * Apply this filter to the given way-point {@code points} and pass the
+	 * emitted way-points to the {@code downstream} consumer. The end of the
+	 * sequence is signaled after the last way-point.
+	 *
+	 * @param points the way-points to filter
+	 * @param downstream the consumer of the emitted way-points
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public default void filter(
+		final Iterable<? extends WayPoint> points,
+		final Consumer<? super WayPoint> downstream
+	) {
+		requireNonNull(downstream);
+		for (WayPoint point : points) {
+			accept(point, downstream);
+		}
+		finish(downstream);
+	}
+
+}
@@ -0,0 +1,369 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.atan2;
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+import static java.lang.Math.toDegrees;
+import static java.lang.Math.toRadians;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import io.jenetics.jpx.geom.Geoid;
+
+/**
+ * Implementations of the {@link IncrementalFilter} interface.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class IncrementalFilters {
+
+	private IncrementalFilters() {
+	}
+
+	/**
+	 * Dead-band compression. A way-point is emitted, if it is far enough
+	 * away from the last emitted way-point, if enough time has elapsed since
+	 * the last emitted way-point or if the heading has changed enough. The
+	 * last way-point of the sequence is always emitted.
+	 */
+	static final class DeadBand implements IncrementalFilter {
+		private final Geoid _geoid;
+		private final double _distance;
+		private final long _time;
+		private final double _heading;
+
+		private WayPoint _emitted;
+		private double _emittedHeading = Double.NaN;
+		private WayPoint _previous;
+		private WayPoint _pending;
+
+		/**
+		 * Create a new dead-band filter. Negative values disable the
+		 * corresponding criterion.
+		 *
+		 * @param geoid the geoid used for the distance calculation
+		 * @param distance the minimal distance in meters
+		 * @param time the minimal elapsed time in milliseconds
+		 * @param heading the minimal heading change in degrees
+		 */
+		DeadBand(
+			final Geoid geoid,
+			final double distance,
+			final long time,
+			final double heading
+		) {
+			_geoid = requireNonNull(geoid);
+			_distance = distance;
+			_time = time;
+			_heading = heading;
+		}
+
+		@Override
+		public void accept(
+			final WayPoint point,
+			final Consumer<? super WayPoint> downstream
+		) {
+			requireNonNull(point);
+			requireNonNull(downstream);
+
+			final double heading = _previous != null && !same(_previous, point)
+				? bearing(_previous, point)
+				: Double.NaN;
+			_previous = point;
+
+			if (_emitted == null || exceeds(point, heading)) {
+				downstream.accept(point);
+				_emitted = point;
+				_emittedHeading = heading;
+				_pending = null;
+			} else {
+				if (Double.isNaN(_emittedHeading)) {
+					_emittedHeading = heading;
+				}
+				_pending = point;
+			}
+		}
+
+		private boolean exceeds(final WayPoint point, final double heading) {
+			if (_distance >= 0 &&
+				_geoid.distance(_emitted, point).doubleValue() >= _distance)
+			{
+				return true;
+			}
+			if (_time >= 0 &&
+				_emitted.getTime().isPresent() &&
+				point.getTime().isPresent() &&
+				millis(point) - millis(_emitted) >= _time)
+			{
+				return true;
+			}
+			return _heading >= 0 &&
+				!Double.isNaN(heading) &&
+				!Double.isNaN(_emittedHeading) &&
+				headingChange(_emittedHeading, heading) >= _heading;
+		}
+
+		@Override
+		public void finish(final Consumer<? super WayPoint> downstream) {
+			requireNonNull(downstream);
+			if (_pending != null) {
+				downstream.accept(_pending);
+				_emitted = _pending;
+				_pending = null;
+			}
+		}
+	}
+
+	/**
+	 * Douglas-Peucker simplification on a sliding window of way-points. The
+	 * way-points are buffered until the window is full. The simplified
+	 * window is then emitted, except its last way-point, which starts the
+	 * next window.
+	 */
+	static final class SlidingDouglasPeucker implements IncrementalFilter {
+		private final Simplifier _simplifier;
+		private final double _tolerance;
+		private final int _window;
+
+		private final List<WayPoint> _buffer;
+		private final double[] _lat;
+		private final double[] _lon;
+
+		/**
+		 * Create a new sliding Douglas-Peucker filter.
+		 *
+		 * @param geoid the geoid used for the distance calculation
+		 * @param tolerance the tolerance in meters
+		 * @param window the number of way-points of the window
+		 */
+		SlidingDouglasPeucker(
+			final Geoid geoid,
+			final double tolerance,
+			final int window
+		) {
+			_simplifier = new Simplifier(geoid);
+			_tolerance = tolerance;
+			_window = window;
+			_buffer = new ArrayList<>(window);
+			_lat = new double[window];
+			_lon = new double[window];
+		}
+
+		@Override
+		public void accept(
+			final WayPoint point,
+			final Consumer<? super WayPoint> downstream
+		) {
+			requireNonNull(point);
+			requireNonNull(downstream);
+
+			_buffer.add(point);
+			if (_buffer.size() == _window) {
+				emit(downstream, false);
+			}
+		}
+
+		@Override
+		public void finish(final Consumer<? super WayPoint> downstream) {
+			requireNonNull(downstream);
+			emit(downstream, true);
+			_buffer.clear();
+		}
+
+		private void emit(
+			final Consumer<? super WayPoint> downstream,
+			final boolean last
+		) {
+			final int size = _buffer.size();
+			if (size == 0 || size == 1 && !last) {
+				return;
+			}
+
+			final double[] lat = size == _window
+				? _lat
+				: new double[size];
+			final double[] lon = size == _window
+				? _lon
+				: new double[size];
+			for (int i = 0; i < size; ++i) {
+				final WayPoint point = _buffer.get(i);
+				lat[i] = point.getLatitude().doubleValue();
+				lon[i] = point.getLongitude().doubleValue();
+			}
+
+			final int[] kept = _simplifier.douglasPeucker(lat, lon, _tolerance);
+			final int count = last ? kept.length : kept.length - 1;
+			for (int i = 0; i < count; ++i) {
+				downstream.accept(_buffer.get(kept[i]));
+			}
+
+			final WayPoint end = _buffer.get(size - 1);
+			_buffer.clear();
+			if (!last) {
+				_buffer.add(end);
+			}
+		}
+	}
+
+	/**
+	 * Resamples the way-points to a fixed time interval. The emitted
+	 * way-points are linearly interpolated between the two enclosing input
+	 * way-points. Way-points without time, or with a time not after the
+	 * time of the previous way-point, are ignored.
+	 */
+	static final class Resampler implements IncrementalFilter {
+		private final long _interval;
+
+		private WayPoint _previous;
+		private long _next;
+
+		/**
+		 * Create a new resampling filter.
+		 *
+		 * @param interval the resampling interval in milliseconds
+		 */
+		Resampler(final long interval) {
+			_interval = interval;
+		}
+
+		@Override
+		public void accept(
+			final WayPoint point,
+			final Consumer<? super WayPoint> downstream
+		) {
+			requireNonNull(point);
+			requireNonNull(downstream);
+
+			if (!point.getTime().isPresent()) {
+				return;
+			}
+
+			final long time = millis(point);
+			if (_previous == null) {
+				_previous = point;
+				_next = time;
+			}
+
+			final long start = millis(_previous);
+			if (time < start || time == start && _previous != point) {
+				return;
+			}
+
+			while (_next <= time) {
+				downstream.accept(interpolate(_previous, point, _next));
+				_next += _interval;
+			}
+			_previous = point;
+		}
+
+		@Override
+		public void finish(final Consumer<? super WayPoint> downstream) {
+			requireNonNull(downstream);
+		}
+
+		private static WayPoint interpolate(
+			final WayPoint a,
+			final WayPoint b,
+			final long time
+		) {
+			final long start = millis(a);
+			final long end = millis(b);
+			final double f = end > start ? (double)(time - start)/(end - start) : 0;
+
+			final double latA = a.getLatitude().doubleValue();
+			final double lonA = a.getLongitude().doubleValue();
+			final double lat = latA + f*(b.getLatitude().doubleValue() - latA);
+
+			double dlon = b.getLongitude().doubleValue() - lonA;
+			if (dlon > 180) {
+				dlon -= 360;
+			} else if (dlon < -180) {
+				dlon += 360;
+			}
+			double lon = lonA + f*dlon;
+			if (lon > 180) {
+				lon -= 360;
+			} else if (lon < -180) {
+				lon += 360;
+			}
+
+			final WayPoint.Builder builder = WayPoint.builder()
+				.time(ZonedDateTime.ofInstant(
+					Instant.ofEpochMilli(time),
+					a.getTime().get().getZone()));
+
+			if (a.getElevation().isPresent() && b.getElevation().isPresent()) {
+				final double eleA = a.getElevation().get().doubleValue();
+				final double eleB = b.getElevation().get().doubleValue();
+				builder.ele(eleA + f*(eleB - eleA));
+			}
+
+			return builder.build(lat, lon);
+		}
+	}
+
+	/* *************************************************************************
+	 *  Helper methods
+	 * ************************************************************************/
+
+	static long millis(final WayPoint point) {
+		return point.getTime().get().toInstant().toEpochMilli();
+	}
+
+	private static boolean same(final WayPoint a, final WayPoint b) {
+		return a.getLatitude().doubleValue() == b.getLatitude().doubleValue() &&
+			a.getLongitude().doubleValue() == b.getLongitude().doubleValue();
+	}
+
+	/**
+	 * Return the initial bearing, in degrees {@code [0, 360)}, of the great
+	 * circle from {@code a} to {@code b}.
+	 */
+	static double bearing(final WayPoint a, final WayPoint b) {
+		final double lat1 = a.getLatitude().toRadians();
+		final double lat2 = b.getLatitude().toRadians();
+		final double dlon = toRadians(
+			b.getLongitude().doubleValue() - a.getLongitude().doubleValue());
+
+		final double y = sin(dlon)*cos(lat2);
+		final double x = cos(lat1)*sin(lat2) - sin(lat1)*cos(lat2)*cos(dlon);
+		final double bearing = toDegrees(atan2(y, x));
+		return bearing < 0 ? bearing + 360 : bearing;
+	}
+
+	/**
+	 * Return the absolute heading change, in degrees {@code [0, 180]}.
+	 */
+	static double headingChange(final double from, final double to) {
+		final double change = abs(to - from)%360;
+		return change > 180 ? 360 - change : change;
+	}
+
+}
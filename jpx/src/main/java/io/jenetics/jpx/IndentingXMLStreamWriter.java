@@ -29,7 +29,7 @@ import javax.xml.stream.XMLStreamWriter;
  * {@link XMLStreamWriter} proxy for writing XML indentations.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.0
+ * @version 1.5
  * @since 1.0
  */
 final class IndentingXMLStreamWriter extends CloseableXMLStreamWriter {
@@ -47,13 +47,21 @@ final class IndentingXMLStreamWriter extends CloseableXMLStreamWriter {
 	private String _indent;
 	private int _depth;
 
-	IndentingXMLStreamWriter(final XMLStreamWriter writer, final String indent) {
-		super(writer);
+	IndentingXMLStreamWriter(
+		final XMLStreamWriter writer,
+		final String indent,
+		final int fractionDigits
+	) {
+		super(writer, fractionDigits);
 		_state = State.SEEN_NOTHING;
 		_indent = indent;
 		_depth = 0;
 	}
 
+	IndentingXMLStreamWriter(final XMLStreamWriter writer, final String indent) {
+		this(writer, indent, -1);
+	}
+
 	private void onStartElement() throws XMLStreamException {
 		_states.push(State.SEEN_ELEMENT);
 		_state = State.SEEN_NOTHING;
@@ -33,7 +33,7 @@ import java.io.Serializable;
  * the range of {@code [-90..90]}.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.4
+ * @version 1.5
  * @since 1.0
  */
 public final class Latitude extends Number implements Serializable {
@@ -164,7 +164,7 @@ public final class Latitude extends Number implements Serializable {
 
 	static Latitude parse(final String string) {
 		return string != null
-			? Latitude.ofDegrees(Double.parseDouble(string))
+			? Latitude.ofDegrees(DoubleFormat.parse(string))
 			: null;
 	}
 
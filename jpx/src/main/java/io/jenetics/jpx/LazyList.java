@@ -0,0 +1,83 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * Unmodifiable list, whose elements are created when the list is accessed the
+ * first time. The list is thread-safe and the element {@code supplier} is
+ * called at most once.
+ *
+ * @param <E> the element type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class LazyList<E> extends AbstractList<E> implements RandomAccess {
+
+	private Supplier<? extends List<E>> _supplier;
+	private volatile List<E> _list;
+
+	LazyList(final Supplier<? extends List<E>> supplier) {
+		_supplier = requireNonNull(supplier);
+	}
+
+	/**
+	 * Return {@code true} if the list elements have already been created.
+	 *
+	 * @return {@code true} if the list elements have already been created
+	 */
+	boolean isLoaded() {
+		return _list != null;
+	}
+
+	private List<E> list() {
+		List<E> list = _list;
+		if (list == null) {
+			synchronized (this) {
+				list = _list;
+				if (list == null) {
+					list = requireNonNull(_supplier.get());
+					_list = list;
+					_supplier = null;
+				}
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public E get(final int index) {
+		return list().get(index);
+	}
+
+	@Override
+	public int size() {
+		return list().size();
+	}
+
+}
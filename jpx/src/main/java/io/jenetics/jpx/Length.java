@@ -35,7 +35,7 @@ import java.io.Serializable;
  * "m" (metre).
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.0
  */
 public final class Length
@@ -212,12 +212,6 @@ public final class Length
 		return new Length(Unit.METER.convert(length, unit));
 	}
 
-	static Length parse(final String string) {
-		return string != null
-			? Length.of(Double.parseDouble(string), Unit.METER)
-			: null;
-	}
-
 	/* *************************************************************************
 	 *  Java object serialization
 	 * ************************************************************************/
@@ -23,15 +23,17 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 /**
  * Helper methods for handling lists. All method handles null values correctly.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.0
+ * @version 1.5
  * @since 1.0
  */
 final class Lists {
@@ -93,25 +95,43 @@ final class Lists {
 	}
 
 	static int hashCode(final List<?> list) {
-		return list != null
-			? 17*list.stream().mapToInt(Objects::hashCode).sum() + 31
-			: 0;
+		return list != null ? list.hashCode() : 0;
 	}
 
-	static boolean equals(final List<?> b, final List<?> a) {
-		boolean result = false;
-		if (a != null) {
-			if (b != null) {
-				result = a.size() == b.size();
-				if (result) {
-					result = a.containsAll(b);
+	/**
+	 * Order-aware equality of the given lists. The size of the lists is
+	 * compared first and the elements are compared in one linear pass.
+	 *
+	 * @param a the first list, may be {@code null}
+	 * @param b the second list, may be {@code null}
+	 * @return {@code true} if both lists contain equal elements in the same
+	 *         order, or both lists are {@code null}
+	 */
+	static boolean equals(final List<?> a, final List<?> b) {
+		if (a == b) {
+			return true;
+		}
+		if (a == null || b == null || a.size() != b.size()) {
+			return false;
+		}
+
+		if (a instanceof RandomAccess && b instanceof RandomAccess) {
+			for (int i = 0, n = a.size(); i < n; ++i) {
+				if (!Objects.equals(a.get(i), b.get(i))) {
+					return false;
 				}
 			}
 		} else {
-			result = b == null;
+			final Iterator<?> ai = a.iterator();
+			final Iterator<?> bi = b.iterator();
+			while (ai.hasNext()) {
+				if (!Objects.equals(ai.next(), bi.next())) {
+					return false;
+				}
+			}
 		}
 
-		return result;
+		return true;
 	}
 
 }
@@ -33,7 +33,7 @@ import java.io.Serializable;
  * the range of {@code [-180..180]}.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.0
  */
 public final class Longitude extends Number implements Serializable {
@@ -150,7 +150,7 @@ public final class Longitude extends Number implements Serializable {
 
 	static Longitude parse(final String string) {
 		return string != null
-			? Longitude.ofDegrees(Double.parseDouble(string))
+			? Longitude.ofDegrees(DoubleFormat.parse(string))
 			: null;
 	}
 
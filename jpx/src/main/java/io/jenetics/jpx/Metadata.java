@@ -53,7 +53,7 @@ import java.util.Optional;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.3
+ * @version 1.5
  * @since 1.0
  */
 public final class Metadata implements Serializable {
@@ -236,7 +236,7 @@ public final class Metadata implements Serializable {
 		hash += 17*Objects.hashCode(_author) + 31;
 		hash += 17*Objects.hashCode(_copyright) + 31;
 		hash += 17*Lists.hashCode(_links) + 31;
-		hash += 17*Objects.hashCode(_time) + 31;
+		hash += 17*ZonedDateTimes.hashCode(_time) + 31;
 		hash += 17*Objects.hashCode(_keywords) + 31;
 		hash += 17*Objects.hashCode(_bounds) + 31;
 		return hash;
@@ -0,0 +1,278 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.xml.stream.XMLInputFactory;
+
+import io.jenetics.jpx.ElementIndex.Element;
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Reads an indexed GPX document in parallel. The {@code wpt}, {@code rte} and
+ * {@code trk} elements are split into batches of consecutive elements, which
+ * are parsed concurrently. The {@code trkseg} elements of the tracks are
+ * parsed in separate batches, which allows to parallelize the reading of
+ * documents with only one big track. The parsed elements are reassembled in
+ * document order.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class ParallelReader {
+
+	/**
+	 * The minimal size of a batch in bytes. Smaller batches don't pay off
+	 * the overhead of creating a new XML stream reader and a new task.
+	 */
+	private static final int MIN_BATCH_SIZE = 64*1024;
+
+	/**
+	 * The number of batches per worker thread, used for balancing the load
+	 * of elements with different sizes.
+	 */
+	private static final int BATCHES_PER_THREAD = 4;
+
+	/**
+	 * A batch of consecutive elements, parsed by one task.
+	 */
+	private static final class Batch {
+		final List<Element> elements = new ArrayList<>();
+		final boolean shell;
+		long size = 0;
+		Future<List<Object>> result;
+
+		Batch(final boolean shell) {
+			this.shell = shell;
+		}
+	}
+
+	private final ElementIndex _index;
+	private final Map<String, XMLReader<?>> _readers = new HashMap<>();
+	private final XMLInputFactory _factory;
+	private final boolean _lenient;
+
+	/**
+	 * Create a new parallel reader for the given indexed document.
+	 *
+	 * @param index the element index of the GPX document to read
+	 * @param version the GPX version to read
+	 * @param factory the XML input factory used for parsing the elements
+	 * @param lenient lenient read mode
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	ParallelReader(
+		final ElementIndex index,
+		final Version version,
+		final XMLInputFactory factory,
+		final boolean lenient
+	) {
+		_index = requireNonNull(index);
+		_factory = requireNonNull(factory);
+		_lenient = lenient;
+
+		_readers.put("wpt", WayPoint.xmlReader(version, "wpt"));
+		_readers.put("rte", Route.xmlReader(version));
+		_readers.put("trk", Track.xmlReader(version));
+		_readers.put("trkseg", TrackSegment.xmlReader(version));
+	}
+
+	/**
+	 * Reads the GPX document, using the given fork-join {@code pool}.
+	 *
+	 * @param reader the GPX reader, used for reading the document header
+	 * @param pool the fork-join pool which parses the element batches
+	 * @return the read GPX object, maybe {@code null} in lenient mode
+	 * @throws IOException if the GPX document can't be read
+	 */
+	GPX read(final XMLReader<GPX> reader, final ForkJoinPool pool)
+		throws IOException
+	{
+		final List<Element> elements = new ArrayList<>();
+		long size = 0;
+		for (Element element : _index.elements()) {
+			if (_readers.containsKey(element.name)) {
+				elements.add(element);
+				size += element.length();
+			}
+		}
+		final long batchSize = Math.max(
+			size/((long)pool.getParallelism()*BATCHES_PER_THREAD),
+			MIN_BATCH_SIZE
+		);
+
+		final List<Batch> batches = batches(elements, true, batchSize);
+		final Map<Element, List<Batch>> segments = new HashMap<>();
+		for (Element element : elements) {
+			if (!element.children.isEmpty()) {
+				segments.put(
+					element,
+					batches(element.children, false, batchSize)
+				);
+			}
+		}
+
+		final List<Batch> tasks = new ArrayList<>(batches);
+		segments.values().forEach(tasks::addAll);
+		try {
+			for (Batch batch : tasks) {
+				batch.result = pool.submit(() -> _index.read(
+					batch.elements, batch.shell, _readers::get,
+					_factory, _lenient
+				));
+			}
+
+			final GPX header = _index.header(reader, _factory, _lenient);
+			return header != null
+				? assemble(header, batches, segments)
+				: null;
+		} finally {
+			for (Batch batch : tasks) {
+				if (batch.result != null) {
+					batch.result.cancel(false);
+				}
+			}
+		}
+	}
+
+	private static List<Batch> batches(
+		final List<Element> elements,
+		final boolean shell,
+		final long batchSize
+	) {
+		final List<Batch> batches = new ArrayList<>();
+
+		Batch batch = null;
+		for (Element element : elements) {
+			if (batch == null || batch.size >= batchSize) {
+				batch = new Batch(shell);
+				batches.add(batch);
+			}
+
+			long size = element.length();
+			if (shell) {
+				for (Element child : element.children) {
+					size -= child.length();
+				}
+			}
+			batch.elements.add(element);
+			batch.size += size;
+		}
+
+		return batches;
+	}
+
+	private static GPX assemble(
+		final GPX header,
+		final List<Batch> batches,
+		final Map<Element, List<Batch>> segments
+	)
+		throws IOException
+	{
+		final List<WayPoint> wayPoints = new ArrayList<>();
+		final List<Route> routes = new ArrayList<>();
+		final List<Track> tracks = new ArrayList<>();
+
+		for (Batch batch : batches) {
+			final List<Object> values = get(batch.result);
+			for (int i = 0; i < values.size(); ++i) {
+				final Object value = values.get(i);
+				if (value == null) {
+					continue;
+				}
+
+				final Element element = batch.elements.get(i);
+				switch (element.name) {
+					case "wpt":
+						wayPoints.add((WayPoint)value);
+						break;
+					case "rte":
+						routes.add((Route)value);
+						break;
+					case "trk":
+						tracks.add(track((Track)value, segments.get(element)));
+						break;
+				}
+			}
+		}
+
+		return header.toBuilder()
+			.wayPoints(wayPoints)
+			.routes(routes)
+			.tracks(tracks)
+			.build();
+	}
+
+	private static Track track(final Track track, final List<Batch> batches)
+		throws IOException
+	{
+		if (batches == null) {
+			return track;
+		}
+
+		final List<TrackSegment> segments = new ArrayList<>();
+		for (Batch batch : batches) {
+			for (Object value : get(batch.result)) {
+				if (value != null) {
+					segments.add((TrackSegment)value);
+				}
+			}
+		}
+
+		return track.toBuilder()
+			.segments(segments)
+			.build();
+	}
+
+	private static List<Object> get(final Future<List<Object>> result)
+		throws IOException
+	{
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException)cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			} else if (cause instanceof Error) {
+				throw (Error)cause;
+			} else {
+				throw new IOException(cause);
+			}
+		}
+	}
+
+}
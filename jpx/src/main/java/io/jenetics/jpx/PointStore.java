@@ -0,0 +1,334 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Binary store for the tracks of a GPX object. The track-points are written
+ * as fixed size records of latitude, longitude, elevation, speed and time,
+ * which are preceded by a table of the tracks and the offsets of their
+ * segments.
+ * <p>
+ * Reading a point store doesn't parse the track-points. The segment records
+ * are memory mapped and the {@link WayPoint} objects are decoded on demand,
+ * when they are accessed. This makes opening very large archives almost
+ * instant, compared to parsing the GPX XML file.
+ * <pre>{@code
+ * final GPX gpx = GPX.read("archive.gpx");
+ * PointStore.write(gpx, Paths.get("archive.jpxs"));
+ *
+ * // Much later, and much faster.
+ * final GPX tracks = PointStore.read(Paths.get("archive.jpxs"));
+ * }</pre>
+ *
+ * <b>Only the tracks of the GPX object are stored</b>. The metadata, the
+ * way-points and the routes are not part of the store. Of the track-points,
+ * only the latitude, longitude, elevation, speed and time are stored, with
+ * millisecond precision. The times of the read track-points are in UTC.
+ * The file is mapped in regions of at most 2 GB, which are shared by the
+ * segments they contain. The memory mapped segments stay valid after the
+ * {@link #read(Path)} method returns. The size of one segment is limited to
+ * 2 GB (about 53 million points).
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+public final class PointStore {
+
+	// The bytes 'JPXS'.
+	private static final int MAGIC = 0x4A505853;
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_SIZE = 3*Integer.BYTES;
+	private static final int BUFFER_SIZE = 1024*WayPointColumns.RECORD_SIZE;
+
+	// The maximal size of one memory mapped region of the point store file.
+	private static final int REGION_SIZE = Integer.MAX_VALUE;
+
+	private PointStore() {
+	}
+
+	/**
+	 * Write the tracks of the given {@code gpx} object to the given point
+	 * store file. An existing file is overwritten.
+	 *
+	 * @param gpx the GPX object to store
+	 * @param path the point store file
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IOException if the point store can't be written
+	 */
+	public static void write(final GPX gpx, final Path path)
+		throws IOException
+	{
+		requireNonNull(gpx);
+		requireNonNull(path);
+
+		final byte[] table = table(gpx);
+		try (FileChannel channel =
+				FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE))
+		{
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC);
+			header.putInt(FORMAT_VERSION);
+			header.putInt(table.length);
+			header.flip();
+			writeFully(channel, header);
+			writeFully(channel, ByteBuffer.wrap(table));
+
+			final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			for (Track track : gpx.getTracks()) {
+				for (TrackSegment segment : track.getSegments()) {
+					for (WayPoint point : segment) {
+						if (buffer.remaining() < WayPointColumns.RECORD_SIZE) {
+							buffer.flip();
+							writeFully(channel, buffer);
+							buffer.clear();
+						}
+						WayPointColumns.write(point, buffer);
+					}
+				}
+			}
+			buffer.flip();
+			writeFully(channel, buffer);
+		}
+	}
+
+	private static byte[] table(final GPX gpx) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			IO.writeString(gpx.getVersion(), out);
+			IO.writeString(gpx.getCreator(), out);
+
+			long offset = 0;
+			IO.writeInt(gpx.getTracks().size(), out);
+			for (Track track : gpx.getTracks()) {
+				IO.writeNullableString(track.getName().orElse(null), out);
+				IO.writeNullableString(track.getComment().orElse(null), out);
+				IO.writeNullableString(track.getDescription().orElse(null), out);
+				IO.writeNullableString(track.getSource().orElse(null), out);
+				IO.writes(track.getLinks(), Link::write, out);
+				IO.writeNullable(track.getNumber().orElse(null), UInt::write, out);
+				IO.writeNullableString(track.getType().orElse(null), out);
+
+				IO.writeInt(track.getSegments().size(), out);
+				for (TrackSegment segment : track.getSegments()) {
+					final int size = segment.getPoints().size();
+					IO.writeLong(offset, out);
+					IO.writeInt(size, out);
+					offset += (long)size*WayPointColumns.RECORD_SIZE;
+				}
+			}
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private static void writeFully(
+		final FileChannel channel,
+		final ByteBuffer buffer
+	)
+		throws IOException
+	{
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Read the tracks of the given point store file. The track-points are
+	 * not read by this method. They are decoded from the memory mapped file,
+	 * when they are accessed.
+	 *
+	 * @param path the point store file
+	 * @return a GPX object, which contains the stored tracks
+	 * @throws NullPointerException if the given {@code path} is {@code null}
+	 * @throws IOException if the point store can't be read or if the file is
+	 *         not a valid point store
+	 */
+	public static GPX read(final Path path) throws IOException {
+		return read(path, REGION_SIZE);
+	}
+
+	static GPX read(final Path path, final int regionSize) throws IOException {
+		requireNonNull(path);
+
+		try (FileChannel channel = FileChannel.open(path, READ)) {
+			final Regions regions = new Regions(channel, regionSize);
+
+			final ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+			if (header.getInt() != MAGIC) {
+				throw new IOException(format("'%s' is not a point store.", path));
+			}
+			final int version = header.getInt();
+			if (version != FORMAT_VERSION) {
+				throw new IOException(format(
+					"Unsupported point store version %d.", version
+				));
+			}
+			final int length = header.getInt();
+			if (length < 0) {
+				throw new IOException(format(
+					"Invalid table size %d of point store '%s'.", length, path
+				));
+			}
+			final long start = (long)HEADER_SIZE + length;
+
+			final DataInput in = new DataInputStream(new ByteArrayInputStream(
+				readFully(channel, HEADER_SIZE, length).array()
+			));
+
+			final Version gpxVersion;
+			try {
+				gpxVersion = Version.of(IO.readString(in));
+			} catch (IllegalArgumentException e) {
+				throw new IOException(e);
+			}
+			final String creator = IO.readString(in);
+
+			final int trackCount = IO.readLength(in);
+			final List<Track> tracks = new ArrayList<>(
+				min(trackCount, IO.MAX_PREALLOCATION));
+			for (int i = 0; i < trackCount; ++i) {
+				final String name = IO.readNullableString(in);
+				final String comment = IO.readNullableString(in);
+				final String description = IO.readNullableString(in);
+				final String source = IO.readNullableString(in);
+				final List<Link> links = IO.reads(Link::read, in);
+				final UInt number = IO.readNullable(UInt::read, in);
+				final String type = IO.readNullableString(in);
+
+				final int segmentCount = IO.readLength(in);
+				final List<TrackSegment> segments = new ArrayList<>(
+					min(segmentCount, IO.MAX_PREALLOCATION));
+				for (int j = 0; j < segmentCount; ++j) {
+					final long offset = start + IO.readLong(in);
+					final long size = (long)IO.readInt(in)*
+						WayPointColumns.RECORD_SIZE;
+
+					if (offset < start || size < 0 || size > REGION_SIZE) {
+						throw new IOException(format(
+							"Invalid segment of point store '%s'.", path
+						));
+					}
+					if (offset + size > channel.size()) {
+						throw new EOFException(format(
+							"Point store '%s' is truncated.", path
+						));
+					}
+
+					segments.add(TrackSegment.of(WayPointColumns.of(
+						regions.slice(offset, (int)size)
+					)));
+				}
+
+				tracks.add(Track.of(
+					name,
+					comment,
+					description,
+					source,
+					links,
+					number,
+					type,
+					segments
+				));
+			}
+
+			return GPX.of(gpxVersion, creator, null, null, null, tracks);
+		}
+	}
+
+	/**
+	 * Maps the point store file in regions of a given maximal size. The
+	 * segments are slices of the mapped regions. Since the segments are
+	 * stored one after another, a new region is only mapped every
+	 * {@code regionSize} bytes, instead of once for every segment.
+	 */
+	private static final class Regions {
+		private final FileChannel _channel;
+		private final int _regionSize;
+
+		private long _start;
+		private ByteBuffer _region = ByteBuffer.allocate(0);
+
+		Regions(final FileChannel channel, final int regionSize) {
+			_channel = requireNonNull(channel);
+			_regionSize = regionSize;
+		}
+
+		ByteBuffer slice(final long offset, final int size) throws IOException {
+			if (offset < _start || offset + size > _start + _region.capacity()) {
+				final long length = max(
+					min(_regionSize, _channel.size() - offset),
+					size
+				);
+
+				_start = offset;
+				_region = _channel.map(MapMode.READ_ONLY, offset, length);
+			}
+
+			final ByteBuffer buffer = _region.duplicate();
+			buffer.position((int)(offset - _start));
+			buffer.limit(buffer.position() + size);
+			return buffer.slice();
+		}
+	}
+
+	private static ByteBuffer readFully(
+		final FileChannel channel,
+		final long position,
+		final int size
+	)
+		throws IOException
+	{
+		final ByteBuffer buffer = ByteBuffer.allocate(size);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+}
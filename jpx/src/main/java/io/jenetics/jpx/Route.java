@@ -62,7 +62,7 @@ import io.jenetics.jpx.GPX.Version;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.3
+ * @version 1.5
  * @since 1.0
  */
 public final class Route implements Iterable<WayPoint>, Serializable {
@@ -78,6 +78,9 @@ public final class Route implements Iterable<WayPoint>, Serializable {
 	private final String _type;
 	private final List<WayPoint> _points;
 
+	private transient Optional<Bounds> _bounds;
+	private transient int _hash;
+
 	/**
 	 * Create a new {@code Route} with the given parameters and way-points.
 	 *
@@ -244,8 +247,35 @@ public final class Route implements Iterable<WayPoint>, Serializable {
 		return !isEmpty();
 	}
 
+	/**
+	 * Return the bounds of the route. The bounds are calculated on the
+	 * first call and cached afterwards.
+	 *
+	 * @since 1.5
+	 *
+	 * @return the bounds of the route, or {@code Optional.empty()}
+	 *         if the route contains no points
+	 */
+	public Optional<Bounds> getBounds() {
+		Optional<Bounds> bounds = _bounds;
+		if (bounds == null) {
+			bounds = Optional.ofNullable(Bounds.of(_points));
+			_bounds = bounds;
+		}
+		return bounds;
+	}
+
 	@Override
 	public int hashCode() {
+		int hash = _hash;
+		if (hash == 0) {
+			hash = hash();
+			_hash = hash;
+		}
+		return hash;
+	}
+
+	private int hash() {
 		int hash = 31;
 		hash += 17*Objects.hashCode(_name) + 37;
 		hash += 17*Objects.hashCode(_comment) + 37;
@@ -270,7 +300,7 @@ public final class Route implements Iterable<WayPoint>, Serializable {
 			Objects.equals(((Route)obj)._type, _type) &&
 			Lists.equals(((Route)obj)._links, _links) &&
 			Objects.equals(((Route)obj)._number, _number) &&
-			Objects.equals(((Route)obj)._points, _points);
+			Lists.equals(((Route)obj)._points, _points);
 	}
 
 	@Override
@@ -808,12 +838,26 @@ public final class Route implements Iterable<WayPoint>, Serializable {
 		return XMLWriter.elem("rte", WRITERS.writers(version));
 	}
 
-	@SuppressWarnings("unchecked")
 	static XMLReader<Route> xmlReader(final Version version) {
+		return xmlReader(version, new XMLReader<?>[0]);
+	}
+
+	/**
+	 * Return the route reader, where the child readers with the same name as
+	 * one of the given {@code replacements} are replaced.
+	 *
+	 * @param version the GPX version
+	 * @param replacements the replacement child readers
+	 * @return the route reader
+	 */
+	static XMLReader<Route> xmlReader(
+		final Version version,
+		final XMLReader<?>... replacements
+	) {
 		return XMLReader.elem(
 			version == Version.V10 ? Route::toRouteV10 : Route::toRouteV11,
 			"rte",
-			READERS.readers(version)
+			READERS.readers(version, replacements)
 		);
 	}
 
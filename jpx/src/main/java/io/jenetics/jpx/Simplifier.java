@@ -0,0 +1,391 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.Math.PI;
+import static java.lang.Math.abs;
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+import static java.lang.Math.sqrt;
+import static java.lang.Math.toRadians;
+import static java.lang.String.format;
+
+import java.util.Arrays;
+
+import io.jenetics.jpx.geom.Ellipsoid;
+import io.jenetics.jpx.geom.Geoid;
+
+/**
+ * Line simplification algorithms, working on primitive coordinate arrays.
+ * The distances and areas are calculated in the local tangent plane of the
+ * points, using the radii of curvature of the ellipsoid of the given
+ * {@link Geoid}. This is the same approximation as used by the
+ * {@link Geoid.Formula#EQUIRECTANGULAR} formula, which is accurate for the
+ * short distances between consecutive track points.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class Simplifier {
+
+	// Major semi-axes of the ellipsoid.
+	private final double A;
+
+	// Squared eccentricity of the ellipsoid.
+	private final double E2;
+
+	/**
+	 * Create a new simplifier for the ellipsoid of the given {@code geoid}.
+	 *
+	 * @param geoid the geoid used for the distance calculations
+	 */
+	Simplifier(final Geoid geoid) {
+		final Ellipsoid ellipsoid = geoid.getEllipsoid();
+		final double f = 1.0/ellipsoid.F();
+		A = ellipsoid.A();
+		E2 = f*(2 - f);
+	}
+
+	/**
+	 * Return the indexes of the points, which are kept by the Douglas-Peucker
+	 * algorithm. The first and the last point are always kept. The
+	 * implementation is iterative and doesn't overflow the call stack for
+	 * big inputs.
+	 *
+	 * @param lat the latitudes of the points, in decimal degrees
+	 * @param lon the longitudes of the points, in decimal degrees
+	 * @param tolerance the maximal allowed distance, in meters, of a removed
+	 *        point from the simplified line
+	 * @return the sorted indexes of the kept points
+	 */
+	int[] douglasPeucker(
+		final double[] lat,
+		final double[] lon,
+		final double tolerance
+	) {
+		final int n = lat.length;
+		if (n <= 2) {
+			return range(n);
+		}
+
+		final double[] phi = radians(lat);
+		final double[] lambda = radians(lon);
+		final double tolerance2 = tolerance*tolerance;
+
+		final boolean[] keep = new boolean[n];
+		keep[0] = keep[n - 1] = true;
+		int kept = 2;
+
+		int[] stack = new int[64];
+		int size = 0;
+		stack[size++] = 0;
+		stack[size++] = n - 1;
+
+		while (size > 0) {
+			final int end = stack[--size];
+			final int start = stack[--size];
+			if (end - start < 2) {
+				continue;
+			}
+
+			// Tangent plane scales at the mean latitude of the chord.
+			final double mean = (phi[start] + phi[end])/2;
+			final double sin = sin(mean);
+			final double w = 1 - E2*sin*sin;
+			final double nu = A/sqrt(w);
+			final double kx = nu*cos(mean);
+			final double ky = nu*(1 - E2)/w;
+
+			final double ex = kx*deltaLon(lambda[start], lambda[end]);
+			final double ey = ky*(phi[end] - phi[start]);
+			final double length2 = ex*ex + ey*ey;
+
+			double max = -1;
+			int index = -1;
+			for (int i = start + 1; i < end; ++i) {
+				final double px = kx*deltaLon(lambda[start], lambda[i]);
+				final double py = ky*(phi[i] - phi[start]);
+
+				double t = length2 > 0 ? (px*ex + py*ey)/length2 : 0;
+				t = t < 0 ? 0 : t > 1 ? 1 : t;
+
+				final double dx = px - t*ex;
+				final double dy = py - t*ey;
+				final double d2 = dx*dx + dy*dy;
+				if (d2 > max) {
+					max = d2;
+					index = i;
+				}
+			}
+
+			if (max > tolerance2) {
+				keep[index] = true;
+				++kept;
+
+				if (size + 4 > stack.length) {
+					stack = Arrays.copyOf(stack, 2*stack.length);
+				}
+				stack[size++] = start;
+				stack[size++] = index;
+				stack[size++] = index;
+				stack[size++] = end;
+			}
+		}
+
+		final int[] result = new int[kept];
+		for (int i = 0, j = 0; i < n; ++i) {
+			if (keep[i]) {
+				result[j++] = i;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the indexes of the points, which are kept by the
+	 * Visvalingam-Whyatt algorithm. The algorithm repeatedly removes the
+	 * point with the smallest effective area, the area of the triangle with
+	 * its two neighbours, until only the given number of points is left. The
+	 * first and the last point are always kept.
+	 *
+	 * @param lat the latitudes of the points, in decimal degrees
+	 * @param lon the longitudes of the points, in decimal degrees
+	 * @param count the number of points to keep
+	 * @return the sorted indexes of the kept points
+	 */
+	int[] visvalingamWhyatt(
+		final double[] lat,
+		final double[] lon,
+		final int count
+	) {
+		final int n = lat.length;
+		final int keep = Math.max(count, 2);
+		if (n <= keep) {
+			return range(n);
+		}
+
+		final double[] phi = radians(lat);
+		final double[] lambda = radians(lon);
+
+		// Tangent plane scales at the latitude of every point.
+		final double[] kx = new double[n];
+		final double[] ky = new double[n];
+		for (int i = 0; i < n; ++i) {
+			final double sin = sin(phi[i]);
+			final double w = 1 - E2*sin*sin;
+			final double nu = A/sqrt(w);
+			kx[i] = nu*cos(phi[i]);
+			ky[i] = nu*(1 - E2)/w;
+		}
+
+		final int[] prev = new int[n];
+		final int[] next = new int[n];
+		for (int i = 0; i < n; ++i) {
+			prev[i] = i - 1;
+			next[i] = i + 1;
+		}
+
+		final AreaHeap heap = new AreaHeap(n);
+		for (int i = 1; i < n - 1; ++i) {
+			heap.add(i, area(phi, lambda, kx, ky, i - 1, i, i + 1));
+		}
+		heap.heapify();
+
+		final boolean[] removed = new boolean[n];
+		for (int remaining = n; remaining > keep; --remaining) {
+			final double area = heap.area();
+			final int i = heap.poll();
+			removed[i] = true;
+
+			final int p = prev[i];
+			final int q = next[i];
+			next[p] = q;
+			prev[q] = p;
+
+			// The area of a neighbour never gets smaller than the area of the
+			// removed point, which keeps the removal order monotone.
+			if (p > 0) {
+				heap.update(p, Math.max(
+					area(phi, lambda, kx, ky, prev[p], p, q), area));
+			}
+			if (q < n - 1) {
+				heap.update(q, Math.max(
+					area(phi, lambda, kx, ky, p, q, next[q]), area));
+			}
+		}
+
+		final int[] result = new int[keep];
+		for (int i = 0, j = 0; i < n; ++i) {
+			if (!removed[i]) {
+				result[j++] = i;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the area of the triangle {@code (a, b, c)}, in the tangent plane
+	 * at point {@code b}.
+	 */
+	private static double area(
+		final double[] phi,
+		final double[] lambda,
+		final double[] kx,
+		final double[] ky,
+		final int a,
+		final int b,
+		final int c
+	) {
+		final double ax = kx[b]*deltaLon(lambda[b], lambda[a]);
+		final double ay = ky[b]*(phi[a] - phi[b]);
+		final double cx = kx[b]*deltaLon(lambda[b], lambda[c]);
+		final double cy = ky[b]*(phi[c] - phi[b]);
+
+		return abs(ax*cy - ay*cx)/2;
+	}
+
+	private static double deltaLon(final double lon1, final double lon2) {
+		double delta = lon2 - lon1;
+		if (delta > PI) {
+			delta -= 2*PI;
+		} else if (delta < -PI) {
+			delta += 2*PI;
+		}
+		return delta;
+	}
+
+	private static double[] radians(final double[] degrees) {
+		final double[] radians = new double[degrees.length];
+		for (int i = 0; i < degrees.length; ++i) {
+			radians[i] = toRadians(degrees[i]);
+		}
+		return radians;
+	}
+
+	private static int[] range(final int n) {
+		final int[] result = new int[n];
+		for (int i = 0; i < n; ++i) {
+			result[i] = i;
+		}
+		return result;
+	}
+
+	/**
+	 * Indexed binary min-heap of point indexes, ordered by their area. The
+	 * position of every point in the heap is tracked, which allows to update
+	 * the area of a point in logarithmic time. The areas are stored next to
+	 * the point indexes, which avoids an indirection when comparing them.
+	 */
+	private static final class AreaHeap {
+		private final int[] _heap;
+		private final double[] _area;
+		private final int[] _position;
+		private int _size = 0;
+
+		AreaHeap(final int points) {
+			_heap = new int[points];
+			_area = new double[points];
+			_position = new int[points];
+		}
+
+		void add(final int index, final double area) {
+			set(_size++, index, area);
+		}
+
+		void heapify() {
+			for (int i = _size/2 - 1; i >= 0; --i) {
+				down(i);
+			}
+		}
+
+		double area() {
+			return _area[0];
+		}
+
+		int poll() {
+			if (_size == 0) {
+				throw new IllegalStateException("Heap is empty.");
+			}
+
+			final int result = _heap[0];
+			_position[result] = -1;
+			--_size;
+			if (_size > 0) {
+				set(0, _heap[_size], _area[_size]);
+				down(0);
+			}
+			return result;
+		}
+
+		void update(final int index, final double area) {
+			final int pos = _position[index];
+			if (pos < 0) {
+				throw new IllegalArgumentException(format(
+					"Point %d is not in the heap.", index
+				));
+			}
+			_area[pos] = area;
+			down(up(pos));
+		}
+
+		private int up(int pos) {
+			final int index = _heap[pos];
+			final double area = _area[pos];
+			while (pos > 0) {
+				final int parent = (pos - 1)/2;
+				if (_area[parent] <= area) {
+					break;
+				}
+				set(pos, _heap[parent], _area[parent]);
+				pos = parent;
+			}
+			set(pos, index, area);
+			return pos;
+		}
+
+		private void down(int pos) {
+			final int index = _heap[pos];
+			final double area = _area[pos];
+			while (true) {
+				int child = 2*pos + 1;
+				if (child >= _size) {
+					break;
+				}
+				if (child + 1 < _size && _area[child + 1] < _area[child]) {
+					++child;
+				}
+				if (area <= _area[child]) {
+					break;
+				}
+				set(pos, _heap[child], _area[child]);
+				pos = child;
+			}
+			set(pos, index, area);
+		}
+
+		private void set(final int pos, final int index, final double area) {
+			_heap[pos] = index;
+			_area[pos] = area;
+			_position[index] = pos;
+		}
+	}
+
+}
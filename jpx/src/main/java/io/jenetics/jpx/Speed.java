@@ -33,7 +33,7 @@ import java.io.Serializable;
  * Represents the GPS speed value in m/s.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.0
  */
 public final class Speed
@@ -194,12 +194,6 @@ public final class Speed
 		return new Speed(Unit.METERS_PER_SECOND.convert(speed, unit));
 	}
 
-	static Speed parse(final String string) {
-		return string != null
-			? Speed.of(Double.parseDouble(string), Unit.METERS_PER_SECOND)
-			: null;
-	}
-
 	/* *************************************************************************
 	 *  Java object serialization
 	 * ************************************************************************/
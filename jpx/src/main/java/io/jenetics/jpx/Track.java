@@ -66,7 +66,7 @@ import io.jenetics.jpx.GPX.Version;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.3
+ * @version 1.5
  * @since 1.0
  */
 public final class Track implements Iterable<TrackSegment>, Serializable {
@@ -82,6 +82,9 @@ public final class Track implements Iterable<TrackSegment>, Serializable {
 	private final String _type;
 	private final List<TrackSegment> _segments;
 
+	private transient Optional<Bounds> _bounds;
+	private transient int _hash;
+
 	/**
 	 * Create a new {@code Track} with the given parameters.
 	 *
@@ -252,8 +255,43 @@ public final class Track implements Iterable<TrackSegment>, Serializable {
 		return !isEmpty();
 	}
 
+	/**
+	 * Return the bounds of the track. The bounds are calculated on the
+	 * first call and cached afterwards.
+	 *
+	 * @since 1.5
+	 *
+	 * @return the bounds of the track, or {@code Optional.empty()}
+	 *         if the track contains no points
+	 */
+	public Optional<Bounds> getBounds() {
+		Optional<Bounds> bounds = _bounds;
+		if (bounds == null) {
+			bounds = Optional.ofNullable(bounds(_segments));
+			_bounds = bounds;
+		}
+		return bounds;
+	}
+
+	private static Bounds bounds(final List<TrackSegment> segments) {
+		Bounds bounds = null;
+		for (TrackSegment segment : segments) {
+			bounds = Bounds.merge(bounds, segment.getBounds().orElse(null));
+		}
+		return bounds;
+	}
+
 	@Override
 	public int hashCode() {
+		int hash = _hash;
+		if (hash == 0) {
+			hash = hash();
+			_hash = hash;
+		}
+		return hash;
+	}
+
+	private int hash() {
 		int hash = 31;
 		hash += 17*Objects.hashCode(_name) + 37;
 		hash += 17*Objects.hashCode(_comment) + 37;
@@ -278,7 +316,7 @@ public final class Track implements Iterable<TrackSegment>, Serializable {
 			Objects.equals(((Track)obj)._type, _type) &&
 			Lists.equals(((Track)obj)._links, _links) &&
 			Objects.equals(((Track)obj)._number, _number) &&
-			Objects.equals(((Track)obj)._segments, _segments);
+			Lists.equals(((Track)obj)._segments, _segments);
 	}
 
 	@Override
@@ -778,12 +816,30 @@ public final class Track implements Iterable<TrackSegment>, Serializable {
 		return XMLWriter.elem("trk", WRITERS.writers(version));
 	}
 
-	@SuppressWarnings("unchecked")
+	static XMLWriter<Track> xmlContentWriter(final Version version) {
+		return XMLWriter.children(WRITERS.writers(version));
+	}
+
 	static XMLReader<Track> xmlReader(final Version version) {
+		return xmlReader(version, new XMLReader<?>[0]);
+	}
+
+	/**
+	 * Return the track reader, where the child readers with the same name as
+	 * one of the given {@code replacements} are replaced.
+	 *
+	 * @param version the GPX version
+	 * @param replacements the replacement child readers
+	 * @return the track reader
+	 */
+	static XMLReader<Track> xmlReader(
+		final Version version,
+		final XMLReader<?>... replacements
+	) {
 		return XMLReader.elem(
 			version == Version.V10 ? Track::toTrackV10 : Track::toTrackV11,
 			"trk",
-			READERS.readers(version)
+			READERS.readers(version, replacements)
 		);
 	}
 
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -50,7 +51,7 @@ import io.jenetics.jpx.GPX.Version;
  * span of track data.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.3
+ * @version 1.5
  * @since 1.0
  */
 public final class TrackSegment implements Iterable<WayPoint>, Serializable {
@@ -59,13 +60,18 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 
 	private final List<WayPoint> _points;
 
+	private transient Optional<Bounds> _bounds;
+	private transient int _hash;
+
 	/**
 	 * Create a new track-segment with the given points.
 	 *
 	 * @param points the points of the track-segment
 	 */
 	private TrackSegment(final List<WayPoint> points) {
-		_points = immutable(points);
+		_points = points instanceof WayPointColumns
+			? points
+			: immutable(points);
 	}
 
 	/**
@@ -129,8 +135,174 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 		return !isEmpty();
 	}
 
+	/**
+	 * Return the bounds of the track-segment. The bounds are calculated on the
+	 * first call and cached afterwards.
+	 *
+	 * @since 1.5
+	 *
+	 * @return the bounds of the track-segment, or {@code Optional.empty()}
+	 *         if the track-segment contains no points
+	 */
+	public Optional<Bounds> getBounds() {
+		Optional<Bounds> bounds = _bounds;
+		if (bounds == null) {
+			bounds = Optional.ofNullable(Bounds.of(_points));
+			_bounds = bounds;
+		}
+		return bounds;
+	}
+
+	/**
+	 * Return a compact version of {@code this} track-segment, which stores
+	 * the latitude, longitude, elevation, speed and time of its points in
+	 * primitive arrays. The way-points of the compact segment are created
+	 * on demand, when accessed. Points with additional properties, like a
+	 * name or a link, are kept unchanged. The returned segment is equal to
+	 * {@code this} segment and can be used like any other track-segment.
+	 *
+	 * @since 1.5
+	 *
+	 * @return a compact version of {@code this} track-segment, or
+	 *         {@code this} if the segment is already compact
+	 */
+	public TrackSegment compact() {
+		return _points instanceof WayPointColumns
+			? this
+			: new TrackSegment(WayPointColumns.of(_points));
+	}
+
+	/**
+	 * Return {@code true} if {@code this} track-segment uses the compact
+	 * representation.
+	 *
+	 * @see #compact()
+	 *
+	 * @since 1.5
+	 *
+	 * @return {@code true} if {@code this} track-segment is compact,
+	 *         {@code false} otherwise
+	 */
+	public boolean isCompact() {
+		return _points instanceof WayPointColumns;
+	}
+
+	/**
+	 * Return the number of track-points of this segment.
+	 *
+	 * @since 1.5
+	 *
+	 * @return the number of track-points of this segment
+	 */
+	public int size() {
+		return _points.size();
+	}
+
+	/**
+	 * Return the latitude, in decimal degrees, of the track-point with the
+	 * given {@code index}. For compact segments, no {@link WayPoint} object
+	 * is created.
+	 *
+	 * @since 1.5
+	 *
+	 * @param index the track-point index
+	 * @return the latitude of the track-point
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double latitude(final int index) {
+		return _points instanceof WayPointColumns
+			? ((WayPointColumns)_points).latitude(index)
+			: _points.get(index).getLatitude().doubleValue();
+	}
+
+	/**
+	 * Return the longitude, in decimal degrees, of the track-point with the
+	 * given {@code index}. For compact segments, no {@link WayPoint} object
+	 * is created.
+	 *
+	 * @since 1.5
+	 *
+	 * @param index the track-point index
+	 * @return the longitude of the track-point
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double longitude(final int index) {
+		return _points instanceof WayPointColumns
+			? ((WayPointColumns)_points).longitude(index)
+			: _points.get(index).getLongitude().doubleValue();
+	}
+
+	/**
+	 * Return the elevation, in meters, of the track-point with the given
+	 * {@code index}. For compact segments, no {@link WayPoint} object is
+	 * created.
+	 *
+	 * @since 1.5
+	 *
+	 * @param index the track-point index
+	 * @return the elevation of the track-point, or {@link Double#NaN} if the
+	 *         point has no elevation
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double elevation(final int index) {
+		return _points instanceof WayPointColumns
+			? ((WayPointColumns)_points).elevation(index)
+			: _points.get(index).getElevation()
+				.map(Length::doubleValue)
+				.orElse(Double.NaN);
+	}
+
+	/**
+	 * Return the speed, in meters per second, of the track-point with the
+	 * given {@code index}. For compact segments, no {@link WayPoint} object
+	 * is created.
+	 *
+	 * @since 1.5
+	 *
+	 * @param index the track-point index
+	 * @return the speed of the track-point, or {@link Double#NaN} if the
+	 *         point has no speed
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double speed(final int index) {
+		return _points instanceof WayPointColumns
+			? ((WayPointColumns)_points).speed(index)
+			: _points.get(index).getSpeed()
+				.map(Speed::doubleValue)
+				.orElse(Double.NaN);
+	}
+
+	/**
+	 * Return the time, in milliseconds since the epoch, of the track-point
+	 * with the given {@code index}. For compact segments, no
+	 * {@link WayPoint} object is created.
+	 *
+	 * @since 1.5
+	 *
+	 * @param index the track-point index
+	 * @return the time of the track-point, or {@link Long#MIN_VALUE} if the
+	 *         point has no time
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public long epochMilli(final int index) {
+		return _points instanceof WayPointColumns
+			? ((WayPointColumns)_points).epochMilli(index)
+			: _points.get(index).getTime()
+				.map(t -> t.toInstant().toEpochMilli())
+				.orElse(Long.MIN_VALUE);
+	}
+
 	@Override
 	public int hashCode() {
+		int hash = _hash;
+		if (hash == 0) {
+			hash = hash();
+			_hash = hash;
+		}
+		return hash;
+	}
+
+	private int hash() {
 		return Objects.hashCode(_points);
 	}
 
@@ -138,7 +310,7 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 	public boolean equals(final Object obj) {
 		return obj == this ||
 			obj instanceof TrackSegment &&
-			Objects.equals(((TrackSegment)obj)._points, _points);
+			Lists.equals(((TrackSegment)obj)._points, _points);
 	}
 
 	@Override
@@ -348,12 +520,32 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 		);
 	}
 
-	@SuppressWarnings("unchecked")
 	static XMLReader<TrackSegment> xmlReader(final Version version) {
+		return xmlReader(
+			version,
+			XMLReader.elems(WayPoint.xmlReader(version,"trkpt"))
+		);
+	}
+
+	/**
+	 * Return the track segment reader, which uses the given track
+	 * {@code points} reader.
+	 *
+	 * @param version the GPX version
+	 * @param points the reader of the {@code trkpt} elements
+	 * @return the track segment reader
+	 */
+	@SuppressWarnings("unchecked")
+	static XMLReader<TrackSegment> xmlReader(
+		final Version version,
+		final XMLReader<? extends List<WayPoint>> points
+	) {
+		requireNonNull(version);
+
 		return XMLReader.elem(
 			a -> TrackSegment.of((List<WayPoint>)a[0]),
 			"trkseg",
-			XMLReader.elems(WayPoint.xmlReader(version,"trkpt")),
+			points,
 			XMLReader.ignore("extensions")
 		);
 	}
@@ -22,7 +22,6 @@ package io.jenetics.jpx;
 import static java.time.ZoneOffset.UTC;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
-import static io.jenetics.jpx.Format.doubleString;
 import static io.jenetics.jpx.Format.durationString;
 import static io.jenetics.jpx.Format.intString;
 import static io.jenetics.jpx.Length.Unit.METER;
@@ -60,7 +59,7 @@ import io.jenetics.jpx.GPX.Version;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.3
+ * @version 1.5
  * @since 1.0
  */
 public final class WayPoint implements Point, Serializable {
@@ -419,7 +418,7 @@ public final class WayPoint implements Point, Serializable {
 		hash += 17*Objects.hashCode(_longitude) + 31;
 		hash += 17*Objects.hashCode(_elevation) + 31;
 		hash += 17*Objects.hashCode(_speed) + 31;
-		hash += 17*Objects.hashCode(_time) + 31;
+		hash += 17*ZonedDateTimes.hashCode(_time) + 31;
 		hash += 17*Objects.hashCode(_magneticVariation) + 31;
 		hash += 17*Objects.hashCode(_geoidHeight) + 31;
 		hash += 17*Objects.hashCode(_name) + 31;
@@ -1520,6 +1519,55 @@ public final class WayPoint implements Point, Serializable {
 		);
 	}
 
+	/**
+	 * Create a new {@code WayPoint} with the given parameters. This factory
+	 * method is used for creating the way-point views of the columns of a
+	 * compact track-segment.
+	 *
+	 * @since 1.5
+	 *
+	 * @param latitude the latitude of the point
+	 * @param longitude the longitude of the point
+	 * @param elevation the elevation of the point, may be {@code null}
+	 * @param speed the speed of the point, may be {@code null}
+	 * @param time the timestamp of the way-point, may be {@code null}
+	 * @return a new {@code WayPoint}
+	 * @throws NullPointerException if the {@code latitude} or {@code longitude}
+	 *         is {@code null}
+	 */
+	static WayPoint of(
+		final Latitude latitude,
+		final Longitude longitude,
+		final Length elevation,
+		final Speed speed,
+		final ZonedDateTime time
+	) {
+		return new WayPoint(
+			latitude,
+			longitude,
+			elevation,
+			speed,
+			time,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			null
+		);
+	}
+
 	/**
 	 * Create a new {@code WayPoint} with the given parameters.
 	 *
@@ -1870,13 +1918,13 @@ public final class WayPoint implements Point, Serializable {
 
 	// Define the needed writers for the different versions.
 	private static final XMLWriters<WayPoint> WRITERS = new XMLWriters<WayPoint>()
-		.v00(XMLWriter.attr("lat").map(wp -> wp._latitude))
-		.v00(XMLWriter.attr("lon").map(wp -> wp._longitude))
-		.v00(XMLWriter.elem("ele").map(wp -> doubleString(wp._elevation)))
-		.v00(XMLWriter.elem("speed").map(wp -> doubleString(wp._speed)))
+		.v00(XMLWriter.numberAttr("lat").map(wp -> wp._latitude))
+		.v00(XMLWriter.numberAttr("lon").map(wp -> wp._longitude))
+		.v00(XMLWriter.number("ele").map(wp -> wp._elevation))
+		.v00(XMLWriter.number("speed").map(wp -> wp._speed))
 		.v00(XMLWriter.elem("time").map(wp -> ZonedDateTimeFormat.format(wp._time)))
-		.v00(XMLWriter.elem("magvar").map(wp -> doubleString(wp._magneticVariation)))
-		.v00(XMLWriter.elem("geoidheight").map(wp -> doubleString(wp._geoidHeight)))
+		.v00(XMLWriter.number("magvar").map(wp -> wp._magneticVariation))
+		.v00(XMLWriter.number("geoidheight").map(wp -> wp._geoidHeight))
 		.v00(XMLWriter.elem("name").map(wp -> wp._name))
 		.v00(XMLWriter.elem("cmt").map(wp -> wp._comment))
 		.v00(XMLWriter.elem("desc").map(wp -> wp._description))
@@ -1888,22 +1936,22 @@ public final class WayPoint implements Point, Serializable {
 		.v00(XMLWriter.elem("type").map(wp -> wp._type))
 		.v00(XMLWriter.elem("fix").map(wp -> Fix.format(wp._fix)))
 		.v00(XMLWriter.elem("sat").map(wp -> intString(wp._sat)))
-		.v00(XMLWriter.elem("hdop").map(wp -> doubleString(wp._hdop)))
-		.v00(XMLWriter.elem("vdop").map(wp -> doubleString(wp._vdop)))
-		.v00(XMLWriter.elem("pdop").map(wp -> doubleString(wp._pdop)))
+		.v00(XMLWriter.number("hdop").map(wp -> wp._hdop))
+		.v00(XMLWriter.number("vdop").map(wp -> wp._vdop))
+		.v00(XMLWriter.number("pdop").map(wp -> wp._pdop))
 		.v00(XMLWriter.elem("ageofdgpsdata").map(wp -> durationString(wp._ageOfGPSData)))
 		.v00(XMLWriter.elem("dgpsid").map(wp -> intString(wp._dgpsID)))
-		.v10(XMLWriter.elem("course").map(wp -> doubleString(wp._course)));
+		.v10(XMLWriter.number("course").map(wp -> wp._course));
 
 	// Define the needed readers for the different versions.
 	private static final XMLReaders READERS = new XMLReaders()
 		.v00(XMLReader.attr("lat").map(Latitude::parse))
 		.v00(XMLReader.attr("lon").map(Longitude::parse))
-		.v00(XMLReader.elem("ele").map(Length::parse))
-		.v00(XMLReader.elem("speed").map(Speed::parse))
+		.v00(XMLReader.number("ele", v -> Length.of(v, METER)))
+		.v00(XMLReader.number("speed", v -> Speed.of(v, METERS_PER_SECOND)))
 		.v00(XMLReader.elem("time").map(ZonedDateTimeFormat::parse))
-		.v00(XMLReader.elem("magvar").map(Degrees::parse))
-		.v00(XMLReader.elem("geoidheight").map(Length::parse))
+		.v00(XMLReader.number("magvar", Degrees::ofDegrees))
+		.v00(XMLReader.number("geoidheight", v -> Length.of(v, METER)))
 		.v00(XMLReader.elem("name"))
 		.v00(XMLReader.elem("cmt"))
 		.v00(XMLReader.elem("desc"))
@@ -1915,12 +1963,12 @@ public final class WayPoint implements Point, Serializable {
 		.v00(XMLReader.elem("type"))
 		.v00(XMLReader.elem("fix").map(Fix::parse))
 		.v00(XMLReader.elem("sat").map(UInt::parse))
-		.v00(XMLReader.elem("hdop").map(Double::parseDouble))
-		.v00(XMLReader.elem("vdop").map(Double::parseDouble))
-		.v00(XMLReader.elem("pdop").map(Double::parseDouble))
+		.v00(XMLReader.number("hdop", Double::valueOf))
+		.v00(XMLReader.number("vdop", Double::valueOf))
+		.v00(XMLReader.number("pdop", Double::valueOf))
 		.v00(XMLReader.elem("ageofdgpsdata").map(Format::parseDuration))
 		.v00(XMLReader.elem("dgpsid").map(DGPSStation::parse))
-		.v10(XMLReader.elem("course").map(Degrees::parse))
+		.v10(XMLReader.number("course", Degrees::ofDegrees))
 		.v00(XMLReader.ignore("extensions"));
 
 	static XMLWriter<WayPoint> xmlWriter(final Version version, final String name) {
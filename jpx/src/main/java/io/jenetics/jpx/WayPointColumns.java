@@ -0,0 +1,466 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact, immutable list of way-points, which stores the latitude,
+ * longitude, elevation, speed and time of the points in primitive columns.
+ * The {@link WayPoint} objects are created on demand, when accessed via
+ * {@link #get(int)} or the iterator, and are not kept by the list.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+abstract class WayPointColumns extends AbstractList<WayPoint>
+	implements RandomAccess
+{
+
+	/**
+	 * The size, in bytes, of one way-point record of a buffer backed list:
+	 * latitude, longitude, elevation, speed and time.
+	 */
+	static final int RECORD_SIZE = 5*Long.BYTES;
+
+	WayPointColumns() {
+	}
+
+	/**
+	 * Return the latitude of the point with the given index, in degrees.
+	 *
+	 * @param index the point index
+	 * @return the latitude of the point
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	abstract double latitude(final int index);
+
+	/**
+	 * Return the longitude of the point with the given index, in degrees.
+	 *
+	 * @param index the point index
+	 * @return the longitude of the point
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	abstract double longitude(final int index);
+
+	/**
+	 * Return the elevation of the point with the given index, in meters, or
+	 * {@link Double#NaN} if the point has no elevation.
+	 *
+	 * @param index the point index
+	 * @return the elevation of the point
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	abstract double elevation(final int index);
+
+	/**
+	 * Return the speed of the point with the given index, in meters per
+	 * second, or {@link Double#NaN} if the point has no speed.
+	 *
+	 * @param index the point index
+	 * @return the speed of the point
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	abstract double speed(final int index);
+
+	/**
+	 * Return the time of the point with the given index, in milliseconds
+	 * since the epoch, or {@link Long#MIN_VALUE} if the point has no time.
+	 *
+	 * @param index the point index
+	 * @return the time of the point
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	abstract long epochMilli(final int index);
+
+	/**
+	 * Return the zone of the way-point times.
+	 *
+	 * @return the zone of the way-point times
+	 */
+	abstract ZoneId zone();
+
+	@Override
+	public WayPoint get(final int index) {
+		final double ele = elevation(index);
+		final double speed = speed(index);
+		final long time = epochMilli(index);
+
+		return WayPoint.of(
+			Latitude.ofDegrees(latitude(index)),
+			Longitude.ofDegrees(longitude(index)),
+			Double.isNaN(ele) ? null : Length.of(ele, Length.Unit.METER),
+			Double.isNaN(speed)
+				? null
+				: Speed.of(speed, Speed.Unit.METERS_PER_SECOND),
+			time == Long.MIN_VALUE
+				? null
+				: ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), zone())
+		);
+	}
+
+	final void checkIndex(final int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException(format(
+				"Index %d out of bounds [0, %d).", index, size()
+			));
+		}
+	}
+
+	/**
+	 * Create a new compact way-point list from the given points. Way-points
+	 * which can't be represented by the columns, because they have additional
+	 * properties, like a name, or a time with a different zone or
+	 * sub-millisecond precision, are stored unchanged. This makes the compact
+	 * list equal to the list of the original points.
+	 *
+	 * @param points the way-points
+	 * @return a new compact way-point list
+	 * @throws NullPointerException if the given list or one of its points is
+	 *         {@code null}
+	 */
+	static WayPointColumns of(final List<WayPoint> points) {
+		return ArrayColumns.of(points);
+	}
+
+	/**
+	 * Create a new compact way-point list from the given columns. The
+	 * arrays are not copied. The points of the {@code others} array, which
+	 * may be {@code null}, replace the points of the columns with the same
+	 * index. Their values must nevertheless be contained in the columns.
+	 *
+	 * @param lat the latitude column
+	 * @param lon the longitude column
+	 * @param ele the elevation column
+	 * @param speed the speed column
+	 * @param time the epoch-millis column
+	 * @param hasEle the existing elevation values
+	 * @param hasSpeed the existing speed values
+	 * @param hasTime the existing time values
+	 * @param zone the zone of the time column
+	 * @param others the points which can't be represented by the columns
+	 * @return a new compact way-point list
+	 */
+	static WayPointColumns of(
+		final double[] lat,
+		final double[] lon,
+		final double[] ele,
+		final double[] speed,
+		final long[] time,
+		final BitSet hasEle,
+		final BitSet hasSpeed,
+		final BitSet hasTime,
+		final ZoneId zone,
+		final WayPoint[] others
+	) {
+		return new ArrayColumns(
+			lat, lon, ele, speed, time,
+			hasEle, hasSpeed, hasTime,
+			zone, others
+		);
+	}
+
+	/**
+	 * Create a new way-point list, which is backed by the given buffer. The
+	 * buffer contains one fixed size record of {@link #RECORD_SIZE} bytes
+	 * for every way-point. The way-point times are returned in UTC.
+	 *
+	 * @see #write(WayPoint, ByteBuffer)
+	 *
+	 * @param buffer the way-point records
+	 * @return a new way-point list, backed by the given buffer
+	 * @throws NullPointerException if the given {@code buffer} is {@code null}
+	 * @throws IllegalArgumentException if the number of remaining bytes of the
+	 *         buffer is not a multiple of the {@link #RECORD_SIZE}
+	 */
+	static WayPointColumns of(final ByteBuffer buffer) {
+		return new BufferColumns(buffer);
+	}
+
+	/**
+	 * Write the record of the given way-point to the buffer.
+	 *
+	 * @param point the way-point to write
+	 * @param buffer the buffer, where the record is written to
+	 * @throws java.nio.BufferOverflowException if the buffer has not enough
+	 *         space left
+	 */
+	static void write(final WayPoint point, final ByteBuffer buffer) {
+		buffer.putDouble(point.getLatitude().doubleValue());
+		buffer.putDouble(point.getLongitude().doubleValue());
+		buffer.putDouble(point.getElevation()
+			.map(Length::doubleValue)
+			.orElse(Double.NaN));
+		buffer.putDouble(point.getSpeed()
+			.map(Speed::doubleValue)
+			.orElse(Double.NaN));
+		buffer.putLong(point.getTime()
+			.map(t -> t.toInstant().toEpochMilli())
+			.orElse(Long.MIN_VALUE));
+	}
+
+
+	/* *************************************************************************
+	 *  Column implementations
+	 * ************************************************************************/
+
+	/**
+	 * Stores the way-point values in primitive arrays. The presence of the
+	 * optional values is stored in bit-sets.
+	 */
+	private static final class ArrayColumns extends WayPointColumns {
+
+		private final double[] _lat;
+		private final double[] _lon;
+		private final double[] _ele;
+		private final double[] _speed;
+		private final long[] _time;
+
+		private final BitSet _hasEle;
+		private final BitSet _hasSpeed;
+		private final BitSet _hasTime;
+
+		// The zone of the time column.
+		private final ZoneId _zone;
+
+		// The points which can't be represented by the columns, or null.
+		private final WayPoint[] _points;
+
+		private ArrayColumns(
+			final double[] lat,
+			final double[] lon,
+			final double[] ele,
+			final double[] speed,
+			final long[] time,
+			final BitSet hasEle,
+			final BitSet hasSpeed,
+			final BitSet hasTime,
+			final ZoneId zone,
+			final WayPoint[] points
+		) {
+			_lat = lat;
+			_lon = lon;
+			_ele = ele;
+			_speed = speed;
+			_time = time;
+			_hasEle = hasEle;
+			_hasSpeed = hasSpeed;
+			_hasTime = hasTime;
+			_zone = zone;
+			_points = points;
+		}
+
+		@Override
+		public int size() {
+			return _lat.length;
+		}
+
+		@Override
+		public WayPoint get(final int index) {
+			checkIndex(index);
+
+			final WayPoint point = _points != null ? _points[index] : null;
+			return point != null ? point : super.get(index);
+		}
+
+		@Override
+		double latitude(final int index) {
+			checkIndex(index);
+			return _lat[index];
+		}
+
+		@Override
+		double longitude(final int index) {
+			checkIndex(index);
+			return _lon[index];
+		}
+
+		@Override
+		double elevation(final int index) {
+			checkIndex(index);
+			return _hasEle.get(index) ? _ele[index] : Double.NaN;
+		}
+
+		@Override
+		double speed(final int index) {
+			checkIndex(index);
+			return _hasSpeed.get(index) ? _speed[index] : Double.NaN;
+		}
+
+		@Override
+		long epochMilli(final int index) {
+			checkIndex(index);
+			return _hasTime.get(index) ? _time[index] : Long.MIN_VALUE;
+		}
+
+		@Override
+		ZoneId zone() {
+			return _zone;
+		}
+
+		static ArrayColumns of(final List<WayPoint> points) {
+			final int size = points.size();
+			final double[] lat = new double[size];
+			final double[] lon = new double[size];
+			final double[] ele = new double[size];
+			final double[] speed = new double[size];
+			final long[] time = new long[size];
+			final BitSet hasEle = new BitSet(size);
+			final BitSet hasSpeed = new BitSet(size);
+			final BitSet hasTime = new BitSet(size);
+
+			final ZoneId zone = points.stream()
+				.filter(p -> p.getTime().isPresent())
+				.map(p -> p.getTime().get().getZone())
+				.findFirst()
+				.orElse(null);
+
+			WayPoint[] others = null;
+			for (int i = 0; i < size; ++i) {
+				final WayPoint point = points.get(i);
+				lat[i] = point.getLatitude().doubleValue();
+				lon[i] = point.getLongitude().doubleValue();
+
+				final Length length = point.getElevation().orElse(null);
+				final Speed velocity = point.getSpeed().orElse(null);
+				final ZonedDateTime instant = point.getTime().orElse(null);
+
+				if (length != null && !Double.isNaN(length.doubleValue())) {
+					ele[i] = length.doubleValue();
+					hasEle.set(i);
+				}
+				if (velocity != null && !Double.isNaN(velocity.doubleValue())) {
+					speed[i] = velocity.doubleValue();
+					hasSpeed.set(i);
+				}
+				if (instant != null) {
+					time[i] = instant.toInstant().toEpochMilli();
+					hasTime.set(i);
+				}
+
+				final ZonedDateTime columnTime = instant != null
+					? ZonedDateTime.ofInstant(Instant.ofEpochMilli(time[i]), zone)
+					: null;
+				final WayPoint column = WayPoint.of(
+					point.getLatitude(),
+					point.getLongitude(),
+					hasEle.get(i) ? length : null,
+					hasSpeed.get(i) ? velocity : null,
+					columnTime
+				);
+
+				// The way-point equality ignores the zone and the sub-second
+				// precision of the time, which must be preserved as well.
+				if (!column.equals(point) || !Objects.equals(columnTime, instant)) {
+					if (others == null) {
+						others = new WayPoint[size];
+					}
+					others[i] = point;
+				}
+			}
+
+			return new ArrayColumns(
+				lat, lon, ele, speed, time,
+				hasEle, hasSpeed, hasTime,
+				zone, others
+			);
+		}
+
+	}
+
+	/**
+	 * Reads the way-point values from fixed size records of a (memory
+	 * mapped) byte buffer. Absent elevation and speed values are stored as
+	 * {@code NaN} and absent times as {@link Long#MIN_VALUE}.
+	 */
+	private static final class BufferColumns extends WayPointColumns {
+
+		private final ByteBuffer _buffer;
+		private final int _size;
+
+		private BufferColumns(final ByteBuffer buffer) {
+			if (requireNonNull(buffer).remaining()%RECORD_SIZE != 0) {
+				throw new IllegalArgumentException(format(
+					"Buffer size %d is not a multiple of %d.",
+					buffer.remaining(), RECORD_SIZE
+				));
+			}
+
+			_buffer = buffer.slice();
+			_size = _buffer.capacity()/RECORD_SIZE;
+		}
+
+		@Override
+		public int size() {
+			return _size;
+		}
+
+		private int offset(final int index) {
+			checkIndex(index);
+			return index*RECORD_SIZE;
+		}
+
+		@Override
+		double latitude(final int index) {
+			return _buffer.getDouble(offset(index));
+		}
+
+		@Override
+		double longitude(final int index) {
+			return _buffer.getDouble(offset(index) + Double.BYTES);
+		}
+
+		@Override
+		double elevation(final int index) {
+			return _buffer.getDouble(offset(index) + 2*Double.BYTES);
+		}
+
+		@Override
+		double speed(final int index) {
+			return _buffer.getDouble(offset(index) + 3*Double.BYTES);
+		}
+
+		@Override
+		long epochMilli(final int index) {
+			return _buffer.getLong(offset(index) + 4*Double.BYTES);
+		}
+
+		@Override
+		ZoneId zone() {
+			return ZoneOffset.UTC;
+		}
+
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Iterates over the way-points ({@code wpt}, {@code rtept} and {@code trkpt})
+ * of a GPX document, without reading the whole document into memory. Only
+ * the currently read way-point is kept in memory. The way-points are returned
+ * in document order.
+ * <p>
+ * The elements are looked up with the readers of the GPX tree reader. In
+ * strict mode, unknown elements are rejected and the elements other than
+ * way-points, routes, tracks and track segments are read and validated,
+ * like it is done by the tree reader. In lenient mode, they are skipped.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class WayPointIterator implements Iterator<WayPoint> {
+
+	private final XMLStreamReader _xml;
+	private final boolean _lenient;
+	private final XMLReader<GPX> _root;
+	private final Map<String, XMLReader<WayPoint>> _readers = new HashMap<>();
+
+	// The readers of the currently open gpx, rte, trk and trkseg elements.
+	private final Deque<XMLReader<?>> _parents = new ArrayDeque<>();
+
+	private WayPoint _next;
+	private boolean _started = false;
+
+	/**
+	 * Create a new way-point iterator for the given XML stream.
+	 *
+	 * @param xml the underlying XML stream, which is not yet positioned at
+	 *        the {@code gpx} root element
+	 * @param version the GPX version to read
+	 * @param lenient lenient read mode
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	WayPointIterator(
+		final XMLStreamReader xml,
+		final Version version,
+		final boolean lenient
+	) {
+		_xml = requireNonNull(xml);
+		_lenient = lenient;
+
+		_root = GPX.xmlReader(requireNonNull(version));
+		_readers.put("wpt", WayPoint.xmlReader(version, "wpt"));
+		_readers.put("rtept", WayPoint.xmlReader(version, "rtept"));
+		_readers.put("trkpt", WayPoint.xmlReader(version, "trkpt"));
+	}
+
+	@Override
+	public boolean hasNext() {
+		try {
+			while (_next == null && advance()) {
+				// Read until the next valid way-point has been found.
+			}
+		} catch (XMLStreamException e) {
+			throw new UncheckedIOException(new IOException(e));
+		}
+
+		return _next != null;
+	}
+
+	@Override
+	public WayPoint next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		final WayPoint next = _next;
+		_next = null;
+		return next;
+	}
+
+	/**
+	 * Move the XML stream forward to the next way-point element and read it.
+	 *
+	 * @return {@code false} if the end of the stream has been reached,
+	 *         {@code true} otherwise
+	 * @throws XMLStreamException if the XML stream can't be read
+	 */
+	private boolean advance() throws XMLStreamException {
+		if (!_xml.hasNext()) {
+			return false;
+		}
+
+		final int event = _xml.next();
+		if (event == START_ELEMENT) {
+			final String name = _xml.getLocalName();
+
+			if (!_started) {
+				if (!"gpx".equals(name)) {
+					throw new XMLStreamException(format(
+						"Expected <gpx> root element, but got <%s>.", name
+					));
+				}
+				_started = true;
+				_parents.push(_root);
+			} else {
+				final XMLReader<?> child = _parents.isEmpty()
+					? null
+					: _parents.peek().child(name);
+
+				if (child == null) {
+					if (!_lenient) {
+						throw new XMLStreamException(format(
+							"Unexpected element <%s>.", name
+						));
+					}
+					skip(_xml);
+				} else if (_readers.containsKey(name)) {
+					_next = _readers.get(name).read(_xml, _lenient);
+				} else if (isContainer(name)) {
+					_parents.push(child);
+				} else if (!_lenient) {
+					child.read(_xml, false);
+				} else {
+					skip(_xml);
+				}
+			}
+		} else if (event == END_ELEMENT && !_parents.isEmpty()) {
+			_parents.pop();
+		}
+
+		return true;
+	}
+
+	private static boolean isContainer(final String name) {
+		return "rte".equals(name) || "trk".equals(name) || "trkseg".equals(name);
+	}
+
+	/**
+	 * Skips the current element, including all of its children.
+	 *
+	 * @param xml the XML stream, positioned at a {@code START_ELEMENT}
+	 * @throws XMLStreamException if the XML stream can't be read
+	 */
+	private static void skip(final XMLStreamReader xml)
+		throws XMLStreamException
+	{
+		int depth = 1;
+		while (depth > 0 && xml.hasNext()) {
+			switch (xml.next()) {
+				case START_ELEMENT: ++depth; break;
+				case END_ELEMENT: --depth; break;
+			}
+		}
+	}
+
+}
@@ -30,13 +30,13 @@ import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
 import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -49,7 +49,7 @@ import io.jenetics.jpx.XMLReader.Type;
  * Simplifies the usage of the {@link XMLStreamReader}.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.0
  */
 abstract class XMLReader<T> {
@@ -149,6 +149,60 @@ abstract class XMLReader<T> {
 		};
 	}
 
+	/**
+	 * Create a new reader, which forwards the read values to the given
+	 * {@code consumer}, instead of returning it. {@code null} values, which
+	 * are read in lenient mode, are not forwarded. The returned reader always
+	 * returns {@code null}.
+	 *
+	 * @since 1.5
+	 *
+	 * @param consumer the consumer of the read values
+	 * @return a new forwarding reader
+	 * @throws NullPointerException if the given {@code consumer} is
+	 *         {@code null}
+	 */
+	XMLReader<T> forward(final Consumer<? super T> consumer) {
+		return new ForwardReader<>(this, null, consumer);
+	}
+
+	/**
+	 * Create a new reader, which forwards the read values to the given
+	 * {@code end} consumer, instead of returning it. The {@code start} action
+	 * is called before the element is read and the {@code end} consumer is
+	 * always called after the element has been read, which keeps the calls
+	 * balanced. If the element is invalid and skipped in lenient mode, the
+	 * {@code end} consumer is called with {@code null}. The returned reader
+	 * always returns {@code null}.
+	 *
+	 * @since 1.5
+	 *
+	 * @param start the action which is called before the element is read
+	 * @param end the consumer of the read values, which is called after the
+	 *        element has been read
+	 * @return a new forwarding reader
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	XMLReader<T> forward(
+		final Runnable start,
+		final Consumer<? super T> end
+	) {
+		return new ForwardReader<>(this, requireNonNull(start), end);
+	}
+
+	/**
+	 * Return the reader of the child element with the given {@code name}.
+	 *
+	 * @since 1.5
+	 *
+	 * @param name the name of the child element
+	 * @return the reader of the child element, or {@code null} if the
+	 *         element of this reader has no such child element
+	 */
+	XMLReader<?> child(final String name) {
+		return null;
+	}
+
 	/**
 	 * Return the name of the element processed by this reader.
 	 *
@@ -247,7 +301,8 @@ abstract class XMLReader<T> {
 	 * }</pre>
 	 *
 	 * @param generator the generator function, which build the result object
-	 *        from the given parameter array
+	 *        from the given parameter array. The parameter array is reused
+	 *        by the reader and must not be referenced by the created object.
 	 * @param name the name of the root (sub-tree) element
 	 * @param children the child element reader, which creates the values
 	 *        forwarded to the {@code generator} function
@@ -321,6 +376,56 @@ abstract class XMLReader<T> {
 		return elem(name, text());
 	}
 
+	/**
+	 * Return a {@code Reader} for reading the text of an element as
+	 * {@code double} value. The number is parsed directly from the character
+	 * buffer of the XML stream, without creating an intermediate
+	 * {@code String} object.
+	 * <p>
+	 * <b>XML</b>
+	 * <pre> {@code <element>12.34<element>}</pre>
+	 *
+	 * <b>Reader definition</b>
+	 * <pre>{@code
+	 * final Reader<Double> reader = elem("element", number());
+	 * }</pre>
+	 *
+	 * @since 1.5
+	 *
+	 * @return an element number reader
+	 */
+	public static XMLReader<Double> number() {
+		return new NumberReader();
+	}
+
+	/**
+	 * Return a {@code Reader} for reading the number of the element with the
+	 * given {@code name}. The read value is converted with the given
+	 * {@code mapper} function, if the element is not empty.
+	 *
+	 * <b>Reader definition</b>
+	 * <pre>{@code
+	 * final Reader<Degrees> reader = number("magvar", Degrees::ofDegrees);
+	 * }</pre>
+	 *
+	 * @since 1.5
+	 *
+	 * @param name the element name
+	 * @param mapper the number mapper function
+	 * @param <T> the result type
+	 * @return a number element reader
+	 * @throws NullPointerException if one of the given arguments is {@code null}
+	 */
+	public static <T> XMLReader<T> number(
+		final String name,
+		final DoubleFunction<? extends T> mapper
+	) {
+		requireNonNull(mapper);
+
+		return elem(name, number())
+			.map(value -> value != null ? mapper.apply(value) : null);
+	}
+
 	public static XMLReader<Object> ignore(final String name) {
 		return new IgnoreReader(name);
 	}
@@ -389,7 +494,7 @@ final class AttrReader extends XMLReader<String> {
  * Reader implementation for reading the text of the current node.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.2
  */
 final class TextReader extends XMLReader<String> {
@@ -402,15 +507,75 @@ final class TextReader extends XMLReader<String> {
 	public String read(final XMLStreamReader xml, final boolean lenient)
 		throws XMLStreamException
 	{
-		final StringBuilder out = new StringBuilder();
+		// Most element texts consists of only one event.
+		String text = xml.getText();
 
-		int type = xml.getEventType();
-		do {
-			out.append(xml.getText());
-		} while (xml.hasNext() && (type = xml.next()) == CHARACTERS || type == CDATA);
+		int type;
+		if (xml.hasNext() && ((type = xml.next()) == CHARACTERS || type == CDATA)) {
+			final StringBuilder out = new StringBuilder(text);
+			do {
+				out.append(xml.getText());
+			} while (xml.hasNext() && ((type = xml.next()) == CHARACTERS || type == CDATA));
+
+			text = out.toString();
+		}
+
+		return text;
+	}
+}
+
+/**
+ * Reader implementation for reading the text of an element as {@code double}
+ * value. The characters of the text events are collected in a (thread local)
+ * buffer and parsed without creating a {@code String} object.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class NumberReader extends XMLReader<Double> {
+
+	// Longer texts are not kept by the thread local buffer.
+	private static final int MAX_BUFFER_SIZE = 128;
 
+	private static final ThreadLocal<StringBuilder> BUFFER =
+		ThreadLocal.withInitial(() -> new StringBuilder(32));
 
-		return out.toString();
+	NumberReader() {
+		super("", Type.TEXT);
+	}
+
+	@Override
+	public Double read(final XMLStreamReader xml, final boolean lenient)
+		throws XMLStreamException
+	{
+		final StringBuilder text = BUFFER.get();
+		text.setLength(0);
+
+		int type;
+		do {
+			text.append(
+				xml.getTextCharacters(),
+				xml.getTextStart(),
+				xml.getTextLength()
+			);
+		} while (xml.hasNext() && ((type = xml.next()) == CHARACTERS || type == CDATA));
+
+		try {
+			return DoubleFormat.parse(text);
+		} catch (NumberFormatException e) {
+			if (!lenient) {
+				throw new XMLStreamException(format(
+					"Invalid number value: '%s'.", text), e
+				);
+			} else {
+				return null;
+			}
+		} finally {
+			if (text.length() > MAX_BUFFER_SIZE) {
+				BUFFER.remove();
+			}
+		}
 	}
 }
 
@@ -420,7 +585,7 @@ final class TextReader extends XMLReader<String> {
  * @param <T> the element type
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.2
  */
 final class ListReader<T> extends XMLReader<List<T>> {
@@ -436,12 +601,113 @@ final class ListReader<T> extends XMLReader<List<T>> {
 	public List<T> read(final XMLStreamReader xml, final boolean lenient)
 		throws XMLStreamException
 	{
-		xml.require(START_ELEMENT, null, name());
-		final T element = _adoptee.read(xml, lenient);
+		final T element = element(xml, lenient);
 		return element != null
 			? Collections.singletonList(element)
 			: emptyList();
 	}
+
+	@Override
+	XMLReader<?> child(final String name) {
+		return _adoptee.child(name);
+	}
+
+	/**
+	 * Reads one list element, without wrapping it into a list.
+	 *
+	 * @param xml the underlying XML stream {@code reader}
+	 * @param lenient lenient read mode
+	 * @return the read list element, maybe {@code null}
+	 * @throws XMLStreamException if an error occurs while reading the value
+	 */
+	T element(final XMLStreamReader xml, final boolean lenient)
+		throws XMLStreamException
+	{
+		xml.require(START_ELEMENT, null, name());
+		return _adoptee.read(xml, lenient);
+	}
+}
+
+/**
+ * Reader implementation which forwards the read values to a consumer.
+ *
+ * @param <T> the element type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class ForwardReader<T> extends XMLReader<T> {
+
+	/**
+	 * Signals that a forward action has thrown an exception. The original
+	 * exception is available via {@link #getCause()}.
+	 */
+	static final class ForwardException extends XMLStreamException {
+		private static final long serialVersionUID = 1L;
+
+		ForwardException(final String message, final RuntimeException cause) {
+			super(message, cause);
+		}
+
+		@Override
+		public synchronized RuntimeException getCause() {
+			return (RuntimeException)super.getCause();
+		}
+	}
+
+	private final XMLReader<? extends T> _adoptee;
+	private final Runnable _start;
+	private final Consumer<? super T> _consumer;
+
+	/**
+	 * Create a new forward reader. If a {@code start} action is given, the
+	 * {@code consumer} is called for every read element, also for the
+	 * {@code null} value of an invalid element, read in lenient mode.
+	 *
+	 * @param adoptee the reader of the forwarded elements
+	 * @param start the action called before the element is read, may be
+	 *        {@code null}
+	 * @param consumer the consumer of the read elements
+	 */
+	ForwardReader(
+		final XMLReader<? extends T> adoptee,
+		final Runnable start,
+		final Consumer<? super T> consumer
+	) {
+		super(adoptee.name(), adoptee.type());
+		_adoptee = adoptee;
+		_start = start;
+		_consumer = requireNonNull(consumer);
+	}
+
+	@Override
+	public T read(final XMLStreamReader xml, final boolean lenient)
+		throws XMLStreamException
+	{
+		if (_start != null) {
+			try {
+				_start.run();
+			} catch (RuntimeException e) {
+				throw new ForwardException(
+					format("Starting '%s' failed.", name()), e
+				);
+			}
+		}
+
+		final T value = _adoptee.read(xml, lenient);
+		if (value != null || _start != null) {
+			try {
+				_consumer.accept(value);
+			} catch (RuntimeException e) {
+				throw new ForwardException(
+					format("Forwarding '%s' failed.", name()), e
+				);
+			}
+		}
+
+		return null;
+	}
 }
 
 final class IgnoreReader extends XMLReader<Object> {
@@ -462,24 +728,29 @@ final class IgnoreReader extends XMLReader<Object> {
 }
 
 /**
- * The main XML element reader implementation.
+ * The main XML element reader implementation. The per-element state, the
+ * values read by the child readers, is stored in a slot array, which is
+ * pooled per reader and thread. The child readers are looked up with a
+ * precomputed {@link NameIndex}.
  *
  * @param <T> the reader data type
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.2
  */
 final class ElemReader<T> extends XMLReader<T> {
 
 	// Given parameters.
 	private final Function<Object[], T> _creator;
-	private final List<XMLReader<?>> _children;
+	private final XMLReader<?>[] _children;
 
 	// Derived parameters.
-	private final Map<String, Integer> _readerIndexMapping = new HashMap<>();
+	private final NameIndex _index;
+	private final boolean[] _lists;
 	private final int[] _attrReaderIndexes;
-	private final int[] _textReaderIndex;
+	private final int _textReaderIndex;
+	private final SlotPool _slots;
 
 	ElemReader(
 		final String name,
@@ -490,23 +761,34 @@ final class ElemReader<T> extends XMLReader<T> {
 		super(name, type);
 
 		_creator = requireNonNull(creator);
-		_children = requireNonNull(children);
+		_children = children.toArray(new XMLReader<?>[0]);
 
-		for (int i = 0; i < _children.size(); ++i) {
-			_readerIndexMapping.put(_children.get(i).name(), i);
+		_index = new NameIndex(
+			Stream.of(_children)
+				.map(XMLReader::name)
+				.toArray(String[]::new)
+		);
+		_lists = new boolean[_children.length];
+		for (int i = 0; i < _children.length; ++i) {
+			_lists[i] = _children[i].type() == Type.LIST;
 		}
-		_attrReaderIndexes = IntStream.range(0, _children.size())
-			.filter(i -> _children.get(i).type() == Type.ATTR)
+		_attrReaderIndexes = IntStream.range(0, _children.length)
+			.filter(i -> _children[i].type() == Type.ATTR)
 			.toArray();
-		_textReaderIndex = IntStream.range(0, _children.size())
-			.filter(i -> _children.get(i).type() == Type.TEXT)
+		final int[] textReaderIndexes = IntStream.range(0, _children.length)
+			.filter(i -> _children[i].type() == Type.TEXT)
 			.toArray();
 
-		if (_textReaderIndex.length > 1) {
+		if (textReaderIndexes.length > 1) {
 			throw new IllegalArgumentException(
 				"Found more than one TEXT reader."
 			);
 		}
+		_textReaderIndex = textReaderIndexes.length == 1
+			? textReaderIndexes[0]
+			: -1;
+
+		_slots = new SlotPool(_children.length);
 	}
 
 	@Override
@@ -515,18 +797,32 @@ final class ElemReader<T> extends XMLReader<T> {
 	{
 		xml.require(START_ELEMENT, null, name());
 
-		final List<ReaderResult> results = _children.stream()
-			.map(ReaderResult::of)
-			.collect(Collectors.toList());
+		final Object[] slots = _slots.acquire();
+		try {
+			return read(xml, lenient, slots);
+		} finally {
+			_slots.release(slots);
+		}
+	}
 
-		final ReaderResult text = _textReaderIndex.length == 1
-			? results.get(_textReaderIndex[0])
+	@Override
+	XMLReader<?> child(final String name) {
+		final int index = _index.get(name);
+		return index != -1 && _children[index].type() != Type.ATTR
+			? _children[index]
 			: null;
+	}
 
-		for (int i = 0; i < _attrReaderIndexes.length; ++i) {
-			final ReaderResult result = results.get(_attrReaderIndexes[i]);
+	private T read(
+		final XMLStreamReader xml,
+		final boolean lenient,
+		final Object[] slots
+	)
+		throws XMLStreamException
+	{
+		for (int index : _attrReaderIndexes) {
 			try {
-				result.put(result.reader().read(xml, lenient));
+				slots[index] = _children[index].read(xml, lenient);
 			} catch (IllegalArgumentException|NullPointerException e) {
 				if (!lenient) throw e;
 			}
@@ -544,35 +840,34 @@ final class ElemReader<T> extends XMLReader<T> {
 						}
 						break;
 					case START_ELEMENT:
-						final Integer index = _readerIndexMapping
-							.get(xml.getLocalName());
-
-						if (index == null && !lenient) {
-							throw new XMLStreamException(format(
-								"Unexpected element <%s>.",
-								xml.getLocalName()
-							));
+						final int index = _index.get(xml.getLocalName());
+
+						if (index == -1) {
+							if (!lenient) {
+								throw new XMLStreamException(format(
+									"Unexpected element <%s>.",
+									xml.getLocalName()
+								));
+							}
+							skip(xml);
+						} else {
+							throwUnexpectedElement(xml, lenient, index, slots);
 						}
 
-						final ReaderResult result = index != null
-							? results.get(index)
-							: ReaderResult.of(elem(xml.getLocalName()));
-
-						if (result != null) {
-							throwUnexpectedElement(xml, lenient, result);
-							if (xml.hasNext()) {
-								hasNext = true;
-								xml.next();
-							} else {
-								hasNext = false;
-							}
+						if (xml.hasNext()) {
+							hasNext = true;
+							xml.next();
+						} else {
+							hasNext = false;
 						}
 
 						break;
 					case CHARACTERS:
 					case CDATA:
-						if (text != null) {
-							throwUnexpectedElement(xml, lenient, text);
+						if (_textReaderIndex != -1) {
+							throwUnexpectedElement(
+								xml, lenient, _textReaderIndex, slots
+							);
 						} else {
 							xml.next();
 						}
@@ -581,21 +876,7 @@ final class ElemReader<T> extends XMLReader<T> {
 						break;
 					case END_ELEMENT:
 						if (name().equals(xml.getLocalName())) {
-							try {
-								return _creator.apply(
-									results.stream()
-										.map(ReaderResult::value)
-										.toArray()
-								);
-							} catch (IllegalArgumentException|NullPointerException e) {
-								if (!lenient) {
-									throw new XMLStreamException(format(
-										"Invalid value for '%s'.", name()), e
-									);
-								} else {
-									return null;
-								}
-							}
+							return create(lenient, slots);
 						}
 				}
 
@@ -607,15 +888,42 @@ final class ElemReader<T> extends XMLReader<T> {
 		));
 	}
 
+	private T create(final boolean lenient, final Object[] slots)
+		throws XMLStreamException
+	{
+		for (int i = 0; i < slots.length; ++i) {
+			if (_lists[i] && slots[i] == null) {
+				slots[i] = emptyList();
+			}
+		}
+
+		try {
+			return _creator.apply(slots);
+		} catch (IllegalArgumentException|NullPointerException e) {
+			if (!lenient) {
+				throw new XMLStreamException(format(
+					"Invalid value for '%s'.", name()), e
+				);
+			} else {
+				return null;
+			}
+		}
+	}
+
 	private void throwUnexpectedElement(
 		final XMLStreamReader xml,
 		final boolean lenient,
-		final ReaderResult text
+		final int index,
+		final Object[] slots
 	)
 		throws XMLStreamException
 	{
 		try {
-			text.put(text.reader().read(xml, lenient));
+			if (_lists[index]) {
+				add(index, read(_children[index], xml, lenient), slots);
+			} else {
+				slots[index] = _children[index].read(xml, lenient);
+			}
 		} catch (IllegalArgumentException|NullPointerException e) {
 			if (!lenient) {
 				final XMLStreamException exp = new XMLStreamException(format(
@@ -627,119 +935,211 @@ final class ElemReader<T> extends XMLReader<T> {
 			}
 		}
 	}
-}
 
-/**
- * Helper interface for storing the XML reader (intermediate) results.
- *
- * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
- * @since 1.2
- */
-interface ReaderResult {
+	private static Object read(
+		final XMLReader<?> reader,
+		final XMLStreamReader xml,
+		final boolean lenient
+	)
+		throws XMLStreamException
+	{
+		// Avoid the creation of the singleton list for every list element.
+		return reader instanceof ListReader<?>
+			? ((ListReader<?>)reader).element(xml, lenient)
+			: reader.read(xml, lenient);
+	}
 
-	/**
-	 * Return the underlying XML reader, which reads the result.
-	 *
-	 * @return return the underlying XML reader
-	 */
-	XMLReader<?> reader();
+	private static void add(
+		final int index,
+		final Object value,
+		final Object[] slots
+	) {
+		if (value instanceof List<?>) {
+			final List<?> values = (List<?>)value;
+			if (!values.isEmpty()) {
+				list(index, slots).addAll(values);
+			}
+		} else if (value != null) {
+			list(index, slots).add(value);
+		}
+	}
 
-	/**
-	 * Put the given {@code value} to the reader result.
-	 *
-	 * @param value the reader result
-	 */
-	void put(final Object value);
+	@SuppressWarnings("unchecked")
+	private static List<Object> list(final int index, final Object[] slots) {
+		if (slots[index] == null) {
+			slots[index] = new ArrayList<>();
+		}
+		return (List<Object>)slots[index];
+	}
 
 	/**
-	 * Return the current reader result value.
-	 *
-	 * @return the current reader result value
+	 * Skips the current element, including all of its children.
 	 */
-	Object value();
+	private void skip(final XMLStreamReader xml) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			if (!xml.hasNext()) {
+				throw new XMLStreamException(format(
+					"Premature end of file while reading '%s'.", name()
+				));
+			}
 
-	/**
-	 * Create a reader result for the given XML reader
-	 *
-	 * @param reader the XML reader
-	 * @return a reader result for the given reader
-	 */
-	static ReaderResult of(final XMLReader<?> reader) {
-		return reader.type() == Type.LIST
-			? new ListResult(reader)
-			: new ValueResult(reader);
+			switch (xml.next()) {
+				case START_ELEMENT: ++depth; break;
+				case END_ELEMENT: --depth; break;
+			}
+		}
 	}
 
 }
 
 /**
- * Result object for values read from XML elements.
+ * Maps the element names of the child readers to its index. The names are
+ * stored in an open-addressing hash table, which is sized so that every name
+ * can be found with one probe, if possible. In contrast to a
+ * {@code HashMap<String, Integer>}, no objects are allocated for a lookup.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
- * @since 1.2
+ * @version 1.5
+ * @since 1.5
  */
-final class ValueResult implements ReaderResult {
+final class NameIndex {
 
-	private final XMLReader<?> _reader;
-	private Object _value;
+	private static final int MAX_PERFECT_SIZE = 1 << 12;
 
-	ValueResult(final XMLReader<?> reader) {
-		_reader = reader;
-	}
+	private final String[] _names;
+	private final int[] _indexes;
+	private final int _mask;
 
-	@Override
-	public void put(final Object value) {
-		_value = value;
+	/**
+	 * Create a new name index. If a name occurs more than once, the last
+	 * index of the name is used.
+	 *
+	 * @param names the names to index
+	 */
+	NameIndex(final String[] names) {
+		int size = Integer.highestOneBit(Math.max(names.length, 1))*4;
+		while (!isPerfect(names, size) && size < MAX_PERFECT_SIZE) {
+			size <<= 1;
+		}
+
+		_names = new String[size];
+		_indexes = new int[size];
+		_mask = size - 1;
+
+		for (int i = 0; i < names.length; ++i) {
+			int slot = hash(names[i]) & _mask;
+			while (_names[slot] != null && !_names[slot].equals(names[i])) {
+				slot = (slot + 1) & _mask;
+			}
+			_names[slot] = names[i];
+			_indexes[slot] = i;
+		}
 	}
 
-	@Override
-	public XMLReader<?> reader() {
-		return _reader;
+	private static boolean isPerfect(final String[] names, final int size) {
+		final String[] table = new String[size];
+		for (String name : names) {
+			final int slot = hash(name) & (size - 1);
+			if (table[slot] != null && !table[slot].equals(name)) {
+				return false;
+			}
+			table[slot] = name;
+		}
+		return true;
 	}
 
+	private static int hash(final String name) {
+		final int h = name.hashCode();
+		return h ^ (h >>> 16);
+	}
 
-	@Override
-	public Object value() {
-		return _value;
+	/**
+	 * Return the index of the given {@code name}.
+	 *
+	 * @param name the name to look up
+	 * @return the index of the given name, or {@code -1} if the name is not
+	 *         part of the index
+	 */
+	int get(final String name) {
+		int slot = hash(name) & _mask;
+		String value;
+		while ((value = _names[slot]) != null) {
+			if (value.equals(name)) {
+				return _indexes[slot];
+			}
+			slot = (slot + 1) & _mask;
+		}
+		return -1;
 	}
 
 }
 
 /**
- * Result object for list values read from XML elements.
+ * Pool of the slot arrays of an {@link ElemReader}. Every thread has its own
+ * stack of slot arrays, which allows recursive usage of the element reader.
+ * The released slot arrays are cleared, so that no read values are kept
+ * alive by the pool.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
- * @since 1.2
+ * @version 1.5
+ * @since 1.5
  */
-final class ListResult implements ReaderResult {
+final class SlotPool {
 
-	private final XMLReader<?> _reader;
-	private final List<Object> _value = new ArrayList<>();
+	private static final Object[] EMPTY = new Object[0];
 
-	ListResult(final XMLReader<?> reader) {
-		_reader = reader;
+	private static final class Stack {
+		private Object[][] _slots = new Object[1][];
+		private int _size = 0;
 	}
 
-	@Override
-	public void put(final Object value) {
-		if (value instanceof List<?>) {
-			_value.addAll((List<?>)value);
-		} else {
-			_value.add(value);
-		}
+	private final int _length;
+	private final ThreadLocal<Stack> _stack;
+
+	SlotPool(final int length) {
+		_length = length;
+		_stack = length > 0
+			? ThreadLocal.withInitial(Stack::new)
+			: null;
 	}
 
-	@Override
-	public XMLReader<?> reader() {
-		return _reader;
+	/**
+	 * Return a cleared slot array.
+	 *
+	 * @return a cleared slot array
+	 */
+	Object[] acquire() {
+		if (_stack == null) {
+			return EMPTY;
+		}
+
+		final Stack stack = _stack.get();
+		if (stack._size == stack._slots.length) {
+			stack._slots = Arrays.copyOf(stack._slots, stack._size*2);
+		}
+
+		Object[] slots = stack._slots[stack._size];
+		if (slots == null) {
+			slots = new Object[_length];
+			stack._slots[stack._size] = slots;
+		}
+		++stack._size;
+
+		return slots;
 	}
 
-	@Override
-	public List<Object> value() {
-		return _value;
+	/**
+	 * Clears and releases the given slot array, which must be the last
+	 * acquired one.
+	 *
+	 * @param slots the slot array to release
+	 */
+	void release(final Object[] slots) {
+		if (_stack != null) {
+			Arrays.fill(slots, null);
+			--_stack.get()._size;
+		}
 	}
 
 }
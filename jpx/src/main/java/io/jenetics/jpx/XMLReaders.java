@@ -31,7 +31,7 @@ import io.jenetics.jpx.GPX.Version;
  * XMLReader collection for different GPX versions.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.3
+ * @version 1.5
  * @since 1.3
  */
 final class XMLReaders{
@@ -69,4 +69,30 @@ final class XMLReaders{
 			.toArray(XMLReader[]::new);
 	}
 
+	/**
+	 * Return the readers for the given {@code version}, where the readers with
+	 * the same name as one of the given {@code replacements} are replaced.
+	 *
+	 * @since 1.5
+	 *
+	 * @param version the GPX version
+	 * @param replacements the replacement readers
+	 * @return the readers for the given version
+	 */
+	XMLReader<?>[] readers(
+		final Version version,
+		final XMLReader<?>... replacements
+	) {
+		final XMLReader<?>[] readers = readers(version);
+		for (XMLReader<?> replacement : replacements) {
+			for (int i = 0; i < readers.length; ++i) {
+				if (readers[i].name().equals(replacement.name())) {
+					readers[i] = replacement;
+				}
+			}
+		}
+
+		return readers;
+	}
+
 }
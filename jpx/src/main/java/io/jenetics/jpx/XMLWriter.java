@@ -31,7 +31,7 @@ import javax.xml.stream.XMLStreamWriter;
  * Helper class for simplifying XML stream writing.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.0
  */
 @FunctionalInterface
@@ -169,6 +169,31 @@ interface XMLWriter<T> {
 		return elem(name, text());
 	}
 
+	/**
+	 * Create a new {@code XMLWriter}, which writes the given children, without
+	 * an enclosing element. This writer is used for writing the content of
+	 * elements, whose start and end tags are written separately.
+	 *
+	 * @since 1.5
+	 *
+	 * @param children the XML child elements
+	 * @param <T> the writer base type
+	 * @return a new writer instance
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	@SafeVarargs
+	static <T> XMLWriter<T> children(final XMLWriter<? super T>... children) {
+		requireNonNull(children);
+
+		return (xml, data) -> {
+			if (data != null && data != Optional.empty()) {
+				for (XMLWriter<? super T> child : children) {
+					child.write(xml, data);
+				}
+			}
+		};
+	}
+
 
 	/**
 	 * Create a new text {@code XMLWriter}, which writes the given data as string
@@ -185,10 +210,71 @@ interface XMLWriter<T> {
 		};
 	}
 
+	/**
+	 * Create a new text {@code XMLWriter}, which writes the given number to
+	 * the outer element. If the XML stream writer has been configured with a
+	 * maximal number of fraction digits, the written number is rounded
+	 * accordingly.
+	 *
+	 * @param <N> the number type
+	 * @return a new number writer
+	 */
 	static <N extends Number> XMLWriter<N> number() {
 		return (xml, data) -> {
 			if (data != null) {
-				xml.writeCharacters(Double.toString(data.doubleValue()));
+				if (xml instanceof CloseableXMLStreamWriter) {
+					((CloseableXMLStreamWriter)xml)
+						.writeNumber(data.doubleValue());
+				} else {
+					xml.writeCharacters(Double.toString(data.doubleValue()));
+				}
+			}
+		};
+	}
+
+	/**
+	 * Create a new {@code XMLWriter}, which writes the given number as
+	 * element with the given {@code name}.
+	 *
+	 * @see #number()
+	 *
+	 * @since 1.5
+	 *
+	 * @param name the element name
+	 * @param <N> the number type
+	 * @return a new number element writer
+	 * @throws NullPointerException if the element {@code name} is {@code null}
+	 */
+	static <N extends Number> XMLWriter<N> number(final String name) {
+		return elem(name, number());
+	}
+
+	/**
+	 * Create a new {@code XMLWriter}, which writes the given number as
+	 * attribute with the given {@code name}.
+	 *
+	 * @see #number()
+	 *
+	 * @since 1.5
+	 *
+	 * @param name the attribute name
+	 * @param <N> the number type
+	 * @return a new number attribute writer
+	 * @throws NullPointerException if the attribute {@code name} is
+	 *         {@code null}
+	 */
+	static <N extends Number> XMLWriter<N> numberAttr(final String name) {
+		requireNonNull(name);
+
+		return (xml, data) -> {
+			if (data != null) {
+				xml.writeAttribute(
+					name,
+					xml instanceof CloseableXMLStreamWriter
+						? ((CloseableXMLStreamWriter)xml)
+							.numberString(data.doubleValue())
+						: Double.toString(data.doubleValue())
+				);
 			}
 		};
 	}
@@ -23,6 +23,10 @@ import static java.time.ZoneOffset.UTC;
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 import static java.util.Objects.requireNonNull;
 
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
@@ -36,7 +40,7 @@ import java.util.stream.Stream;
  * Enumeration of the valid date time formats.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.0
+ * @version 1.5
  * @since 1.0
  */
 enum ZonedDateTimeFormat {
@@ -122,17 +126,133 @@ enum ZonedDateTimeFormat {
 	}
 
 	/**
-	 * Parses the given object to a zoned data time object.
+	 * Parses the given object to a zoned data time object. Time strings of the
+	 * form {@code yyyy-MM-ddTHH:mm:ss[.fffffffff][Z|(+|-)hh:mm]} are parsed
+	 * directly. All other strings are parsed with the matching formatter.
 	 *
 	 * @param time the string to parse
 	 * @return the parsed object
 	 */
 	static ZonedDateTime parse(final String time) {
-		return time != null
-			? ZonedDateTimeFormat.parseOptional(time).orElseThrow(() ->
-			new IllegalArgumentException(
-				String.format("Can't parse time: %s'", time)))
-			: null;
+		if (time == null) {
+			return null;
+		}
+
+		final ZonedDateTime result = parseISO(time);
+		return result != null
+			? result
+			: ZonedDateTimeFormat.parseOptional(time).orElseThrow(() ->
+				new IllegalArgumentException(
+					String.format("Can't parse time: %s'", time)));
+	}
+
+	/**
+	 * Parses the most common ISO time strings,
+	 * {@code yyyy-MM-ddTHH:mm:ss[.fffffffff][Z|(+|-)hh:mm]}, without
+	 * regular expression matching and formatter lookup. The result is the
+	 * same as the result of the matching {@link ZonedDateTimeFormat}, but
+	 * only time strings with field values within their valid range are
+	 * accepted. The resolving of invalid field values is left to the
+	 * formatters, whose resolving rules differ between the formats.
+	 *
+	 * @param time the time string to parse
+	 * @return the parsed time, or {@code null} if the time string can't be
+	 *         parsed by this method
+	 */
+	static ZonedDateTime parseISO(final String time) {
+		final int length = time.length();
+		if (length < 19 ||
+			time.charAt(4) != '-' ||
+			time.charAt(7) != '-' ||
+			time.charAt(10) != 'T' ||
+			time.charAt(13) != ':' ||
+			time.charAt(16) != ':')
+		{
+			return null;
+		}
+
+		final int year = digits(time, 0, 4);
+		final int month = digits(time, 5, 2);
+		final int day = digits(time, 8, 2);
+		final int hour = digits(time, 11, 2);
+		final int minute = digits(time, 14, 2);
+		final int second = digits(time, 17, 2);
+		if (year < 0 || month < 1 || month > 12 || day < 1 ||
+			day > Month.of(month).length(Year.isLeap(year)) ||
+			hour < 0 || hour > 23 || minute < 0 || minute > 59 ||
+			second < 0 || second > 59)
+		{
+			return null;
+		}
+
+		int index = 19;
+		int nano = 0;
+		if (index < length && time.charAt(index) == '.') {
+			final int start = ++index;
+			while (index < length && isDigit(time.charAt(index))) {
+				++index;
+			}
+
+			final int digits = index - start;
+			if (digits < 1 || digits > 9) {
+				return null;
+			}
+
+			nano = digits(time, start, digits);
+			for (int i = digits; i < 9; ++i) {
+				nano *= 10;
+			}
+		}
+
+		final ZoneOffset offset;
+		if (index == length) {
+			offset = UTC;
+		} else if (index + 1 == length && time.charAt(index) == 'Z') {
+			offset = UTC;
+		} else if (index + 6 == length &&
+			(time.charAt(index) == '+' || time.charAt(index) == '-') &&
+			time.charAt(index + 3) == ':')
+		{
+			final int sign = time.charAt(index) == '-' ? -1 : 1;
+			final int hours = digits(time, index + 1, 2);
+			final int minutes = digits(time, index + 4, 2);
+			if (hours < 0 || hours > 17 || minutes < 0 || minutes > 59) {
+				return null;
+			}
+
+			offset = ZoneOffset.ofHoursMinutes(sign*hours, sign*minutes);
+		} else {
+			return null;
+		}
+
+		return ZonedDateTime.of(
+			LocalDateTime.of(year, month, day, hour, minute, second, nano),
+			offset
+		);
+	}
+
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Parses the given number of ASCII digits, starting at the given
+	 * {@code index}.
+	 *
+	 * @return the parsed number, or {@code -1} if the string contains
+	 *         non-digit characters at the given position
+	 */
+	private static int digits(final String text, final int index, final int count) {
+		int value = 0;
+		for (int i = index, n = index + count; i < n; ++i) {
+			final char c = text.charAt(i);
+			if (!isDigit(c)) {
+				return -1;
+			}
+			value = value*10 + (c - '0');
+		}
+
+		return value;
 	}
 
 }
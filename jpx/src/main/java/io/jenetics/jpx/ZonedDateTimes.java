@@ -30,7 +30,7 @@ import java.util.Objects;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 1.5
  * @since 1.2
  */
 final class ZonedDateTimes {
@@ -91,4 +91,18 @@ final class ZonedDateTimes {
 		return Objects.equals(i1, i2);
 	}
 
+	/**
+	 * Return the hash code of the given date time, which is consistent with
+	 * the {@link #equals(ZonedDateTime, ZonedDateTime)} method. Only the
+	 * point on the time-line, truncated to seconds, is part of the hash code.
+	 *
+	 * @param time the date time
+	 * @return the hash code of the given date time
+	 */
+	static int hashCode(final ZonedDateTime time) {
+		return time != null
+			? Long.hashCode(time.toEpochSecond())
+			: 0;
+	}
+
 }
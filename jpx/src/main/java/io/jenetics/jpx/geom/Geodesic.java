@@ -0,0 +1,158 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+
+import io.jenetics.jpx.Degrees;
+import io.jenetics.jpx.Length;
+
+/**
+ * The shortest geodesic between two points on an ellipsoid, as calculated by
+ * {@link Geoid#geodesic(io.jenetics.jpx.Point, io.jenetics.jpx.Point)}. It
+ * contains the length of the geodesic and its azimuths (bearings), measured
+ * clockwise from north.
+ *
+ * @see Geoid#geodesic(io.jenetics.jpx.Point, io.jenetics.jpx.Point)
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+public final class Geodesic {
+
+	private final Length _distance;
+	private final Degrees _azimuth;
+	private final Degrees _finalAzimuth;
+
+	/**
+	 * Create a new geodesic object.
+	 *
+	 * @param distance the length of the geodesic
+	 * @param azimuth the forward azimuth at the start point
+	 * @param finalAzimuth the forward azimuth at the end point
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	private Geodesic(
+		final Length distance,
+		final Degrees azimuth,
+		final Degrees finalAzimuth
+	) {
+		_distance = requireNonNull(distance);
+		_azimuth = requireNonNull(azimuth);
+		_finalAzimuth = requireNonNull(finalAzimuth);
+	}
+
+	/**
+	 * Return the length of the geodesic.
+	 *
+	 * @return the length of the geodesic
+	 */
+	public Length getDistance() {
+		return _distance;
+	}
+
+	/**
+	 * Return the forward azimuth of the geodesic at the start point, which is
+	 * the initial bearing from the start point to the end point.
+	 *
+	 * @return the forward azimuth at the start point
+	 */
+	public Degrees getAzimuth() {
+		return _azimuth;
+	}
+
+	/**
+	 * Return the forward azimuth of the geodesic at the end point, which is
+	 * the final bearing when arriving at the end point.
+	 *
+	 * @return the forward azimuth at the end point
+	 */
+	public Degrees getFinalAzimuth() {
+		return _finalAzimuth;
+	}
+
+	/**
+	 * Return the back azimuth of the geodesic, which is the initial bearing
+	 * from the end point back to the start point. It differs by 180 degrees
+	 * from the {@link #getFinalAzimuth()}.
+	 *
+	 * @return the back azimuth at the end point
+	 */
+	public Degrees getBackAzimuth() {
+		final double value = _finalAzimuth.doubleValue();
+		return Degrees.ofDegrees(value < 180 ? value + 180 : value - 180);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 17;
+		hash += 31*Objects.hashCode(_distance) + 37;
+		hash += 31*Objects.hashCode(_azimuth) + 37;
+		hash += 31*Objects.hashCode(_finalAzimuth) + 37;
+		return hash;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj == this ||
+			obj instanceof Geodesic &&
+			Objects.equals(((Geodesic)obj)._distance, _distance) &&
+			Objects.equals(((Geodesic)obj)._azimuth, _azimuth) &&
+			Objects.equals(((Geodesic)obj)._finalAzimuth, _finalAzimuth);
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"Geodesic[distance=%s, azimuth=%s, finalAzimuth=%s]",
+			_distance, _azimuth, _finalAzimuth
+		);
+	}
+
+	/**
+	 * Create a new geodesic object.
+	 *
+	 * @param distance the length of the geodesic
+	 * @param azimuth the forward azimuth at the start point
+	 * @param finalAzimuth the forward azimuth at the end point
+	 * @return a new geodesic object
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static Geodesic of(
+		final Length distance,
+		final Degrees azimuth,
+		final Degrees finalAzimuth
+	) {
+		return new Geodesic(distance, azimuth, finalAzimuth);
+	}
+
+	// Return the azimuth, given in radians within [-PI, PI], in the range of
+	// [0, 360) degrees.
+	static Degrees azimuth(final double radians) {
+		final double degrees = Math.toDegrees(radians);
+		final double value = degrees < 0 ? degrees + 360 : degrees;
+		return Degrees.ofDegrees(value < 360 ? value : 0);
+	}
+
+}
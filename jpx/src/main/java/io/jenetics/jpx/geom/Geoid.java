@@ -19,11 +19,11 @@
  */
 package io.jenetics.jpx.geom;
 
+import static java.lang.Math.PI;
 import static java.lang.Math.abs;
-import static java.lang.Math.asin;
-import static java.lang.Math.atan;
 import static java.lang.Math.atan2;
 import static java.lang.Math.cos;
+import static java.lang.Math.min;
 import static java.lang.Math.sin;
 import static java.lang.Math.sqrt;
 import static java.lang.Math.tan;
@@ -38,16 +38,100 @@ import io.jenetics.jpx.Point;
 
 /**
  * Implementation of <em>geodetic</em> functions.
+ * <p>
+ * The distances are calculated with Vincenty's inverse formula by default,
+ * which is accurate to a fraction of a millimeter but comparatively
+ * expensive. A geoid which uses a cheaper (and less accurate) formula can be
+ * created with the {@link #with(Formula)} and
+ * {@link #adaptive(Length, Formula)} methods. The azimuths of the geodesic
+ * between two points are calculated by the {@link #geodesic(Point, Point)}
+ * method.
+ *
+ * <pre>{@code
+ * // Uses the Andoyer-Lambert formula for all distances.
+ * final Geoid geoid = Geoid.WGS84.with(Geoid.Formula.ANDOYER_LAMBERT);
+ *
+ * // Uses the equirectangular approximation for points less than 1 km apart
+ * // and Vincenty's formula otherwise.
+ * final Geoid adaptive = Geoid.WGS84
+ *     .adaptive(Length.of(1, Unit.KILOMETER), Geoid.Formula.EQUIRECTANGULAR);
+ * }</pre>
  *
  * @see <a href="https://en.wikipedia.org/wiki/Geoid">Wikipedia: Geoid</a>
  * @see Ellipsoid
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.0
+ * @version 1.5
  * @since 1.0
  */
 public final class Geoid {
 
+	/**
+	 * The formulas for calculating the distance between two points.
+	 *
+	 * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+	 * @version 1.5
+	 * @since 1.5
+	 */
+	public enum Formula {
+
+		/**
+		 * Flat-earth approximation, which uses the meridional and the
+		 * prime vertical radius of curvature of the ellipsoid at the mean
+		 * latitude of the two points. No trigonometric function is evaluated
+		 * for a pair of points. The error is below a millimeter for distances
+		 * up to one kilometer, but grows quadratically with the distance.
+		 */
+		EQUIRECTANGULAR,
+
+		/**
+		 * The haversine formula, which calculates the great-circle distance
+		 * on a sphere with the mean radius of the ellipsoid,
+		 * {@code (2a + b)/3}. The relative error is up to 0.6%, caused by the
+		 * spherical earth model.
+		 *
+		 * @see <a href="https://en.wikipedia.org/wiki/Haversine_formula">
+		 *     Haversine formula</a>
+		 */
+		HAVERSINE,
+
+		/**
+		 * Lambert's formula for long lines, which corrects the spherical
+		 * distance of the reduced latitudes for the flattening of the
+		 * ellipsoid. The relative error is in the range of {@code 1e-6},
+		 * about one millimeter per kilometer, and the formula is not
+		 * iterative. The error grows for nearly antipodal points.
+		 *
+		 * @see <a href="https://en.wikipedia.org/wiki/Geographical_distance#Lambert's_formula_for_long_lines">
+		 *     Lambert's formula for long lines</a>
+		 */
+		ANDOYER_LAMBERT,
+
+		/**
+		 * Vincenty's iterative inverse solution, which is accurate to a
+		 * fraction of a millimeter. This is the default formula. For nearly
+		 * antipodal points, where the iteration doesn't converge, the
+		 * distance is calculated with the {@link #KARNEY} formula.
+		 *
+		 * @see <a href="http://www.ngs.noaa.gov/PUBS_LIB/inverse.pdf">DIRECT AND
+		 *               INVERSE SOLUTIONS OF GEODESICS 0 THE ELLIPSOID
+		 *               WITH APPLICATION OF NESTED EQUATIONS</a>
+		 */
+		VINCENTY,
+
+		/**
+		 * Karney's solution of the inverse geodesic problem, which is
+		 * accurate to a few nanometers and converges in a few iterations for
+		 * all pairs of points, including antipodal points. It is about two
+		 * times slower than Vincenty's formula for ordinary points.
+		 *
+		 * @see <a href="https://doi.org/10.1007/s00190-012-0578-z">
+		 *     C. F. F. Karney, Algorithms for geodesics</a>
+		 */
+		KARNEY
+
+	}
+
 	/**
 	 * {@link Geoid} using of the <em>World Geodetic System: WGS 84</em>
 	 *
@@ -78,17 +162,35 @@ public final class Geoid {
 	public static final Geoid DEFAULT = of(Ellipsoid.DEFAULT);
 
 	private final Ellipsoid _ellipsoid;
+	private final Formula _formula;
+
+	// The formula used for points closer than the threshold, if not null.
+	private final Formula _near;
+	private final double _threshold;
+
+	// Major semi-axes of the ellipsoid.
+	private final double A;
 
 	// Minor semi-axes of the ellipsoid.
 	private final double B;
 
+	// Mean radius (2A + B)/3 of the ellipsoid.
+	private final double R;
+
+	// Squared eccentricity of the ellipsoid.
+	private final double E2;
+
 	private final double AABBBB;
 
 	// Flattening (A - B)/A
 	private final double F;
 
-	// The maximal iteration of the 'distance'
-	private static final int DISTANCE_ITERATION_MAX = 1000;
+	// Solver for the points where Vincenty's iteration doesn't converge.
+	private final Karney _karney;
+
+	// The maximal iteration of the 'distance', before falling back to the
+	// Karney solver.
+	private static final int DISTANCE_ITERATION_MAX = 20;
 
 	// The epsilon of the result, when to stop iteration.
 	private static final double DISTANCE_ITERATION_EPSILON = 1E-12;
@@ -97,19 +199,35 @@ public final class Geoid {
 	 * Create a new {@code Geoid} object with the given ellipsoid.
 	 *
 	 * @param ellipsoid the ellipsoid used by the geoid
-	 * @throws NullPointerException if the given {@code ellipsoid} is {@code null}
+	 * @param formula the formula used for calculating the distances
+	 * @param near the formula used for points closer than the given
+	 *        {@code threshold}, may be {@code null}
+	 * @param threshold the threshold distance in meters
+	 * @throws NullPointerException if the given {@code ellipsoid} or
+	 *         {@code formula} is {@code null}
 	 */
-	private Geoid(final Ellipsoid ellipsoid) {
+	private Geoid(
+		final Ellipsoid ellipsoid,
+		final Formula formula,
+		final Formula near,
+		final double threshold
+	) {
 		_ellipsoid = requireNonNull(ellipsoid);
+		_formula = requireNonNull(formula);
+		_near = near;
+		_threshold = threshold;
 
-		final double a = ellipsoid.A();
-		final double aa = a*a;
+		A = ellipsoid.A();
+		final double aa = A*A;
 
 		B = ellipsoid.B();
 		final double bb = B*B;
 
 		AABBBB = (aa - bb)/bb;
 		F = 1.0/ellipsoid.F();
+		R = (2*A + B)/3;
+		E2 = F*(2 - F);
+		_karney = new Karney(A, F);
 	}
 
 	/**
@@ -122,10 +240,79 @@ public final class Geoid {
 	}
 
 	/**
-	 * Calculate the distance between points on an ellipsoidal earth model. This
-	 * method will throw an {@link ArithmeticException} if the algorithm doesn't
-	 * converge while calculating the distance, which is the case for a point
-	 * and its (near) antidote.
+	 * Return the formula used for calculating the distances. If this geoid
+	 * is <em>adaptive</em>, the returned formula is used for points which are
+	 * not closer than the {@link #adaptive(Length, Formula) threshold}.
+	 *
+	 * @since 1.5
+	 *
+	 * @return the formula used for calculating the distances
+	 */
+	public Formula getFormula() {
+		return _formula;
+	}
+
+	/**
+	 * Return a new {@code Geoid} with the same ellipsoid, which uses the
+	 * given {@code formula} for calculating all distances, including the
+	 * distances calculated by the path and tour length methods and
+	 * collectors.
+	 *
+	 * @since 1.5
+	 *
+	 * @param formula the formula used for calculating the distances
+	 * @return a new {@code Geoid} which uses the given distance formula
+	 * @throws NullPointerException if the given {@code formula} is {@code null}
+	 */
+	public Geoid with(final Formula formula) {
+		return new Geoid(_ellipsoid, formula, null, 0);
+	}
+
+	/**
+	 * Return a new <em>adaptive</em> {@code Geoid}, which uses the (cheaper)
+	 * {@code near} formula for points which are closer than the given
+	 * {@code threshold} and the {@link #getFormula()} of {@code this} geoid
+	 * otherwise. The separation of two points is estimated with the
+	 * {@link Formula#EQUIRECTANGULAR} approximation. Since consecutive GPS
+	 * samples are usually only a few meters apart, this allows to use a
+	 * cheap formula for almost all points of a track, without losing
+	 * accuracy.
+	 *
+	 * <pre>{@code
+	 * final Geoid geoid = Geoid.WGS84
+	 *     .adaptive(Length.of(1, Unit.KILOMETER), Geoid.Formula.EQUIRECTANGULAR);
+	 * final Length length = track.segments()
+	 *     .flatMap(TrackSegment::points)
+	 *     .collect(geoid.toPathLength());
+	 * }</pre>
+	 *
+	 * @since 1.5
+	 *
+	 * @param threshold the separation below which the {@code near} formula
+	 *        is used
+	 * @param near the formula used for points closer than the threshold
+	 * @return a new adaptive {@code Geoid}
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code threshold} is negative
+	 *         or not finite
+	 */
+	public Geoid adaptive(final Length threshold, final Formula near) {
+		final double meters = threshold.doubleValue();
+		if (!(meters >= 0 && meters < Double.POSITIVE_INFINITY)) {
+			throw new IllegalArgumentException(format(
+				"Invalid distance threshold: %s.", threshold
+			));
+		}
+
+		return new Geoid(_ellipsoid, _formula, requireNonNull(near), meters);
+	}
+
+	/**
+	 * Calculate the distance between points on an ellipsoidal earth model. The
+	 * distance is calculated with the {@link #getFormula() formula} of this
+	 * geoid, which is Vincenty's formula by default. For a point and its
+	 * (near) antipode, where Vincenty's formula doesn't converge, Karney's
+	 * solution is used instead.
 	 *
 	 * @see <a href="http://www.ngs.noaa.gov/PUBS_LIB/inverse.pdf">DIRECT AND
 	 *               INVERSE SOLUTIONS OF GEODESICS 0 THE ELLIPSOID
@@ -137,30 +324,433 @@ public final class Geoid {
 	 * @param end the end point
 	 * @return the distance between {@code start} and {@code end} in meters
 	 * @throws NullPointerException if one of the points is {@code null}
-	 * @throws ArithmeticException if the algorithm used for calculating the
-	 *         distance between {@code start} and {@code end} didn't converge,
-	 *         which is the case for a point and its (near) antidote.
 	 */
 	public Length distance(final Point start, final Point end) {
+		return pointDistance(start, end, null);
+	}
+
+	/**
+	 * Calculate the distance between points with the given {@code formula},
+	 * independent of the formula this geoid is configured with.
+	 *
+	 * @see Formula
+	 *
+	 * @since 1.5
+	 *
+	 * @param start the start point
+	 * @param end the end point
+	 * @param formula the formula used for calculating the distance
+	 * @return the distance between {@code start} and {@code end} in meters
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public Length distance(
+		final Point start,
+		final Point end,
+		final Formula formula
+	) {
+		return pointDistance(start, end, requireNonNull(formula));
+	}
+
+	private Length pointDistance(
+		final Point start,
+		final Point end,
+		final Formula formula
+	) {
+		return Length.of(meters(start, end, formula), Unit.METER);
+	}
+
+	/**
+	 * Calculate the distance between the given points in meters, without
+	 * creating a {@code Length} object.
+	 *
+	 * @param start the start point
+	 * @param end the end point
+	 * @param formula the formula used for calculating the distance, or
+	 *        {@code null} for the formula of this geoid
+	 * @return the distance between {@code start} and {@code end} in meters
+	 */
+	double meters(
+		final Point start,
+		final Point end,
+		final Formula formula
+	) {
 		final double lat1 = start.getLatitude().toRadians();
 		final double lon1 = start.getLongitude().toRadians();
 		final double lat2 = end.getLatitude().toRadians();
 		final double lon2 = end.getLongitude().toRadians();
 
-		final double omega = lon2 - lon1;
+		final double tan1 = tan(lat1);
+		final double tan2 = tan(lat2);
 
-		final double tanphi1 = tan(lat1);
-		final double tanU1 = (1.0 - F)*tanphi1;
-		final double U1 = atan(tanU1);
-		final double sinU1 = sin(U1);
-		final double cosU1 = cos(U1);
+		return formula != null
+			? distance(formula, lat1, tan1, lon1, lat2, tan2, lon2)
+			: distance(lat1, tan1, lon1, lat2, tan2, lon2);
+	}
 
-		final double tanphi2 = tan(lat2);
-		final double tanU2 = (1.0 - F)*tanphi2;
-		final double U2 = atan(tanU2);
-		final double sinU2 = sin(U2);
-		final double cosU2 = cos(U2);
+	/**
+	 * Calculates the shortest geodesic between the given points, with
+	 * Karney's solution of the inverse geodesic problem. Additionally to
+	 * the distance, the returned geodesic contains the forward azimuth at the
+	 * {@code start} point, the forward azimuth at the {@code end} point and
+	 * the back azimuth, from the {@code end} point to the {@code start}
+	 * point. The calculation converges for all points, including antipodal
+	 * points.
+	 *
+	 * <pre>{@code
+	 * final Geodesic geodesic = Geoid.WGS84.geodesic(start, end);
+	 * final Degrees bearing = geodesic.getAzimuth();
+	 * }</pre>
+	 *
+	 * @see Formula#KARNEY
+	 *
+	 * @since 1.5
+	 *
+	 * @param start the start point
+	 * @param end the end point
+	 * @return the geodesic between {@code start} and {@code end}
+	 * @throws NullPointerException if one of the points is {@code null}
+	 */
+	public Geodesic geodesic(final Point start, final Point end) {
+		final double[] result = new double[3];
+		_karney.inverse(
+			start.getLatitude().toRadians(),
+			start.getLongitude().toRadians(),
+			end.getLatitude().toRadians(),
+			end.getLongitude().toRadians(),
+			result
+		);
 
+		return Geodesic.of(
+			Length.of(result[0], Unit.METER),
+			Geodesic.azimuth(result[1]),
+			Geodesic.azimuth(result[2])
+		);
+	}
+
+	/**
+	 * Calculates the distances between the consecutive points of the path,
+	 * given by the {@code lat} and {@code lon} arrays. The distance between
+	 * the points {@code i} and {@code i + 1} is written to {@code out[i]},
+	 * in meters. The calculated distances are the same as the distances
+	 * returned by {@link #distance(Point, Point)}, but the terms which only
+	 * depend on one point are calculated only once for every point and no
+	 * objects are created.
+	 *
+	 * <pre>{@code
+	 * final double[] lat = ...;
+	 * final double[] lon = ...;
+	 * final double[] distances = new double[lat.length - 1];
+	 * Geoid.WGS84.distances(lat, lon, distances);
+	 * }</pre>
+	 *
+	 * @since 1.5
+	 *
+	 * @param lat the latitudes of the path points, in decimal degrees
+	 * @param lon the longitudes of the path points, in decimal degrees
+	 * @param out the output array of the distances, which must have a length
+	 *        of at least {@code lat.length - 1}
+	 * @throws NullPointerException if one of the arrays is {@code null}
+	 * @throws IllegalArgumentException if the coordinate arrays have different
+	 *         lengths, the output array is too short or one of the coordinates
+	 *         is not within its valid range
+	 */
+	public void distances(
+		final double[] lat,
+		final double[] lon,
+		final double[] out
+	) {
+		checkPath(lat, lon);
+		if (out.length < lat.length - 1) {
+			throw new IllegalArgumentException(format(
+				"Output array too short: %d < %d.",
+				out.length, lat.length - 1
+			));
+		}
+
+		distances(lat, lon, out, null);
+	}
+
+	/**
+	 * Calculates the length of the path, given by the {@code lat} and
+	 * {@code lon} arrays. The returned length is the same as the length
+	 * calculated by the {@link #toPathLength()} collector for the same
+	 * points, but no objects are created per point.
+	 *
+	 * @see #distances(double[], double[], double[])
+	 *
+	 * @since 1.5
+	 *
+	 * @param lat the latitudes of the path points, in decimal degrees
+	 * @param lon the longitudes of the path points, in decimal degrees
+	 * @return the length of the path
+	 * @throws NullPointerException if one of the arrays is {@code null}
+	 * @throws IllegalArgumentException if the coordinate arrays have different
+	 *         lengths or one of the coordinates is not within its valid range
+	 */
+	public Length pathLength(final double[] lat, final double[] lon) {
+		checkPath(lat, lon);
+
+		final DoubleAdder length = new DoubleAdder();
+		distances(lat, lon, null, length);
+
+		return Length.of(length.doubleValue(), Unit.METER);
+	}
+
+	private static void checkPath(final double[] lat, final double[] lon) {
+		if (lat.length != lon.length) {
+			throw new IllegalArgumentException(format(
+				"Latitude and longitude arrays have different lengths: %d != %d.",
+				lat.length, lon.length
+			));
+		}
+	}
+
+	/*
+	 * Calculates the distances between the consecutive points. The distances
+	 * are written to the 'out' array and added to the 'length' adder, if not
+	 * null.
+	 */
+	private void distances(
+		final double[] lat,
+		final double[] lon,
+		final double[] out,
+		final DoubleAdder length
+	) {
+		if (lat.length > 0) {
+			double lat1 = latitude(lat, 0);
+			double tan1 = tan(lat1);
+			double lon1 = longitude(lon, 0);
+
+			for (int i = 1; i < lat.length; ++i) {
+				final double lat2 = latitude(lat, i);
+				final double tan2 = tan(lat2);
+				final double lon2 = longitude(lon, i);
+
+				final double s = distance(lat1, tan1, lon1, lat2, tan2, lon2);
+
+				if (out != null) {
+					out[i - 1] = s;
+				}
+				if (length != null) {
+					length.add(s);
+				}
+
+				lat1 = lat2;
+				tan1 = tan2;
+				lon1 = lon2;
+			}
+		}
+	}
+
+	// Return the latitude, with the given index, in radians.
+	private static double latitude(final double[] lat, final int index) {
+		final double value = lat[index];
+		if (!(value >= -90 && value <= 90)) {
+			throw new IllegalArgumentException(format(
+				"Latitude[%d] = %f is not in range [-90, 90].", index, value
+			));
+		}
+		return Math.toRadians(value);
+	}
+
+	// Return the longitude, with the given index, in radians.
+	private static double longitude(final double[] lon, final int index) {
+		final double value = lon[index];
+		if (!(value >= -180 && value <= 180)) {
+			throw new IllegalArgumentException(format(
+				"Longitude[%d] = %f is not in range [-180, 180].", index, value
+			));
+		}
+		return Math.toRadians(value);
+	}
+
+	// Return cos(atan(tan)) without calculating the angle.
+	private static double cosOf(final double tan) {
+		return 1.0/sqrt(1.0 + tan*tan);
+	}
+
+	// Return sin^2((b - a)/2) for the given sine and cosine values.
+	private static double halfDiffSin2(
+		final double sina,
+		final double cosa,
+		final double sinb,
+		final double cosb
+	) {
+		final double sind = sinb*cosa - cosb*sina;
+		final double cosd = cosa*cosb + sina*sinb;
+
+		// Avoids the cancellation of (1 - cosd)/2 for small differences.
+		return cosd > 0
+			? sind*sind/(2*(1 + cosd))
+			: (1 - cosd)/2;
+	}
+
+	// Return the longitude difference, normalized to [-PI, PI].
+	private static double deltaLon(final double lon1, final double lon2) {
+		final double delta = lon2 - lon1;
+		return delta > PI
+			? delta - 2*PI
+			: delta < -PI ? delta + 2*PI : delta;
+	}
+
+	/*
+	 * Calculates the distance between two points, given by its latitudes,
+	 * tangents of the latitudes and longitudes (in radians), with the
+	 * configured formula(s). Returns the distance in meters.
+	 */
+	private double distance(
+		final double lat1,
+		final double tan1,
+		final double lon1,
+		final double lat2,
+		final double tan2,
+		final double lon2
+	) {
+		if (_near != null) {
+			final double s = equirectangular(lat1, tan1, lon1, lat2, tan2, lon2);
+			if (s < _threshold) {
+				return _near == Formula.EQUIRECTANGULAR
+					? s
+					: distance(_near, lat1, tan1, lon1, lat2, tan2, lon2);
+			}
+		}
+
+		return distance(_formula, lat1, tan1, lon1, lat2, tan2, lon2);
+	}
+
+	private double distance(
+		final Formula formula,
+		final double lat1,
+		final double tan1,
+		final double lon1,
+		final double lat2,
+		final double tan2,
+		final double lon2
+	) {
+		switch (formula) {
+			case EQUIRECTANGULAR:
+				return equirectangular(lat1, tan1, lon1, lat2, tan2, lon2);
+			case HAVERSINE:
+				return haversine(tan1, lon1, tan2, lon2);
+			case ANDOYER_LAMBERT:
+				return andoyerLambert(tan1, lon1, tan2, lon2);
+			case KARNEY:
+				return _karney.distance(lat1, lon1, lat2, lon2);
+			default:
+				final double tanU1 = (1.0 - F)*tan1;
+				final double cosU1 = cosOf(tanU1);
+				final double tanU2 = (1.0 - F)*tan2;
+				final double cosU2 = cosOf(tanU2);
+
+				final double s = distance(
+					tanU1*cosU1, cosU1,
+					tanU2*cosU2, cosU2,
+					lon2 - lon1
+				);
+
+				return s >= 0
+					? s
+					: _karney.distance(lat1, lon1, lat2, lon2);
+		}
+	}
+
+	/*
+	 * Flat-earth approximation with the radii of curvature at the mean
+	 * latitude. The sine of the mean latitude is derived from the tangents
+	 * of the latitudes, without calling trigonometric functions.
+	 */
+	private double equirectangular(
+		final double lat1,
+		final double tan1,
+		final double lon1,
+		final double lat2,
+		final double tan2,
+		final double lon2
+	) {
+		final double cos1 = cosOf(tan1);
+		final double sin1 = tan1*cos1;
+		final double cos2 = cosOf(tan2);
+		final double sin2 = tan2*cos2;
+
+		// sin^2 of the mean latitude: (1 - cos(lat1 + lat2))/2
+		final double sin2m = (1 - (cos1*cos2 - sin1*sin2))/2;
+		final double w = 1 - E2*sin2m;
+
+		// Prime vertical and meridional radius of curvature.
+		final double n = A/sqrt(w);
+		final double m = n*(1 - E2)/w;
+
+		final double dy = m*(lat2 - lat1);
+		final double dx = n*sqrt(1 - sin2m)*deltaLon(lon1, lon2);
+		return sqrt(dx*dx + dy*dy);
+	}
+
+	// Great-circle distance on the sphere with the mean radius.
+	private double haversine(
+		final double tan1,
+		final double lon1,
+		final double tan2,
+		final double lon2
+	) {
+		final double cos1 = cosOf(tan1);
+		final double cos2 = cosOf(tan2);
+		final double sinlon = sin((lon2 - lon1)/2);
+
+		final double h = min(1,
+			halfDiffSin2(tan1*cos1, cos1, tan2*cos2, cos2) +
+				cos1*cos2*sinlon*sinlon);
+
+		return 2*R*atan2(sqrt(h), sqrt(1 - h));
+	}
+
+	// Lambert's formula for long lines, using the reduced latitudes.
+	private double andoyerLambert(
+		final double tan1,
+		final double lon1,
+		final double tan2,
+		final double lon2
+	) {
+		final double tanU1 = (1.0 - F)*tan1;
+		final double cosU1 = cosOf(tanU1);
+		final double sinU1 = tanU1*cosU1;
+		final double tanU2 = (1.0 - F)*tan2;
+		final double cosU2 = cosOf(tanU2);
+		final double sinU2 = tanU2*cosU2;
+		final double sinlon = sin((lon2 - lon1)/2);
+
+		// sin^2 of the half latitude difference Q and the central angle.
+		final double sinQ2 = halfDiffSin2(sinU1, cosU1, sinU2, cosU2);
+		final double h = min(1, sinQ2 + cosU1*cosU2*sinlon*sinlon);
+		if (h == 0) {
+			return 0;
+		}
+
+		final double sigma = 2*atan2(sqrt(h), sqrt(1 - h));
+		final double sinsigma = 2*sqrt(h*(1 - h));
+
+		// sin^2 of the mean latitude P.
+		final double sinP2 = (1 - (cosU1*cosU2 - sinU1*sinU2))/2;
+
+		final double x = h == 1
+			? 0
+			: (sigma - sinsigma)*sinP2*(1 - sinQ2)/(1 - h);
+		final double y = (sigma + sinsigma)*(1 - sinP2)*sinQ2/h;
+
+		return A*(sigma - F/2*(x + y));
+	}
+
+	/*
+	 * Vincenty's inverse solution for the given sine and cosine values of the
+	 * reduced latitudes and the longitude difference. Returns the distance in
+	 * meters or -1, if the iteration didn't converge.
+	 */
+	private double distance(
+		final double sinU1,
+		final double cosU1,
+		final double sinU2,
+		final double cosU2,
+		final double omega
+	) {
 		final double sinU1sinU2 = sinU1*sinU2;
 		final double cosU1sinU2 = cosU1*sinU2;
 		final double sinU1cosU2 = sinU1*cosU2;
@@ -200,9 +790,7 @@ public final class Geoid {
 			final double sinalpha = sin2sigma == 0.0
 				? 0.0
 				: cosU1cosU2*sinlambda/sinsigma;
-			final double alpha = asin(sinalpha);
-			final double cosalpha = cos(alpha);
-			double cos2alpha = cosalpha*cosalpha;
+			final double cos2alpha = 1.0 - sinalpha*sinalpha;
 
 			// Eq. 18 Careful! cos2alpha might be almost 0!
 			final double cos2sigmam = cos2alpha == 0.0
@@ -235,16 +823,11 @@ public final class Geoid {
 			(abs((lambda - lambda0)/lambda) > DISTANCE_ITERATION_EPSILON));
 
 		if (iteration >= DISTANCE_ITERATION_MAX) {
-			throw new ArithmeticException(format(
-				"Calculating distance between %s and %s didn't converge.",
-				start, end
-			));
+			return -1;
 		}
 
 		// Eq. 19
-		final double s = B*a*(sigma - deltasigma);
-
-		return Length.of(s, Unit.METER);
+		return B*a*(sigma - deltasigma);
 	}
 
 	/**
@@ -258,9 +841,14 @@ public final class Geoid {
 	 *     .collect(Geoid.WGSC_84.toPathLength());
 	 * }</pre>
 	 *
-	 * <b>The returned {@code Collector} doesn't work for <em>parallel</em>
-	 * stream. Using it for a <em>parallel</em> point stream will throw an
-	 * {@link UnsupportedOperationException} at runtime.</b>
+	 * The returned {@code Collector} also works for <em>ordered</em>,
+	 * <em>parallel</em> streams, which distributes the (expensive) distance
+	 * calculations to the available cores.
+	 * <pre>{@code
+	 * final List<WayPoint> points = ...;
+	 * final Length length = points.parallelStream()
+	 *     .collect(Geoid.WGS84.toPathLength());
+	 * }</pre>
 	 *
 	 * @see #toTourLength()
 	 *
@@ -287,9 +875,14 @@ public final class Geoid {
 	 *     .collect(Geoid.WGSC_84.toTourLength());
 	 * }</pre>
 	 *
-	 * <b>The returned {@code Collector} doesn't work for <em>parallel</em>
-	 * stream. Using it for a <em>parallel</em> point stream will throw an
-	 * {@link UnsupportedOperationException} at runtime.</b>
+	 * The returned {@code Collector} also works for <em>ordered</em>,
+	 * <em>parallel</em> streams, which distributes the (expensive) distance
+	 * calculations to the available cores.
+	 * <pre>{@code
+	 * final List<WayPoint> points = ...;
+	 * final Length length = points.parallelStream()
+	 *     .collect(Geoid.WGS84.toTourLength());
+	 * }</pre>
 	 *
 	 * @see #toPathLength()
 	 *
@@ -314,7 +907,7 @@ public final class Geoid {
 	 * @throws NullPointerException if the given {@code ellipsoid} is {@code null}
 	 */
 	public static Geoid of(final Ellipsoid ellipsoid) {
-		return new Geoid(ellipsoid);
+		return new Geoid(ellipsoid, Formula.VINCENTY, null, 0);
 	}
 
 }
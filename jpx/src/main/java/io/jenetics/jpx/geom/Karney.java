@@ -0,0 +1,769 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.lang.Math.PI;
+import static java.lang.Math.abs;
+import static java.lang.Math.atan2;
+import static java.lang.Math.cbrt;
+import static java.lang.Math.copySign;
+import static java.lang.Math.cos;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sin;
+import static java.lang.Math.sqrt;
+
+/**
+ * Solution of the inverse geodesic problem, following C. F. F. Karney,
+ * <em>Algorithms for geodesics</em>. In contrast to Vincenty's formula, the
+ * Newton iteration of the solution is started with a good estimate, also for
+ * nearly antipodal points, and falls back to bisection, which guarantees the
+ * convergence in a few iterations for all point pairs. The series expansions
+ * are evaluated up to the sixth order of the flattening, which gives an
+ * accuracy of a few nanometers for the earth ellipsoids.
+ *
+ * @see <a href="https://doi.org/10.1007/s00190-012-0578-z">
+ *     C. F. F. Karney, Algorithms for geodesics, J. Geodesy 87, 43–55 (2013)</a>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class Karney {
+
+	// The order of the series expansions.
+	private static final int ORDER = 6;
+
+	// Maximal Newton iterations and the total iterations, including bisection.
+	private static final int MAXIT1 = 20;
+	private static final int MAXIT2 = MAXIT1 + 53 + 10;
+
+	private static final double TINY = sqrt(Double.MIN_NORMAL);
+	private static final double TOL0 = Math.ulp(1.0);
+	private static final double TOL1 = 200*TOL0;
+	private static final double TOL2 = sqrt(TOL0);
+	private static final double TOLB = TOL0*TOL2;
+	private static final double XTHRESH = 1000*TOL2;
+
+	private final double _a;
+	private final double _b;
+	private final double _f;
+	private final double _f1;
+	private final double _ep2;
+	private final double _n;
+	private final double _etol2;
+
+	// Coefficients of the A3 and C3 series, as polynomials in eps.
+	private final double[] _a3x;
+	private final double[][] _c3x;
+
+	/**
+	 * Create a new solver for the ellipsoid with the given parameters.
+	 *
+	 * @param a the equatorial radius, in meter
+	 * @param f the flattening
+	 */
+	Karney(final double a, final double f) {
+		_a = a;
+		_f = f;
+		_f1 = 1 - f;
+		_b = a*_f1;
+		_ep2 = f*(2 - f)/(_f1*_f1);
+		_n = f/(2 - f);
+		_etol2 = 0.1*TOL2/sqrt(max(0.001, abs(f))*min(1, 1 - f/2)/2);
+
+		final double n = _n;
+		final double nn = n*n;
+		_a3x = new double[] {
+			1,
+			-(1.0/2 - n/2),
+			-(1.0/4 + n/8 - 3*nn/8),
+			-(1.0/16 + 3*n/16 + nn/16),
+			-(3.0/64 + n/32),
+			-3.0/128
+		};
+		_c3x = new double[][] {
+			{},
+			{1.0/4 - n/4, 1.0/8 - nn/8, 3.0/64 + 3*n/64 - nn/64, 5.0/128 + n/64, 3.0/128},
+			{1.0/16 - 3*n/32 + nn/32, 3.0/64 - n/32 - 3*nn/64, 3.0/128 + n/128, 5.0/256},
+			{5.0/192 - 3*n/64 + 5*nn/192, 3.0/128 - 5*n/192, 7.0/512},
+			{7.0/512 - 7*n/256, 7.0/512},
+			{21.0/2560}
+		};
+	}
+
+	/**
+	 * Return the length of the shortest geodesic between the given points.
+	 *
+	 * @param lat1 the latitude of the first point, in radians
+	 * @param lon1 the longitude of the first point, in radians
+	 * @param lat2 the latitude of the second point, in radians
+	 * @param lon2 the longitude of the second point, in radians
+	 * @return the length of the geodesic, in meters
+	 */
+	double distance(
+		final double lat1,
+		final double lon1,
+		final double lat2,
+		final double lon2
+	) {
+		final Inverse inverse = new Inverse();
+		inverse(lat1, lon1, lat2, lon2, inverse);
+		return inverse.s12;
+	}
+
+	/**
+	 * Solves the inverse geodesic problem for the given points.
+	 *
+	 * @param lat1 the latitude of the first point, in radians
+	 * @param lon1 the longitude of the first point, in radians
+	 * @param lat2 the latitude of the second point, in radians
+	 * @param lon2 the longitude of the second point, in radians
+	 * @param result the array which gets the length of the geodesic, in
+	 *        meters, and the forward azimuths at the first and the second
+	 *        point, in radians
+	 */
+	void inverse(
+		final double lat1,
+		final double lon1,
+		final double lat2,
+		final double lon2,
+		final double[] result
+	) {
+		final Inverse inverse = new Inverse();
+		inverse(lat1, lon1, lat2, lon2, inverse);
+		result[0] = inverse.s12;
+		result[1] = inverse.azi1;
+		result[2] = inverse.azi2;
+	}
+
+	/*
+	 * Holds the intermediate results of one inverse calculation. A new
+	 * object is used for every calculation, which makes the solver thread
+	 * safe.
+	 */
+	private static final class Inverse {
+		final double[] c1a = new double[ORDER + 1];
+		final double[] c2a = new double[ORDER + 1];
+		final double[] c3a = new double[ORDER];
+
+		// Result values.
+		double s12;
+		double azi1;
+		double azi2;
+
+		// Output values of the 'lengths' method.
+		double s12b;
+		double m12b;
+
+		// Output values of the 'start' and 'lambda12' methods.
+		double salp1;
+		double calp1;
+		double salp2;
+		double calp2;
+		double dnm;
+		double sig12;
+		double ssig1;
+		double csig1;
+		double ssig2;
+		double csig2;
+		double eps;
+		double dlam12;
+	}
+
+	private void inverse(
+		final double latitude1,
+		final double longitude1,
+		final double latitude2,
+		final double longitude2,
+		final Inverse r
+	) {
+		// Normalize the longitude difference to [0, PI].
+		double lon12 = longitude2 - longitude1;
+		if (lon12 > PI) {
+			lon12 -= 2*PI;
+		} else if (lon12 <= -PI) {
+			lon12 += 2*PI;
+		}
+		int lonsign = lon12 >= 0 ? 1 : -1;
+		lon12 = abs(lon12);
+		final double lon12s = PI - lon12;
+
+		final double lam12 = lon12;
+		final double slam12;
+		final double clam12;
+		if (lon12 > PI/2) {
+			slam12 = sin(lon12s);
+			clam12 = -cos(lon12s);
+		} else {
+			slam12 = sin(lon12);
+			clam12 = cos(lon12);
+		}
+
+		// Swap the points, so that |lat1| >= |lat2|, and make lat1 <= 0.
+		double lat1 = latitude1;
+		double lat2 = latitude2;
+		final int swapp = abs(lat1) < abs(lat2) ? -1 : 1;
+		if (swapp < 0) {
+			lonsign = -lonsign;
+			final double temp = lat1;
+			lat1 = lat2;
+			lat2 = temp;
+		}
+		final int latsign = lat1 < 0 ? 1 : -1;
+		lat1 *= latsign;
+		lat2 *= latsign;
+
+		// Reduced latitudes.
+		double sbet1 = _f1*sin(lat1);
+		double cbet1 = cos(lat1);
+		double norm = hypot(sbet1, cbet1);
+		sbet1 /= norm;
+		cbet1 = max(TINY, cbet1/norm);
+
+		double sbet2 = _f1*sin(lat2);
+		double cbet2 = cos(lat2);
+		norm = hypot(sbet2, cbet2);
+		sbet2 /= norm;
+		cbet2 = max(TINY, cbet2/norm);
+
+		// Make equal latitudes, or latitudes of opposite sign, exactly equal.
+		if (cbet1 < -sbet1) {
+			if (cbet2 == cbet1) {
+				sbet2 = copySign(sbet1, sbet2);
+			}
+		} else {
+			if (abs(sbet2) == -sbet1) {
+				cbet2 = cbet1;
+			}
+		}
+
+		final double dn1 = sqrt(1 + _ep2*sbet1*sbet1);
+		final double dn2 = sqrt(1 + _ep2*sbet2*sbet2);
+
+		double salp1 = 0;
+		double calp1 = 0;
+		double salp2 = 0;
+		double calp2 = 0;
+		double s12x = 0;
+
+		boolean meridian = lat1 == -PI/2 || slam12 == 0;
+		if (meridian) {
+			// Endpoints on a single meridian; the geodesic is the meridian.
+			calp1 = clam12;
+			salp1 = slam12;
+			calp2 = 1;
+			salp2 = 0;
+
+			final double ssig1 = sbet1;
+			final double csig1 = calp1*cbet1;
+			final double ssig2 = sbet2;
+			final double csig2 = calp2*cbet2;
+
+			double sig12 = atan2(
+				max(0, csig1*ssig2 - ssig1*csig2),
+				csig1*csig2 + ssig1*ssig2
+			);
+			lengths(_n, sig12, ssig1, csig1, dn1, ssig2, csig2, dn2, r);
+			double m12x = r.m12b;
+			s12x = r.s12b;
+
+			if (sig12 < 1 || m12x >= 0) {
+				if (sig12 < 3*TINY || (sig12 < TOL0 && (s12x < 0 || m12x < 0))) {
+					sig12 = m12x = s12x = 0;
+				}
+				s12x *= _b;
+			} else {
+				// The meridian isn't the shortest path.
+				meridian = false;
+			}
+		}
+
+		if (!meridian && sbet1 == 0 && (_f <= 0 || lon12s >= _f*PI)) {
+			// Geodesic along the equator.
+			calp1 = calp2 = 0;
+			salp1 = salp2 = 1;
+			s12x = _a*lam12;
+		} else if (!meridian) {
+			final double sig12 = start(
+				sbet1, cbet1, dn1, sbet2, cbet2, dn2,
+				lam12, slam12, clam12, r
+			);
+			salp1 = r.salp1;
+			calp1 = r.calp1;
+
+			if (sig12 >= 0) {
+				// Short lines, where the start solution is accurate enough.
+				salp2 = r.salp2;
+				calp2 = r.calp2;
+				s12x = sig12*_b*r.dnm;
+			} else {
+				// Newton's method, with bisection as fallback.
+				double salp1a = TINY;
+				double calp1a = 1;
+				double salp1b = TINY;
+				double calp1b = -1;
+				boolean tripn = false;
+				boolean tripb = false;
+
+				for (int numit = 0; numit < MAXIT2; ++numit) {
+					final double v = lambda12(
+						sbet1, cbet1, dn1, sbet2, cbet2, dn2,
+						salp1, calp1, slam12, clam12,
+						numit < MAXIT1, r
+					);
+					salp2 = r.salp2;
+					calp2 = r.calp2;
+
+					if (tripb || !(abs(v) >= (tripn ? 8 : 1)*TOL0)) {
+						break;
+					}
+
+					// Update the bracketing values.
+					if (v > 0 && (numit > MAXIT1 || calp1/salp1 > calp1b/salp1b)) {
+						salp1b = salp1;
+						calp1b = calp1;
+					} else if (v < 0 && (numit > MAXIT1 || calp1/salp1 < calp1a/salp1a)) {
+						salp1a = salp1;
+						calp1a = calp1;
+					}
+
+					if (numit < MAXIT1 && r.dlam12 > 0) {
+						final double dalp1 = -v/r.dlam12;
+						if (abs(dalp1) < PI) {
+							final double sdalp1 = sin(dalp1);
+							final double cdalp1 = cos(dalp1);
+							final double nsalp1 = salp1*cdalp1 + calp1*sdalp1;
+							if (nsalp1 > 0) {
+								calp1 = calp1*cdalp1 - salp1*sdalp1;
+								salp1 = nsalp1;
+								norm = hypot(salp1, calp1);
+								salp1 /= norm;
+								calp1 /= norm;
+
+								tripn = abs(v) <= 16*TOL0;
+								continue;
+							}
+						}
+					}
+
+					// Bisection, if Newton's method fails.
+					salp1 = (salp1a + salp1b)/2;
+					calp1 = (calp1a + calp1b)/2;
+					norm = hypot(salp1, calp1);
+					salp1 /= norm;
+					calp1 /= norm;
+					tripn = false;
+					tripb = abs(salp1a - salp1) + (calp1a - calp1) < TOLB ||
+						abs(salp1 - salp1b) + (calp1 - calp1b) < TOLB;
+				}
+
+				lengths(
+					r.eps, r.sig12,
+					r.ssig1, r.csig1, dn1,
+					r.ssig2, r.csig2, dn2,
+					r
+				);
+				s12x = r.s12b*_b;
+			}
+		}
+
+		if (swapp < 0) {
+			double temp = salp1;
+			salp1 = salp2;
+			salp2 = temp;
+			temp = calp1;
+			calp1 = calp2;
+			calp2 = temp;
+		}
+
+		salp1 *= swapp*lonsign;
+		calp1 *= swapp*latsign;
+		salp2 *= swapp*lonsign;
+		calp2 *= swapp*latsign;
+
+		r.s12 = 0 + s12x;
+		r.azi1 = atan2(salp1, calp1);
+		r.azi2 = atan2(salp2, calp2);
+	}
+
+	/*
+	 * Calculates the distance (s12b) and the reduced length (m12b) of the
+	 * geodesic, both divided by b.
+	 */
+	private void lengths(
+		final double eps,
+		final double sig12,
+		final double ssig1,
+		final double csig1,
+		final double dn1,
+		final double ssig2,
+		final double csig2,
+		final double dn2,
+		final Inverse r
+	) {
+		final double[] c1a = r.c1a;
+		final double[] c2a = r.c2a;
+
+		double a1 = a1m1(eps);
+		c1(eps, c1a);
+		double a2 = a2m1(eps);
+		c2(eps, c2a);
+		final double m0x = a1 - a2;
+		a1 = 1 + a1;
+		a2 = 1 + a2;
+
+		final double b1 =
+			sinCosSeries(true, ssig2, csig2, c1a) -
+			sinCosSeries(true, ssig1, csig1, c1a);
+		final double b2 =
+			sinCosSeries(true, ssig2, csig2, c2a) -
+			sinCosSeries(true, ssig1, csig1, c2a);
+		final double j12 = m0x*sig12 + (a1*b1 - a2*b2);
+
+		r.s12b = a1*(sig12 + b1);
+		r.m12b = dn2*(csig1*ssig2) - dn1*(ssig1*csig2) - csig1*csig2*j12;
+	}
+
+	/*
+	 * Calculates the start value of the azimuth for the Newton iteration.
+	 * Returns the arc length sig12, if the start value is accurate enough
+	 * (short lines), or -1 otherwise.
+	 */
+	private double start(
+		final double sbet1,
+		final double cbet1,
+		final double dn1,
+		final double sbet2,
+		final double cbet2,
+		final double dn2,
+		final double lam12,
+		final double slam12,
+		final double clam12,
+		final Inverse r
+	) {
+		double sig12 = -1;
+
+		final double sbet12 = sbet2*cbet1 - cbet2*sbet1;
+		final double cbet12 = cbet2*cbet1 + sbet2*sbet1;
+		final double sbet12a = sbet2*cbet1 + cbet2*sbet1;
+
+		final boolean shortline = cbet12 >= 0 && sbet12 < 0.5 &&
+			cbet2*lam12 < 0.5;
+
+		double somg12;
+		double comg12;
+		if (shortline) {
+			double sbetm2 = (sbet1 + sbet2)*(sbet1 + sbet2);
+			sbetm2 /= sbetm2 + (cbet1 + cbet2)*(cbet1 + cbet2);
+			r.dnm = sqrt(1 + _ep2*sbetm2);
+			final double omg12 = lam12/(_f1*r.dnm);
+			somg12 = sin(omg12);
+			comg12 = cos(omg12);
+		} else {
+			somg12 = slam12;
+			comg12 = clam12;
+		}
+
+		double salp1 = cbet2*somg12;
+		double calp1 = comg12 >= 0
+			? sbet12 + cbet2*sbet1*somg12*somg12/(1 + comg12)
+			: sbet12a - cbet2*sbet1*somg12*somg12/(1 - comg12);
+
+		final double ssig12 = hypot(salp1, calp1);
+		final double csig12 = sbet1*sbet2 + cbet1*cbet2*comg12;
+
+		if (shortline && ssig12 < _etol2) {
+			// Really short lines.
+			double salp2 = cbet1*somg12;
+			double calp2 = sbet12 - cbet1*sbet2*
+				(comg12 >= 0 ? somg12*somg12/(1 + comg12) : 1 - comg12);
+			final double norm = hypot(salp2, calp2);
+			r.salp2 = salp2/norm;
+			r.calp2 = calp2/norm;
+			sig12 = atan2(ssig12, csig12);
+		} else if (abs(_n) > 0.1 ||
+			csig12 >= 0 ||
+			ssig12 >= 6*abs(_n)*PI*cbet1*cbet1)
+		{
+			// The zeroth order spherical approximation is good enough.
+		} else {
+			// Nearly antipodal points: use the solution of the astroid
+			// problem as start value.
+			final double lam12x = atan2(-slam12, -clam12);
+			final double k2 = sbet1*sbet1*_ep2;
+			final double eps = k2/(2*(1 + sqrt(1 + k2)) + k2);
+			final double lamscale = _f*cbet1*a3(eps)*PI;
+			final double betscale = lamscale*cbet1;
+			final double x = lam12x/lamscale;
+			final double y = sbet12a/betscale;
+
+			if (y > -TOL1 && x > -1 - XTHRESH) {
+				salp1 = min(1, -x);
+				calp1 = -sqrt(1 - salp1*salp1);
+			} else {
+				final double k = astroid(x, y);
+				final double omg12a = lamscale*(-x*k/(1 + k));
+				somg12 = sin(omg12a);
+				comg12 = -cos(omg12a);
+				salp1 = cbet2*somg12;
+				calp1 = sbet12a - cbet2*sbet1*somg12*somg12/(1 - comg12);
+			}
+		}
+
+		if (!(salp1 <= 0)) {
+			final double norm = hypot(salp1, calp1);
+			r.salp1 = salp1/norm;
+			r.calp1 = calp1/norm;
+		} else {
+			r.salp1 = 1;
+			r.calp1 = 0;
+		}
+
+		return sig12;
+	}
+
+	/*
+	 * Calculates the longitude difference for the given azimuth at the first
+	 * point, minus the wanted longitude difference. If 'diffp' is true, the
+	 * derivative with respect to the azimuth is calculated as well.
+	 */
+	private double lambda12(
+		final double sbet1,
+		final double cbet1,
+		final double dn1,
+		final double sbet2,
+		final double cbet2,
+		final double dn2,
+		final double salp1,
+		final double calp10,
+		final double slam120,
+		final double clam120,
+		final boolean diffp,
+		final Inverse r
+	) {
+		// Break the degeneracy of the equatorial line.
+		final double calp1 = sbet1 == 0 && calp10 == 0 ? -TINY : calp10;
+
+		final double salp0 = salp1*cbet1;
+		final double calp0 = hypot(calp1, salp1*sbet1);
+
+		double ssig1 = sbet1;
+		final double somg1 = salp0*sbet1;
+		double csig1 = calp1*cbet1;
+		final double comg1 = calp1*cbet1;
+		double norm = hypot(ssig1, csig1);
+		ssig1 /= norm;
+		csig1 /= norm;
+
+		final double salp2 = cbet2 != cbet1 ? salp0/cbet2 : salp1;
+		final double calp2 = cbet2 != cbet1 || abs(sbet2) != -sbet1
+			? sqrt(calp1*cbet1*calp1*cbet1 + (cbet1 < -sbet1
+				? (cbet2 - cbet1)*(cbet1 + cbet2)
+				: (sbet1 - sbet2)*(sbet1 + sbet2)))/cbet2
+			: abs(calp1);
+
+		double ssig2 = sbet2;
+		final double somg2 = salp0*sbet2;
+		double csig2 = calp2*cbet2;
+		final double comg2 = calp2*cbet2;
+		norm = hypot(ssig2, csig2);
+		ssig2 /= norm;
+		csig2 /= norm;
+
+		final double sig12 = atan2(
+			max(0, csig1*ssig2 - ssig1*csig2),
+			csig1*csig2 + ssig1*ssig2
+		);
+
+		final double somg12 = max(0, comg1*somg2 - somg1*comg2);
+		final double comg12 = comg1*comg2 + somg1*somg2;
+		final double eta = atan2(
+			somg12*clam120 - comg12*slam120,
+			comg12*clam120 + somg12*slam120
+		);
+
+		final double k2 = calp0*calp0*_ep2;
+		final double eps = k2/(2*(1 + sqrt(1 + k2)) + k2);
+		c3(eps, r.c3a);
+		final double b312 =
+			sinCosSeries(true, ssig2, csig2, r.c3a) -
+			sinCosSeries(true, ssig1, csig1, r.c3a);
+		final double domg12 = -_f*a3(eps)*salp0*(sig12 + b312);
+		final double lam12 = eta + domg12;
+
+		if (diffp) {
+			if (calp2 == 0) {
+				r.dlam12 = -2*_f1*dn1/sbet1;
+			} else {
+				lengths(eps, sig12, ssig1, csig1, dn1, ssig2, csig2, dn2, r);
+				r.dlam12 = r.m12b*_f1/(calp2*cbet2);
+			}
+		}
+
+		r.salp2 = salp2;
+		r.calp2 = calp2;
+		r.sig12 = sig12;
+		r.ssig1 = ssig1;
+		r.csig1 = csig1;
+		r.ssig2 = ssig2;
+		r.csig2 = csig2;
+		r.eps = eps;
+
+		return lam12;
+	}
+
+	// Solves the astroid equation k^4 + 2k^3 - (x^2 + y^2 - 1)k^2 - 2y^2k - y^2 = 0
+	// for the positive root k.
+	private static double astroid(final double x, final double y) {
+		final double p = x*x;
+		final double q = y*y;
+		final double r = (p + q - 1)/6;
+
+		if (!(q == 0 && r <= 0)) {
+			final double s = p*q/4;
+			final double r2 = r*r;
+			final double r3 = r*r2;
+			final double disc = s*(s + 2*r3);
+
+			double u = r;
+			if (disc >= 0) {
+				double t3 = s + r3;
+				t3 += t3 < 0 ? -sqrt(disc) : sqrt(disc);
+				final double t = cbrt(t3);
+				u += t + (t != 0 ? r2/t : 0);
+			} else {
+				final double ang = atan2(sqrt(-disc), -(s + r3));
+				u += 2*r*cos(ang/3);
+			}
+
+			final double v = sqrt(u*u + q);
+			final double uv = u < 0 ? q/(v - u) : u + v;
+			final double w = (uv - q)/(2*v);
+			return uv/(sqrt(uv + w*w) + w);
+		}
+
+		return 0;
+	}
+
+	/*
+	 * Evaluates the sum c[1]*sin(2x) + c[2]*sin(4x) + ..., if 'sinp' is true,
+	 * with Clenshaw summation.
+	 */
+	private static double sinCosSeries(
+		final boolean sinp,
+		final double sinx,
+		final double cosx,
+		final double[] c
+	) {
+		int k = c.length;
+		int n = k - (sinp ? 1 : 0);
+		final double ar = 2*(cosx - sinx)*(cosx + sinx);
+
+		double y0 = (n & 1) != 0 ? c[--k] : 0;
+		double y1 = 0;
+		n /= 2;
+		while (n-- > 0) {
+			y1 = ar*y0 - y1 + c[--k];
+			y0 = ar*y1 - y0 + c[--k];
+		}
+
+		return sinp
+			? 2*sinx*cosx*y0
+			: cosx*(y0 - y1);
+	}
+
+	// The A1 - 1 coefficient of the distance integral.
+	private static double a1m1(final double eps) {
+		final double eps2 = eps*eps;
+		final double t = eps2*(eps2*(eps2 + 4) + 64)/256;
+		return (t + eps)/(1 - eps);
+	}
+
+	// The C1 coefficients of the distance integral.
+	private static void c1(final double eps, final double[] c) {
+		final double eps2 = eps*eps;
+		double d = eps;
+		c[1] = d*((6 - eps2)*eps2 - 16)/32;
+		d *= eps;
+		c[2] = d*((64 - 9*eps2)*eps2 - 128)/2048;
+		d *= eps;
+		c[3] = d*(9*eps2 - 16)/768;
+		d *= eps;
+		c[4] = d*(3*eps2 - 5)/512;
+		d *= eps;
+		c[5] = -7*d/1280;
+		d *= eps;
+		c[6] = -7*d/2048;
+	}
+
+	// The A2 - 1 coefficient of the reduced length integral.
+	private static double a2m1(final double eps) {
+		final double eps2 = eps*eps;
+		final double t = eps2*(eps2*(25*eps2 + 36) + 64)/256;
+		return t*(1 - eps) - eps;
+	}
+
+	// The C2 coefficients of the reduced length integral.
+	private static void c2(final double eps, final double[] c) {
+		final double eps2 = eps*eps;
+		double d = eps;
+		c[1] = d*(eps2*(eps2 + 2) + 16)/32;
+		d *= eps;
+		c[2] = d*(eps2*(35*eps2 + 64) + 384)/2048;
+		d *= eps;
+		c[3] = d*(15*eps2 + 80)/768;
+		d *= eps;
+		c[4] = d*(7*eps2 + 35)/512;
+		d *= eps;
+		c[5] = 63*d/1280;
+		d *= eps;
+		c[6] = 77*d/2048;
+	}
+
+	// The A3 coefficient of the longitude integral.
+	private double a3(final double eps) {
+		return polyval(_a3x, eps);
+	}
+
+	// The C3 coefficients of the longitude integral.
+	private void c3(final double eps, final double[] c) {
+		double mult = 1;
+		for (int l = 1; l < ORDER; ++l) {
+			mult *= eps;
+			c[l] = mult*polyval(_c3x[l], eps);
+		}
+	}
+
+	// Faster than Math.hypot, without overflow for the (bounded) values used.
+	private static double hypot(final double x, final double y) {
+		return sqrt(x*x + y*y);
+	}
+
+		// Evaluates the polynomial p[0] + p[1]*x + p[2]*x^2 + ...
+	private static double polyval(final double[] p, final double x) {
+		double y = 0;
+		for (int i = p.length; --i >= 0;) {
+			y = y*x + p[i];
+		}
+		return y;
+	}
+
+}
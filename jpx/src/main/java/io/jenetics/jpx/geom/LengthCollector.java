@@ -26,10 +26,12 @@ import io.jenetics.jpx.Length.Unit;
 import io.jenetics.jpx.Point;
 
 /**
- * Helper class for collecting a stream of points to its length.
+ * Helper class for collecting a stream of points to its length. Every
+ * collector keeps the first and the last point of its part of the stream,
+ * which allows to combine the partial results of <em>parallel</em> streams.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.0
+ * @version 1.5
  * @since 1.0
  */
 final class LengthCollector {
@@ -44,8 +46,30 @@ final class LengthCollector {
 		_geoid = requireNonNull(geoid);
 	}
 
+	/**
+	 * Combines the partial path of {@code this} collector with the partial
+	 * path of the {@code other} collector, which must follow {@code this}
+	 * path. The distance between the last point of {@code this} path and the
+	 * first point of the {@code other} path is added to the length.
+	 *
+	 * @since 1.5
+	 *
+	 * @param other the collector of the following path
+	 * @return {@code this} collector, for command chaining
+	 */
 	LengthCollector combine(final LengthCollector other) {
-		throw new UnsupportedOperationException();
+		if (other._first != null) {
+			if (_first == null) {
+				_first = other._first;
+			} else {
+				_length.add(_geoid.distance(_start, other._first).doubleValue());
+			}
+
+			_length.add(other._length);
+			_start = other._start;
+		}
+
+		return this;
 	}
 
 	void add(final Point point) {
@@ -0,0 +1,379 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collector;
+
+import io.jenetics.jpx.Bounds;
+import io.jenetics.jpx.Length;
+import io.jenetics.jpx.Point;
+import io.jenetics.jpx.Speed;
+
+/**
+ * Statistics of a path, given by a stream of points, which are collected in
+ * a single pass. The statistics are created by the {@link #toTrackStatistics()}
+ * collector.
+ *
+ * <pre>{@code
+ * final TrackStatistics statistics = track.segments()
+ *     .flatMap(TrackSegment::points)
+ *     .collect(TrackStatistics.toTrackStatistics());
+ *
+ * System.out.println("Length: " + statistics.getLength() + " m");
+ * System.out.println("Ascent: " + statistics.getAscent() + " m");
+ * }</pre>
+ *
+ * The returned collector also works for <em>ordered</em>, <em>parallel</em>
+ * streams, which distributes the (expensive) distance calculations to the
+ * available cores. All values are returned as primitive {@code double}
+ * values in SI units: lengths and elevations in meters, times in seconds
+ * and speeds in meters per second.
+ *
+ * <p>
+ * The segment between two consecutive points, which both have a time, is
+ * <em>moving</em> if its speed is at least the given moving speed and
+ * <em>stopped</em> otherwise. The speed statistics are calculated from the
+ * moving segments. The ascent and descent are only counted if the elevation
+ * changed by at least the given elevation threshold, compared to the
+ * elevation where the last change has been counted. This filters the
+ * elevation noise of GPS devices. For parallel streams, the threshold is
+ * applied separately to every part of the stream, which can change the
+ * ascent and descent by less than the threshold per part.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+public final class TrackStatistics {
+
+	/**
+	 * The default minimal speed of a moving segment, 0.5 m/s.
+	 */
+	public static final Speed DEFAULT_MOVING_SPEED =
+		Speed.of(0.5, Speed.Unit.METERS_PER_SECOND);
+
+	/**
+	 * The default elevation threshold, 5 m.
+	 */
+	public static final Length DEFAULT_ELEVATION_THRESHOLD =
+		Length.of(5, Length.Unit.METER);
+
+	private final long _pointCount;
+	private final double _length;
+	private final double _duration;
+	private final double _movingTime;
+	private final double _stoppedTime;
+	private final double _minSpeed;
+	private final double _maxSpeed;
+	private final double _averageSpeed;
+	private final double _ascent;
+	private final double _descent;
+	private final double _minElevation;
+	private final double _maxElevation;
+	private final Bounds _bounds;
+
+	TrackStatistics(
+		final long pointCount,
+		final double length,
+		final double duration,
+		final double movingTime,
+		final double stoppedTime,
+		final double minSpeed,
+		final double maxSpeed,
+		final double averageSpeed,
+		final double ascent,
+		final double descent,
+		final double minElevation,
+		final double maxElevation,
+		final Bounds bounds
+	) {
+		_pointCount = pointCount;
+		_length = length;
+		_duration = duration;
+		_movingTime = movingTime;
+		_stoppedTime = stoppedTime;
+		_minSpeed = minSpeed;
+		_maxSpeed = maxSpeed;
+		_averageSpeed = averageSpeed;
+		_ascent = ascent;
+		_descent = descent;
+		_minElevation = minElevation;
+		_maxElevation = maxElevation;
+		_bounds = bounds;
+	}
+
+	/**
+	 * Return the number of points.
+	 *
+	 * @return the number of points
+	 */
+	public long getPointCount() {
+		return _pointCount;
+	}
+
+	/**
+	 * Return the length of the path, in meters.
+	 *
+	 * @return the length of the path, in meters
+	 */
+	public double getLength() {
+		return _length;
+	}
+
+	/**
+	 * Return the time between the first and the last point with time, in
+	 * seconds.
+	 *
+	 * @return the duration of the path, in seconds
+	 */
+	public double getDuration() {
+		return _duration;
+	}
+
+	/**
+	 * Return the summed time of the moving segments, in seconds.
+	 *
+	 * @return the moving time, in seconds
+	 */
+	public double getMovingTime() {
+		return _movingTime;
+	}
+
+	/**
+	 * Return the summed time of the stopped segments, in seconds.
+	 *
+	 * @return the stopped time, in seconds
+	 */
+	public double getStoppedTime() {
+		return _stoppedTime;
+	}
+
+	/**
+	 * Return the minimal speed of the moving segments, in meters per second.
+	 *
+	 * @return the minimal moving speed, in meters per second, or
+	 *         {@link Double#NaN} if there are no moving segments
+	 */
+	public double getMinSpeed() {
+		return _minSpeed;
+	}
+
+	/**
+	 * Return the maximal speed of the moving segments, in meters per second.
+	 *
+	 * @return the maximal moving speed, in meters per second, or
+	 *         {@link Double#NaN} if there are no moving segments
+	 */
+	public double getMaxSpeed() {
+		return _maxSpeed;
+	}
+
+	/**
+	 * Return the average speed of the moving segments, which is the length
+	 * of the moving segments divided by the moving time.
+	 *
+	 * @return the average moving speed, in meters per second, or
+	 *         {@link Double#NaN} if there are no moving segments
+	 */
+	public double getAverageSpeed() {
+		return _averageSpeed;
+	}
+
+	/**
+	 * Return the cumulative ascent, in meters.
+	 *
+	 * @return the cumulative ascent, in meters
+	 */
+	public double getAscent() {
+		return _ascent;
+	}
+
+	/**
+	 * Return the cumulative descent, in meters.
+	 *
+	 * @return the cumulative descent, in meters
+	 */
+	public double getDescent() {
+		return _descent;
+	}
+
+	/**
+	 * Return the minimal elevation, in meters.
+	 *
+	 * @return the minimal elevation, in meters, or {@link Double#NaN} if no
+	 *         point has an elevation
+	 */
+	public double getMinElevation() {
+		return _minElevation;
+	}
+
+	/**
+	 * Return the maximal elevation, in meters.
+	 *
+	 * @return the maximal elevation, in meters, or {@link Double#NaN} if no
+	 *         point has an elevation
+	 */
+	public double getMaxElevation() {
+		return _maxElevation;
+	}
+
+	/**
+	 * Return the bounds of the points.
+	 *
+	 * @return the bounds of the points, or {@code Optional.empty()} if there
+	 *         are no points
+	 */
+	public Optional<Bounds> getBounds() {
+		return Optional.ofNullable(_bounds);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 17;
+		hash += 31*Long.hashCode(_pointCount) + 37;
+		hash += 31*Double.hashCode(_length) + 37;
+		hash += 31*Double.hashCode(_duration) + 37;
+		hash += 31*Double.hashCode(_movingTime) + 37;
+		hash += 31*Double.hashCode(_stoppedTime) + 37;
+		hash += 31*Double.hashCode(_minSpeed) + 37;
+		hash += 31*Double.hashCode(_maxSpeed) + 37;
+		hash += 31*Double.hashCode(_averageSpeed) + 37;
+		hash += 31*Double.hashCode(_ascent) + 37;
+		hash += 31*Double.hashCode(_descent) + 37;
+		hash += 31*Double.hashCode(_minElevation) + 37;
+		hash += 31*Double.hashCode(_maxElevation) + 37;
+		hash += 31*Objects.hashCode(_bounds) + 37;
+		return hash;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof TrackStatistics)) {
+			return false;
+		}
+
+		final TrackStatistics other = (TrackStatistics)obj;
+		return other._pointCount == _pointCount &&
+			Double.compare(other._length, _length) == 0 &&
+			Double.compare(other._duration, _duration) == 0 &&
+			Double.compare(other._movingTime, _movingTime) == 0 &&
+			Double.compare(other._stoppedTime, _stoppedTime) == 0 &&
+			Double.compare(other._minSpeed, _minSpeed) == 0 &&
+			Double.compare(other._maxSpeed, _maxSpeed) == 0 &&
+			Double.compare(other._averageSpeed, _averageSpeed) == 0 &&
+			Double.compare(other._ascent, _ascent) == 0 &&
+			Double.compare(other._descent, _descent) == 0 &&
+			Double.compare(other._minElevation, _minElevation) == 0 &&
+			Double.compare(other._maxElevation, _maxElevation) == 0 &&
+			Objects.equals(other._bounds, _bounds);
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"TrackStatistics[points=%d, length=%.1f m, duration=%.0f s, " +
+			"moving=%.0f s, stopped=%.0f s, speed=[%.2f, %.2f, %.2f] m/s, " +
+			"ascent=%.1f m, descent=%.1f m, elevation=[%.1f, %.1f] m]",
+			_pointCount, _length, _duration, _movingTime, _stoppedTime,
+			_minSpeed, _averageSpeed, _maxSpeed, _ascent, _descent,
+			_minElevation, _maxElevation
+		);
+	}
+
+	/* *************************************************************************
+	 *  Static collector creation methods
+	 * ************************************************************************/
+
+	/**
+	 * Return a collector which calculates the statistics of the path, which
+	 * is defined by the {@code Point} stream. The {@link Geoid#DEFAULT} geoid,
+	 * the {@link #DEFAULT_MOVING_SPEED} and the
+	 * {@link #DEFAULT_ELEVATION_THRESHOLD} are used.
+	 *
+	 * @see #toTrackStatistics(Geoid, Speed, Length)
+	 *
+	 * @return a new track statistics collector
+	 */
+	public static Collector<Point, ?, TrackStatistics> toTrackStatistics() {
+		return toTrackStatistics(
+			Geoid.DEFAULT,
+			DEFAULT_MOVING_SPEED,
+			DEFAULT_ELEVATION_THRESHOLD
+		);
+	}
+
+	/**
+	 * Return a collector which calculates the statistics of the path, which
+	 * is defined by the {@code Point} stream.
+	 *
+	 * <pre>{@code
+	 * final TrackStatistics statistics = points.parallelStream()
+	 *     .collect(TrackStatistics.toTrackStatistics(
+	 *         Geoid.WGS84,
+	 *         Speed.of(1, Speed.Unit.KILOMETERS_PER_HOUR),
+	 *         Length.of(3, Length.Unit.METER)));
+	 * }</pre>
+	 *
+	 * @param geoid the geoid used for the distance calculation
+	 * @param movingSpeed the minimal speed of a moving segment
+	 * @param elevationThreshold the minimal elevation change which is
+	 *        counted as ascent or descent
+	 * @return a new track statistics collector
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the moving speed or the elevation
+	 *         threshold is negative
+	 */
+	public static Collector<Point, ?, TrackStatistics> toTrackStatistics(
+		final Geoid geoid,
+		final Speed movingSpeed,
+		final Length elevationThreshold
+	) {
+		requireNonNull(geoid);
+		final double speed = movingSpeed.doubleValue();
+		final double threshold = elevationThreshold.doubleValue();
+		if (!(speed >= 0)) {
+			throw new IllegalArgumentException(format(
+				"Moving speed must not be negative: %s", movingSpeed
+			));
+		}
+		if (!(threshold >= 0)) {
+			throw new IllegalArgumentException(format(
+				"Elevation threshold must not be negative: %s",
+				elevationThreshold
+			));
+		}
+
+		return Collector.of(
+			() -> new TrackStatisticsCollector(geoid, speed, threshold),
+			TrackStatisticsCollector::add,
+			TrackStatisticsCollector::combine,
+			TrackStatisticsCollector::statistics
+		);
+	}
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import io.jenetics.jpx.Bounds;
+import io.jenetics.jpx.Length;
+import io.jenetics.jpx.Point;
+
+/**
+ * Helper class for collecting a stream of points to its
+ * {@link TrackStatistics}. Like the {@link LengthCollector}, every collector
+ * keeps the first and the last point of its part of the stream, which allows
+ * to combine the partial results of <em>parallel</em> streams. Only
+ * primitive values are accumulated per point.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+final class TrackStatisticsCollector {
+
+	private final Geoid _geoid;
+	private final double _movingSpeed;
+	private final double _elevationThreshold;
+
+	private long _count = 0;
+	private Point _first;
+	private Point _last;
+
+	// Length and speed statistics.
+	private final DoubleAdder _length = new DoubleAdder();
+	private final DoubleAdder _movingLength = new DoubleAdder();
+	private long _movingTime = 0;
+	private long _stoppedTime = 0;
+	private double _minSpeed = Double.POSITIVE_INFINITY;
+	private double _maxSpeed = Double.NEGATIVE_INFINITY;
+
+	// Time of the first and the last point with time, in milliseconds.
+	private boolean _timed = false;
+	private long _firstTime;
+	private long _lastTime;
+
+	// Elevation statistics.
+	private double _firstElevation = Double.NaN;
+	private double _referenceElevation = Double.NaN;
+	private final DoubleAdder _ascent = new DoubleAdder();
+	private final DoubleAdder _descent = new DoubleAdder();
+	private double _minElevation = Double.POSITIVE_INFINITY;
+	private double _maxElevation = Double.NEGATIVE_INFINITY;
+
+	// Bounds.
+	private double _minLatitude = Double.POSITIVE_INFINITY;
+	private double _minLongitude = Double.POSITIVE_INFINITY;
+	private double _maxLatitude = Double.NEGATIVE_INFINITY;
+	private double _maxLongitude = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Create a new statistics collector.
+	 *
+	 * @param geoid the geoid used for the distance calculation
+	 * @param movingSpeed the minimal speed of a moving segment, in m/s
+	 * @param elevationThreshold the minimal elevation change, in meters,
+	 *        which is counted as ascent or descent
+	 */
+	TrackStatisticsCollector(
+		final Geoid geoid,
+		final double movingSpeed,
+		final double elevationThreshold
+	) {
+		_geoid = requireNonNull(geoid);
+		_movingSpeed = movingSpeed;
+		_elevationThreshold = elevationThreshold;
+	}
+
+	void add(final Point point) {
+		requireNonNull(point);
+
+		++_count;
+		if (_first == null) {
+			_first = point;
+		} else {
+			segment(_last, point);
+		}
+		_last = point;
+
+		final double lat = point.getLatitude().doubleValue();
+		final double lon = point.getLongitude().doubleValue();
+		_minLatitude = min(_minLatitude, lat);
+		_minLongitude = min(_minLongitude, lon);
+		_maxLatitude = max(_maxLatitude, lat);
+		_maxLongitude = max(_maxLongitude, lon);
+
+		final Optional<ZonedDateTime> time = point.getTime();
+		if (time.isPresent()) {
+			final long millis = time.get().toInstant().toEpochMilli();
+			if (!_timed) {
+				_timed = true;
+				_firstTime = millis;
+			}
+			_lastTime = millis;
+		}
+
+		final Optional<Length> elevation = point.getElevation();
+		if (elevation.isPresent()) {
+			final double ele = elevation.get().doubleValue();
+			_minElevation = min(_minElevation, ele);
+			_maxElevation = max(_maxElevation, ele);
+
+			if (Double.isNaN(_firstElevation)) {
+				_firstElevation = ele;
+				_referenceElevation = ele;
+			} else {
+				elevation(ele);
+			}
+		}
+	}
+
+	/**
+	 * Adds the segment between the two consecutive points.
+	 */
+	private void segment(final Point start, final Point end) {
+		final double distance = _geoid.meters(start, end, null);
+		_length.add(distance);
+
+		final Optional<ZonedDateTime> t1 = start.getTime();
+		final Optional<ZonedDateTime> t2 = end.getTime();
+		if (t1.isPresent() && t2.isPresent()) {
+			final long dt = t2.get().toInstant().toEpochMilli() -
+				t1.get().toInstant().toEpochMilli();
+
+			if (dt > 0) {
+				final double speed = distance/(dt/1000.0);
+				if (speed >= _movingSpeed) {
+					_movingLength.add(distance);
+					_movingTime += dt;
+					_minSpeed = min(_minSpeed, speed);
+					_maxSpeed = max(_maxSpeed, speed);
+				} else {
+					_stoppedTime += dt;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the elevation of the next point. The elevation change is only
+	 * counted, if it differs from the reference elevation by at least the
+	 * elevation threshold.
+	 */
+	private void elevation(final double ele) {
+		final double diff = ele - _referenceElevation;
+		if (abs(diff) >= _elevationThreshold) {
+			if (diff > 0) {
+				_ascent.add(diff);
+			} else {
+				_descent.add(-diff);
+			}
+			_referenceElevation = ele;
+		}
+	}
+
+	/**
+	 * Combines the partial statistics of {@code this} collector with the
+	 * partial statistics of the {@code other} collector, which must follow
+	 * {@code this} path. The segment between the last point of {@code this}
+	 * path and the first point of the {@code other} path is added. The
+	 * elevation changes of the {@code other} path are measured relative to
+	 * its first elevation, so the elevation threshold is applied separately
+	 * to both parts.
+	 *
+	 * @param other the collector of the following path
+	 * @return {@code this} collector, for command chaining
+	 */
+	TrackStatisticsCollector combine(final TrackStatisticsCollector other) {
+		if (other._first == null) {
+			return this;
+		}
+		if (_first == null) {
+			_first = other._first;
+		} else {
+			segment(_last, other._first);
+		}
+		_last = other._last;
+		_count += other._count;
+
+		_length.add(other._length);
+		_movingLength.add(other._movingLength);
+		_movingTime += other._movingTime;
+		_stoppedTime += other._stoppedTime;
+		_minSpeed = min(_minSpeed, other._minSpeed);
+		_maxSpeed = max(_maxSpeed, other._maxSpeed);
+
+		if (other._timed) {
+			if (!_timed) {
+				_timed = true;
+				_firstTime = other._firstTime;
+			}
+			_lastTime = other._lastTime;
+		}
+
+		if (!Double.isNaN(other._firstElevation)) {
+			if (Double.isNaN(_firstElevation)) {
+				_firstElevation = other._firstElevation;
+			} else {
+				elevation(other._firstElevation);
+			}
+			_referenceElevation = other._referenceElevation;
+			_ascent.add(other._ascent);
+			_descent.add(other._descent);
+		}
+		_minElevation = min(_minElevation, other._minElevation);
+		_maxElevation = max(_maxElevation, other._maxElevation);
+
+		_minLatitude = min(_minLatitude, other._minLatitude);
+		_minLongitude = min(_minLongitude, other._minLongitude);
+		_maxLatitude = max(_maxLatitude, other._maxLatitude);
+		_maxLongitude = max(_maxLongitude, other._maxLongitude);
+
+		return this;
+	}
+
+	TrackStatistics statistics() {
+		final double movingTime = _movingTime/1000.0;
+		return new TrackStatistics(
+			_count,
+			_length.doubleValue(),
+			_timed ? (_lastTime - _firstTime)/1000.0 : 0,
+			movingTime,
+			_stoppedTime/1000.0,
+			_movingTime > 0 ? _minSpeed : Double.NaN,
+			_movingTime > 0 ? _maxSpeed : Double.NaN,
+			_movingTime > 0
+				? _movingLength.doubleValue()/movingTime
+				: Double.NaN,
+			_ascent.doubleValue(),
+			_descent.doubleValue(),
+			Double.isNaN(_firstElevation) ? Double.NaN : _minElevation,
+			Double.isNaN(_firstElevation) ? Double.NaN : _maxElevation,
+			_count > 0
+				? Bounds.of(_minLatitude, _minLongitude, _maxLatitude, _maxLongitude)
+				: null
+		);
+	}
+
+}
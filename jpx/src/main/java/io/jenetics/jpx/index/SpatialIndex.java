@@ -0,0 +1,674 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.index;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.ceil;
+import static java.lang.Math.cos;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.lang.Math.toDegrees;
+import static java.lang.Math.toRadians;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import io.jenetics.jpx.Bounds;
+import io.jenetics.jpx.GPX;
+import io.jenetics.jpx.Length;
+import io.jenetics.jpx.Length.Unit;
+import io.jenetics.jpx.Point;
+import io.jenetics.jpx.Route;
+import io.jenetics.jpx.Track;
+import io.jenetics.jpx.TrackSegment;
+import io.jenetics.jpx.WayPoint;
+import io.jenetics.jpx.geom.Ellipsoid;
+import io.jenetics.jpx.geom.Geoid;
+
+/**
+ * Immutable spatial index of values with one or more geographic points, like
+ * way-points or tracks. The index is a static R-tree, which is packed with
+ * the <em>Sort-Tile-Recursive</em> (STR) algorithm and stores the point
+ * coordinates in primitive arrays. The index is built in parallel.
+ *
+ * <pre>{@code
+ * // Index of all way-points, route-points and track-points of a GPX file.
+ * final SpatialIndex<WayPoint> points = SpatialIndex.of(gpx);
+ * final List<WayPoint> inside = points.within(bounds)
+ *     .collect(Collectors.toList());
+ *
+ * // Which tracks pass within 200 m of a given point?
+ * final SpatialIndex<Track> tracks = SpatialIndex.of(
+ *     gpx.getTracks(),
+ *     track -> track.segments().flatMap(TrackSegment::points)
+ * );
+ * final List<Track> near = tracks
+ *     .within(point, Length.of(200, Unit.METER))
+ *     .collect(Collectors.toList());
+ * }</pre>
+ *
+ * The distances of the radius and nearest-neighbour queries are calculated
+ * with the {@link Geoid#DEFAULT} geoid. A value is part of the result of a
+ * query if at least one of its points satisfies the query. Every value is
+ * returned at most once.
+ *
+ * @param <T> the type of the indexed values
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+public final class SpatialIndex<T> {
+
+	// The maximal number of entries of a tree node.
+	private static final int NODE_SIZE = 16;
+
+	private static final Geoid GEOID = Geoid.DEFAULT;
+
+	// Lower bounds of the radius of curvature in meridian and of the
+	// radius of the circle of latitude (divided by the cosine of the
+	// latitude), slightly reduced, to be on the safe side.
+	private static final double MERIDIAN_RADIUS;
+	private static final double PARALLEL_RADIUS;
+	static {
+		final Ellipsoid ellipsoid = GEOID.getEllipsoid();
+		final double f = 1.0/ellipsoid.F();
+		final double e2 = f*(2 - f);
+		MERIDIAN_RADIUS = ellipsoid.A()*(1 - e2)*(1 - 1e-9);
+		PARALLEL_RADIUS = ellipsoid.A()*(1 - 1e-9);
+	}
+
+	private final List<T> _values;
+
+	// The coordinates of the entries, in STR order, and the index of the
+	// value they belong to.
+	private final double[] _lat;
+	private final double[] _lon;
+	private final int[] _items;
+
+	// The node bounding boxes. Level zero contains the leaf nodes, the last
+	// level the root node. The node 'i' of a level contains the entries, or
+	// nodes of the level below, [i*NODE_SIZE, (i + 1)*NODE_SIZE).
+	private final double[][] _minLat;
+	private final double[][] _maxLat;
+	private final double[][] _minLon;
+	private final double[][] _maxLon;
+
+	private SpatialIndex(
+		final List<T> values,
+		final double[] lat,
+		final double[] lon,
+		final int[] items
+	) {
+		_values = values;
+		_lat = lat;
+		_lon = lon;
+		_items = items;
+
+		final List<double[][]> levels = new ArrayList<>();
+		int size = lat.length;
+		double[][] level = leaves();
+		levels.add(level);
+		while ((size = nodes(size)) > 1) {
+			level = parents(level);
+			levels.add(level);
+		}
+
+		_minLat = new double[levels.size()][];
+		_maxLat = new double[levels.size()][];
+		_minLon = new double[levels.size()][];
+		_maxLon = new double[levels.size()][];
+		for (int i = 0; i < levels.size(); ++i) {
+			_minLat[i] = levels.get(i)[0];
+			_maxLat[i] = levels.get(i)[1];
+			_minLon[i] = levels.get(i)[2];
+			_maxLon[i] = levels.get(i)[3];
+		}
+	}
+
+	private static int nodes(final int size) {
+		return (size + NODE_SIZE - 1)/NODE_SIZE;
+	}
+
+	private double[][] leaves() {
+		final int nodes = nodes(_lat.length);
+		final double[][] boxes = new double[4][nodes];
+		IntStream.range(0, nodes).parallel().forEach(node -> {
+			final int from = node*NODE_SIZE;
+			final int to = min(from + NODE_SIZE, _lat.length);
+
+			double minLat = Double.POSITIVE_INFINITY;
+			double maxLat = Double.NEGATIVE_INFINITY;
+			double minLon = Double.POSITIVE_INFINITY;
+			double maxLon = Double.NEGATIVE_INFINITY;
+			for (int i = from; i < to; ++i) {
+				minLat = min(minLat, _lat[i]);
+				maxLat = max(maxLat, _lat[i]);
+				minLon = min(minLon, _lon[i]);
+				maxLon = max(maxLon, _lon[i]);
+			}
+			boxes[0][node] = minLat;
+			boxes[1][node] = maxLat;
+			boxes[2][node] = minLon;
+			boxes[3][node] = maxLon;
+		});
+
+		return boxes;
+	}
+
+	private static double[][] parents(final double[][] children) {
+		final int size = children[0].length;
+		final int nodes = nodes(size);
+		final double[][] boxes = new double[4][nodes];
+		for (int node = 0; node < nodes; ++node) {
+			final int from = node*NODE_SIZE;
+			final int to = min(from + NODE_SIZE, size);
+
+			double minLat = Double.POSITIVE_INFINITY;
+			double maxLat = Double.NEGATIVE_INFINITY;
+			double minLon = Double.POSITIVE_INFINITY;
+			double maxLon = Double.NEGATIVE_INFINITY;
+			for (int i = from; i < to; ++i) {
+				minLat = min(minLat, children[0][i]);
+				maxLat = max(maxLat, children[1][i]);
+				minLon = min(minLon, children[2][i]);
+				maxLon = max(maxLon, children[3][i]);
+			}
+			boxes[0][node] = minLat;
+			boxes[1][node] = maxLat;
+			boxes[2][node] = minLon;
+			boxes[3][node] = maxLon;
+		}
+
+		return boxes;
+	}
+
+	/**
+	 * Return the indexed values.
+	 *
+	 * @return the indexed values
+	 */
+	public List<T> getValues() {
+		return _values;
+	}
+
+	/**
+	 * Return the number of indexed points.
+	 *
+	 * @return the number of indexed points
+	 */
+	public int size() {
+		return _lat.length;
+	}
+
+	/**
+	 * Return {@code true} if the index contains no points.
+	 *
+	 * @return {@code true} if the index contains no points, {@code false}
+	 *         otherwise
+	 */
+	public boolean isEmpty() {
+		return _lat.length == 0;
+	}
+
+	/**
+	 * Return the values with at least one point within the given
+	 * {@code bounds}, including the border. If the minimum longitude of the
+	 * bounds is greater than the maximum longitude, the bounds are crossing
+	 * the antimeridian.
+	 *
+	 * @param bounds the query bounds
+	 * @return the values with at least one point within the given bounds, in
+	 *         the order of the indexed values
+	 * @throws NullPointerException if the given {@code bounds} is {@code null}
+	 */
+	public Stream<T> within(final Bounds bounds) {
+		final double minLat = bounds.getMinLatitude().doubleValue();
+		final double maxLat = bounds.getMaxLatitude().doubleValue();
+		final double minLon = bounds.getMinLongitude().doubleValue();
+		final double maxLon = bounds.getMaxLongitude().doubleValue();
+
+		final BitSet result = new BitSet(_values.size());
+		if (minLon <= maxLon) {
+			search(minLat, maxLat, minLon, maxLon, i -> result.set(_items[i]));
+		} else {
+			search(minLat, maxLat, minLon, 180, i -> result.set(_items[i]));
+			search(minLat, maxLat, -180, maxLon, i -> result.set(_items[i]));
+		}
+
+		return result.stream().mapToObj(_values::get);
+	}
+
+	/**
+	 * Return the values with at least one point within the given
+	 * {@code radius} around the {@code center} point.
+	 *
+	 * @param center the center of the query circle
+	 * @param radius the radius of the query circle
+	 * @return the values with at least one point within the given radius, in
+	 *         the order of the indexed values
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the radius is negative
+	 */
+	public Stream<T> within(final Point center, final Length radius) {
+		final double r = radius.to(Unit.METER);
+		if (!(r >= 0)) {
+			throw new IllegalArgumentException(format(
+				"Radius must not be negative: %s.", radius
+			));
+		}
+
+		final BitSet result = new BitSet(_values.size());
+		circle(center, r, (i, distance) -> result.set(_items[i]));
+		return result.stream().mapToObj(_values::get);
+	}
+
+	/**
+	 * Return the {@code k} values which are nearest to the given
+	 * {@code point}. The distance of a value is the distance of its nearest
+	 * point.
+	 *
+	 * @param point the query point
+	 * @param k the maximal number of returned values
+	 * @return the {@code k} nearest values, sorted by their distance. If the
+	 *         index contains less than {@code k} values, all values are
+	 *         returned.
+	 * @throws NullPointerException if the given {@code point} is {@code null}
+	 * @throws IllegalArgumentException if {@code k} is smaller than one
+	 */
+	public List<T> nearest(final Point point, final int k) {
+		requireNonNull(point);
+		if (k < 1) {
+			throw new IllegalArgumentException(format(
+				"k must be greater than zero: %d.", k
+			));
+		}
+		if (isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		// Find k candidate values with a cheap, approximate best-first search.
+		// The distance of the k-th candidate is the radius of the exact
+		// query, which contains all k nearest values.
+		final int[] candidates = candidates(
+			point.getLatitude().doubleValue(),
+			point.getLongitude().doubleValue(),
+			k
+		);
+		double max = 0;
+		for (int i : candidates) {
+			max = max(max, distance(point, i));
+		}
+		final double radius = max;
+
+		final Map<Integer, Double> distances = new HashMap<>();
+		circle(point, radius, (i, distance) ->
+			distances.merge(_items[i], distance, Math::min));
+
+		return distances.entrySet().stream()
+			.sorted(Map.Entry.<Integer, Double>comparingByValue()
+				.thenComparing(Map.Entry.comparingByKey()))
+			.limit(k)
+			.map(e -> _values.get(e.getKey()))
+			.collect(Collectors.toList());
+	}
+
+	private double distance(final Point point, final int entry) {
+		return GEOID.distance(point, WayPoint.of(_lat[entry], _lon[entry]))
+			.doubleValue();
+	}
+
+	/**
+	 * Return the entries of (at most) {@code k} distinct values, which are
+	 * near the given point. The nodes are visited in the order of their
+	 * equirectangular distance.
+	 */
+	private int[] candidates(final double lat, final double lon, final int k) {
+		final PriorityQueue<double[]> queue = new PriorityQueue<>(
+			Comparator.comparingDouble(a -> a[0])
+		);
+		final int root = _minLat.length - 1;
+		queue.add(new double[]{0, root, 0});
+
+		final BitSet values = new BitSet(_values.size());
+		final int[] result = new int[k];
+		int count = 0;
+		while (!queue.isEmpty() && count < k) {
+			final double[] node = queue.poll();
+			final int level = (int)node[1];
+			final int index = (int)node[2];
+
+			if (level < 0) {
+				if (!values.get(_items[index])) {
+					values.set(_items[index]);
+					result[count++] = index;
+				}
+			} else {
+				final int from = index*NODE_SIZE;
+				final int to = min(
+					from + NODE_SIZE,
+					level == 0 ? _lat.length : _minLat[level - 1].length
+				);
+				for (int i = from; i < to; ++i) {
+					final double distance = level == 0
+						? approximate(lat, lon, _lat[i], _lat[i], _lon[i], _lon[i])
+						: approximate(
+							lat, lon,
+							_minLat[level - 1][i], _maxLat[level - 1][i],
+							_minLon[level - 1][i], _maxLon[level - 1][i]
+						);
+					queue.add(new double[]{distance, level - 1, i});
+				}
+			}
+		}
+
+		return Arrays.copyOf(result, count);
+	}
+
+	// Equirectangular distance, in degrees, between a point and a box.
+	private static double approximate(
+		final double lat,
+		final double lon,
+		final double minLat,
+		final double maxLat,
+		final double minLon,
+		final double maxLon
+	) {
+		final double dlat = lat < minLat
+			? minLat - lat
+			: lat > maxLat ? lat - maxLat : 0;
+		double dlon = lon < minLon
+			? minLon - lon
+			: lon > maxLon ? lon - maxLon : 0;
+		dlon = min(dlon, 360 - dlon)*cos(toRadians(lat));
+
+		return dlat*dlat + dlon*dlon;
+	}
+
+	@FunctionalInterface
+	private interface EntryConsumer {
+		void accept(final int entry);
+	}
+
+	@FunctionalInterface
+	private interface DistanceConsumer {
+		void accept(final int entry, final double distance);
+	}
+
+	/**
+	 * Calls the consumer for all entries within the given distance, in
+	 * meters, around the given center.
+	 */
+	private void circle(
+		final Point center,
+		final double radius,
+		final DistanceConsumer consumer
+	) {
+		final double lat = center.getLatitude().doubleValue();
+		final double lon = center.getLongitude().doubleValue();
+
+		// Every path, which is shorter than the radius, lies within this box.
+		final double dlat = toDegrees(radius/MERIDIAN_RADIUS);
+		final double minLat = max(lat - dlat, -90);
+		final double maxLat = min(lat + dlat, 90);
+		final double maxAbsLat = max(abs(minLat), abs(maxLat));
+		final double dlon = maxAbsLat < 90
+			? toDegrees(radius/(PARALLEL_RADIUS*cos(toRadians(maxAbsLat))))
+			: Double.POSITIVE_INFINITY;
+
+		final EntryConsumer refine = i -> {
+			final double distance = distance(center, i);
+			if (distance <= radius) {
+				consumer.accept(i, distance);
+			}
+		};
+
+		if (dlon >= 180) {
+			search(minLat, maxLat, -180, 180, refine);
+		} else if (lon - dlon < -180) {
+			search(minLat, maxLat, -180, lon + dlon, refine);
+			search(minLat, maxLat, lon - dlon + 360, 180, refine);
+		} else if (lon + dlon > 180) {
+			search(minLat, maxLat, lon - dlon, 180, refine);
+			search(minLat, maxLat, -180, lon + dlon - 360, refine);
+		} else {
+			search(minLat, maxLat, lon - dlon, lon + dlon, refine);
+		}
+	}
+
+	/**
+	 * Calls the consumer for all entries within the given box.
+	 */
+	private void search(
+		final double minLat,
+		final double maxLat,
+		final double minLon,
+		final double maxLon,
+		final EntryConsumer consumer
+	) {
+		if (isEmpty()) {
+			return;
+		}
+
+		// Stack of (level, node) pairs.
+		final int[] stack = new int[2*NODE_SIZE*_minLat.length + 2];
+		int top = 0;
+		stack[top++] = _minLat.length - 1;
+		stack[top++] = 0;
+
+		while (top > 0) {
+			final int node = stack[--top];
+			final int level = stack[--top];
+
+			if (_minLat[level][node] <= maxLat && _maxLat[level][node] >= minLat &&
+				_minLon[level][node] <= maxLon && _maxLon[level][node] >= minLon)
+			{
+				final int from = node*NODE_SIZE;
+				if (level == 0) {
+					final int to = min(from + NODE_SIZE, _lat.length);
+					for (int i = from; i < to; ++i) {
+						if (_lat[i] >= minLat && _lat[i] <= maxLat &&
+							_lon[i] >= minLon && _lon[i] <= maxLon)
+						{
+							consumer.accept(i);
+						}
+					}
+				} else {
+					final int to = min(from + NODE_SIZE, _minLat[level - 1].length);
+					for (int i = from; i < to; ++i) {
+						stack[top++] = level - 1;
+						stack[top++] = i;
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"SpatialIndex[values=%d, points=%d, height=%d]",
+			_values.size(), _lat.length, _minLat.length
+		);
+	}
+
+
+	/* *************************************************************************
+	 *  Static object creation methods
+	 * ************************************************************************/
+
+	/**
+	 * Create a new spatial index for the given {@code values}. The
+	 * {@code points} function returns the points of a value.
+	 *
+	 * @param values the values to index
+	 * @param points the function, which returns the points of a value
+	 * @param <T> the value type
+	 * @return a new spatial index
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <T> SpatialIndex<T> of(
+		final Collection<? extends T> values,
+		final Function<? super T, ? extends Stream<? extends Point>> points
+	) {
+		requireNonNull(points);
+
+		final List<T> list = new ArrayList<>(values);
+		final double[][] coordinates = IntStream.range(0, list.size())
+			.parallel()
+			.mapToObj(i -> coordinates(points.apply(list.get(i))))
+			.toArray(double[][]::new);
+
+		int size = 0;
+		for (double[] c : coordinates) {
+			size += c.length/2;
+		}
+
+		final double[] lat = new double[size];
+		final double[] lon = new double[size];
+		final int[] items = new int[size];
+		for (int i = 0, offset = 0; i < coordinates.length; ++i) {
+			final double[] c = coordinates[i];
+			for (int j = 0; j < c.length; j += 2) {
+				lat[offset] = c[j];
+				lon[offset] = c[j + 1];
+				items[offset] = i;
+				++offset;
+			}
+		}
+
+		return of(list, lat, lon, items);
+	}
+
+	private static double[] coordinates(final Stream<? extends Point> points) {
+		return points
+			.flatMapToDouble(p -> Stream.of(p.getLatitude(), p.getLongitude())
+				.mapToDouble(Number::doubleValue))
+			.toArray();
+	}
+
+	/**
+	 * Create a new spatial index for the given way-points.
+	 *
+	 * @param points the way-points to index
+	 * @return a new spatial index
+	 * @throws NullPointerException if the given {@code points} stream is
+	 *         {@code null}
+	 */
+	public static SpatialIndex<WayPoint> of(
+		final Stream<? extends WayPoint> points
+	) {
+		final List<WayPoint> values = points.collect(Collectors.toList());
+		final double[] lat = new double[values.size()];
+		final double[] lon = new double[values.size()];
+		final int[] items = new int[values.size()];
+		IntStream.range(0, values.size()).parallel().forEach(i -> {
+			lat[i] = values.get(i).getLatitude().doubleValue();
+			lon[i] = values.get(i).getLongitude().doubleValue();
+			items[i] = i;
+		});
+
+		return of(values, lat, lon, items);
+	}
+
+	/**
+	 * Create a new spatial index for all way-points, route-points and
+	 * track-points of the given {@code gpx} object.
+	 *
+	 * @param gpx the GPX object to index
+	 * @return a new spatial index
+	 * @throws NullPointerException if the given {@code gpx} is {@code null}
+	 */
+	public static SpatialIndex<WayPoint> of(final GPX gpx) {
+		return of(Stream.of(
+			gpx.wayPoints(),
+			gpx.routes().flatMap(Route::points),
+			gpx.tracks()
+				.flatMap(Track::segments)
+				.flatMap(TrackSegment::points)
+		).flatMap(Function.identity()));
+	}
+
+	/**
+	 * Sorts the entries with the Sort-Tile-Recursive algorithm: the entries
+	 * are sorted by longitude, divided into vertical slices and, within every
+	 * slice, sorted by latitude.
+	 */
+	private static <T> SpatialIndex<T> of(
+		final List<T> values,
+		final double[] lat,
+		final double[] lon,
+		final int[] items
+	) {
+		final int size = lat.length;
+		final int slices = max((int)ceil(sqrt(nodes(size))), 1);
+		final int sliceSize = slices*NODE_SIZE;
+
+		// Sort keys: the quantized coordinate in the upper and the entry
+		// index in the lower 32 bits.
+		final long[] keys = new long[size];
+		IntStream.range(0, size).parallel()
+			.forEach(i -> keys[i] = key(lon[i] + 180, 360, i));
+		Arrays.parallelSort(keys);
+
+		IntStream.range(0, (size + sliceSize - 1)/sliceSize).parallel()
+			.forEach(slice -> {
+				final int from = slice*sliceSize;
+				final int to = min(from + sliceSize, size);
+				for (int i = from; i < to; ++i) {
+					final int entry = (int)keys[i];
+					keys[i] = key(lat[entry] + 90, 180, entry);
+				}
+				Arrays.sort(keys, from, to);
+			});
+
+		final double[] sortedLat = new double[size];
+		final double[] sortedLon = new double[size];
+		final int[] sortedItems = new int[size];
+		IntStream.range(0, size).parallel().forEach(i -> {
+			final int entry = (int)keys[i];
+			sortedLat[i] = lat[entry];
+			sortedLon[i] = lon[entry];
+			sortedItems[i] = items[entry];
+		});
+
+		return new SpatialIndex<>(values, sortedLat, sortedLon, sortedItems);
+	}
+
+	private static long key(final double value, final double range, final int index) {
+		final long quantized = (long)(value/range*Integer.MAX_VALUE);
+		return quantized << 32 | index;
+	}
+
+}
@@ -0,0 +1,427 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.index;
+
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import io.jenetics.jpx.GPX;
+import io.jenetics.jpx.Track;
+import io.jenetics.jpx.TrackSegment;
+import io.jenetics.jpx.WayPoint;
+
+/**
+ * Immutable index for time-range queries over the points of tracks. The
+ * times of the track points are stored as sorted epoch milliseconds for
+ * every segment, and the time intervals of the segments are organized in an
+ * interval tree.
+ *
+ * <pre>{@code
+ * final TemporalIndex index = TemporalIndex.of(gpx);
+ * final List<WayPoint> points = index
+ *     .between(Instant.parse("2018-06-01T10:00:00Z"),
+ *              Instant.parse("2018-06-01T10:05:00Z"))
+ *     .flatMap(slice -> slice.getPoints().stream())
+ *     .collect(Collectors.toList());
+ * }</pre>
+ *
+ * Points without time are not indexed, but they are part of a returned
+ * {@link Slice} if they lie between two matching points. If the times of a
+ * segment are not ascending, the segment is split into ascending runs, which
+ * are indexed separately.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 1.5
+ * @since 1.5
+ */
+public final class TemporalIndex {
+
+	/**
+	 * A contiguous part of a track segment, which is returned by a
+	 * time-range query. The points of the slice are a view of the segment
+	 * points and are not copied.
+	 *
+	 * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+	 * @version 1.5
+	 * @since 1.5
+	 */
+	public static final class Slice {
+		private final Track _track;
+		private final TrackSegment _segment;
+		private final int _from;
+		private final int _to;
+
+		private Slice(
+			final Track track,
+			final TrackSegment segment,
+			final int from,
+			final int to
+		) {
+			_track = track;
+			_segment = segment;
+			_from = from;
+			_to = to;
+		}
+
+		/**
+		 * Return the track of the slice.
+		 *
+		 * @return the track of the slice
+		 */
+		public Track getTrack() {
+			return _track;
+		}
+
+		/**
+		 * Return the track segment of the slice.
+		 *
+		 * @return the track segment of the slice
+		 */
+		public TrackSegment getSegment() {
+			return _segment;
+		}
+
+		/**
+		 * Return the index of the first point of the slice, within the
+		 * segment.
+		 *
+		 * @return the index of the first point of the slice (inclusively)
+		 */
+		public int getFrom() {
+			return _from;
+		}
+
+		/**
+		 * Return the index after the last point of the slice, within the
+		 * segment.
+		 *
+		 * @return the index of the last point of the slice (exclusively)
+		 */
+		public int getTo() {
+			return _to;
+		}
+
+		/**
+		 * Return the points of the slice. The returned list is an
+		 * unmodifiable view of the segment points.
+		 *
+		 * @return the points of the slice
+		 */
+		public List<WayPoint> getPoints() {
+			return _segment.getPoints().subList(_from, _to);
+		}
+
+		@Override
+		public String toString() {
+			return format("Slice[%s, %d..%d]", _segment, _from, _to);
+		}
+
+	}
+
+	/**
+	 * Ascending run of the timed points of a segment.
+	 */
+	private static final class Run {
+		final int track;
+		final int segment;
+		final long[] times;
+		final int[] points;
+
+		Run(
+			final int track,
+			final int segment,
+			final long[] times,
+			final int[] points
+		) {
+			this.track = track;
+			this.segment = segment;
+			this.times = times;
+			this.points = points;
+		}
+
+		long start() {
+			return times[0];
+		}
+
+		long end() {
+			return times[times.length - 1];
+		}
+	}
+
+	private final List<Track> _tracks;
+
+	// The runs, sorted by their start time, and the maximal end time of the
+	// sub-trees of the implicit, balanced interval tree.
+	private final Run[] _runs;
+	private final long[] _maxEnd;
+
+	private final int _size;
+
+	private TemporalIndex(final List<Track> tracks, final Run[] runs) {
+		_tracks = tracks;
+		_runs = runs;
+		_maxEnd = new long[runs.length];
+		maxEnd(0, runs.length);
+
+		int size = 0;
+		for (Run run : runs) {
+			size += run.times.length;
+		}
+		_size = size;
+	}
+
+	private long maxEnd(final int from, final int to) {
+		if (from >= to) {
+			return Long.MIN_VALUE;
+		}
+
+		final int mid = (from + to) >>> 1;
+		_maxEnd[mid] = max(
+			_runs[mid].end(),
+			max(maxEnd(from, mid), maxEnd(mid + 1, to))
+		);
+		return _maxEnd[mid];
+	}
+
+	/**
+	 * Return the indexed tracks.
+	 *
+	 * @return the indexed tracks
+	 */
+	public List<Track> getTracks() {
+		return _tracks;
+	}
+
+	/**
+	 * Return the number of indexed (timed) track points.
+	 *
+	 * @return the number of indexed track points
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Return the track points with a time within the given range, including
+	 * the {@code start} and {@code end} time. The matching points are returned
+	 * as slices of their segments, in the order of the tracks and segments.
+	 *
+	 * @param start the start of the time range, inclusively
+	 * @param end the end of the time range, inclusively
+	 * @return the slices of the segments which contains the matching points
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code start} time is after the
+	 *         {@code end} time
+	 */
+	public Stream<Slice> between(final Instant start, final Instant end) {
+		if (start.isAfter(end)) {
+			throw new IllegalArgumentException(format(
+				"Start time is after end time: %s > %s.", start, end
+			));
+		}
+
+		final long from = millis(start, true);
+		final long to = millis(end, false);
+
+		final List<Run> runs = new ArrayList<>();
+		search(0, _runs.length, from, to, runs);
+
+		return runs.stream()
+			.sorted(Comparator
+				.<Run>comparingInt(r -> r.track)
+				.thenComparingInt(r -> r.segment)
+				.thenComparingInt(r -> r.points[0]))
+			.map(run -> slice(run, from, to))
+			.filter(Objects::nonNull);
+	}
+
+	// Converts the instant to epoch millis, rounding to the inner side of
+	// the range.
+	private static long millis(final Instant instant, final boolean start) {
+		final long millis = instant.toEpochMilli();
+		return start && instant.getNano()%1_000_000 != 0 ? millis + 1 : millis;
+	}
+
+	private void search(
+		final int lo,
+		final int hi,
+		final long from,
+		final long to,
+		final List<Run> result
+	) {
+		if (lo >= hi) {
+			return;
+		}
+
+		final int mid = (lo + hi) >>> 1;
+		if (_maxEnd[mid] < from) {
+			return;
+		}
+
+		search(lo, mid, from, to, result);
+		if (_runs[mid].start() <= to) {
+			if (_runs[mid].end() >= from) {
+				result.add(_runs[mid]);
+			}
+			search(mid + 1, hi, from, to, result);
+		}
+	}
+
+	// Return null if the run contains no point within the time range.
+	private Slice slice(final Run run, final long from, final long to) {
+		final int lower = lowerBound(run.times, from);
+		final int upper = upperBound(run.times, to);
+		if (lower >= upper) {
+			return null;
+		}
+
+		final Track track = _tracks.get(run.track);
+		return new Slice(
+			track,
+			track.getSegments().get(run.segment),
+			run.points[lower],
+			run.points[upper - 1] + 1
+		);
+	}
+
+	// Index of the first element >= value.
+	private static int lowerBound(final long[] array, final long value) {
+		int lo = 0;
+		int hi = array.length;
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (array[mid] < value) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	// Index of the first element > value.
+	private static int upperBound(final long[] array, final long value) {
+		int lo = 0;
+		int hi = array.length;
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (array[mid] <= value) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"TemporalIndex[tracks=%d, runs=%d, points=%d]",
+			_tracks.size(), _runs.length, _size
+		);
+	}
+
+
+	/* *************************************************************************
+	 *  Static object creation methods
+	 * ************************************************************************/
+
+	/**
+	 * Create a new temporal index for the given tracks.
+	 *
+	 * @param tracks the tracks to index
+	 * @return a new temporal index
+	 * @throws NullPointerException if the given {@code tracks} are
+	 *         {@code null}
+	 */
+	public static TemporalIndex of(final Collection<? extends Track> tracks) {
+		final List<Track> list = new ArrayList<>(tracks);
+		final Run[] runs = IntStream.range(0, list.size()).parallel()
+			.mapToObj(t -> runs(t, requireNonNull(list.get(t))))
+			.flatMap(List::stream)
+			.sorted(Comparator.comparingLong(Run::start))
+			.toArray(Run[]::new);
+
+		return new TemporalIndex(list, runs);
+	}
+
+	/**
+	 * Create a new temporal index for the tracks of the given {@code gpx}
+	 * object.
+	 *
+	 * @param gpx the GPX object to index
+	 * @return a new temporal index
+	 * @throws NullPointerException if the given {@code gpx} is {@code null}
+	 */
+	public static TemporalIndex of(final GPX gpx) {
+		return of(gpx.getTracks());
+	}
+
+	private static List<Run> runs(final int index, final Track track) {
+		final List<Run> runs = new ArrayList<>();
+
+		final List<TrackSegment> segments = track.getSegments();
+		for (int s = 0; s < segments.size(); ++s) {
+			final TrackSegment segment = segments.get(s);
+			final long[] times = new long[segment.size()];
+			final int[] points = new int[segment.size()];
+
+			int count = 0;
+			for (int i = 0, n = segment.size(); i < n; ++i) {
+				final long time = segment.epochMilli(i);
+				if (time != Long.MIN_VALUE) {
+					if (count > 0 && time < times[count - 1]) {
+						runs.add(new Run(
+							index, s,
+							Arrays.copyOf(times, count),
+							Arrays.copyOf(points, count)
+						));
+						count = 0;
+					}
+					times[count] = time;
+					points[count] = i;
+					++count;
+				}
+			}
+			if (count > 0) {
+				runs.add(new Run(
+					index, s,
+					Arrays.copyOf(times, count),
+					Arrays.copyOf(points, count)
+				));
+			}
+		}
+
+		return runs;
+	}
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Test
+public class BatchReaderTest {
+
+	private static Map<Path, GPX> files(final Path dir) throws IOException {
+		final Map<Path, GPX> files = new HashMap<>();
+		final Random random = new Random(123);
+		for (int i = 0; i < 20; ++i) {
+			final GPX gpx = GPXTest.nextGPX(random);
+			final Path path = dir.resolve("file_" + i + ".gpx");
+			GPX.write(gpx, path);
+			files.put(path, gpx);
+		}
+		return files;
+	}
+
+	private static void delete(final Path dir) throws IOException {
+		try (Stream<Path> paths = Files.list(dir)) {
+			for (Path path : (Iterable<Path>)paths::iterator) {
+				Files.delete(path);
+			}
+		}
+		Files.delete(dir);
+	}
+
+	@Test
+	public void readAll() throws IOException, InterruptedException {
+		final Path dir = Files.createTempDirectory("BatchReaderTest");
+		final ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			final Map<Path, GPX> files = files(dir);
+			final Path invalid = dir.resolve("invalid.gpx");
+			Files.write(invalid, "<gpx><trk>".getBytes("UTF-8"));
+			final Path missing = dir.resolve("missing.gpx");
+
+			final List<Path> paths = new ArrayList<>(files.keySet());
+			paths.add(3, invalid);
+			paths.add(missing);
+
+			final Map<Path, GPX> read = new HashMap<>();
+			final Map<Path, IOException> errors = GPX.reader().readAll(
+				paths.stream(),
+				executor,
+				3,
+				(path, gpx) -> Assert.assertNull(read.put(path, gpx))
+			);
+
+			Assert.assertEquals(read, files);
+			Assert.assertEquals(errors.size(), 2);
+			Assert.assertTrue(errors.containsKey(invalid));
+			Assert.assertTrue(errors.containsKey(missing));
+		} finally {
+			executor.shutdown();
+			delete(dir);
+		}
+	}
+
+	@Test
+	public void readAllThreadPerTask() throws IOException, InterruptedException {
+		final Path dir = Files.createTempDirectory("BatchReaderTest");
+		try {
+			final Map<Path, GPX> files = files(dir);
+
+			final Map<Path, GPX> read = new HashMap<>();
+			final Map<Path, IOException> errors = GPX.reader().readAll(
+				files.keySet().stream(),
+				task -> new Thread(task).start(),
+				2,
+				read::put
+			);
+
+			Assert.assertEquals(read, files);
+			Assert.assertTrue(errors.isEmpty());
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test(timeOut = 60_000)
+	public void readAllDirectExecutor() throws IOException, InterruptedException {
+		final Path dir = Files.createTempDirectory("BatchReaderTest");
+		try {
+			final Map<Path, GPX> files = files(dir);
+
+			final Map<Path, GPX> read = new HashMap<>();
+			final Map<Path, IOException> errors = GPX.reader().readAll(
+				files.keySet().stream(),
+				Runnable::run,
+				2,
+				read::put
+			);
+
+			Assert.assertEquals(read, files);
+			Assert.assertTrue(errors.isEmpty());
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test(timeOut = 60_000)
+	public void readAllCallerRuns() throws IOException, InterruptedException {
+		final Path dir = Files.createTempDirectory("BatchReaderTest");
+		final ExecutorService executor = new ThreadPoolExecutor(
+			1, 1, 0, TimeUnit.MILLISECONDS,
+			new SynchronousQueue<>(),
+			new ThreadPoolExecutor.CallerRunsPolicy()
+		);
+		try {
+			final Map<Path, GPX> files = files(dir);
+
+			final Map<Path, GPX> read = new HashMap<>();
+			final Map<Path, IOException> errors = GPX.reader().readAll(
+				files.keySet().stream(),
+				executor,
+				3,
+				read::put
+			);
+
+			Assert.assertEquals(read, files);
+			Assert.assertTrue(errors.isEmpty());
+		} finally {
+			executor.shutdown();
+			delete(dir);
+		}
+	}
+
+	@Test(timeOut = 60_000, expectedExceptions = IllegalStateException.class)
+	public void readAllDirectExecutorConsumerException()
+		throws IOException, InterruptedException
+	{
+		final Path dir = Files.createTempDirectory("BatchReaderTest");
+		try {
+			GPX.reader().readAll(
+				files(dir).keySet().stream(),
+				Runnable::run,
+				2,
+				(path, gpx) -> { throw new IllegalStateException(); }
+			);
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	public void readAllEmpty() throws InterruptedException {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Map<Path, IOException> errors = GPX.reader().readAll(
+				Stream.empty(),
+				executor,
+				(path, gpx) -> Assert.fail()
+			);
+			Assert.assertEquals(errors, Collections.emptyMap());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void readAllConsumerException() throws IOException, InterruptedException {
+		final Path dir = Files.createTempDirectory("BatchReaderTest");
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			GPX.reader().readAll(
+				files(dir).keySet().stream(),
+				executor,
+				2,
+				(path, gpx) -> { throw new IllegalStateException(); }
+			);
+		} finally {
+			executor.shutdown();
+			delete(dir);
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void readAllInvalidParallelism() throws InterruptedException {
+		GPX.reader().readAll(
+			Stream.empty(),
+			Runnable::run,
+			0,
+			(path, gpx) -> {}
+		);
+	}
+
+}
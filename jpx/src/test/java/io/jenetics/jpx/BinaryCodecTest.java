@@ -0,0 +1,215 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Test
+public class BinaryCodecTest {
+
+	private static byte[] write(final GPX gpx) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GPX.Binary.write(gpx, out);
+		return out.toByteArray();
+	}
+
+	private static GPX read(final byte[] data) throws IOException {
+		return GPX.Binary.read(new ByteArrayInputStream(data));
+	}
+
+	private static List<WayPoint> points(final GPX gpx) {
+		return gpx.tracks()
+			.flatMap(Track::segments)
+			.flatMap(TrackSegment::points)
+			.collect(Collectors.toList());
+	}
+
+	private static GPX track(final int points) {
+		final Random random = new Random(1234);
+		final ZonedDateTime start =
+			ZonedDateTime.of(2018, 6, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+		final double[] position = {48.2, 16.3, 160.0};
+		return GPX.builder()
+			.addTrack(track -> track
+				.addSegment(segment -> IntStream.range(0, points)
+					.forEach(i -> {
+						position[0] += (random.nextDouble() - 0.5)*0.0002;
+						position[1] += (random.nextDouble() - 0.5)*0.0002;
+						position[2] += random.nextDouble() - 0.5;
+						segment.addPoint(p -> p
+							.lat(Math.round(position[0]*1e7)/1e7)
+							.lon(Math.round(position[1]*1e7)/1e7)
+							.ele(Math.round(position[2]*10)/10.0)
+							.time(start.plusSeconds(i)));
+					})))
+			.build();
+	}
+
+	@Test(invocationCount = 10)
+	public void writeRead() throws IOException {
+		final GPX gpx = GPXTest.nextGPX(new Random());
+		final GPX read = read(write(gpx));
+
+		Assert.assertEquals(read, gpx);
+	}
+
+	@Test
+	public void exactValues() throws IOException {
+		final ZonedDateTime time = ZonedDateTime
+			.of(2018, 6, 1, 8, 0, 0, 123_456_789, ZoneId.of("Europe/Vienna"));
+
+		final GPX gpx = GPX.builder()
+			.addTrack(track -> track
+				.addSegment(segment -> segment
+					.addPoint(p -> p.lat(Math.PI).lon(-Math.E).ele(Math.PI)
+						.speed(Math.E).time(time).sym("pin").type("a"))
+					.addPoint(p -> p.lat(-0.0).lon(180).ele(-0.001)
+						.speed(0).time(time.withZoneSameInstant(ZoneOffset.UTC))
+						.sym("pin").type("a"))
+					.addPoint(p -> p.lat(48.2081743).lon(16.3738189).ele(160.1)
+						.time(time.plusNanos(1_000_000)))))
+			.build();
+
+		final GPX read = read(write(gpx));
+		final List<WayPoint> expected = points(gpx);
+		final List<WayPoint> actual = points(read);
+
+		Assert.assertEquals(actual, expected);
+		for (int i = 0; i < expected.size(); ++i) {
+			final WayPoint e = expected.get(i);
+			final WayPoint a = actual.get(i);
+			Assert.assertEquals(
+				Double.doubleToLongBits(a.getLatitude().doubleValue()),
+				Double.doubleToLongBits(e.getLatitude().doubleValue())
+			);
+			Assert.assertEquals(a.getLongitude(), e.getLongitude());
+			Assert.assertEquals(a.getElevation(), e.getElevation());
+			Assert.assertEquals(a.getSpeed(), e.getSpeed());
+			Assert.assertEquals(a.getTime(), e.getTime());
+		}
+	}
+
+	@Test
+	public void emptyGPX() throws IOException {
+		final GPX gpx = GPX.builder().build();
+		Assert.assertEquals(read(write(gpx)), gpx);
+	}
+
+	@Test
+	public void compactSize() throws IOException {
+		final GPX gpx = track(10_000);
+
+		final ByteArrayOutputStream xml = new ByteArrayOutputStream();
+		GPX.write(gpx, xml);
+		final byte[] binary = write(gpx);
+
+		Assert.assertTrue(
+			binary.length*5 < xml.size(),
+			String.format("XML: %d, binary: %d", xml.size(), binary.length)
+		);
+		Assert.assertEquals(read(binary), gpx);
+	}
+
+	@Test
+	public void stringTable() throws IOException {
+		final GPX gpx = GPX.builder()
+			.addTrack(track -> track
+				.addSegment(segment -> IntStream.range(0, 100)
+					.forEach(i -> segment.addPoint(WayPoint.builder()
+						.sym("Waypoint marker")
+						.src("Garmin eTrex 30x")
+						.build(i/10.0, i/10.0)))))
+			.build();
+
+		final byte[] data = write(gpx);
+		Assert.assertTrue(data.length < 100*(15 + 16), "" + data.length);
+		Assert.assertEquals(
+			points(read(data)).stream()
+				.map(WayPoint::getSymbol)
+				.distinct()
+				.collect(Collectors.toList()),
+			Collections.singletonList(Optional.of("Waypoint marker"))
+		);
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readInvalidHeader() throws IOException {
+		read("<gpx version=\"1.1\"/>".getBytes("UTF-8"));
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readTruncated() throws IOException {
+		final byte[] data = write(track(10));
+		read(Arrays.copyOf(data, data.length - 3));
+	}
+
+	@Test
+	public void readCorruptedCounts() throws IOException {
+		final byte[] data = write(GPX.builder()
+			.metadata(md -> md.name("corrupted").addLink("http://jenetics.io"))
+			.addWayPoint(p -> p.lat(1).lon(2).name("way point").sym("pin"))
+			.addRoute(route -> route.name("route")
+				.addPoint(p -> p.lat(3).lon(4).ele(5)))
+			.addTrack(track(5).getTracks().get(0))
+			.addTrack(track -> track.name("track")
+				.addSegment(segment -> segment
+					.addPoint(p -> p.lat(6).lon(7).sym("pin"))
+					.addPoint(p -> p.lat(8).lon(9).speed(1))))
+			.build());
+		final int[] counts = {-1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+		for (int count : counts) {
+			final ByteArrayOutputStream bout = new ByteArrayOutputStream(5);
+			IO.writeInt(count, new DataOutputStream(bout));
+			final byte[] value = bout.toByteArray();
+
+			for (int i = 0; i < data.length - value.length; ++i) {
+				final byte[] corrupted = data.clone();
+				System.arraycopy(value, 0, corrupted, i, value.length);
+				try {
+					read(corrupted);
+				} catch (IOException expected) {
+					// Corrupt input must only fail with an IOException.
+				}
+			}
+		}
+	}
+
+}
@@ -21,9 +21,12 @@ package io.jenetics.jpx;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Random;
 import java.util.function.Supplier;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import io.jenetics.jpx.GPX.Version;
@@ -57,6 +60,30 @@ public class BoundsTest extends XMLStreamTestBase<Bounds> {
 		);
 	}
 
+	@Test
+	public void merge() {
+		final Bounds a = Bounds.of(10, 20, 30, 40);
+		final Bounds b = Bounds.of(-10, 25, 20, 50);
+
+		Assert.assertEquals(Bounds.merge(a, b), Bounds.of(-10, 20, 30, 50));
+		Assert.assertEquals(Bounds.merge(b, a), Bounds.of(-10, 20, 30, 50));
+		Assert.assertSame(Bounds.merge(a, null), a);
+		Assert.assertSame(Bounds.merge(null, b), b);
+		Assert.assertNull(Bounds.merge(null, null));
+	}
+
+	@Test
+	public void ofPoints() {
+		Assert.assertEquals(
+			Bounds.of(Arrays.asList(
+				WayPoint.of(10, -20),
+				WayPoint.of(-5, 30),
+				WayPoint.of(7, 3))),
+			Bounds.of(-5, -20, 10, 30)
+		);
+		Assert.assertNull(Bounds.of(Collections.emptyList()));
+	}
+
 	@Test
 	public void equalsVerifier() {
 		EqualsVerifier.forClass(Bounds.class).verify();
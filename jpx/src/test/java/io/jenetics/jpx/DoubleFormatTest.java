@@ -0,0 +1,159 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class DoubleFormatTest {
+
+	@Test(dataProvider = "values")
+	public void format(final double value) {
+		Assert.assertEquals(
+			DoubleFormat.format(value, -1),
+			Double.toString(value)
+		);
+	}
+
+	@Test(dataProvider = "values")
+	public void parse(final double value) {
+		final String string = Double.toString(value);
+		Assert.assertEquals(
+			Double.doubleToLongBits(DoubleFormat.parse(string)),
+			Double.doubleToLongBits(Double.parseDouble(string))
+		);
+	}
+
+	@DataProvider(name = "values")
+	public Object[][] values() {
+		return new Object[][] {
+			{0.0}, {-0.0}, {1.0}, {-1.0}, {0.1}, {0.3}, {0.001}, {0.00099},
+			{12.12}, {48.2081743}, {-179.9999999}, {9999999.9}, {1.0E7},
+			{1.0E-5}, {2E-3}, {1234.5678}, {Double.MIN_VALUE}, {Double.MAX_VALUE},
+			{Double.NaN}, {Double.POSITIVE_INFINITY}, {Double.NEGATIVE_INFINITY}
+		};
+	}
+
+	@Test
+	public void formatRandom() {
+		final Random random = new Random(123);
+		for (int i = 0; i < 100_000; ++i) {
+			final double value = nextDouble(random, i);
+			Assert.assertEquals(
+				DoubleFormat.format(value, -1),
+				Double.toString(value)
+			);
+		}
+	}
+
+	@Test
+	public void parseRandom() {
+		final Random random = new Random(123);
+		for (int i = 0; i < 100_000; ++i) {
+			final double value = nextDouble(random, i);
+			final String string = i%2 == 0
+				? Double.toString(value)
+				: String.format(Locale.ROOT, "%.9f", value);
+
+			Assert.assertEquals(
+				Double.doubleToLongBits(DoubleFormat.parse(string)),
+				Double.doubleToLongBits(Double.parseDouble(string)),
+				string
+			);
+		}
+	}
+
+	private static double nextDouble(final Random random, final int index) {
+		switch (index%4) {
+			case 0: return random.nextDouble()*180 - 90;
+			case 1: return Math.round((random.nextDouble()*360 - 180)*1e7)/1e7;
+			case 2: return Math.round(random.nextDouble()*30_000)/10.0;
+			default: return random.nextDouble()*Math.pow(10, random.nextInt(20) - 10);
+		}
+	}
+
+	@Test(dataProvider = "strings")
+	public void parseString(final String string) {
+		Double expected;
+		try {
+			expected = Double.parseDouble(string);
+		} catch (NumberFormatException e) {
+			expected = null;
+		}
+
+		Double value;
+		try {
+			value = DoubleFormat.parse(string);
+		} catch (NumberFormatException e) {
+			value = null;
+		}
+
+		Assert.assertEquals(value, expected);
+	}
+
+	@DataProvider(name = "strings")
+	public Object[][] strings() {
+		return new Object[][] {
+			{"0"}, {"-0"}, {"+.5"}, {"1."}, {"."}, {""}, {" 12.5\n"}, {"-"},
+			{"1e3"}, {"1.5E-3"}, {"NaN"}, {"-Infinity"}, {"0x1p3"}, {"1d"},
+			{"007.50"}, {"0.000000000000000000000001"}, {"1.2.3"}, {"--1"},
+			{"12 3"}, {"123456789012345678"}, {"0.12345678901234567890"}
+		};
+	}
+
+	@Test(dataProvider = "roundedValues")
+	public void formatRounded(
+		final double value,
+		final int digits,
+		final String expected
+	) {
+		Assert.assertEquals(DoubleFormat.format(value, digits), expected);
+	}
+
+	@DataProvider(name = "roundedValues")
+	public Object[][] roundedValues() {
+		return new Object[][] {
+			{48.20817431234, 0, "48.0"},
+			{48.20817431234, 1, "48.2"},
+			{48.20817431234, 7, "48.2081743"},
+			{-179.99999999, 7, "-180.0"},
+			{12.0, 7, "12.0"},
+			{0.5, 0, "1.0"},
+			{-0.00000001, 7, "0.0"},
+			{0.0000123, 7, "0.0000123"},
+			{1.0E8, 3, "100000000.0"},
+			{1.0E20, 3, "1.0E20"},
+			{Double.NaN, 3, "NaN"}
+		};
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void formatInvalidDigits() {
+		DoubleFormat.format(1.0, DoubleFormat.MAX_FRACTION_DIGITS + 1);
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Test
+public class ElementIndexTest {
+
+	private static ElementIndex index(final String xml) throws IOException {
+		return ElementIndex.of(ByteBuffer.wrap(xml.getBytes(UTF_8)));
+	}
+
+	private static String names(final ElementIndex index) {
+		return index.elements().stream()
+			.map(e -> e.name)
+			.collect(Collectors.joining(","));
+	}
+
+	@Test
+	public void elements() throws IOException {
+		final String xml =
+			"﻿<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+			"<!-- <trk> in a comment -->\n" +
+			"<gpx xmlns=\"http://www.topografix.com/GPX/1/1\" " +
+				"creator=\"a > b\" version=\"1.1\">\n" +
+			"  <metadata><name><![CDATA[</metadata><trk>]]></name></metadata>\n" +
+			"  <wpt lat=\"1\" lon=\"2\"/>\n" +
+			"  <?pi <rte>?>\n" +
+			"  <rte><rtept lat='1' lon='2'><name>a/b</name></rtept></rte>\n" +
+			"  <trk><trkseg/></trk>\n" +
+			"</gpx>\n";
+
+		final ElementIndex index = index(xml);
+		Assert.assertEquals(names(index), "metadata,wpt,rte,trk");
+
+		final byte[] bytes = xml.getBytes(UTF_8);
+		final ElementIndex.Element wpt = index.elements().get(1);
+		Assert.assertEquals(
+			new String(bytes, wpt.start, wpt.end - wpt.start, UTF_8),
+			"<wpt lat=\"1\" lon=\"2\"/>"
+		);
+		final ElementIndex.Element trk = index.elements().get(3);
+		Assert.assertEquals(
+			new String(bytes, trk.start, trk.end - trk.start, UTF_8),
+			"<trk><trkseg/></trk>"
+		);
+	}
+
+	@Test
+	public void trackSegments() throws IOException {
+		final String xml =
+			"<gpx><trk><name>trkseg</name>" +
+				"<trkseg><trkpt lat='1' lon='2'/></trkseg><trkseg/>" +
+				"<extensions><trkseg/></extensions>" +
+			"</trk><rte><trkseg/></rte></gpx>";
+
+		final ElementIndex index = index(xml);
+		final ElementIndex.Element trk = index.elements().get(0);
+		Assert.assertEquals(
+			trk.children.stream()
+				.map(e -> xml.substring(e.start, e.end))
+				.collect(Collectors.toList()),
+			Arrays.asList("<trkseg><trkpt lat='1' lon='2'/></trkseg>", "<trkseg/>")
+		);
+		Assert.assertTrue(index.elements().get(1).children.isEmpty());
+	}
+
+	@Test
+	public void prefixedElements() throws IOException {
+		final ElementIndex index = index(
+			"<g:gpx xmlns:g=\"http://www.topografix.com/GPX/1/1\">" +
+				"<g:trk></g:trk><g:wpt lat=\"1\" lon=\"2\"></g:wpt>" +
+			"</g:gpx>"
+		);
+		Assert.assertEquals(names(index), "trk,wpt");
+	}
+
+	@Test(dataProvider = "notIndexable", expectedExceptions = IOException.class)
+	public void notIndexable(final String xml) throws IOException {
+		index(xml);
+	}
+
+	@DataProvider(name = "notIndexable")
+	public Object[][] notIndexable() {
+		return new Object[][] {
+			{""},
+			{"<foo/>"},
+			{"<gpx/>"},
+			{"<gpx><trk></trk>"},
+			{"<gpx><trk><!-- </trk></gpx>"},
+			{"<?xml version=\"1.0\" encoding=\"UTF-16\"?><gpx></gpx>"},
+			{"<!DOCTYPE gpx><gpx></gpx>"}
+		};
+	}
+
+	@Test(dataProvider = "versions")
+	public void read(final Version version) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GPX.writer("  ").write(
+			GPXTest.nextGPX(new Random(789)).toBuilder()
+				.version(version)
+				.build(),
+			out
+		);
+
+		final GPX.Reader reader = GPX.reader(version);
+		final GPX gpx = reader.read(new ByteArrayInputStream(out.toByteArray()));
+		final ElementIndex index = ElementIndex.of(ByteBuffer.wrap(out.toByteArray()));
+
+		final GPX header = index.header(
+			GPX.xmlReader(version), reader.factory(), false);
+		Assert.assertEquals(header.getMetadata(), gpx.getMetadata());
+		Assert.assertEquals(header.getTracks().size(), 0);
+
+		Assert.assertEquals(
+			index.lazy("trk", Track.xmlReader(version), reader.factory(), false),
+			gpx.getTracks()
+		);
+		Assert.assertEquals(
+			index.lazy("wpt", WayPoint.xmlReader(version, "wpt"), reader.factory(), false),
+			gpx.getWayPoints()
+		);
+	}
+
+	@DataProvider(name = "versions")
+	public Object[][] versions() {
+		return new Object[][] {{Version.V10}, {Version.V11}};
+	}
+
+}
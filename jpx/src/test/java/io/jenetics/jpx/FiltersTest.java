@@ -19,6 +19,7 @@
  */
 package io.jenetics.jpx;
 
+import static java.lang.String.format;
 import static java.time.ZoneOffset.UTC;
 import static java.util.stream.Collectors.toList;
 import static io.jenetics.jpx.GPXTest.nextGPX;
@@ -27,7 +28,11 @@ import static io.jenetics.jpx.WayPointTest.nextWayPoint;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -36,6 +41,9 @@ import java.util.stream.Stream;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import io.jenetics.jpx.Length.Unit;
+import io.jenetics.jpx.geom.Geoid;
+
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmx.at">Franz Wilhelmstötter</a>
  */
@@ -157,4 +165,401 @@ public class FiltersTest {
 		Assert.assertEquals(nonEmpty, expected);
 	}
 
+	private static List<WayPoint> randomWalk(final int size, final Random random) {
+		final List<WayPoint> points = new ArrayList<>(size);
+		double lat = 47.0;
+		double lon = 15.0;
+		for (int i = 0; i < size; ++i) {
+			lat += (random.nextDouble() - 0.45)*0.0001;
+			lon += (random.nextDouble() - 0.45)*0.0001;
+			points.add(WayPoint.of(lat, lon));
+		}
+		return points;
+	}
+
+	// Points along the meridian with alternating east/west offsets.
+	private static List<WayPoint> zigzag(final int size, final double offset) {
+		final double dlon = Math.toDegrees(offset/(6_389_000*Math.cos(Math.toRadians(47))));
+		final List<WayPoint> points = new ArrayList<>(size);
+		for (int i = 0; i < size; ++i) {
+			final double lon = i == 0 || i == size - 1
+				? 15.0
+				: 15.0 + (i%2 == 0 ? dlon : -dlon);
+			points.add(WayPoint.of(47.0 + i*0.001, lon));
+		}
+		return points;
+	}
+
+	// Geodesic distance of the point from the chord, found by ternary search.
+	private static double distance(
+		final WayPoint point,
+		final WayPoint start,
+		final WayPoint end
+	) {
+		double lo = 0;
+		double hi = 1;
+		for (int i = 0; i < 60; ++i) {
+			final double t1 = lo + (hi - lo)/3;
+			final double t2 = hi - (hi - lo)/3;
+			if (distance(point, start, end, t1) < distance(point, start, end, t2)) {
+				hi = t2;
+			} else {
+				lo = t1;
+			}
+		}
+		return distance(point, start, end, (lo + hi)/2);
+	}
+
+	private static double distance(
+		final WayPoint point,
+		final WayPoint start,
+		final WayPoint end,
+		final double t
+	) {
+		final double lat = start.getLatitude().doubleValue() +
+			t*(end.getLatitude().doubleValue() - start.getLatitude().doubleValue());
+		final double lon = start.getLongitude().doubleValue() +
+			t*(end.getLongitude().doubleValue() - start.getLongitude().doubleValue());
+		return Geoid.DEFAULT.distance(point, WayPoint.of(lat, lon)).doubleValue();
+	}
+
+	@Test
+	public void douglasPeuckerZigzag() {
+		final List<WayPoint> points = zigzag(101, 10);
+
+		Assert.assertEquals(
+			Filters.douglasPeucker(points, Length.of(5, Unit.METER)),
+			points
+		);
+		Assert.assertEquals(
+			Filters.douglasPeucker(points, Length.of(15, Unit.METER)),
+			Arrays.asList(points.get(0), points.get(100))
+		);
+	}
+
+	@Test
+	public void douglasPeuckerTolerance() {
+		final List<WayPoint> points = randomWalk(2_000, new Random(123));
+		final double tolerance = 5;
+
+		final List<WayPoint> simplified = Filters
+			.douglasPeucker(points, Length.of(tolerance, Unit.METER));
+		Assert.assertTrue(simplified.size() < points.size()/2);
+		Assert.assertEquals(simplified.get(0), points.get(0));
+		Assert.assertEquals(
+			simplified.get(simplified.size() - 1),
+			points.get(points.size() - 1)
+		);
+
+		int j = 0;
+		for (int i = 0; i < points.size(); ++i) {
+			if (points.get(i) == simplified.get(j)) {
+				++j;
+			} else {
+				final double distance = distance(
+					points.get(i), simplified.get(j - 1), simplified.get(j));
+				Assert.assertTrue(
+					distance <= tolerance*1.001,
+					format("Point %d: %f > %f.", i, distance, tolerance)
+				);
+			}
+		}
+		Assert.assertEquals(j, simplified.size());
+	}
+
+	@Test
+	public void douglasPeuckerBigSegment() {
+		final TrackSegment segment = TrackSegment
+			.of(randomWalk(1_000_000, new Random(456)))
+			.compact();
+
+		final TrackSegment simplified = segment.toBuilder()
+			.listMap(points -> Filters.douglasPeucker(points, Length.of(2, Unit.METER)))
+			.build();
+
+		Assert.assertTrue(simplified.getPoints().size() > 2);
+		Assert.assertTrue(simplified.getPoints().size() < segment.getPoints().size());
+	}
+
+	@Test
+	public void douglasPeuckerSmall() {
+		final List<WayPoint> points = randomWalk(2, new Random(1));
+		Assert.assertEquals(Filters.douglasPeucker(points, Length.of(1, Unit.METER)), points);
+		Assert.assertEquals(
+			Filters.douglasPeucker(Collections.emptyList(), Length.of(1, Unit.METER)),
+			Collections.emptyList()
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void douglasPeuckerNegativeTolerance() {
+		Filters.douglasPeucker(randomWalk(10, new Random()), Length.of(-1, Unit.METER));
+	}
+
+	@Test
+	public void visvalingamWhyatt() {
+		final WayPoint a = WayPoint.of(47.0, 15.0);
+		final WayPoint b = WayPoint.of(47.001, 15.0);
+		final WayPoint c = WayPoint.of(47.002, 15.0);
+		final WayPoint d = WayPoint.of(47.003, 15.002);
+		final WayPoint e = WayPoint.of(47.004, 15.0);
+
+		final List<WayPoint> points = Arrays.asList(a, b, c, d, e);
+		Assert.assertEquals(Filters.visvalingamWhyatt(points, 5), points);
+		Assert.assertEquals(Filters.visvalingamWhyatt(points, 4), Arrays.asList(a, c, d, e));
+		Assert.assertEquals(Filters.visvalingamWhyatt(points, 2), Arrays.asList(a, e));
+	}
+
+	@Test
+	public void visvalingamWhyattCount() {
+		final List<WayPoint> points = randomWalk(100_000, new Random(789));
+
+		final List<WayPoint> simplified = Filters.visvalingamWhyatt(points, 1_000);
+		Assert.assertEquals(simplified.size(), 1_000);
+		Assert.assertEquals(simplified.get(0), points.get(0));
+		Assert.assertEquals(simplified.get(999), points.get(points.size() - 1));
+
+		// The kept points are a sub-sequence of the original points.
+		int j = 0;
+		for (int i = 0; i < points.size() && j < simplified.size(); ++i) {
+			if (points.get(i) == simplified.get(j)) {
+				++j;
+			}
+		}
+		Assert.assertEquals(j, simplified.size());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void visvalingamWhyattInvalidCount() {
+		Filters.visvalingamWhyatt(randomWalk(10, new Random()), 1);
+	}
+
+	private static List<WayPoint> filter(
+		final IncrementalFilter filter,
+		final List<WayPoint> points
+	) {
+		final List<WayPoint> result = new ArrayList<>();
+		filter.filter(points, result::add);
+		return result;
+	}
+
+	// Points along the meridian, one meter and one second apart.
+	private static List<WayPoint> meridian(final int size) {
+		final double dlat = Math.toDegrees(1.0/6_367_000);
+		final List<WayPoint> points = new ArrayList<>(size);
+		for (int i = 0; i < size; ++i) {
+			points.add(WayPoint.builder()
+				.time(ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, UTC).plusSeconds(i))
+				.build(47.0 + i*dlat, 15.0));
+		}
+		return points;
+	}
+
+	@Test
+	public void deadBandDistance() {
+		final List<WayPoint> points = meridian(1000);
+		final List<WayPoint> filtered = filter(
+			Filters.deadBand(Length.of(10, Unit.METER), null, null),
+			points
+		);
+
+		Assert.assertTrue(filtered.size() > 80, "Size: " + filtered.size());
+		Assert.assertTrue(filtered.size() < 110, "Size: " + filtered.size());
+		Assert.assertEquals(filtered.get(0), points.get(0));
+		Assert.assertEquals(filtered.get(filtered.size() - 1), points.get(999));
+		for (int i = 1; i < filtered.size() - 1; ++i) {
+			final double distance = Geoid.DEFAULT
+				.distance(filtered.get(i - 1), filtered.get(i))
+				.doubleValue();
+			Assert.assertTrue(distance >= 10, "Distance: " + distance);
+		}
+	}
+
+	@Test
+	public void deadBandTime() {
+		final List<WayPoint> points = meridian(101);
+		final List<WayPoint> filtered = filter(
+			Filters.deadBand(null, Duration.ofSeconds(10), null),
+			points
+		);
+
+		Assert.assertEquals(filtered.size(), 11);
+		for (int i = 0; i < filtered.size(); ++i) {
+			Assert.assertEquals(filtered.get(i), points.get(i*10));
+		}
+	}
+
+	@Test
+	public void deadBandHeading() {
+		final List<WayPoint> points = new ArrayList<>();
+		for (int i = 0; i < 10; ++i) {
+			points.add(WayPoint.of(47.0 + i*0.001, 15.0));
+		}
+		for (int i = 1; i <= 10; ++i) {
+			points.add(WayPoint.of(47.009, 15.0 + i*0.001));
+		}
+
+		final List<WayPoint> filtered = filter(
+			Filters.deadBand(null, null, Degrees.ofDegrees(45)),
+			points
+		);
+		Assert.assertEquals(
+			filtered,
+			Arrays.asList(points.get(0), points.get(10), points.get(19))
+		);
+	}
+
+	@Test
+	public void deadBandDisabled() {
+		final List<WayPoint> points = meridian(100);
+
+		Assert.assertEquals(
+			filter(Filters.deadBand(null, null, null), points),
+			Arrays.asList(points.get(0), points.get(99))
+		);
+		Assert.assertEquals(
+			filter(Filters.deadBand(null, null, null), points.subList(0, 1)),
+			points.subList(0, 1)
+		);
+		Assert.assertEquals(
+			filter(Filters.deadBand(null, null, null), Collections.emptyList()),
+			Collections.emptyList()
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void deadBandNegativeTime() {
+		Filters.deadBand(null, Duration.ofSeconds(-1), null);
+	}
+
+	@Test
+	public void slidingDouglasPeuckerZigzag() {
+		final List<WayPoint> points = zigzag(101, 10);
+
+		Assert.assertEquals(
+			filter(Filters.slidingDouglasPeucker(Length.of(5, Unit.METER), 10), points),
+			points
+		);
+
+		final List<WayPoint> expected = new ArrayList<>();
+		for (int i = 0; i < 100; i += 9) {
+			expected.add(points.get(i));
+		}
+		expected.add(points.get(100));
+		Assert.assertEquals(
+			filter(Filters.slidingDouglasPeucker(Length.of(25, Unit.METER), 10), points),
+			expected
+		);
+	}
+
+	@Test
+	public void slidingDouglasPeuckerWindow() {
+		final List<WayPoint> points = randomWalk(10_000, new Random(123));
+
+		// A window bigger than the input is the batch algorithm.
+		Assert.assertEquals(
+			filter(Filters.slidingDouglasPeucker(Length.of(3, Unit.METER), 20_000), points),
+			Filters.douglasPeucker(points, Length.of(3, Unit.METER))
+		);
+
+		final List<WayPoint> simplified = filter(
+			Filters.slidingDouglasPeucker(Length.of(3, Unit.METER), 500),
+			points
+		);
+		Assert.assertTrue(simplified.size() < points.size());
+		Assert.assertEquals(simplified.get(0), points.get(0));
+		Assert.assertEquals(simplified.get(simplified.size() - 1), points.get(9_999));
+
+		int j = 0;
+		for (WayPoint point : points) {
+			if (j < simplified.size() && point == simplified.get(j)) {
+				++j;
+			}
+		}
+		Assert.assertEquals(j, simplified.size());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void slidingDouglasPeuckerInvalidWindow() {
+		Filters.slidingDouglasPeucker(Length.of(3, Unit.METER), 2);
+	}
+
+	@Test
+	public void resample() {
+		final ZonedDateTime start = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, UTC);
+		final List<WayPoint> points = Arrays.asList(
+			WayPoint.of(47.0, 15.0),
+			WayPoint.builder().ele(100).time(start).build(47.0, 15.0),
+			WayPoint.builder().ele(200).time(start.plusSeconds(10)).build(47.1, 15.2),
+			WayPoint.builder().time(start.plusSeconds(5)).build(48.0, 16.0),
+			WayPoint.builder().time(start.plusSeconds(20)).build(47.2, 15.4)
+		);
+
+		final List<WayPoint> resampled = filter(
+			Filters.resample(Duration.ofSeconds(5)),
+			points
+		);
+
+		Assert.assertEquals(resampled.size(), 5);
+		for (int i = 0; i < resampled.size(); ++i) {
+			final WayPoint point = resampled.get(i);
+			Assert.assertEquals(point.getTime().orElse(null), start.plusSeconds(i*5));
+			Assert.assertEquals(point.getLatitude().doubleValue(), 47.0 + i*0.05, 1E-9);
+			Assert.assertEquals(point.getLongitude().doubleValue(), 15.0 + i*0.1, 1E-9);
+		}
+		Assert.assertEquals(resampled.get(1).getElevation().get().doubleValue(), 150.0, 1E-9);
+		Assert.assertFalse(resampled.get(3).getElevation().isPresent());
+	}
+
+	@Test
+	public void resampleAntimeridian() {
+		final ZonedDateTime start = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, UTC);
+		final List<WayPoint> resampled = filter(
+			Filters.resample(Duration.ofSeconds(1)),
+			Arrays.asList(
+				WayPoint.builder().time(start).build(0.0, 179.0),
+				WayPoint.builder().time(start.plusSeconds(4)).build(0.0, -179.0)
+			)
+		);
+
+		Assert.assertEquals(
+			resampled.stream()
+				.map(wp -> wp.getLongitude().doubleValue())
+				.collect(toList()),
+			Arrays.asList(179.0, 179.5, 180.0, -179.5, -179.0)
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void resampleInvalidInterval() {
+		Filters.resample(Duration.ZERO);
+	}
+
+	@Test
+	public void incrementalFilterStream() {
+		final List<WayPoint> points = randomWalk(1_000, new Random(7));
+		final AtomicInteger pulled = new AtomicInteger();
+		final AtomicInteger closed = new AtomicInteger();
+
+		final IncrementalFilter filter =
+			Filters.slidingDouglasPeucker(Length.of(3, Unit.METER), 100);
+		try (Stream<WayPoint> stream = filter
+				.filter(points.stream()
+					.peek(p -> pulled.incrementAndGet())
+					.onClose(closed::incrementAndGet)))
+		{
+			Assert.assertEquals(pulled.get(), 0);
+			Assert.assertTrue(stream.findFirst().isPresent());
+			Assert.assertEquals(pulled.get(), 100);
+		}
+		Assert.assertEquals(closed.get(), 1);
+
+		Assert.assertEquals(
+			Filters.slidingDouglasPeucker(Length.of(3, Unit.METER), 100)
+				.filter(points.stream())
+				.collect(toList()),
+			filter(Filters.slidingDouglasPeucker(Length.of(3, Unit.METER), 100), points)
+		);
+	}
+
 }
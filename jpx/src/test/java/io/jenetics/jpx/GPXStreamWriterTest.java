@@ -0,0 +1,217 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Collections.emptyList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class GPXStreamWriterTest {
+
+	@Test(dataProvider = "versionsAndIndents")
+	public void writeRandomGPX(final Version version, final String indent)
+		throws IOException
+	{
+		final Random random = new Random(1234);
+		for (int i = 0; i < 20; ++i) {
+			final GPX gpx = GPXTest.nextGPX(random).toBuilder()
+				.version(version)
+				.build();
+
+			assertSameOutput(gpx, indent);
+		}
+	}
+
+	@Test(dataProvider = "versionsAndIndents")
+	public void writeEmptyGPX(final Version version, final String indent)
+		throws IOException
+	{
+		assertSameOutput(GPX.builder(version, "Empty").build(), indent);
+	}
+
+	@DataProvider(name = "versionsAndIndents")
+	public Object[][] versionsAndIndents() {
+		return new Object[][] {
+			{Version.V10, null},
+			{Version.V10, "    "},
+			{Version.V11, null},
+			{Version.V11, "    "},
+			{Version.V11, "\t"}
+		};
+	}
+
+	@Test
+	public void writeFile() throws IOException {
+		final String resource = "/io/jenetics/jpx/Gpx-full-sample.gpx";
+		final GPX gpx;
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			gpx = GPX.read(in);
+		}
+
+		assertSameOutput(gpx, "  ");
+	}
+
+	@Test
+	public void closeOpenTrack() throws IOException {
+		final WayPoint point = WayPoint.of(1, 2);
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GPXStreamWriter writer = GPX.writer().open(out)) {
+			writer.startTrack().startSegment().trackPoint(point);
+		}
+
+		final GPX expected = GPX.builder()
+			.addTrack(track -> track.addSegment(segment -> segment.addPoint(point)))
+			.build();
+
+		Assert.assertEquals(
+			new String(out.toByteArray()),
+			GPX.writer().toString(expected)
+		);
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void wayPointAfterRoute() throws IOException {
+		try (GPXStreamWriter writer = GPX.writer()
+				.open(new ByteArrayOutputStream()))
+		{
+			writer.route(Route.of(emptyList()));
+			writer.wayPoint(WayPoint.of(1, 2));
+		}
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void metadataAfterWayPoint() throws IOException {
+		try (GPXStreamWriter writer = GPX.writer()
+				.open(new ByteArrayOutputStream()))
+		{
+			writer.wayPoint(WayPoint.of(1, 2));
+			writer.metadata(Metadata.builder().name("name").build());
+		}
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void trackPointWithoutSegment() throws IOException {
+		try (GPXStreamWriter writer = GPX.writer()
+				.open(new ByteArrayOutputStream()))
+		{
+			writer.startTrack();
+			writer.trackPoint(WayPoint.of(1, 2));
+		}
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void writeAfterClose() throws IOException {
+		final GPXStreamWriter writer = GPX.writer()
+			.open(new ByteArrayOutputStream());
+		writer.close();
+		writer.track(Track.builder().build());
+	}
+
+	private static void assertSameOutput(final GPX gpx, final String indent)
+		throws IOException
+	{
+		final GPX.Writer writer = indent != null
+			? GPX.writer(indent)
+			: GPX.writer();
+
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		writer.write(gpx, expected);
+
+		final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		try (GPXStreamWriter out = writer.open(
+				actual,
+				gpx.getVersion().equals("1.0") ? Version.V10 : Version.V11,
+				gpx.getCreator()))
+		{
+			write(gpx, out);
+		}
+
+		Assert.assertEquals(
+			new String(actual.toByteArray(), "UTF-8"),
+			new String(expected.toByteArray(), "UTF-8")
+		);
+	}
+
+	/**
+	 * Writes the given GPX object, alternately with complete and
+	 * incrementally written tracks and segments.
+	 */
+	private static void write(final GPX gpx, final GPXStreamWriter out)
+		throws IOException
+	{
+		if (gpx.getMetadata().isPresent()) {
+			out.metadata(gpx.getMetadata().get());
+		}
+		for (WayPoint point : gpx.getWayPoints()) {
+			out.wayPoint(point);
+		}
+		for (Route route : gpx.getRoutes()) {
+			out.route(route);
+		}
+
+		final List<Track> tracks = gpx.getTracks();
+		for (int i = 0; i < tracks.size(); ++i) {
+			final Track track = tracks.get(i);
+			if (i%2 == 0) {
+				out.track(track);
+			} else {
+				out.startTrack(Track.of(
+					track.getName().orElse(null),
+					track.getComment().orElse(null),
+					track.getDescription().orElse(null),
+					track.getSource().orElse(null),
+					track.getLinks(),
+					track.getNumber().orElse(null),
+					track.getType().orElse(null),
+					emptyList()
+				));
+
+				final List<TrackSegment> segments = track.getSegments();
+				for (int j = 0; j < segments.size(); ++j) {
+					if (j%2 == 0) {
+						out.segment(segments.get(j));
+					} else {
+						out.startSegment();
+						for (WayPoint point : segments.get(j).getPoints()) {
+							out.trackPoint(point);
+						}
+						out.endSegment();
+					}
+				}
+				out.endTrack();
+			}
+		}
+	}
+
+}
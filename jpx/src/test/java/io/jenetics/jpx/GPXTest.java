@@ -35,15 +35,25 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 
 import org.testng.Assert;
@@ -288,6 +298,773 @@ public class GPXTest extends XMLStreamTestBase<GPX> {
 		);
 	}
 
+	@Test(dataProvider = "streamFiles")
+	public void stream(final String resource, final Mode mode)
+		throws IOException
+	{
+		final GPX gpx;
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			gpx = GPX.reader(mode).read(in);
+		}
+
+		final List<WayPoint> expected = Stream
+			.concat(
+				gpx.wayPoints(),
+				Stream.concat(
+					gpx.routes().flatMap(Route::points),
+					gpx.tracks()
+						.flatMap(Track::segments)
+						.flatMap(TrackSegment::points)))
+			.collect(Collectors.toList());
+
+		final List<WayPoint> actual;
+		try (InputStream in = getClass().getResourceAsStream(resource);
+			 Stream<WayPoint> points = GPX.reader(mode).stream(in))
+		{
+			actual = points.collect(Collectors.toList());
+		}
+
+		Assert.assertEquals(actual, expected);
+	}
+
+	@DataProvider(name = "streamFiles")
+	public Object[][] streamFiles() {
+		return new Object[][] {
+			{"/io/jenetics/jpx/Austria.gpx", Mode.STRICT},
+			{"/io/jenetics/jpx/Gpx-full-sample.gpx", Mode.STRICT},
+			{"/io/jenetics/jpx/extensions-gpx.gpx", Mode.STRICT},
+			{"/io/jenetics/jpx/ISSUE-49.gpx", Mode.LENIENT},
+			{"/io/jenetics/jpx/invalid-latlon.xml", Mode.LENIENT}
+		};
+	}
+
+	@Test
+	public void streamRandomGPX() throws IOException {
+		final GPX gpx = nextGPX(new Random(1234)).toBuilder()
+			.addRoute(route -> route.addPoint(p -> p.lat(1).lon(2)))
+			.build();
+
+		final List<WayPoint> expected = Stream
+			.concat(
+				gpx.wayPoints(),
+				Stream.concat(
+					gpx.routes().flatMap(Route::points),
+					gpx.tracks()
+						.flatMap(Track::segments)
+						.flatMap(TrackSegment::points)))
+			.collect(Collectors.toList());
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GPX.writer("    ").write(gpx, out);
+
+		final List<WayPoint> actual;
+		try (Stream<WayPoint> points = GPX.reader()
+				.stream(new ByteArrayInputStream(out.toByteArray())))
+		{
+			actual = points.collect(Collectors.toList());
+		}
+
+		Assert.assertEquals(actual, expected);
+	}
+
+	@Test(expectedExceptions = UncheckedIOException.class)
+	public void streamStrictInvalid() throws IOException {
+		final String resource = "/io/jenetics/jpx/invalid-latlon.xml";
+		try (InputStream in = getClass().getResourceAsStream(resource);
+			 Stream<WayPoint> points = GPX.reader().stream(in))
+		{
+			points.count();
+		}
+	}
+
+	private static final String UNKNOWN_ELEMENT_GPX =
+		"<gpx version=\"1.1\" creator=\"JPX\" " +
+			"xmlns=\"http://www.topografix.com/GPX/1/1\">" +
+		"<trk><trkseg>" +
+		"<trkpt lat=\"1\" lon=\"2\"/>" +
+		"<unknown><trkpt lat=\"3\" lon=\"4\"/></unknown>" +
+		"<trkpt lat=\"5\" lon=\"6\"/>" +
+		"</trkseg></trk>" +
+		"</gpx>";
+
+	@Test(expectedExceptions = UncheckedIOException.class)
+	public void streamStrictUnknownElement() throws IOException {
+		final byte[] data = UNKNOWN_ELEMENT_GPX.getBytes("UTF-8");
+		try (Stream<WayPoint> points = GPX.reader(Mode.STRICT)
+				.stream(new ByteArrayInputStream(data)))
+		{
+			points.count();
+		}
+	}
+
+	@Test
+	public void streamLenientUnknownElement() throws IOException {
+		final byte[] data = UNKNOWN_ELEMENT_GPX.getBytes("UTF-8");
+
+		final GPX gpx = GPX.reader(Mode.LENIENT)
+			.read(new ByteArrayInputStream(data));
+		try (Stream<WayPoint> points = GPX.reader(Mode.LENIENT)
+				.stream(new ByteArrayInputStream(data)))
+		{
+			Assert.assertEquals(
+				points.collect(Collectors.toList()),
+				gpx.tracks()
+					.flatMap(Track::segments)
+					.flatMap(TrackSegment::points)
+					.collect(Collectors.toList())
+			);
+		}
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readStrictUnknownElement() throws IOException {
+		final byte[] data = UNKNOWN_ELEMENT_GPX.getBytes("UTF-8");
+		GPX.reader(Mode.STRICT).read(new ByteArrayInputStream(data));
+	}
+
+	@Test(dataProvider = "visitFiles")
+	public void readLazily(final String resource, final Version version, final Mode mode)
+		throws IOException
+	{
+		final GPX expected;
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			expected = GPX.reader(version, mode).read(in);
+		}
+
+		final Path path = Files.createTempFile("GPXTest", ".gpx");
+		try {
+			try (InputStream in = getClass().getResourceAsStream(resource)) {
+				Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			final GPX gpx = GPX.reader(version, mode).readLazily(path);
+			Assert.assertEquals(gpx.getMetadata(), expected.getMetadata());
+			Assert.assertEquals(gpx, expected);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void readLazilyRandomGPX() throws IOException {
+		final GPX expected = nextGPX(new Random(3456)).toBuilder()
+			.addTrack(track -> track.addSegment(s -> s.addPoint(p -> p.lat(1).lon(2))))
+			.build();
+
+		final Path path = Files.createTempFile("GPXTest", ".gpx");
+		try {
+			GPX.writer("    ").write(expected, path);
+
+			final GPX gpx = GPX.reader().readLazily(path);
+			Assert.assertEquals(gpx.getCreator(), expected.getCreator());
+			Assert.assertEquals(gpx.getMetadata(), expected.getMetadata());
+			Assert.assertFalse(((LazyList<Track>)gpx.getTracks()).isLoaded());
+
+			Assert.assertEquals(gpx.getTracks(), expected.getTracks());
+			Assert.assertTrue(((LazyList<Track>)gpx.getTracks()).isLoaded());
+			Assert.assertEquals(gpx, expected);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test(expectedExceptions = UncheckedIOException.class)
+	public void readLazilyStrictInvalid() throws IOException {
+		final Path path = Files.createTempFile("GPXTest", ".gpx");
+		try {
+			Files.write(path, (
+				"<gpx version=\"1.1\" creator=\"JPX\" " +
+					"xmlns=\"http://www.topografix.com/GPX/1/1\">" +
+				"<metadata><name>valid</name></metadata>" +
+				"<trk><trkseg><trkpt lat=\"48.2\" lon=\"16.x\"/></trkseg></trk>" +
+				"</gpx>").getBytes("UTF-8"));
+
+			final GPX gpx = GPX.reader().readLazily(path);
+			Assert.assertEquals(
+				gpx.getMetadata().flatMap(Metadata::getName),
+				Optional.of("valid")
+			);
+			gpx.getTracks().size();
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test(dataProvider = "visitFiles")
+	public void readParallel(final String resource, final Version version, final Mode mode)
+		throws IOException
+	{
+		final GPX expected;
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			expected = GPX.reader(version, mode).read(in);
+		}
+
+		final Path path = Files.createTempFile("GPXTest", ".gpx");
+		try {
+			try (InputStream in = getClass().getResourceAsStream(resource)) {
+				Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			final GPX gpx = GPX.reader(version, mode).readParallel(path);
+			Assert.assertEquals(gpx, expected);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void readParallelBigGPX() throws IOException {
+		final Random random = new Random(4567);
+		final GPX.Builder builder = GPX.builder()
+			.wayPoints(WayPointTest.nextWayPoints(random));
+		for (int i = 0; i < 20; ++i) {
+			builder.addTrack(track -> {
+				track.name("track_" + random.nextInt(100));
+				for (int j = 0, n = random.nextInt(10); j < n; ++j) {
+					track.addSegment(segment -> {
+						for (int k = 0, m = random.nextInt(500); k < m; ++k) {
+							segment.addPoint(p -> p
+								.lat(random.nextDouble()*180 - 90)
+								.lon(random.nextDouble()*360 - 180)
+								.ele(random.nextDouble()*1000));
+						}
+					});
+				}
+			});
+			builder.addWayPoint(WayPointTest.nextWayPoint(random));
+		}
+		final GPX expected = builder.build();
+
+		final Path path = Files.createTempFile("GPXTest", ".gpx");
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			GPX.writer("  ").write(expected, path);
+			Assert.assertEquals(GPX.reader().readParallel(path, pool), expected);
+		} finally {
+			pool.shutdown();
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readParallelStrictInvalid() throws IOException {
+		final Path path = Files.createTempFile("GPXTest", ".gpx");
+		try {
+			try (InputStream in = getClass()
+					.getResourceAsStream("/io/jenetics/jpx/invalid-latlon.xml"))
+			{
+				Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			GPX.reader().readParallel(path);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test(dataProvider = "visitFiles")
+	public void visit(final String resource, final Version version, final Mode mode)
+		throws IOException
+	{
+		final GPX expected;
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			expected = GPX.reader(version, mode).read(in);
+		}
+
+		final GPXRecorder recorder = new GPXRecorder();
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			GPX.reader(version, mode).read(in, recorder);
+		}
+
+		recorder.assertEquals(expected);
+	}
+
+	@DataProvider(name = "visitFiles")
+	public Object[][] visitFiles() {
+		return new Object[][] {
+			{"/io/jenetics/jpx/Austria.gpx", Version.V11, Mode.STRICT},
+			{"/io/jenetics/jpx/Gpx-full-sample.gpx", Version.V11, Mode.STRICT},
+			{"/io/jenetics/jpx/extensions-route.gpx", Version.V11, Mode.STRICT},
+			{"/io/jenetics/jpx/extensions-track.gpx", Version.V11, Mode.STRICT},
+			{"/io/jenetics/jpx/empty-track-segment.xml", Version.V11, Mode.STRICT},
+			{"/io/jenetics/jpx/ISSUE-49.gpx", Version.V11, Mode.LENIENT},
+			{"/io/jenetics/jpx/invalid-latlon.xml", Version.V11, Mode.LENIENT},
+			{"/io/jenetics/jpx/GPX_10-1.gpx", Version.V10, Mode.STRICT},
+			{"/io/jenetics/jpx/GPX_10-2.gpx", Version.V10, Mode.STRICT}
+		};
+	}
+
+	@Test(dataProvider = "visitVersions")
+	public void visitRandomGPX(final Version version) throws IOException {
+		final GPX expected = nextGPX(new Random(2345)).toBuilder()
+			.version(version)
+			.build();
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GPX.writer("    ").write(expected, out);
+
+		final GPXRecorder recorder = new GPXRecorder();
+		GPX.reader(version)
+			.read(new ByteArrayInputStream(out.toByteArray()), recorder);
+
+		final GPX gpx = GPX.reader(version)
+			.read(new ByteArrayInputStream(out.toByteArray()));
+		recorder.assertEquals(gpx);
+	}
+
+	@DataProvider(name = "visitVersions")
+	public Object[][] visitVersions() {
+		return new Object[][] {{Version.V10}, {Version.V11}};
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void visitStrictInvalid() throws IOException {
+		final String resource = "/io/jenetics/jpx/invalid-latlon.xml";
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			GPX.reader().read(in, new GPXVisitor() {});
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void visitCallbackException() throws IOException {
+		final String resource = "/io/jenetics/jpx/Austria.gpx";
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			GPX.reader(Mode.LENIENT).read(in, new GPXVisitor() {
+				@Override
+				public void onWayPoint(final WayPoint point) {
+					throw new IllegalArgumentException();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Rebuilds the GPX elements from the visitor callbacks.
+	 */
+	private static final class GPXRecorder implements GPXVisitor {
+		private Metadata _metadata;
+		private final List<WayPoint> _wayPoints = new ArrayList<>();
+		private final List<Route> _routes = new ArrayList<>();
+		private final List<Track> _tracks = new ArrayList<>();
+
+		private List<WayPoint> _points;
+		private List<TrackSegment> _segments;
+
+		@Override
+		public void onMetadata(final Metadata metadata) {
+			Assert.assertNull(_metadata);
+			_metadata = metadata;
+		}
+
+		@Override
+		public void onWayPoint(final WayPoint point) {
+			_wayPoints.add(point);
+		}
+
+		@Override
+		public void onRouteStart() {
+			Assert.assertNull(_points);
+			_points = new ArrayList<>();
+		}
+
+		@Override
+		public void onRoutePoint(final WayPoint point) {
+			_points.add(point);
+		}
+
+		@Override
+		public void onRouteEnd(final Route route) {
+			Assert.assertNotNull(_points);
+			if (route == null) {
+				_points = null;
+				return;
+			}
+
+			Assert.assertTrue(route.getPoints().isEmpty());
+			_routes.add(Route.of(
+				route.getName().orElse(null),
+				route.getComment().orElse(null),
+				route.getDescription().orElse(null),
+				route.getSource().orElse(null),
+				route.getLinks(),
+				route.getNumber().orElse(null),
+				route.getType().orElse(null),
+				_points
+			));
+			_points = null;
+		}
+
+		@Override
+		public void onTrackStart() {
+			Assert.assertNull(_segments);
+			_segments = new ArrayList<>();
+		}
+
+		@Override
+		public void onSegmentStart() {
+			Assert.assertNotNull(_segments);
+			Assert.assertNull(_points);
+			_points = new ArrayList<>();
+		}
+
+		@Override
+		public void onTrackPoint(final WayPoint point) {
+			_points.add(point);
+		}
+
+		@Override
+		public void onSegmentEnd() {
+			Assert.assertNotNull(_points);
+			_segments.add(TrackSegment.of(_points));
+			_points = null;
+		}
+
+		@Override
+		public void onTrackEnd(final Track track) {
+			Assert.assertNotNull(_segments);
+			Assert.assertNull(_points);
+			if (track == null) {
+				_segments = null;
+				return;
+			}
+
+			Assert.assertTrue(track.getSegments().isEmpty());
+			_tracks.add(Track.of(
+				track.getName().orElse(null),
+				track.getComment().orElse(null),
+				track.getDescription().orElse(null),
+				track.getSource().orElse(null),
+				track.getLinks(),
+				track.getNumber().orElse(null),
+				track.getType().orElse(null),
+				_segments
+			));
+			_segments = null;
+		}
+
+		void assertEquals(final GPX expected) {
+			Assert.assertEquals(
+				Optional.ofNullable(_metadata),
+				expected.getMetadata()
+			);
+			Assert.assertEquals(_wayPoints, expected.getWayPoints());
+			Assert.assertEquals(_routes, expected.getRoutes());
+			Assert.assertEquals(_tracks, expected.getTracks());
+		}
+	}
+
+	@Test
+	public void readerDefaultFactoryIsShared() {
+		Assert.assertSame(
+			GPX.reader(Version.V10, Mode.LENIENT).factory(),
+			GPX.reader().factory()
+		);
+		Assert.assertSame(
+			GPX.Reader.builder().build().factory(),
+			GPX.reader().factory()
+		);
+	}
+
+	@Test
+	public void readerBuilder() throws IOException {
+		final XMLInputFactory factory = XMLInputFactory.newInstance();
+		final GPX.Reader reader = GPX.Reader.builder()
+			.version(Version.V11)
+			.mode(Mode.LENIENT)
+			.factory(factory)
+			.coalescing(true)
+			.supportDTD(false)
+			.build();
+
+		Assert.assertSame(reader.factory(), factory);
+		Assert.assertEquals(reader.getVersion(), Version.V11);
+		Assert.assertEquals(reader.getMode(), Mode.LENIENT);
+		Assert.assertEquals(factory.getProperty(XMLInputFactory.IS_COALESCING), true);
+		Assert.assertEquals(factory.getProperty(XMLInputFactory.SUPPORT_DTD), false);
+
+		final String resource = "/io/jenetics/jpx/Gpx-full-sample.gpx";
+		try (InputStream in1 = getClass().getResourceAsStream(resource);
+			 InputStream in2 = getClass().getResourceAsStream(resource))
+		{
+			Assert.assertEquals(
+				reader.read(in1),
+				GPX.reader(Mode.LENIENT).read(in2)
+			);
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void readerBuilderUnknownProperty() {
+		GPX.Reader.builder().property("unknown.property", true).build();
+	}
+
+	@Test
+	public void writerBuilder() {
+		final GPX gpx = nextGPX(new Random(123));
+		final XMLOutputFactory factory = XMLOutputFactory.newInstance();
+		final GPX.Writer writer = GPX.Writer.builder()
+			.indent("  ")
+			.factory(factory)
+			.build();
+
+		Assert.assertSame(writer.factory(), factory);
+		Assert.assertSame(GPX.writer().factory(), GPX.writer("  ").factory());
+		Assert.assertEquals(writer.getIndent(), Optional.of("  "));
+		Assert.assertEquals(
+			writer.toString(gpx),
+			GPX.writer("  ").toString(gpx)
+		);
+	}
+
+	@Test
+	public void writerMaximumFractionDigits() throws IOException {
+		final GPX gpx = GPX.builder()
+			.addWayPoint(wp -> wp
+				.lat(48.20817431234).lon(-16.3720812345)
+				.ele(123.456789).hdop(0.25))
+			.build();
+
+		final GPX.Writer writer = GPX.Writer.builder()
+			.maximumFractionDigits(3)
+			.build();
+		Assert.assertEquals(writer.getMaximumFractionDigits(), OptionalInt.of(3));
+		Assert.assertEquals(GPX.writer().getMaximumFractionDigits(), OptionalInt.empty());
+
+		final String xml = writer.toString(gpx);
+		Assert.assertTrue(xml.contains("lat=\"48.208\""), xml);
+		Assert.assertTrue(xml.contains("lon=\"-16.372\""), xml);
+		Assert.assertTrue(xml.contains("<ele>123.457</ele>"), xml);
+		Assert.assertTrue(xml.contains("<hdop>0.25</hdop>"), xml);
+
+		final GPX read = GPX.read(new ByteArrayInputStream(xml.getBytes()));
+		Assert.assertEquals(
+			read.getWayPoints().get(0),
+			WayPoint.builder().lat(48.208).lon(-16.372).ele(123.457).hdop(0.25).build()
+		);
+	}
+
+	@Test(dataProvider = "invalidFractionDigits",
+		expectedExceptions = IllegalArgumentException.class)
+	public void writerInvalidMaximumFractionDigits(final int digits) {
+		GPX.Writer.builder().maximumFractionDigits(digits);
+	}
+
+	@DataProvider(name = "invalidFractionDigits")
+	public Object[][] invalidFractionDigits() {
+		return new Object[][] {{-1}, {18}};
+	}
+
+	@Test
+	public void bounds() {
+		final GPX gpx = GPX.builder()
+			.addWayPoint(wp -> wp.lat(10).lon(20))
+			.addRoute(route -> route
+				.addPoint(wp -> wp.lat(-5).lon(25))
+				.addPoint(wp -> wp.lat(0).lon(21)))
+			.addTrack(track -> track
+				.addSegment(segment -> segment
+					.addPoint(wp -> wp.lat(12).lon(-30))
+					.addPoint(wp -> wp.lat(11).lon(22)))
+				.addSegment(TrackSegment.of(Collections.emptyList()))
+				.addSegment(segment -> segment
+					.addPoint(wp -> wp.lat(3).lon(40))))
+			.build();
+
+		Assert.assertEquals(gpx.getBounds(), Optional.of(Bounds.of(-5, -30, 12, 40)));
+		Assert.assertSame(gpx.getBounds().get(), gpx.getBounds().get());
+		Assert.assertSame(gpx.getBounds(), gpx.getBounds());
+		Assert.assertEquals(
+			gpx.getRoutes().get(0).getBounds(),
+			Optional.of(Bounds.of(-5, 21, 0, 25))
+		);
+		Assert.assertEquals(
+			gpx.getTracks().get(0).getBounds(),
+			Optional.of(Bounds.of(3, -30, 12, 40))
+		);
+		Assert.assertEquals(
+			gpx.getTracks().get(0).getSegments().get(1).getBounds(),
+			Optional.empty()
+		);
+		Assert.assertEquals(GPX.builder().build().getBounds(), Optional.empty());
+	}
+
+	@Test(invocationCount = 5)
+	public void randomBounds() {
+		final GPX gpx = nextGPX(new Random());
+		final Optional<Bounds> expected = Stream.concat(
+				gpx.wayPoints(),
+				Stream.concat(
+					gpx.routes().flatMap(Route::points),
+					gpx.tracks()
+						.flatMap(Track::segments)
+						.flatMap(TrackSegment::points)))
+			.collect(Collectors.collectingAndThen(
+				Collectors.toList(),
+				points -> Optional.ofNullable(Bounds.of(points))));
+
+		Assert.assertEquals(gpx.getBounds(), expected);
+	}
+
+	@Test
+	public void writerFillBounds() throws IOException {
+		final GPX gpx = GPX.builder()
+			.metadata(md -> md.name("name"))
+			.addTrack(track -> track
+				.addSegment(segment -> segment
+					.addPoint(wp -> wp.lat(48.2).lon(16.3))
+					.addPoint(wp -> wp.lat(48.3).lon(16.1))))
+			.build();
+
+		final GPX.Writer writer = GPX.Writer.builder()
+			.fillBounds(true)
+			.build();
+		Assert.assertTrue(writer.isFillBounds());
+		Assert.assertFalse(GPX.writer().isFillBounds());
+
+		final GPX read = GPX.read(
+			new ByteArrayInputStream(writer.toString(gpx).getBytes()));
+		Assert.assertEquals(
+			read.getMetadata().flatMap(Metadata::getBounds),
+			Optional.of(Bounds.of(48.2, 16.1, 48.3, 16.3))
+		);
+		Assert.assertEquals(read.getMetadata().flatMap(Metadata::getName), Optional.of("name"));
+		Assert.assertEquals(read.getTracks(), gpx.getTracks());
+
+		// Existing metadata bounds are kept.
+		final Bounds bounds = Bounds.of(0, 0, 1, 1);
+		final GPX bounded = gpx.toBuilder()
+			.metadata(md -> md.bounds(bounds))
+			.build();
+		Assert.assertEquals(
+			GPX.read(new ByteArrayInputStream(writer.toString(bounded).getBytes()))
+				.getMetadata().flatMap(Metadata::getBounds),
+			Optional.of(bounds)
+		);
+
+		// Without points, no bounds are written.
+		Assert.assertEquals(
+			writer.toString(GPX.builder().build()),
+			GPX.writer().toString(GPX.builder().build())
+		);
+	}
+
+	@Test(invocationCount = 5)
+	public void cachedHashCode() {
+		final long seed = System.nanoTime();
+		final GPX gpx = nextGPX(new Random(seed));
+		final GPX other = nextGPX(new Random(seed));
+
+		Assert.assertEquals(gpx.hashCode(), other.hashCode());
+		Assert.assertEquals(gpx.hashCode(), gpx.hashCode());
+		Assert.assertEquals(gpx, other);
+		Assert.assertEquals(gpx.toBuilder().build().hashCode(), gpx.hashCode());
+	}
+
+	@Test
+	public void equalsDifferentOrder() {
+		final GPX gpx = nextGPX(new Random(123));
+		if (gpx.getWayPoints().size() > 1) {
+			final GPX reverted = gpx.toBuilder()
+				.wayPoints(revert(gpx.getWayPoints()))
+				.build();
+			Assert.assertNotEquals(reverted, gpx);
+		}
+	}
+
+	@Test(invocationCount = 5)
+	public void digest() throws IOException {
+		final long seed = System.nanoTime();
+		final GPX gpx = nextGPX(new Random(seed));
+
+		final byte[] digest = gpx.digest();
+		Assert.assertEquals(digest.length, 32);
+		Assert.assertEquals(nextGPX(new Random(seed)).digest(), digest);
+
+		// The returned array is a copy.
+		digest[0] ^= 1;
+		Assert.assertNotEquals(gpx.digest(), digest);
+		digest[0] ^= 1;
+
+		final GPX binary = GPX.Binary.read(new ByteArrayInputStream(
+			binaryBytes(gpx)));
+		Assert.assertEquals(binary, gpx);
+		Assert.assertEquals(binary.digest(), digest);
+
+		final GPX changed = gpx.toBuilder()
+			.addWayPoint(WayPoint.of(12, 13))
+			.build();
+		Assert.assertNotEquals(changed.digest(), digest);
+		Assert.assertNotEquals(
+			GPX.builder(gpx.getVersion().equals("1.0") ? Version.V11 : Version.V10, gpx.getCreator())
+				.metadata(gpx.getMetadata().orElse(null))
+				.wayPoints(gpx.getWayPoints())
+				.routes(gpx.getRoutes())
+				.tracks(gpx.getTracks())
+				.build()
+				.digest(),
+			digest
+		);
+	}
+
+	private static byte[] binaryBytes(final GPX gpx) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GPX.Binary.write(gpx, out);
+		return out.toByteArray();
+	}
+
+	@Test(dataProvider = "numberTexts")
+	public void readNumber(final String text, final Double expected)
+		throws IOException
+	{
+		final String xml =
+			"<gpx version=\"1.1\" creator=\"JPX\">" +
+			"<wpt lat=\"1.0\" lon=\"2.0\"><ele>" + text + "</ele></wpt>" +
+			"</gpx>";
+
+		final GPX gpx = GPX.read(new ByteArrayInputStream(xml.getBytes()));
+		Assert.assertEquals(
+			gpx.getWayPoints().get(0).getElevation().map(Length::doubleValue),
+			Optional.ofNullable(expected)
+		);
+	}
+
+	@DataProvider(name = "numberTexts")
+	public Object[][] numberTexts() {
+		return new Object[][] {
+			{"12.5", 12.5},
+			{" 12.5 ", 12.5},
+			{"1.25E1", 12.5},
+			{"1&#50;.5", 12.5},
+			{"1<![CDATA[2.]]>5", 12.5},
+			{"", null}
+		};
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readInvalidNumber() throws IOException {
+		final String xml =
+			"<gpx version=\"1.1\" creator=\"JPX\">" +
+			"<wpt lat=\"1.0\" lon=\"2.0\"><ele>12,5</ele></wpt>" +
+			"</gpx>";
+
+		GPX.read(new ByteArrayInputStream(xml.getBytes()));
+	}
+
+	@Test
+	public void readInvalidNumberLenient() throws IOException {
+		final String xml =
+			"<gpx version=\"1.1\" creator=\"JPX\">" +
+			"<wpt lat=\"1.0\" lon=\"2.0\"><ele>12,5</ele></wpt>" +
+			"</gpx>";
+
+		final GPX gpx = GPX.reader(Version.V11, Mode.LENIENT)
+			.read(new ByteArrayInputStream(xml.getBytes()));
+		Assert.assertEquals(
+			gpx.getWayPoints().get(0),
+			WayPoint.of(1.0, 2.0)
+		);
+	}
+
 	@Test(expectedExceptions = IllegalStateException.class)
 	public void emptyWayPointException() {
 		WayPoint.builder().build();
@@ -492,7 +1269,13 @@ public class GPXTest extends XMLStreamTestBase<GPX> {
 
 	@Test
 	public void equalsVerifier() {
-		EqualsVerifier.forClass(GPX.class).verify();
+		// Initializes the lazily cached hash code of the example.
+		final GPX example = nextGPX(new Random(1));
+		example.hashCode();
+
+		EqualsVerifier.forClass(GPX.class)
+			.withCachedHashCode("_hash", "hash", example)
+			.verify();
 	}
 
 
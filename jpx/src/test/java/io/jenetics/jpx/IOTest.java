@@ -23,7 +23,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.StreamCorruptedException;
 import java.util.Random;
 
 import org.testng.Assert;
@@ -72,4 +74,33 @@ public class IOTest {
 		}
 	}
 
+	private static byte[] intBytes(final int value) throws IOException {
+		final ByteArrayOutputStream bout = new ByteArrayOutputStream(5);
+		final DataOutputStream dout = new DataOutputStream(bout);
+		IO.writeInt(value, dout);
+		dout.flush();
+		return bout.toByteArray();
+	}
+
+	@Test(expectedExceptions = StreamCorruptedException.class)
+	public void readNegativeLength() throws IOException {
+		final byte[] data = intBytes(-1);
+		IO.readLength(new DataInputStream(new ByteArrayInputStream(data)));
+	}
+
+	@Test(expectedExceptions = EOFException.class)
+	public void readStringCorruptLength() throws IOException {
+		final byte[] data = intBytes(Integer.MAX_VALUE);
+		IO.readString(new DataInputStream(new ByteArrayInputStream(data)));
+	}
+
+	@Test(expectedExceptions = EOFException.class)
+	public void readsCorruptLength() throws IOException {
+		final byte[] data = intBytes(Integer.MAX_VALUE);
+		IO.reads(
+			IO::readInt,
+			new DataInputStream(new ByteArrayInputStream(data))
+		);
+	}
+
 }
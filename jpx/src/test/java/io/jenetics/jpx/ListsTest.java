@@ -23,6 +23,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -41,6 +42,30 @@ public class ListsTest {
 		Assert.assertTrue(Lists.isImmutable(emptyList()));
 	}
 
+	@Test
+	public void equals() {
+		final List<String> a = Arrays.asList("a", "b", "c", "c");
+
+		Assert.assertTrue(Lists.equals(a, new ArrayList<>(a)));
+		Assert.assertTrue(Lists.equals(a, new LinkedList<>(a)));
+		Assert.assertTrue(Lists.equals(null, null));
+		Assert.assertFalse(Lists.equals(a, null));
+		Assert.assertFalse(Lists.equals(null, a));
+		Assert.assertFalse(Lists.equals(a, revert(a)));
+		Assert.assertFalse(Lists.equals(a, Arrays.asList("a", "b", "b", "c")));
+		Assert.assertFalse(Lists.equals(a, Arrays.asList("a", "b", "c")));
+		Assert.assertFalse(Lists.equals(new LinkedList<>(a), revert(a)));
+	}
+
+	@Test
+	public void hashCodeIsOrderAware() {
+		final List<String> a = Arrays.asList("a", "b", "c");
+
+		Assert.assertEquals(Lists.hashCode(a), Lists.hashCode(new LinkedList<>(a)));
+		Assert.assertNotEquals(Lists.hashCode(a), Lists.hashCode(revert(a)));
+		Assert.assertEquals(Lists.hashCode(null), 0);
+	}
+
 	static <T> List<T> revert(final List<T> list) {
 		final List<T> result = new ArrayList<T>(list.size());
 		for (int i = 0, n = list.size(); i < n; ++i) {
@@ -0,0 +1,78 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class NameIndexTest {
+
+	@Test
+	public void get() {
+		final String[] names = {
+			"lat", "lon", "ele", "time", "magvar", "geoidheight", "name",
+			"cmt", "desc", "src", "link", "sym", "type", "fix", "sat", "hdop",
+			"vdop", "pdop", "ageofdgpsdata", "dgpsid", "course", "speed",
+			"extensions"
+		};
+
+		final NameIndex index = new NameIndex(names);
+		for (int i = 0; i < names.length; ++i) {
+			Assert.assertEquals(index.get(names[i]), i);
+			Assert.assertEquals(index.get(new String(names[i])), i);
+		}
+		Assert.assertEquals(index.get("trkpt"), -1);
+		Assert.assertEquals(index.get(""), -1);
+	}
+
+	@Test
+	public void getRandomNames() {
+		final Random random = new Random(123);
+		final String[] names = IntStream.range(0, 500)
+			.mapToObj(i -> Long.toString(random.nextLong(), 36))
+			.toArray(String[]::new);
+
+		final NameIndex index = new NameIndex(names);
+		for (int i = 0; i < names.length; ++i) {
+			Assert.assertEquals(index.get(names[i]), i);
+		}
+		Assert.assertEquals(index.get("unknown"), -1);
+	}
+
+	@Test
+	public void getDuplicateNames() {
+		final NameIndex index = new NameIndex(new String[]{"a", "b", "a"});
+		Assert.assertEquals(index.get("a"), 2);
+		Assert.assertEquals(index.get("b"), 1);
+	}
+
+	@Test
+	public void getEmpty() {
+		final NameIndex index = new NameIndex(new String[0]);
+		Assert.assertEquals(index.get("a"), -1);
+	}
+
+}
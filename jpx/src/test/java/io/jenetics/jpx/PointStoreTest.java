@@ -0,0 +1,204 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Test
+public class PointStoreTest {
+
+	private static WayPoint nextPoint(final Random random) {
+		final WayPoint.Builder builder = WayPoint.builder();
+		if (random.nextBoolean()) {
+			builder.ele(random.nextDouble()*1000);
+		}
+		if (random.nextBoolean()) {
+			builder.speed(random.nextDouble()*10);
+		}
+		if (random.nextBoolean()) {
+			builder.time(ZonedDateTime.ofInstant(
+				Instant.ofEpochMilli(random.nextLong()%10_000_000_000_000L),
+				ZoneOffset.UTC
+			));
+		}
+
+		return builder.build(
+			random.nextDouble()*180 - 90,
+			random.nextDouble()*360 - 180
+		);
+	}
+
+	private static TrackSegment nextSegment(final Random random) {
+		return TrackSegment.of(
+			IntStream.range(0, random.nextInt(2000))
+				.mapToObj(i -> nextPoint(random))
+				.collect(Collectors.toList())
+		);
+	}
+
+	private static GPX nextGPX(final Random random) {
+		final List<Track> tracks = TrackTest.nextTracks(random).stream()
+			.map(track -> track.toBuilder()
+				.segments(
+					IntStream.range(0, random.nextInt(5))
+						.mapToObj(i -> nextSegment(random))
+						.collect(Collectors.toList()))
+				.build())
+			.collect(Collectors.toList());
+
+		return GPX.builder(GPX.Version.V10, "JPX test")
+			.tracks(tracks)
+			.build();
+	}
+
+	@Test
+	public void writeRead() throws IOException {
+		final GPX gpx = nextGPX(new Random(123));
+
+		final Path path = Files.createTempFile("PointStoreTest", ".jpxs");
+		try {
+			PointStore.write(gpx, path);
+			final GPX read = PointStore.read(path);
+
+			Assert.assertEquals(read, gpx);
+			Assert.assertTrue(read.tracks()
+				.flatMap(Track::segments)
+				.allMatch(TrackSegment::isCompact));
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void writeReadRegions() throws IOException {
+		final GPX gpx = nextGPX(new Random(321));
+
+		final Path path = Files.createTempFile("PointStoreTest", ".jpxs");
+		try {
+			PointStore.write(gpx, path);
+			final int[] regionSizes = {
+				1,
+				WayPointColumns.RECORD_SIZE,
+				100*WayPointColumns.RECORD_SIZE + 3,
+				2000*WayPointColumns.RECORD_SIZE
+			};
+			for (int regionSize : regionSizes) {
+				Assert.assertEquals(PointStore.read(path, regionSize), gpx);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void writeReadEmpty() throws IOException {
+		final GPX gpx = GPX.builder().build();
+
+		final Path path = Files.createTempFile("PointStoreTest", ".jpxs");
+		try {
+			PointStore.write(gpx, path);
+			Assert.assertEquals(PointStore.read(path), gpx);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void primitiveAccess() throws IOException {
+		final GPX gpx = nextGPX(new Random(456));
+
+		final Path path = Files.createTempFile("PointStoreTest", ".jpxs");
+		try {
+			PointStore.write(gpx, path);
+			final List<TrackSegment> expected = gpx.tracks()
+				.flatMap(Track::segments)
+				.collect(Collectors.toList());
+			final List<TrackSegment> actual = PointStore.read(path).tracks()
+				.flatMap(Track::segments)
+				.collect(Collectors.toList());
+
+			Assert.assertEquals(actual.size(), expected.size());
+			for (int i = 0; i < expected.size(); ++i) {
+				final TrackSegment e = expected.get(i);
+				final TrackSegment a = actual.get(i);
+
+				Assert.assertEquals(a.size(), e.size());
+				for (int j = 0; j < e.size(); ++j) {
+					Assert.assertEquals(a.latitude(j), e.latitude(j));
+					Assert.assertEquals(a.longitude(j), e.longitude(j));
+					Assert.assertEquals(a.elevation(j), e.elevation(j));
+					Assert.assertEquals(a.speed(j), e.speed(j));
+					Assert.assertEquals(a.epochMilli(j), e.epochMilli(j));
+				}
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readInvalidFile() throws IOException {
+		final Path path = Files.createTempFile("PointStoreTest", ".jpxs");
+		try {
+			Files.write(path, "<gpx version=\"1.1\"/>".getBytes("UTF-8"));
+			PointStore.read(path);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readTruncatedFile() throws IOException {
+		final Path path = Files.createTempFile("PointStoreTest", ".jpxs");
+		try {
+			final Random random = new Random(789);
+			final GPX gpx = GPX.builder()
+				.addTrack(track -> track
+					.addSegment(segment -> segment
+						.addPoint(nextPoint(random))
+						.addPoint(nextPoint(random))))
+				.build();
+
+			PointStore.write(gpx, path);
+			final byte[] bytes = Files.readAllBytes(path);
+			Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+			PointStore.read(path);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+}
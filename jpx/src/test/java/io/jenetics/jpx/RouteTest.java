@@ -174,7 +174,13 @@ public class RouteTest extends XMLStreamTestBase<Route> {
 
 	@Test
 	public void equalsVerifier() {
-		EqualsVerifier.forClass(Route.class).verify();
+		// Initializes the lazily cached hash code of the example.
+		final Route example = nextRoute(new Random(1));
+		example.hashCode();
+
+		EqualsVerifier.forClass(Route.class)
+			.withCachedHashCode("_hash", "hash", example)
+			.verify();
 	}
 
 	@Test(invocationCount = 10)
@@ -23,9 +23,16 @@ import static io.jenetics.jpx.ListsTest.revert;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -185,9 +192,191 @@ public class TrackSegmentTest extends XMLStreamTestBase<TrackSegment> {
 		);
 	}
 
+	private static List<WayPoint> nextCompactWayPoints(final Random random) {
+		final ZonedDateTime start = ZonedDateTime.of(
+			2017, 7, 1, 10, 0, 0, 0, ZoneId.of("Europe/Vienna")
+		);
+
+		return IntStream.range(0, 100)
+			.mapToObj(i -> {
+				final WayPoint.Builder builder = WayPoint.builder()
+					.lat(random.nextDouble()*180 - 90)
+					.lon(random.nextDouble()*360 - 180);
+				if (i%3 != 0) builder.ele(random.nextDouble()*1000);
+				if (i%5 != 0) builder.speed(random.nextDouble()*10);
+				if (i%7 != 0) builder.time(start.plusSeconds(i));
+				return builder.build();
+			})
+			.collect(Collectors.toList());
+	}
+
+	@Test
+	public void compact() {
+		final Random random = new Random(123);
+		final TrackSegment segment = TrackSegment.of(nextCompactWayPoints(random));
+		final TrackSegment compact = segment.compact();
+
+		Assert.assertTrue(compact.isCompact());
+		Assert.assertFalse(segment.isCompact());
+		Assert.assertSame(compact.compact(), compact);
+		Assert.assertEquals(compact, segment);
+		Assert.assertEquals(segment, compact);
+		Assert.assertEquals(compact.hashCode(), segment.hashCode());
+		Assert.assertEquals(compact.getPoints(), segment.getPoints());
+		Assert.assertEquals(
+			compact.points().collect(Collectors.toList()),
+			segment.getPoints()
+		);
+	}
+
+	@Test
+	public void compactBounds() {
+		final TrackSegment segment = TrackSegment.of(nextCompactWayPoints(new Random(789)));
+
+		Assert.assertEquals(segment.compact().getBounds(), segment.getBounds());
+		Assert.assertEquals(
+			segment.getBounds().map(Bounds::getMaxLatitude),
+			segment.points().map(WayPoint::getLatitude)
+				.max((a, b) -> Double.compare(a.doubleValue(), b.doubleValue()))
+		);
+		Assert.assertFalse(TrackSegment.of(Collections.emptyList()).getBounds().isPresent());
+	}
+
+	@Test
+	public void compactMixedPoints() {
+		final Random random = new Random(456);
+		final List<WayPoint> points = new ArrayList<>(nextCompactWayPoints(random));
+		points.addAll(WayPointTest.nextWayPoints(random));
+		points.add(WayPoint.builder()
+			.time(ZonedDateTime.of(2017, 7, 1, 10, 0, 0, 1, ZoneId.of("UTC")))
+			.build(1, 2));
+		points.add(WayPoint.builder()
+			.time(ZonedDateTime.of(2017, 7, 1, 10, 0, 0, 0, ZoneId.of("Asia/Tokyo")))
+			.build(3, 4));
+
+		final TrackSegment segment = TrackSegment.of(points);
+		final TrackSegment compact = segment.compact();
+
+		Assert.assertEquals(compact, segment);
+		for (int i = 0; i < points.size(); ++i) {
+			Assert.assertEquals(compact.getPoints().get(i), points.get(i));
+		}
+	}
+
+	@Test
+	public void compactPreservesTimes() {
+		final ZonedDateTime utc = ZonedDateTime
+			.of(2018, 6, 1, 11, 0, 0, 0, ZoneId.of("UTC"));
+		final List<ZonedDateTime> times = Arrays.asList(
+			utc,
+			ZonedDateTime.of(2018, 6, 1, 12, 0, 1, 123_456_789, ZoneId.of("Europe/Vienna")),
+			utc.plusSeconds(2).withZoneSameInstant(ZoneId.of("+01:00")),
+			utc.plusNanos(3_000_000_001L),
+			utc.plusNanos(4_123_000_000L)
+		);
+		final TrackSegment segment = TrackSegment.of(times.stream()
+			.map(time -> WayPoint.builder().time(time).build(48, 16))
+			.collect(Collectors.toList()));
+		final TrackSegment compact = segment.compact();
+
+		Assert.assertEquals(compact, segment);
+		Assert.assertEquals(compact.hashCode(), segment.hashCode());
+		Assert.assertEquals(
+			compact.points()
+				.map(p -> p.getTime().orElse(null))
+				.collect(Collectors.toList()),
+			times
+		);
+	}
+
+	@Test
+	public void compactAccessors() {
+		final Random random = new Random(789);
+		final TrackSegment segment = TrackSegment.of(nextCompactWayPoints(random));
+		final TrackSegment compact = segment.compact();
+
+		Assert.assertEquals(compact.size(), segment.size());
+		for (int i = 0; i < segment.size(); ++i) {
+			Assert.assertEquals(compact.latitude(i), segment.latitude(i));
+			Assert.assertEquals(compact.longitude(i), segment.longitude(i));
+			Assert.assertEquals(compact.elevation(i), segment.elevation(i));
+			Assert.assertEquals(compact.speed(i), segment.speed(i));
+			Assert.assertEquals(compact.epochMilli(i), segment.epochMilli(i));
+		}
+
+		Assert.assertTrue(Double.isNaN(compact.elevation(0)));
+		Assert.assertTrue(Double.isNaN(compact.speed(0)));
+		Assert.assertEquals(compact.epochMilli(0), Long.MIN_VALUE);
+	}
+
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void compactAccessorsOutOfBounds() {
+		TrackSegment.of(nextCompactWayPoints(new Random()))
+			.compact()
+			.latitude(100);
+	}
+
+	@Test
+	public void compactWriteRead() throws IOException {
+		final TrackSegment compact = TrackSegment
+			.of(nextCompactWayPoints(new Random(1)))
+			.compact();
+		final GPX gpx = GPX.builder()
+			.addTrack(track -> track.addSegment(compact))
+			.build();
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GPX.write(gpx, out);
+		final GPX read = GPX.read(new ByteArrayInputStream(out.toByteArray()));
+
+		Assert.assertEquals(read.getTracks().get(0).getSegments().get(0), compact);
+	}
+
+	@Test
+	public void compactSerialize() throws IOException, ClassNotFoundException {
+		final TrackSegment compact = TrackSegment
+			.of(nextCompactWayPoints(new Random(2)))
+			.compact();
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(compact);
+		}
+		final Object read;
+		try (ObjectInputStream in = new ObjectInputStream(
+			new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			read = in.readObject();
+		}
+
+		Assert.assertEquals(read, compact);
+	}
+
+	@Test
+	public void equalsHashCodeDifferentZones() {
+		final ZonedDateTime time = ZonedDateTime
+			.of(2018, 6, 1, 12, 0, 0, 0, ZoneId.of("UTC"));
+		final TrackSegment a = TrackSegment.of(Collections.singletonList(
+			WayPoint.builder().time(time).build(48, 16)));
+		final TrackSegment b = TrackSegment.of(Collections.singletonList(
+			WayPoint.builder()
+				.time(time.withZoneSameInstant(ZoneId.of("+01:00")))
+				.build(48, 16)));
+
+		Assert.assertEquals(a, b);
+		Assert.assertEquals(a.hashCode(), b.hashCode());
+		Assert.assertEquals(a, b);
+	}
+
 	@Test
 	public void equalsVerifier() {
-		EqualsVerifier.forClass(TrackSegment.class).verify();
+		// Initializes the lazily cached hash code of the example.
+		final TrackSegment example = nextTrackSegment(new Random(1));
+		example.hashCode();
+
+		EqualsVerifier.forClass(TrackSegment.class)
+			.withCachedHashCode("_hash", "hash", example)
+			.verify();
 	}
 
 }
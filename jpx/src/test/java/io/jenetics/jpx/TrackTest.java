@@ -184,7 +184,13 @@ public class TrackTest extends XMLStreamTestBase<Track> {
 
 	@Test
 	public void equalsVerifier() {
-		EqualsVerifier.forClass(Track.class).verify();
+		// Initializes the lazily cached hash code of the example.
+		final Track example = nextTrack(new Random(1));
+		example.hashCode();
+
+		EqualsVerifier.forClass(Track.class)
+			.withCachedHashCode("_hash", "hash", example)
+			.verify();
 	}
 
 	@Test(invocationCount = 10)
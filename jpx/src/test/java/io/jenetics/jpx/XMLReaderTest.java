@@ -0,0 +1,99 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Test
+public class XMLReaderTest {
+
+	private static XMLStreamReader xml(final String value)
+		throws XMLStreamException
+	{
+		final XMLStreamReader xml = XMLInputFactory.newInstance()
+			.createXMLStreamReader(new StringReader(value));
+		xml.next();
+		return xml;
+	}
+
+	private static XMLReader<String> trk(final List<String> events) {
+		return XMLReader.<String>elem(
+			v -> {
+				if ("invalid".equals(v[0])) {
+					throw new IllegalArgumentException();
+				}
+				return (String)v[0];
+			},
+			"trk",
+			XMLReader.elem("name")
+		)
+		.forward(() -> events.add("start"), name -> events.add("end:" + name));
+	}
+
+	@Test
+	public void forward() throws XMLStreamException {
+		final List<String> events = new ArrayList<>();
+		trk(events).read(xml("<trk><name>track</name></trk>"), false);
+
+		Assert.assertEquals(events, Arrays.asList("start", "end:track"));
+	}
+
+	@Test
+	public void forwardLenientInvalid() throws XMLStreamException {
+		final List<String> events = new ArrayList<>();
+		trk(events).read(xml("<trk><name>invalid</name></trk>"), true);
+
+		Assert.assertEquals(events, Arrays.asList("start", "end:null"));
+	}
+
+	@Test(expectedExceptions = XMLStreamException.class)
+	public void forwardStrictInvalid() throws XMLStreamException {
+		trk(new ArrayList<>()).read(xml("<trk><name>invalid</name></trk>"), false);
+	}
+
+	@Test
+	public void forwardWithoutStart() throws XMLStreamException {
+		final List<String> values = new ArrayList<>();
+		final XMLReader<String> reader = XMLReader.<String>elem(
+			v -> {
+				throw new IllegalArgumentException();
+			},
+			"trkpt"
+		)
+		.forward(values::add);
+
+		reader.read(xml("<trkpt/>"), true);
+		Assert.assertTrue(values.isEmpty());
+	}
+
+}
@@ -19,9 +19,13 @@
  */
 package io.jenetics.jpx;
 
+import static java.lang.String.format;
+
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -49,6 +53,155 @@ public class ZonedDateTimeFormatTest {
 		);
 	}
 
+	@Test(dataProvider = "validExamples")
+	public void parseISOExample(final String example) {
+		final ZonedDateTime expected = ZonedDateTimeFormat
+			.parseOptional(example)
+			.orElseThrow(NoSuchElementException::new);
+
+		Assert.assertEquals(ZonedDateTimeFormat.parseISO(example), expected);
+		Assert.assertEquals(ZonedDateTimeFormat.parse(example), expected);
+	}
+
+	@Test
+	public void parseISODates() {
+		final String[] years = {"0000", "0001", "1900", "2000", "2001", "2004", "9999"};
+		for (String year : years) {
+			for (int month = 0; month <= 13; ++month) {
+				for (int day = 0; day <= 32; ++day) {
+					for (String zone : new String[]{"", "Z", "+01:00"}) {
+						assertEquivalentParse(format(
+							"%s-%02d-%02dT12:30:45%s", year, month, day, zone
+						));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parseISOTimes() {
+		for (int hour = 0; hour <= 25; ++hour) {
+			for (int minute : new int[]{0, 1, 30, 59, 60, 99}) {
+				for (int second : new int[]{0, 1, 30, 59, 60, 99}) {
+					for (String zone : new String[]{"", "Z", "-03:30"}) {
+						assertEquivalentParse(format(
+							"2016-02-29T%02d:%02d:%02d%s",
+							hour, minute, second, zone
+						));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parseISOFractions() {
+		final String digits = "1234567890123";
+		for (int i = 0; i <= digits.length(); ++i) {
+			for (String zone : new String[]{"", "Z", "+05:00", "ZZ"}) {
+				final String fraction = i > 0 ? "." + digits.substring(0, i) : "";
+				assertEquivalentParse("2001-10-26T21:32:52" + fraction + zone);
+				assertEquivalentParse("2001-10-26T21:32:52" + fraction + "." + zone);
+				assertEquivalentParse("2001-10-26T21:32:52" + fraction + ".1.2" + zone);
+			}
+		}
+	}
+
+	@Test
+	public void parseISOOffsets() {
+		for (String sign : new String[]{"+", "-"}) {
+			for (int hours = 0; hours <= 19; ++hours) {
+				for (int minutes : new int[]{0, 1, 30, 45, 59, 60}) {
+					assertEquivalentParse(format(
+						"2001-10-26T21:32:52%s%02d:%02d", sign, hours, minutes
+					));
+					assertEquivalentParse(format(
+						"2001-10-26T21:32:52.5%s%02d:%02d", sign, hours, minutes
+					));
+					assertEquivalentParse(format(
+						"2001-10-26T21:32:52%s%02d%02d", sign, hours, minutes
+					));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parseISOInvalid() {
+		final String[] invalid = {
+			"", "2001", "2001-10-26", "2001-10-26T21:32", "2001-10-26 21:32:52",
+			"2001-10-26t21:32:52", "2001/10/26T21:32:52", "01-10-26T21:32:52",
+			"02001-10-26T21:32:52", "+2001-10-26T21:32:52", "2001-1-26T21:32:52",
+			"2001-10-26T21:32:52z", "2001-10-26T21:32:52+01", "2001-10-26T21:32:52+1:00",
+			"2001-10-26T21:32:52 ", " 2001-10-26T21:32:52", "2001-10-26T21:32:52\n",
+			"2001-10-26T21:32:5a", "2O01-10-26T21:32:52", "2001-10-26T21:32:52+01:00Z",
+			"2001-10-26T21:32:52Z+01:00", "2001-10-26T21:32:52.+01:00",
+			"\u0662001-10-26T21:32:52"
+		};
+
+		for (String time : invalid) {
+			assertEquivalentParse(time);
+		}
+	}
+
+	@Test
+	public void parseISORandom() {
+		final Random random = new Random(123);
+		for (int i = 0; i < 100_000; ++i) {
+			final String time = format(
+				"%04d-%02d-%02dT%02d:%02d:%02d%s%s",
+				random.nextInt(10_000),
+				random.nextInt(14),
+				random.nextInt(33),
+				random.nextInt(26),
+				random.nextInt(61),
+				random.nextInt(61),
+				random.nextBoolean()
+					? "." + Integer.toString(random.nextInt(Integer.MAX_VALUE))
+					: "",
+				random.nextBoolean()
+					? random.nextBoolean() ? "Z" : ""
+					: format(
+						"%s%02d:%02d",
+						random.nextBoolean() ? "+" : "-",
+						random.nextInt(20),
+						random.nextInt(61))
+			);
+
+			assertEquivalentParse(time);
+		}
+	}
+
+	/**
+	 * Compares the result of the {@code parse} method with the result of the
+	 * formatter based parsing, which was the only implementation before.
+	 */
+	private static void assertEquivalentParse(final String time) {
+		Object expected;
+		try {
+			expected = ZonedDateTimeFormat.parseOptional(time)
+				.<Object>map(t -> t)
+				.orElse(IllegalArgumentException.class);
+		} catch (DateTimeException e) {
+			expected = DateTimeException.class;
+		}
+
+		Object actual;
+		try {
+			actual = ZonedDateTimeFormat.parse(time);
+		} catch (IllegalArgumentException e) {
+			actual = IllegalArgumentException.class;
+		} catch (DateTimeException e) {
+			actual = DateTimeException.class;
+		}
+
+		Assert.assertEquals(actual, expected, time);
+		if (ZonedDateTimeFormat.parseISO(time) != null) {
+			Assert.assertEquals(ZonedDateTimeFormat.parseISO(time), expected, time);
+		}
+	}
+
 	@DataProvider(name = "validExamples")
 	public Object[][] validExamples() {
 		return new Object[][] {
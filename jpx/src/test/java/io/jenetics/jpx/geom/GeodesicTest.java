@@ -0,0 +1,61 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.Degrees;
+import io.jenetics.jpx.Length;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class GeodesicTest {
+
+	@Test
+	public void azimuth() {
+		Assert.assertEquals(Geodesic.azimuth(0).doubleValue(), 0.0);
+		Assert.assertEquals(Geodesic.azimuth(Math.PI/2).doubleValue(), 90.0);
+		Assert.assertEquals(Geodesic.azimuth(Math.PI).doubleValue(), 180.0);
+		Assert.assertEquals(Geodesic.azimuth(-Math.PI/2).doubleValue(), 270.0);
+		Assert.assertEquals(Geodesic.azimuth(-Math.PI).doubleValue(), 180.0);
+		Assert.assertEquals(Geodesic.azimuth(-1E-20).doubleValue(), 0.0);
+	}
+
+	@Test
+	public void backAzimuth() {
+		final Geodesic geodesic = Geodesic.of(
+			Length.of(1, Length.Unit.METER),
+			Degrees.ofDegrees(10),
+			Degrees.ofDegrees(200)
+		);
+
+		Assert.assertEquals(geodesic.getBackAzimuth().doubleValue(), 20.0);
+	}
+
+	@Test
+	public void equalsVerifier() {
+		EqualsVerifier.forClass(Geodesic.class).verify();
+	}
+
+}
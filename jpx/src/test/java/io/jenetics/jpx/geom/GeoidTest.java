@@ -28,6 +28,7 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import io.jenetics.jpx.Length;
 import io.jenetics.jpx.Point;
 import io.jenetics.jpx.WayPoint;
 import io.jenetics.jpx.WayPointTest;
@@ -119,6 +120,71 @@ public class GeoidTest {
 		return length.doubleValue();
 	}
 
+	@Test(dataProvider = "pointSizes")
+	public void distances(final int size) {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPointTest.nextWayPoint(random))
+			.limit(size)
+			.collect(Collectors.toList());
+
+		final double[] distances = new double[Math.max(size - 1, 0)];
+		GEOID.distances(lat(points), lon(points), distances);
+
+		for (int i = 1; i < size; ++i) {
+			Assert.assertEquals(
+				distances[i - 1],
+				GEOID.distance(points.get(i - 1), points.get(i)).doubleValue()
+			);
+		}
+	}
+
+	@Test(dataProvider = "pointSizes")
+	public void arrayPathLength(final int size) {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPointTest.nextWayPoint(random))
+			.limit(size)
+			.collect(Collectors.toList());
+
+		Assert.assertEquals(
+			GEOID.pathLength(lat(points), lon(points)),
+			points.stream().collect(GEOID.toPathLength())
+		);
+	}
+
+	private static double[] lat(final List<WayPoint> points) {
+		return points.stream()
+			.mapToDouble(p -> p.getLatitude().doubleValue())
+			.toArray();
+	}
+
+	private static double[] lon(final List<WayPoint> points) {
+		return points.stream()
+			.mapToDouble(p -> p.getLongitude().doubleValue())
+			.toArray();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void distancesDifferentLengths() {
+		GEOID.distances(new double[3], new double[2], new double[2]);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void distancesShortOutput() {
+		GEOID.distances(new double[3], new double[3], new double[1]);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void pathLengthInvalidLatitude() {
+		GEOID.pathLength(new double[]{0, 91}, new double[]{0, 0});
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void pathLengthInvalidLongitude() {
+		GEOID.pathLength(new double[]{0, 0}, new double[]{Double.NaN, 0});
+	}
+
 	@DataProvider(name = "pointSizes")
 	public Object[][] pointSizes() {
 		return new Object[][] {
@@ -126,12 +192,260 @@ public class GeoidTest {
 		};
 	}
 
-	@Test(expectedExceptions = UnsupportedOperationException.class)
-	public void parallelPointStream() {
-		Stream.generate(() -> WayPointTest.nextWayPoint(new Random()))
+	@Test(dataProvider = "pointSizes")
+	public void collectParallelPathLength(final int size) {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPointTest.nextWayPoint(random))
+			.limit(size)
+			.collect(Collectors.toList());
+
+		Assert.assertEquals(
+			points.parallelStream()
+				.collect(GEOID.toPathLength())
+				.doubleValue(),
+			pathLength(points),
+			EPSILON*size
+		);
+	}
+
+	@Test(dataProvider = "pointSizes")
+	public void collectParallelTourLength(final int size) {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPointTest.nextWayPoint(random))
+			.limit(size)
+			.collect(Collectors.toList());
+
+		Assert.assertEquals(
+			points.parallelStream()
+				.collect(GEOID.toTourLength())
+				.doubleValue(),
+			tourLength(points),
+			EPSILON*size
+		);
+	}
+
+	@Test
+	public void combineEmptyCollectors() {
+		final Point start = WayPoint.of(47.2692124, 11.4041024);
+		final Point end = WayPoint.of(47.3502, 11.70584);
+
+		final LengthCollector first = new LengthCollector(GEOID);
+		final LengthCollector second = new LengthCollector(GEOID);
+		second.add(start);
+		final LengthCollector third = new LengthCollector(GEOID);
+		third.add(end);
+
+		final LengthCollector collector = first
+			.combine(new LengthCollector(GEOID))
+			.combine(second)
+			.combine(new LengthCollector(GEOID))
+			.combine(third);
+
+		Assert.assertEquals(
+			collector.pathLength(),
+			GEOID.distance(start, end)
+		);
+	}
+
+	@Test(dataProvider = "formulaAccuracies")
+	public void formulaAccuracy(
+		final Geoid.Formula formula,
+		final double separation,
+		final double maxError
+	) {
+		final Random random = new Random(123);
+		for (int i = 0; i < 1000; ++i) {
+			final double lat = random.nextDouble()*160 - 80;
+			final double lon = random.nextDouble()*300 - 150;
+			final double bearing = random.nextDouble()*2*Math.PI;
+			final double dlat = Math.cos(bearing)*separation/111_000;
+			final double dlon = Math.sin(bearing)*separation/111_000/
+				Math.cos(Math.toRadians(lat));
+
+			final Point start = WayPoint.of(lat, lon);
+			final Point end = WayPoint.of(lat + dlat, lon + dlon);
+
+			final double expected = GEOID.distance(start, end).doubleValue();
+			final double actual = GEOID.distance(start, end, formula).doubleValue();
+			Assert.assertEquals(actual, expected, maxError*expected);
+		}
+	}
+
+	@DataProvider(name = "formulaAccuracies")
+	public Object[][] formulaAccuracies() {
+		return new Object[][] {
+			{Geoid.Formula.EQUIRECTANGULAR, 1.0, 1E-8},
+			{Geoid.Formula.EQUIRECTANGULAR, 1_000.0, 1E-6},
+			{Geoid.Formula.EQUIRECTANGULAR, 10_000.0, 1E-5},
+			{Geoid.Formula.HAVERSINE, 10.0, 0.006},
+			{Geoid.Formula.HAVERSINE, 1_000_000.0, 0.006},
+			{Geoid.Formula.ANDOYER_LAMBERT, 1.0, 2E-6},
+			{Geoid.Formula.ANDOYER_LAMBERT, 1_000.0, 2E-6},
+			{Geoid.Formula.ANDOYER_LAMBERT, 1_000_000.0, 2E-6},
+			{Geoid.Formula.VINCENTY, 1_000.0, 0.0},
+			{Geoid.Formula.KARNEY, 1.0, 1E-8},
+			{Geoid.Formula.KARNEY, 1_000_000.0, 1E-9}
+		};
+	}
+
+	@Test
+	public void formulaSamePoint() {
+		final Point point = WayPoint.of(47.2692124, 11.4041024);
+		for (Geoid.Formula formula : Geoid.Formula.values()) {
+			Assert.assertEquals(
+				GEOID.distance(point, point, formula).doubleValue(),
+				0.0
+			);
+		}
+	}
+
+	@Test
+	public void withFormula() {
+		final Geoid geoid = GEOID.with(Geoid.Formula.HAVERSINE);
+		Assert.assertEquals(geoid.getFormula(), Geoid.Formula.HAVERSINE);
+		Assert.assertEquals(geoid.getEllipsoid(), GEOID.getEllipsoid());
+		Assert.assertEquals(GEOID.getFormula(), Geoid.Formula.VINCENTY);
+
+		final Point start = WayPoint.of(47.2692124, 11.4041024);
+		final Point end = WayPoint.of(47.3502, 11.70584);
+		Assert.assertEquals(
+			geoid.distance(start, end),
+			GEOID.distance(start, end, Geoid.Formula.HAVERSINE)
+		);
+
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPointTest.nextWayPoint(random))
+			.limit(100)
+			.collect(Collectors.toList());
+		final double[] lat = lat(points);
+		final double[] lon = lon(points);
+		final double[] distances = new double[lat.length - 1];
+		geoid.distances(lat, lon, distances);
+		for (int i = 0; i < distances.length; ++i) {
+			Assert.assertEquals(
+				distances[i],
+				GEOID.distance(
+					WayPoint.of(lat[i], lon[i]),
+					WayPoint.of(lat[i + 1], lon[i + 1]),
+					Geoid.Formula.HAVERSINE
+				).doubleValue()
+			);
+		}
+	}
+
+	@Test
+	public void adaptive() {
+		final Geoid geoid = GEOID.adaptive(
+			Length.of(1, Length.Unit.KILOMETER),
+			Geoid.Formula.EQUIRECTANGULAR
+		);
+		Assert.assertEquals(geoid.getFormula(), Geoid.Formula.VINCENTY);
+
+		final Point start = WayPoint.of(47.2692124, 11.4041024);
+		final Point near = WayPoint.of(47.2693, 11.4042);
+		final Point far = WayPoint.of(47.3502, 11.70584);
+
+		Assert.assertEquals(
+			geoid.distance(start, near),
+			GEOID.distance(start, near, Geoid.Formula.EQUIRECTANGULAR)
+		);
+		Assert.assertEquals(
+			geoid.distance(start, far),
+			GEOID.distance(start, far)
+		);
+	}
+
+	@Test
+	public void adaptivePathLength() {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.iterate(
+				WayPoint.of(47.2692124, 11.4041024),
+				p -> WayPoint.of(
+					p.getLatitude().doubleValue() + (random.nextDouble() - 0.5)/1000,
+					p.getLongitude().doubleValue() + (random.nextDouble() - 0.5)/1000))
 			.limit(1000)
-			.parallel()
-			.collect(GEOID.toPathLength());
+			.collect(Collectors.toList());
+
+		final Geoid geoid = GEOID.adaptive(
+			Length.of(1, Length.Unit.KILOMETER),
+			Geoid.Formula.EQUIRECTANGULAR
+		);
+		final double expected = pathLength(points);
+
+		Assert.assertEquals(
+			points.stream().collect(geoid.toPathLength()).doubleValue(),
+			expected,
+			0.001
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void adaptiveNegativeThreshold() {
+		GEOID.adaptive(
+			Length.of(-1, Length.Unit.METER),
+			Geoid.Formula.EQUIRECTANGULAR
+		);
+	}
+
+	@Test
+	public void antipodalDistance() {
+		final Point start = WayPoint.of(0, 0);
+		final Point end = WayPoint.of(0.5, 179.7);
+
+		Assert.assertEquals(
+			GEOID.distance(start, end).doubleValue(),
+			GEOID.distance(start, end, Geoid.Formula.KARNEY).doubleValue()
+		);
+		Assert.assertEquals(
+			GEOID.pathLength(new double[]{0, 0.5}, new double[]{0, 179.7}),
+			GEOID.distance(start, end, Geoid.Formula.KARNEY)
+		);
+	}
+
+	@Test
+	public void geodesic() {
+		final Point start = WayPoint.of(47.2692124, 11.4041024);
+		final Point end = WayPoint.of(47.3502, 11.70584);
+
+		final Geodesic geodesic = GEOID.geodesic(start, end);
+		Assert.assertEquals(
+			geodesic.getDistance().doubleValue(),
+			GEOID.distance(start, end).doubleValue(),
+			0.0001
+		);
+
+		final Geodesic back = GEOID.geodesic(end, start);
+		Assert.assertEquals(
+			back.getAzimuth().doubleValue(),
+			geodesic.getBackAzimuth().doubleValue(),
+			1E-9
+		);
+		Assert.assertEquals(
+			back.getBackAzimuth().doubleValue(),
+			geodesic.getAzimuth().doubleValue(),
+			1E-9
+		);
+	}
+
+	@Test
+	public void geodesicAlongEquator() {
+		final Geodesic geodesic = GEOID.geodesic(
+			WayPoint.of(0, 10),
+			WayPoint.of(0, 11)
+		);
+
+		Assert.assertEquals(geodesic.getAzimuth().doubleValue(), 90.0);
+		Assert.assertEquals(geodesic.getFinalAzimuth().doubleValue(), 90.0);
+		Assert.assertEquals(geodesic.getBackAzimuth().doubleValue(), 270.0);
+		Assert.assertEquals(
+			geodesic.getDistance().doubleValue(),
+			Math.toRadians(1)*Ellipsoid.WGS84.A(),
+			1E-9
+		);
 	}
 
 }
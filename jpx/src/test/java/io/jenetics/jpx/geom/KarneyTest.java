@@ -0,0 +1,156 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Validates the {@link Karney} solver against the geodesics of the
+ * {@code geodesics.dat} test resource. Every line contains one geodesic on
+ * the WGS-84 ellipsoid, in the column format of the GeographicLib test set:
+ * {@code lat1 lon1 azi1 lat2 lon2 azi2 s12 a12}. The lines were created by
+ * numerically integrating the direct geodesic problem and contain random,
+ * nearly antipodal, short, equatorial and meridional geodesics.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class KarneyTest {
+
+	private static final Karney WGS84 = new Karney(
+		Ellipsoid.WGS84.A(),
+		1.0/Ellipsoid.WGS84.F()
+	);
+
+	@Test(dataProvider = "geodesics")
+	public void inverse(
+		final double lat1, final double lon1, final double azi1,
+		final double lat2, final double lon2, final double azi2,
+		final double s12
+	) {
+		final double[] result = new double[3];
+		WGS84.inverse(
+			Math.toRadians(lat1), Math.toRadians(lon1),
+			Math.toRadians(lat2), Math.toRadians(lon2),
+			result
+		);
+
+		Assert.assertEquals(result[0], s12, 1E-7);
+
+		// The azimuths of very short lines are dominated by the rounding
+		// errors of the coordinates in the test data.
+		final double epsilon = 1E-8 + Math.toDegrees(1E-8/s12);
+		Assert.assertEquals(angle(Math.toDegrees(result[1]), azi1), 0, epsilon);
+		Assert.assertEquals(angle(Math.toDegrees(result[2]), azi2), 0, epsilon);
+	}
+
+	private static double angle(final double a, final double b) {
+		return Math.IEEEremainder(a - b, 360);
+	}
+
+	@Test(dataProvider = "geodesics")
+	public void distance(
+		final double lat1, final double lon1, final double azi1,
+		final double lat2, final double lon2, final double azi2,
+		final double s12
+	) {
+		Assert.assertEquals(
+			WGS84.distance(
+				Math.toRadians(lat1), Math.toRadians(lon1),
+				Math.toRadians(lat2), Math.toRadians(lon2)
+			),
+			s12,
+			1E-7
+		);
+	}
+
+	@Test(dataProvider = "geodesics")
+	public void symmetry(
+		final double lat1, final double lon1, final double azi1,
+		final double lat2, final double lon2, final double azi2,
+		final double s12
+	) {
+		Assert.assertEquals(
+			WGS84.distance(
+				Math.toRadians(lat2), Math.toRadians(lon2),
+				Math.toRadians(lat1), Math.toRadians(lon1)
+			),
+			s12,
+			1E-7
+		);
+	}
+
+	@DataProvider(name = "geodesics")
+	public Object[][] geodesics() {
+		final String resource = "/io/jenetics/jpx/geom/geodesics.dat";
+
+		try (InputStream in = getClass().getResourceAsStream(resource);
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8)))
+		{
+			final List<Object[]> lines = reader.lines()
+				.filter(line -> !line.trim().isEmpty())
+				.map(KarneyTest::parse)
+				.collect(Collectors.toList());
+
+			return lines.toArray(new Object[0][]);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Object[] parse(final String line) {
+		final String[] columns = line.trim().split("\\s+");
+		final Object[] values = new Object[7];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = Double.parseDouble(columns[i]);
+		}
+		return values;
+	}
+
+	@Test
+	public void equatorialAntipodes() {
+		final double[] result = new double[3];
+		WGS84.inverse(0, 0, 0, Math.PI, result);
+
+		// The shortest path between equatorial antipodes runs over the poles,
+		// which is half of the meridian ellipse.
+		Assert.assertEquals(result[0], 20003931.4586254, 1E-6);
+		Assert.assertEquals(Math.abs(Math.toDegrees(result[1])), 0.0, 1E-9);
+	}
+
+	@Test
+	public void samePoint() {
+		final double[] result = new double[3];
+		WGS84.inverse(0.5, 0.5, 0.5, 0.5, result);
+		Assert.assertEquals(result[0], 0.0);
+	}
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.time.ZoneOffset.UTC;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.Bounds;
+import io.jenetics.jpx.Length;
+import io.jenetics.jpx.Point;
+import io.jenetics.jpx.Speed;
+import io.jenetics.jpx.WayPoint;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class TrackStatisticsTest {
+
+	private static final double EPSILON = 0.000001;
+
+	private static final ZonedDateTime START =
+		ZonedDateTime.of(2018, 1, 1, 12, 0, 0, 0, UTC);
+
+	// Random walk with one point per second and a stop in the middle.
+	private static List<WayPoint> track(final int size, final Random random) {
+		final List<WayPoint> points = new ArrayList<>(size);
+		double lat = 47.0;
+		double lon = 15.0;
+		double ele = 500;
+		for (int i = 0; i < size; ++i) {
+			if (i < size/3 || i > size/2) {
+				lat += random.nextDouble()*0.0001;
+				lon += (random.nextDouble() - 0.5)*0.0001;
+			}
+			ele += (random.nextDouble() - 0.5)*4;
+			points.add(WayPoint.builder()
+				.ele(ele)
+				.time(START.plusSeconds(i))
+				.build(lat, lon));
+		}
+		return points;
+	}
+
+	@Test
+	public void empty() {
+		final TrackStatistics statistics = Stream.<Point>empty()
+			.collect(TrackStatistics.toTrackStatistics());
+
+		Assert.assertEquals(statistics.getPointCount(), 0);
+		Assert.assertEquals(statistics.getLength(), 0.0);
+		Assert.assertEquals(statistics.getDuration(), 0.0);
+		Assert.assertTrue(Double.isNaN(statistics.getAverageSpeed()));
+		Assert.assertTrue(Double.isNaN(statistics.getMinElevation()));
+		Assert.assertFalse(statistics.getBounds().isPresent());
+	}
+
+	@Test
+	public void lengthAndBounds() {
+		final List<WayPoint> points = track(1000, new Random(123));
+		final TrackStatistics statistics = points.stream()
+			.collect(TrackStatistics.toTrackStatistics());
+
+		Assert.assertEquals(statistics.getPointCount(), 1000);
+		Assert.assertEquals(
+			statistics.getLength(),
+			points.stream().collect(Geoid.DEFAULT.toPathLength()).doubleValue(),
+			EPSILON
+		);
+		Assert.assertEquals(statistics.getDuration(), 999.0);
+
+		final Bounds bounds = statistics.getBounds().orElseThrow(AssertionError::new);
+		for (WayPoint point : points) {
+			final double lat = point.getLatitude().doubleValue();
+			final double lon = point.getLongitude().doubleValue();
+			Assert.assertTrue(lat >= bounds.getMinLatitude().doubleValue());
+			Assert.assertTrue(lat <= bounds.getMaxLatitude().doubleValue());
+			Assert.assertTrue(lon >= bounds.getMinLongitude().doubleValue());
+			Assert.assertTrue(lon <= bounds.getMaxLongitude().doubleValue());
+		}
+		Assert.assertEquals(
+			bounds.getMinLatitude().doubleValue(),
+			points.stream().mapToDouble(p -> p.getLatitude().doubleValue()).min().getAsDouble()
+		);
+	}
+
+	@Test
+	public void movingAndStoppedTime() {
+		final double dlat = Math.toDegrees(1.0/6_367_000);
+		final List<WayPoint> points = new ArrayList<>();
+		for (int i = 0; i <= 100; ++i) {
+			points.add(WayPoint.builder()
+				.time(START.plusSeconds(i))
+				.build(47.0 + Math.min(i, 60)*2*dlat, 15.0));
+		}
+
+		final TrackStatistics statistics = points.stream()
+			.collect(TrackStatistics.toTrackStatistics());
+
+		Assert.assertEquals(statistics.getDuration(), 100.0);
+		Assert.assertEquals(statistics.getMovingTime(), 60.0);
+		Assert.assertEquals(statistics.getStoppedTime(), 40.0);
+		Assert.assertEquals(statistics.getAverageSpeed(), 2.0, 0.01);
+		Assert.assertEquals(statistics.getMinSpeed(), 2.0, 0.01);
+		Assert.assertEquals(statistics.getMaxSpeed(), 2.0, 0.01);
+		Assert.assertEquals(statistics.getLength(), 120.0, 0.5);
+	}
+
+	@Test
+	public void ascentAndDescent() {
+		final double[] elevations = {100, 102, 99, 101, 110, 108, 120, 100};
+		final List<WayPoint> points = new ArrayList<>();
+		for (double ele : elevations) {
+			points.add(WayPoint.builder().ele(ele).build(47.0, 15.0));
+		}
+		points.add(2, WayPoint.of(47.0, 15.0));
+
+		final TrackStatistics statistics = points.stream()
+			.collect(TrackStatistics.toTrackStatistics());
+
+		Assert.assertEquals(statistics.getAscent(), 20.0);
+		Assert.assertEquals(statistics.getDescent(), 20.0);
+		Assert.assertEquals(statistics.getMinElevation(), 99.0);
+		Assert.assertEquals(statistics.getMaxElevation(), 120.0);
+
+		final TrackStatistics raw = points.stream()
+			.collect(TrackStatistics.toTrackStatistics(
+				Geoid.DEFAULT,
+				TrackStatistics.DEFAULT_MOVING_SPEED,
+				Length.of(0, Length.Unit.METER)));
+
+		Assert.assertEquals(raw.getAscent(), 2 + 2 + 9 + 12.0);
+		Assert.assertEquals(raw.getDescent(), 3 + 2 + 20.0);
+	}
+
+	@Test
+	public void combine() {
+		final List<WayPoint> points = track(1000, new Random(456));
+		final TrackStatistics expected = points.stream()
+			.collect(TrackStatistics.toTrackStatistics(
+				Geoid.DEFAULT,
+				TrackStatistics.DEFAULT_MOVING_SPEED,
+				Length.of(0, Length.Unit.METER)));
+
+		final TrackStatisticsCollector left = collector(points.subList(0, 300));
+		final TrackStatisticsCollector middle = collector(points.subList(300, 301));
+		final TrackStatisticsCollector right = collector(points.subList(301, 1000));
+		final TrackStatistics statistics = collector(Collections.emptyList())
+			.combine(left)
+			.combine(middle.combine(collector(Collections.emptyList())))
+			.combine(right)
+			.statistics();
+
+		assertEquals(statistics, expected);
+	}
+
+	@Test
+	public void parallel() {
+		final List<WayPoint> points = track(10_000, new Random(789));
+		final TrackStatistics expected = points.stream()
+			.collect(TrackStatistics.toTrackStatistics());
+		final TrackStatistics statistics = points.parallelStream()
+			.collect(TrackStatistics.toTrackStatistics());
+
+		Assert.assertEquals(statistics.getPointCount(), expected.getPointCount());
+		Assert.assertEquals(statistics.getLength(), expected.getLength(), EPSILON);
+		Assert.assertEquals(statistics.getMovingTime(), expected.getMovingTime());
+		Assert.assertEquals(statistics.getStoppedTime(), expected.getStoppedTime());
+		Assert.assertEquals(statistics.getBounds(), expected.getBounds());
+		Assert.assertEquals(statistics.getMinElevation(), expected.getMinElevation());
+		Assert.assertEquals(statistics.getMaxElevation(), expected.getMaxElevation());
+		Assert.assertEquals(
+			statistics.getAscent() - statistics.getDescent(),
+			expected.getAscent() - expected.getDescent(),
+			2*TrackStatistics.DEFAULT_ELEVATION_THRESHOLD.doubleValue()
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void negativeMovingSpeed() {
+		TrackStatistics.toTrackStatistics(
+			Geoid.DEFAULT,
+			Speed.of(-1, Speed.Unit.METERS_PER_SECOND),
+			TrackStatistics.DEFAULT_ELEVATION_THRESHOLD
+		);
+	}
+
+	private static TrackStatisticsCollector collector(final List<WayPoint> points) {
+		final TrackStatisticsCollector collector = new TrackStatisticsCollector(
+			Geoid.DEFAULT, TrackStatistics.DEFAULT_MOVING_SPEED.doubleValue(), 0);
+		points.forEach(collector::add);
+		return collector;
+	}
+
+	private static void assertEquals(
+		final TrackStatistics actual,
+		final TrackStatistics expected
+	) {
+		Assert.assertEquals(actual.getPointCount(), expected.getPointCount());
+		Assert.assertEquals(actual.getLength(), expected.getLength(), EPSILON);
+		Assert.assertEquals(actual.getDuration(), expected.getDuration());
+		Assert.assertEquals(actual.getMovingTime(), expected.getMovingTime());
+		Assert.assertEquals(actual.getStoppedTime(), expected.getStoppedTime());
+		Assert.assertEquals(actual.getMinSpeed(), expected.getMinSpeed());
+		Assert.assertEquals(actual.getMaxSpeed(), expected.getMaxSpeed());
+		Assert.assertEquals(actual.getAverageSpeed(), expected.getAverageSpeed(), EPSILON);
+		Assert.assertEquals(actual.getAscent(), expected.getAscent(), EPSILON);
+		Assert.assertEquals(actual.getDescent(), expected.getDescent(), EPSILON);
+		Assert.assertEquals(actual.getMinElevation(), expected.getMinElevation());
+		Assert.assertEquals(actual.getMaxElevation(), expected.getMaxElevation());
+		Assert.assertEquals(actual.getBounds(), expected.getBounds());
+	}
+
+}
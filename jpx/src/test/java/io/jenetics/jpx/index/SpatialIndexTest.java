@@ -0,0 +1,271 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.Bounds;
+import io.jenetics.jpx.GPX;
+import io.jenetics.jpx.Length;
+import io.jenetics.jpx.Length.Unit;
+import io.jenetics.jpx.Point;
+import io.jenetics.jpx.Track;
+import io.jenetics.jpx.TrackSegment;
+import io.jenetics.jpx.WayPoint;
+import io.jenetics.jpx.geom.Geoid;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Test
+public class SpatialIndexTest {
+
+	private static List<WayPoint> points(
+		final Random random,
+		final int size,
+		final double lat,
+		final double lon,
+		final double extent
+	) {
+		return IntStream.range(0, size)
+			.mapToObj(i -> WayPoint.of(
+				Math.max(-90, Math.min(90, lat + (random.nextDouble() - 0.5)*extent)),
+				wrap(lon + (random.nextDouble() - 0.5)*extent)))
+			.collect(Collectors.toList());
+	}
+
+	private static double wrap(final double lon) {
+		return lon > 180 ? lon - 360 : lon < -180 ? lon + 360 : lon;
+	}
+
+	private static boolean inside(final Point p, final Bounds bounds) {
+		final double lat = p.getLatitude().doubleValue();
+		final double lon = p.getLongitude().doubleValue();
+		final double minLon = bounds.getMinLongitude().doubleValue();
+		final double maxLon = bounds.getMaxLongitude().doubleValue();
+
+		return lat >= bounds.getMinLatitude().doubleValue() &&
+			lat <= bounds.getMaxLatitude().doubleValue() &&
+			(minLon <= maxLon
+				? lon >= minLon && lon <= maxLon
+				: lon >= minLon || lon <= maxLon);
+	}
+
+	private static double distance(final Point a, final Point b) {
+		return Geoid.DEFAULT.distance(a, b).doubleValue();
+	}
+
+	@Test
+	public void withinBounds() {
+		final Random random = new Random(123);
+		final List<WayPoint> points = points(random, 20_000, 48, 16, 10);
+		final SpatialIndex<WayPoint> index = SpatialIndex.of(points.stream());
+		Assert.assertEquals(index.size(), points.size());
+
+		for (int i = 0; i < 20; ++i) {
+			final double lat = 43 + random.nextDouble()*10;
+			final double lon = 11 + random.nextDouble()*10;
+			final Bounds bounds = Bounds.of(
+				lat, lon,
+				lat + random.nextDouble()*2, lon + random.nextDouble()*2
+			);
+
+			Assert.assertEquals(
+				index.within(bounds).collect(Collectors.toList()),
+				points.stream()
+					.filter(p -> inside(p, bounds))
+					.collect(Collectors.toList())
+			);
+		}
+	}
+
+	@Test
+	public void withinBoundsAntimeridian() {
+		final Random random = new Random(456);
+		final List<WayPoint> points = points(random, 5_000, 0, 180, 20);
+		final SpatialIndex<WayPoint> index = SpatialIndex.of(points.stream());
+
+		final Bounds bounds = Bounds.of(-5, 175, 5, -175);
+		final List<WayPoint> expected = points.stream()
+			.filter(p -> inside(p, bounds))
+			.collect(Collectors.toList());
+
+		Assert.assertFalse(expected.isEmpty());
+		Assert.assertEquals(
+			index.within(bounds).collect(Collectors.toList()),
+			expected
+		);
+	}
+
+	@Test
+	public void withinRadius() {
+		final Random random = new Random(789);
+		final List<WayPoint> points = points(random, 20_000, 48, 16, 0.2);
+		final SpatialIndex<WayPoint> index = SpatialIndex.of(points.stream());
+
+		for (int i = 0; i < 10; ++i) {
+			final WayPoint center = points.get(random.nextInt(points.size()));
+			final Length radius = Length.of(random.nextDouble()*2000, Unit.METER);
+
+			Assert.assertEquals(
+				index.within(center, radius).collect(Collectors.toList()),
+				points.stream()
+					.filter(p -> distance(p, center) <= radius.doubleValue())
+					.collect(Collectors.toList())
+			);
+		}
+	}
+
+	@Test
+	public void withinRadiusNearPole() {
+		final Random random = new Random(147);
+		final List<WayPoint> points = points(random, 5_000, 89.5, 0, 360);
+		final SpatialIndex<WayPoint> index = SpatialIndex.of(points.stream());
+
+		final WayPoint center = WayPoint.of(89.9, 45);
+		final Length radius = Length.of(100, Unit.KILOMETER);
+		final List<WayPoint> expected = points.stream()
+			.filter(p -> distance(p, center) <= radius.doubleValue())
+			.collect(Collectors.toList());
+
+		Assert.assertFalse(expected.isEmpty());
+		Assert.assertEquals(
+			index.within(center, radius).collect(Collectors.toList()),
+			expected
+		);
+	}
+
+	@Test
+	public void nearest() {
+		final Random random = new Random(258);
+		final List<WayPoint> points = points(random, 10_000, 48, 16, 1);
+		final SpatialIndex<WayPoint> index = SpatialIndex.of(points.stream());
+
+		for (int i = 0; i < 10; ++i) {
+			final WayPoint query = WayPoint.of(
+				47.5 + random.nextDouble(),
+				15.5 + random.nextDouble()
+			);
+			final int k = 1 + random.nextInt(20);
+
+			Assert.assertEquals(
+				index.nearest(query, k),
+				points.stream()
+					.sorted(Comparator.comparingDouble(p -> distance(p, query)))
+					.limit(k)
+					.collect(Collectors.toList())
+			);
+		}
+	}
+
+	@Test
+	public void nearestAll() {
+		final List<WayPoint> points = points(new Random(369), 10, 0, 0, 1);
+		final SpatialIndex<WayPoint> index = SpatialIndex.of(points.stream());
+
+		Assert.assertEquals(index.nearest(WayPoint.of(0, 0), 20).size(), 10);
+	}
+
+	@Test
+	public void tracks() {
+		final Random random = new Random(963);
+		final List<Track> tracks = new ArrayList<>();
+		for (int i = 0; i < 50; ++i) {
+			tracks.add(Track.builder()
+				.addSegment(TrackSegment.of(points(
+					random, 200,
+					48 + random.nextDouble(), 16 + random.nextDouble(), 0.1)))
+				.build());
+		}
+
+		final SpatialIndex<Track> index = SpatialIndex.of(
+			tracks,
+			track -> track.segments().flatMap(TrackSegment::points)
+		);
+		Assert.assertEquals(index.getValues(), tracks);
+
+		final WayPoint center = WayPoint.of(48.5, 16.5);
+		final Length radius = Length.of(5, Unit.KILOMETER);
+		Assert.assertEquals(
+			index.within(center, radius).collect(Collectors.toList()),
+			tracks.stream()
+				.filter(t -> t.segments()
+					.flatMap(TrackSegment::points)
+					.anyMatch(p -> distance(p, center) <= radius.doubleValue()))
+				.collect(Collectors.toList())
+		);
+
+		final Track nearest = tracks.stream()
+			.min(Comparator.comparingDouble(t -> t.segments()
+				.flatMap(TrackSegment::points)
+				.mapToDouble(p -> distance(p, center))
+				.min().orElse(Double.MAX_VALUE)))
+			.orElseThrow(AssertionError::new);
+		Assert.assertEquals(index.nearest(center, 1).get(0), nearest);
+	}
+
+	@Test
+	public void ofGPX() {
+		final GPX gpx = GPX.builder()
+			.addWayPoint(WayPoint.of(1, 1))
+			.addRoute(route -> route.addPoint(p -> p.lat(2).lon(2)))
+			.addTrack(track -> track
+				.addSegment(segment -> segment.addPoint(p -> p.lat(3).lon(3))))
+			.build();
+
+		final SpatialIndex<WayPoint> index = SpatialIndex.of(gpx);
+		Assert.assertEquals(index.size(), 3);
+		Assert.assertEquals(
+			index.within(Bounds.of(1.5, 1.5, 3.5, 3.5))
+				.collect(Collectors.toList()),
+			Arrays.asList(WayPoint.of(2, 2), WayPoint.of(3, 3))
+		);
+	}
+
+	@Test
+	public void empty() {
+		final SpatialIndex<WayPoint> index =
+			SpatialIndex.of(new ArrayList<WayPoint>().stream());
+
+		Assert.assertTrue(index.isEmpty());
+		Assert.assertEquals(index.within(Bounds.of(-90, -180, 90, 180)).count(), 0);
+		Assert.assertEquals(
+			index.within(WayPoint.of(0, 0), Length.of(1, Unit.METER)).count(),
+			0
+		);
+		Assert.assertTrue(index.nearest(WayPoint.of(0, 0), 1).isEmpty());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void nearestInvalidK() {
+		SpatialIndex.of(new ArrayList<WayPoint>().stream())
+			.nearest(WayPoint.of(0, 0), 0);
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.index;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX;
+import io.jenetics.jpx.Track;
+import io.jenetics.jpx.TrackSegment;
+import io.jenetics.jpx.WayPoint;
+import io.jenetics.jpx.index.TemporalIndex.Slice;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Test
+public class TemporalIndexTest {
+
+	private static final long START = Instant.parse("2018-06-01T08:00:00Z")
+		.toEpochMilli();
+
+	private static TrackSegment segment(
+		final Random random,
+		final long start,
+		final int size,
+		final boolean ascending
+	) {
+		final TrackSegment.Builder segment = TrackSegment.builder();
+		long time = start;
+		for (int i = 0; i < size; ++i) {
+			time += ascending || random.nextInt(10) > 0
+				? random.nextInt(5000)
+				: -random.nextInt(100_000);
+
+			final WayPoint.Builder point = WayPoint.builder();
+			if (random.nextInt(10) > 0) {
+				point.time(ZonedDateTime.ofInstant(
+					Instant.ofEpochMilli(time), ZoneOffset.UTC));
+			}
+			segment.addPoint(point.build(48, 16));
+		}
+
+		return segment.build();
+	}
+
+	private static GPX gpx(final Random random) {
+		final GPX.Builder gpx = GPX.builder();
+		for (int t = 0; t < 50; ++t) {
+			final Track.Builder track = Track.builder();
+			for (int s = 0, n = random.nextInt(4); s < n; ++s) {
+				final TrackSegment segment = segment(
+					random,
+					START + random.nextInt(3_600_000),
+					random.nextInt(500),
+					t%5 != 0
+				);
+				track.addSegment(s%2 == 0 ? segment : segment.compact());
+			}
+			gpx.addTrack(track.build());
+		}
+
+		return gpx.build();
+	}
+
+	private static boolean inside(
+		final WayPoint point,
+		final Instant start,
+		final Instant end
+	) {
+		return point.getTime()
+			.map(t -> !t.toInstant().isBefore(start) && !t.toInstant().isAfter(end))
+			.orElse(false);
+	}
+
+	@Test
+	public void between() {
+		final Random random = new Random(123);
+		final GPX gpx = gpx(random);
+		final TemporalIndex index = TemporalIndex.of(gpx);
+
+		for (int i = 0; i < 50; ++i) {
+			final Instant start = Instant
+				.ofEpochMilli(START + random.nextInt(5_000_000));
+			final Instant end = start.plusMillis(random.nextInt(300_000));
+
+			final List<Slice> slices = index.between(start, end)
+				.collect(Collectors.toList());
+
+			for (Slice slice : slices) {
+				final List<WayPoint> points = slice.getPoints();
+				Assert.assertFalse(points.isEmpty());
+				Assert.assertTrue(inside(points.get(0), start, end));
+				Assert.assertTrue(inside(points.get(points.size() - 1), start, end));
+				Assert.assertEquals(
+					points,
+					slice.getSegment().getPoints()
+						.subList(slice.getFrom(), slice.getTo())
+				);
+			}
+
+			final List<WayPoint> expected = new ArrayList<>();
+			for (Track track : gpx.getTracks()) {
+				for (TrackSegment segment : track.getSegments()) {
+					for (WayPoint point : segment) {
+						if (inside(point, start, end)) {
+							expected.add(point);
+						}
+					}
+				}
+			}
+			final List<WayPoint> actual = slices.stream()
+				.flatMap(s -> s.getPoints().stream())
+				.filter(p -> inside(p, start, end))
+				.collect(Collectors.toList());
+
+			Assert.assertEquals(
+				actual.stream().sorted(TemporalIndexTest::compare)
+					.collect(Collectors.toList()),
+				expected.stream().sorted(TemporalIndexTest::compare)
+					.collect(Collectors.toList())
+			);
+		}
+	}
+
+	private static int compare(final WayPoint a, final WayPoint b) {
+		return a.getTime().get().compareTo(b.getTime().get());
+	}
+
+	@Test
+	public void ascendingSlice() {
+		final TrackSegment segment = TrackSegment.of(
+			IntStream.range(0, 100)
+				.mapToObj(i -> WayPoint.of(48, 16, START + i*1000L))
+				.collect(Collectors.toList())
+		);
+		final Track track = Track.builder().addSegment(segment).build();
+		final TemporalIndex index = TemporalIndex.of(
+			Collections.singletonList(track)
+		);
+
+		final List<Slice> slices = index
+			.between(
+				Instant.ofEpochMilli(START + 10_000),
+				Instant.ofEpochMilli(START + 19_500))
+			.collect(Collectors.toList());
+
+		Assert.assertEquals(slices.size(), 1);
+		Assert.assertSame(slices.get(0).getTrack(), track);
+		Assert.assertSame(slices.get(0).getSegment(), segment);
+		Assert.assertEquals(slices.get(0).getFrom(), 10);
+		Assert.assertEquals(slices.get(0).getTo(), 20);
+		Assert.assertEquals(index.size(), 100);
+	}
+
+	@Test
+	public void gap() {
+		final Track track = Track.builder()
+			.addSegment(segment -> segment
+				.addPoint(WayPoint.of(48, 16, START))
+				.addPoint(WayPoint.of(48, 16, START + 100_000)))
+			.build();
+		final TemporalIndex index = TemporalIndex.of(
+			Collections.singletonList(track)
+		);
+
+		Assert.assertEquals(
+			index.between(
+				Instant.ofEpochMilli(START + 1000),
+				Instant.ofEpochMilli(START + 2000)).count(),
+			0
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidRange() {
+		TemporalIndex.of(GPX.builder().build())
+			.between(Instant.ofEpochMilli(1), Instant.ofEpochMilli(0));
+	}
+
+}